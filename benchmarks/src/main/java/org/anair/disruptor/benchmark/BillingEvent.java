@@ -0,0 +1,46 @@
+package org.anair.disruptor.benchmark;
+
+import java.io.Serializable;
+
+/**
+ * Event with the usual fields of a business event, used to compare codecs.
+ * 
+ * @author Anoop Nair
+ *
+ */
+public class BillingEvent implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	public enum Status {
+		OPEN, BILLED, SETTLED
+	}
+	
+	private long accountId;
+	private long invoiceId;
+	private double amount;
+	private int quantity;
+	private boolean settled;
+	private String currency;
+	private Status status;
+	private StringBuilder note = new StringBuilder();
+
+	public static BillingEvent sample() {
+		BillingEvent billingEvent = new BillingEvent();
+		billingEvent.accountId = 42L;
+		billingEvent.invoiceId = 1234567L;
+		billingEvent.amount = 99.95;
+		billingEvent.quantity = 3;
+		billingEvent.currency = "EUR";
+		billingEvent.status = Status.BILLED;
+		billingEvent.note.append("Monthly subscription");
+		return billingEvent;
+	}
+
+	public long getAccountId() {
+		return accountId;
+	}
+
+	public double getAmount() {
+		return amount;
+	}
+}
@@ -0,0 +1,29 @@
+package org.anair.disruptor.benchmark;
+
+import com.lmax.disruptor.EventHandler;
+
+/**
+ * Consumer that does a trivial amount of work per event, so the benchmarks measure the ring buffer and not the handler.
+ * 
+ * @author Anoop Nair
+ *
+ */
+public class CountingEventHandler implements EventHandler<LongEvent> {
+
+	private long count;
+	private long sum;
+	
+	@Override
+	public void onEvent(LongEvent event, long sequence, boolean endOfBatch) throws Exception {
+		count++;
+		sum += event.getValue();
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getSum() {
+		return sum;
+	}
+}
@@ -0,0 +1,81 @@
+package org.anair.disruptor.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.anair.disruptor.DefaultDisruptorConfig;
+import org.anair.disruptor.WaitStrategyType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lmax.disruptor.dsl.ProducerType;
+
+/**
+ * Publish through {@link DefaultDisruptorConfig#publish(com.lmax.disruptor.EventTranslator)} into a real
+ * {@code EventHandlerChain} topology.
+ * <p>Compare the results with {@link RawDisruptorBenchmark} for the same parameters to see the cost of the wrapper.
+ * <pre>
+ * java -jar target/benchmarks.jar DefaultDisruptorConfigBenchmark -p topology=DIAMOND -p waitStrategyType=YIELDING
+ * </pre>
+ * 
+ * @author Anoop Nair
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultDisruptorConfigBenchmark {
+
+	@Param({"UNICAST", "PIPELINE", "DIAMOND"})
+	private Topology topology;
+	
+	@Param({"BLOCKING", "SLEEPING_WAIT", "YIELDING", "BUSY_SPIN", "PHASED_BACKOFF", "ADAPTIVE"})
+	private WaitStrategyType waitStrategyType;
+	
+	@Param({"1024", "16384", "65536"})
+	private int ringBufferSize;
+	
+	private DefaultDisruptorConfig<LongEvent> disruptorConfig;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		disruptorConfig = new DefaultDisruptorConfig<LongEvent>();
+		disruptorConfig.setThreadName("benchmark");
+		disruptorConfig.setEventFactory(LongEvent.FACTORY);
+		disruptorConfig.setRingBufferSize(ringBufferSize);
+		disruptorConfig.setProducerType(producerType());
+		disruptorConfig.setWaitStrategyType(waitStrategyType);
+		disruptorConfig.setEventHandlerChain(topology.eventHandlerChain());
+		disruptorConfig.init();
+	}
+	
+	@TearDown(Level.Trial)
+	public void teardown() {
+		disruptorConfig.controlledShutdown();
+	}
+	
+	/**
+	 * @return {@link ProducerType#SINGLE}, published from one thread
+	 */
+	protected ProducerType producerType() {
+		return ProducerType.SINGLE;
+	}
+	
+	@Benchmark
+	public void publish() {
+		disruptorConfig.publish(LongEvent.TRANSLATOR);
+	}
+}
@@ -0,0 +1,65 @@
+package org.anair.disruptor.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.anair.disruptor.codec.PojoEventCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encode a event and decode it again with {@link PojoEventCodec} into a reused event and direct buffer,
+ * and with Java serialization into a new event. Add {@code -prof gc} to compare the allocation per event.
+ * <pre>
+ * java -jar target/benchmarks.jar EventCodecBenchmark -prof gc
+ * </pre>
+ * 
+ * @author Anoop Nair
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventCodecBenchmark {
+
+	private final PojoEventCodec<BillingEvent> eventCodec = new PojoEventCodec<BillingEvent>(BillingEvent.class);
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+	private final BillingEvent event = BillingEvent.sample();
+	private final BillingEvent decodedEvent = new BillingEvent();
+	private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+	
+	@Benchmark
+	public BillingEvent pojoEventCodec() {
+		buffer.clear();
+		eventCodec.encode(event, buffer);
+		buffer.flip();
+		eventCodec.decode(buffer, decodedEvent);
+		return decodedEvent;
+	}
+	
+	@Benchmark
+	public Object javaSerialization() throws IOException, ClassNotFoundException {
+		bytes.reset();
+		try(ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(event);
+		}
+		try(ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			return in.readObject();
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package org.anair.disruptor.benchmark;
+
+import com.lmax.disruptor.EventFactory;
+import com.lmax.disruptor.EventTranslator;
+
+/**
+ * Mutable ring buffer entry used by the benchmarks.
+ * 
+ * @author Anoop Nair
+ *
+ */
+public class LongEvent {
+
+	public static final EventFactory<LongEvent> FACTORY = new EventFactory<LongEvent>() {
+		@Override
+		public LongEvent newInstance() {
+			return new LongEvent();
+		}
+	};
+	
+	/**
+	 * Stateless translator shared by all benchmark threads, so the measurement does not include translator allocation.
+	 */
+	public static final EventTranslator<LongEvent> TRANSLATOR = new EventTranslator<LongEvent>() {
+		@Override
+		public void translateTo(LongEvent event, long sequence) {
+			event.setValue(sequence);
+		}
+	};
+	
+	private long value;
+
+	public long getValue() {
+		return value;
+	}
+
+	public void setValue(long value) {
+		this.value = value;
+	}
+}
@@ -0,0 +1,40 @@
+package org.anair.disruptor.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lmax.disruptor.dsl.ProducerType;
+
+/**
+ * {@link RawDisruptorBenchmark} with a {@link ProducerType#MULTI} ring buffer and 2 publishing threads, 
+ * so the producers contend for sequences. Change the number of publishing threads with {@code -t}.
+ * <pre>
+ * java -jar target/benchmarks.jar MultiProducerRawDisruptorBenchmark -t 4 -p waitStrategyType=BLOCKING
+ * </pre>
+ * 
+ * @author Anoop Nair
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(2)
+public class MultiProducerRawDisruptorBenchmark extends RawDisruptorBenchmark {
+
+	@Override
+	protected ProducerType producerType() {
+		return ProducerType.MULTI;
+	}
+}
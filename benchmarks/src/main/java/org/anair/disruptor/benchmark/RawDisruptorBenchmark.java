@@ -0,0 +1,107 @@
+package org.anair.disruptor.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.anair.disruptor.NamedThreadFactory;
+import org.anair.disruptor.WaitStrategyType;
+import org.anair.disruptor.waitstrategy.AdaptiveWaitStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinWaitStrategy;
+import com.lmax.disruptor.LiteBlockingWaitStrategy;
+import com.lmax.disruptor.LiteTimeoutBlockingWaitStrategy;
+import com.lmax.disruptor.PhasedBackoffWaitStrategy;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.TimeoutBlockingWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+
+/**
+ * Baseline: publish straight into a LMAX {@link Disruptor} wired with the same topology and settings
+ * as {@link DefaultDisruptorConfigBenchmark}.
+ * 
+ * @author Anoop Nair
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RawDisruptorBenchmark {
+
+	@Param({"UNICAST", "PIPELINE", "DIAMOND"})
+	private Topology topology;
+	
+	@Param({"BLOCKING", "SLEEPING_WAIT", "YIELDING", "BUSY_SPIN", "PHASED_BACKOFF", "ADAPTIVE"})
+	private WaitStrategyType waitStrategyType;
+	
+	@Param({"1024", "16384", "65536"})
+	private int ringBufferSize;
+	
+	private Disruptor<LongEvent> disruptor;
+	private RingBuffer<LongEvent> ringBuffer;
+	
+	@Setup(Level.Trial)
+	public void setup() {
+		disruptor = new Disruptor<LongEvent>(
+				LongEvent.FACTORY,
+				ringBufferSize,
+				new NamedThreadFactory("raw-benchmark"),
+				producerType(),
+				waitStrategy(waitStrategyType));
+		topology.wire(disruptor);
+		ringBuffer = disruptor.start();
+	}
+	
+	@TearDown(Level.Trial)
+	public void teardown() {
+		disruptor.shutdown();
+	}
+	
+	/**
+	 * @return {@link ProducerType#SINGLE}, published from one thread
+	 */
+	protected ProducerType producerType() {
+		return ProducerType.SINGLE;
+	}
+	
+	@Benchmark
+	public void publish() {
+		ringBuffer.publishEvent(LongEvent.TRANSLATOR);
+	}
+	
+	/**
+	 * {@code WaitStrategyType.instance()} is package private, so map the type to the same strategy, with the default parameters, here.
+	 */
+	private static WaitStrategy waitStrategy(WaitStrategyType waitStrategyType) {
+		switch (waitStrategyType) {
+			case BUSY_SPIN: return new BusySpinWaitStrategy();
+			case LITE_BLOCKING: return new LiteBlockingWaitStrategy();
+			case SLEEPING_WAIT: return new SleepingWaitStrategy();
+			case YIELDING: return new YieldingWaitStrategy();
+			case PHASED_BACKOFF: return new PhasedBackoffWaitStrategy(10000, 100000, TimeUnit.NANOSECONDS, new LiteBlockingWaitStrategy());
+			case TIMEOUT_BLOCKING: return new TimeoutBlockingWaitStrategy(100, TimeUnit.MILLISECONDS);
+			case LITE_TIMEOUT_BLOCKING: return new LiteTimeoutBlockingWaitStrategy(100, TimeUnit.MILLISECONDS);
+			case ADAPTIVE: return new AdaptiveWaitStrategy(AdaptiveWaitStrategy.Mode.BLOCK, 1);
+			default : return new BlockingWaitStrategy();
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package org.anair.disruptor.benchmark;
+
+import org.anair.disruptor.EventHandlerChain;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.dsl.Disruptor;
+
+/**
+ * Event processor topologies exercised by the benchmarks.
+ * <p>Each topology can be expressed as {@link EventHandlerChain}s for a {@code DefaultDisruptorConfig}
+ * and wired directly on a raw {@link Disruptor}, so both can be compared on the same graph.
+ * 
+ * @author Anoop Nair
+ *
+ */
+@SuppressWarnings("unchecked")
+public enum Topology {
+	
+	/**
+	 * Publisher -> Ring buffer -> Consumer A
+	 */
+	UNICAST {
+		@Override
+		public EventHandlerChain<LongEvent>[] eventHandlerChain() {
+			return new EventHandlerChain[]{
+					new EventHandlerChain<LongEvent>(handlers(1))};
+		}
+
+		@Override
+		public void wire(Disruptor<LongEvent> disruptor) {
+			disruptor.handleEventsWith(handlers(1));
+		}
+	},
+	
+	/**
+	 * Publisher -> Ring buffer -> Consumer A -> Consumer B -> Consumer C
+	 */
+	PIPELINE {
+		@Override
+		public EventHandlerChain<LongEvent>[] eventHandlerChain() {
+			EventHandler<LongEvent>[] a = handlers(1);
+			EventHandler<LongEvent>[] b = handlers(1);
+			EventHandler<LongEvent>[] c = handlers(1);
+			return new EventHandlerChain[]{
+					new EventHandlerChain<LongEvent>(a, b),
+					new EventHandlerChain<LongEvent>(b, c)};
+		}
+
+		@Override
+		public void wire(Disruptor<LongEvent> disruptor) {
+			disruptor.handleEventsWith(handlers(1)).then(handlers(1)).then(handlers(1));
+		}
+	},
+	
+	/**
+	 * The billing diamond from the README:
+	 * <pre>
+	 * Publisher -> Ring buffer -> {journal, validation} -> {business, corporate, customer} -> outbound
+	 * </pre>
+	 */
+	DIAMOND {
+		@Override
+		public EventHandlerChain<LongEvent>[] eventHandlerChain() {
+			EventHandler<LongEvent>[] first = handlers(2);
+			EventHandler<LongEvent>[] second = handlers(3);
+			EventHandler<LongEvent>[] third = handlers(1);
+			return new EventHandlerChain[]{
+					new EventHandlerChain<LongEvent>(first, second),
+					new EventHandlerChain<LongEvent>(second, third)};
+		}
+
+		@Override
+		public void wire(Disruptor<LongEvent> disruptor) {
+			disruptor.handleEventsWith(handlers(2)).then(handlers(3)).then(handlers(1));
+		}
+	};
+	
+	public abstract EventHandlerChain<LongEvent>[] eventHandlerChain();
+	
+	public abstract void wire(Disruptor<LongEvent> disruptor);
+	
+	private static EventHandler<LongEvent>[] handlers(int count) {
+		EventHandler<LongEvent>[] handlers = new EventHandler[count];
+		for(int i=0;i<count;i++){
+			handlers[i] = new CountingEventHandler();
+		}
+		return handlers;
+	}
+}
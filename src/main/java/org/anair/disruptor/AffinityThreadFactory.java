@@ -0,0 +1,179 @@
+package org.anair.disruptor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.openhft.affinity.AffinityLock;
+
+/**
+ * Naming a daemon thread and binding it to a CPU core while it runs.
+ *
+ * <p>CPUs are given to threads in the order the threads are created. A Disruptor creates one thread per event handler
+ * and per work handler of a worker pool, in the order they were wired.
+ * <p>CPU affinity is set through OpenHFT Java-Thread-Affinity, which binds threads on Linux only.
+ * Isolate the cores with the {@code isolcpus} kernel parameter or reserve them with {@code -Daffinity.reserved}.
+ *
+ * @author Anoop Nair
+ *
+ */
+public class AffinityThreadFactory extends NamedThreadFactory {
+	private static final Logger LOG = LoggerFactory.getLogger(AffinityThreadFactory.class);
+
+	/**
+	 * CPU affinity value to bind every thread to the next free isolated CPU.
+	 */
+	public static final String ISOLATED = "isolated";
+
+	static final int NEXT_ISOLATED_CPU = -1;
+	static final int NO_AFFINITY = -2;
+
+	private final List<Integer> cpuList;
+	private final int defaultCpu;
+	private final List<Integer> cpus = new ArrayList<Integer>();
+	private final List<String> labels = new ArrayList<String>();
+	private final Map<String, String> placement = Collections.synchronizedMap(new LinkedHashMap<String, String>());
+	private int threadIndex;
+
+	/**
+	 * @param threadName
+	 * @param cpuAffinity CPU list like {@code 2,3,6-7} given to threads one CPU each, {@value #ISOLATED} or null to not bind threads
+	 */
+	public AffinityThreadFactory(String threadName, String cpuAffinity) {
+		super(threadName);
+		if(ISOLATED.equals(StringUtils.trim(cpuAffinity))){
+			this.cpuList = Collections.emptyList();
+			this.defaultCpu = NEXT_ISOLATED_CPU;
+		}else{
+			this.cpuList = parseCpuList(cpuAffinity);
+			this.defaultCpu = NO_AFFINITY;
+		}
+		this.cpus.addAll(cpuList);
+	}
+
+	/**
+	 * Assign CPUs to the threads created next, one per label and in label order. A label repeats for every thread of a worker pool.
+	 * A label without its own CPU affinity, or with all its CPUs taken, gets the next CPU of this factory's CPU list.
+	 *
+	 * @param labels thread labels in the order the threads will be created
+	 * @param cpuAffinityByLabel a CPU list or {@value #ISOLATED} per label
+	 */
+	public synchronized void assignCpus(Collection<String> labels, Map<String, String> cpuAffinityByLabel) {
+		this.labels.clear();
+		this.cpus.clear();
+		Iterator<Integer> nextCpu = cpuList.iterator();
+		Map<String, Iterator<Integer>> nextCpuByLabel = new HashMap<String, Iterator<Integer>>();
+		for(String label : labels){
+			String cpuAffinity = cpuAffinityByLabel.get(label);
+			if(cpuAffinity != null && ISOLATED.equals(StringUtils.trim(cpuAffinity))){
+				cpus.add(NEXT_ISOLATED_CPU);
+			}else{
+				if(cpuAffinity != null && !nextCpuByLabel.containsKey(label)){
+					nextCpuByLabel.put(label, parseCpuList(cpuAffinity).iterator());
+				}
+				Iterator<Integer> labelCpu = nextCpuByLabel.get(label);
+				if(labelCpu != null && labelCpu.hasNext()){
+					cpus.add(labelCpu.next());
+				}else{
+					cpus.add(nextCpu.hasNext() ? nextCpu.next() : defaultCpu);
+				}
+			}
+			this.labels.add(label);
+		}
+	}
+
+	@Override
+	public synchronized Thread newThread(final Runnable r) {
+		final int cpu = threadIndex < cpus.size() ? cpus.get(threadIndex) : defaultCpu;
+		final String label = threadIndex < labels.size() ? labels.get(threadIndex) : null;
+		threadIndex++;
+
+		if(cpu == NO_AFFINITY){
+			Thread t = super.newThread(r);
+			placement.put(placementKey(t.getName(), label), "not bound");
+			return t;
+		}
+
+		return super.newThread(new Runnable() {
+			@Override
+			public void run() {
+				AffinityLock lock = cpu == NEXT_ISOLATED_CPU ? AffinityLock.acquireLock() : AffinityLock.acquireLock(cpu);
+				String threadName = placementKey(Thread.currentThread().getName(), label);
+				if(lock.isAllocated()){
+					placement.put(threadName, "cpu " + lock.cpuId());
+					LOG.info("Bound thread {} to cpu {}.", threadName, lock.cpuId());
+				}else{
+					placement.put(threadName, "not bound");
+					LOG.warn("Could not bind thread {} to {}.", threadName, cpu == NEXT_ISOLATED_CPU ? "a isolated cpu" : "cpu " + cpu);
+				}
+				try {
+					r.run();
+				} finally {
+					lock.release();
+				}
+			}
+		});
+	}
+
+	private static String placementKey(String threadName, String label) {
+		return label == null ? threadName : threadName + " " + label;
+	}
+
+	/**
+	 * @return CPU of every thread created by this factory, like {@code {billingThread-1 ConsumerA: cpu 3 | billingThread-2 ConsumerB: not bound}}
+	 */
+	public String getPlacement() {
+		StringJoiner str = new StringJoiner(" | ", "{", "}");
+		synchronized (placement) {
+			for(Map.Entry<String, String> entry : placement.entrySet()){
+				str.add(entry.getKey() + ": " + entry.getValue());
+			}
+		}
+		return str.toString();
+	}
+
+	/**
+	 * @param cpuAffinity a single CPU or {@value #ISOLATED}
+	 */
+	static int parseCpu(String cpuAffinity) {
+		String cpu = StringUtils.trim(cpuAffinity);
+		if(ISOLATED.equals(cpu)){
+			return NEXT_ISOLATED_CPU;
+		}
+		Validate.isTrue(StringUtils.isNumeric(cpu) && !cpu.isEmpty(), "Invalid cpu: %s", cpuAffinity);
+		return Integer.parseInt(cpu);
+	}
+
+	/**
+	 * @param cpuAffinity CPUs and CPU ranges separated by comma, like {@code 2,3,6-7}
+	 */
+	static List<Integer> parseCpuList(String cpuAffinity) {
+		List<Integer> cpuList = new ArrayList<Integer>();
+		if(StringUtils.isBlank(cpuAffinity)){
+			return cpuList;
+		}
+		for(String cpus : StringUtils.split(cpuAffinity, ',')){
+			String[] range = StringUtils.split(cpus, '-');
+			Validate.isTrue(range.length == 1 || range.length == 2, "Invalid cpu range: %s", cpus);
+			int first = parseCpu(range[0]);
+			int last = range.length == 1 ? first : parseCpu(range[1]);
+			Validate.isTrue(first >= 0 && first <= last, "Invalid cpu range: %s", cpus);
+			for(int cpu=first; cpu<=last; cpu++){
+				cpuList.add(cpu);
+			}
+		}
+		return cpuList;
+	}
+
+}
@@ -0,0 +1,35 @@
+package org.anair.disruptor;
+
+/**
+ * Defines what a publisher does when the ring buffer is full.
+ * 
+ * @author Anoop Nair
+ *
+ */
+public enum BackpressurePolicy {
+	/**
+	 * Wait until a slot becomes available. The publisher thread may wait forever if a event processor stalls.
+	 */
+	BLOCK,
+	
+	/**
+	 * Wait up to {@code publishTimeoutMillis} for a slot. The event is dropped and counted as timed out after that.
+	 */
+	BLOCK_WITH_TIMEOUT,
+	
+	/**
+	 * Drop the event that is being published and count it as rejected.
+	 */
+	DROP_NEWEST,
+	
+	/**
+	 * Count the event as rejected and throw a {@link IllegalStateException} to the publisher.
+	 */
+	REJECT,
+	
+	/**
+	 * Translate the event into a new instance from the EventFactory and run it through the 
+	 * {@code callerRunsEventHandler} on the publisher thread. This slows the publisher down to the consumer rate.
+	 */
+	CALLER_RUNS
+}
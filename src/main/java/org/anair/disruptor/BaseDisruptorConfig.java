@@ -1,14 +1,27 @@
 package org.anair.disruptor;
 
 import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
+import org.anair.disruptor.codec.EventCodec;
+import org.anair.disruptor.codec.EventCodecAware;
+import org.anair.disruptor.journal.JournalPosition;
+import org.anair.disruptor.journal.JournalReader;
+import org.anair.disruptor.journal.JournalingEventHandler;
+import org.anair.disruptor.offheap.OffHeapEventFactory;
+import org.anair.disruptor.waitstrategy.AdaptiveWaitStrategy;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.lmax.disruptor.EventFactory;
+import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.EventTranslator;
+import com.lmax.disruptor.InsufficientCapacityException;
 import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.WaitStrategy;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.dsl.ProducerType;
 
@@ -22,16 +35,53 @@ import com.lmax.disruptor.dsl.ProducerType;
 public abstract class BaseDisruptorConfig<T> extends AbstractDisruptorLifecycleManager<T> implements DisruptorConfig<T>  {
 
 	private static final Logger LOG = LoggerFactory.getLogger(BaseDisruptorConfig.class);
+	
+	/**
+	 * Returned by {@link #claim(int)} when the events must not be published.
+	 */
+	protected static final long REJECTED = -1L;
+	
+	/**
+	 * Returned by {@link #claim(int)} when the events must be run through {@link #callerRuns(Object)}.
+	 * Also passed as the sequence to the translator and the {@code callerRunsEventHandler}.
+	 */
+	protected static final long CALLER_RUNS = -2L;
+	
 	private int ringBufferSize = 1024;
 	private ProducerType producerType = ProducerType.SINGLE;
 	private WaitStrategyType waitStrategyType = WaitStrategyType.BLOCKING;
+	private final WaitStrategyParameters waitStrategyParameters = new WaitStrategyParameters();
+	private WaitStrategy waitStrategy;
+	private BackpressurePolicy backpressurePolicy = BackpressurePolicy.BLOCK;
+	private long publishTimeoutMillis = 1000;
+	private String cpuAffinity;
 	
 	private EventFactory<T> eventFactory;
+	private EventHandler<T> callerRunsEventHandler;
+	private EventCodec<T> eventCodec;
+	private JournalingEventHandler<T> replayJournal;
+	private int replayBatchSize = 256;
+	private long startupTimeoutMillis = 10000;
+	private EventProcessorThreadFactory eventProcessorThreadFactory;
+	private volatile long lastReplayedSequence = -1L;
+	private EventTranslator<T> warmupTranslator;
+	private int warmupEvents = 10000;
+	private volatile long lastWarmupSequence = -1L;
+	private volatile boolean live;
+	
+	private final LongAdder rejectedPublishCount = new LongAdder();
+	private final LongAdder timedOutPublishCount = new LongAdder();
+	private final LongAdder callerRunsPublishCount = new LongAdder();
 
 	@Override
 	public void init(){
 		Validate.notNull(getThreadName());
 		Validate.notNull(getEventFactory());
+		Validate.notNull(getBackpressurePolicy());
+		if(getBackpressurePolicy() == BackpressurePolicy.CALLER_RUNS){
+			Validate.notNull(getCallerRunsEventHandler(), "Define a callerRunsEventHandler for the CALLER_RUNS backpressure policy.");
+			Validate.isTrue(!(getEventFactory() instanceof OffHeapEventFactory), "The CALLER_RUNS backpressure policy needs heap events, off-heap slots are only allocated for the ring buffer.");
+		}
 		
 		createThreadFactory();
 		configureDisruptor();
@@ -39,19 +89,166 @@ public abstract class BaseDisruptorConfig<T> extends AbstractDisruptorLifecycleM
 		disruptorExceptionHandler();
 		disruptorEventHandler();
 		
+		shareEventCodec(replayJournal);
+		JournalReader<T> journalReader = replayJournal == null ? null : new JournalReader<T>(replayJournal, restoreSnapshot());
+		lastWarmupSequence = warmupTranslator == null ? -1L : warmupEvents - 1;
+		long replayCount = journalReader == null ? 0 : journalReader.count();
+		lastReplayedSequence = replayCount == 0 ? -1L : lastWarmupSequence + replayCount;
+		notifyWarmupAware(lastWarmupSequence);
+		notifyReplayAware(lastReplayedSequence);
+		
 		getDisruptor().start();
+		awaitEventProcessors();
+		if(warmupTranslator != null){
+			warmup();
+		}
+		if(journalReader != null){
+			try {
+				replay(journalReader);
+			} catch (RuntimeException e) {
+				halt();
+				throw e;
+			} finally {
+				journalReader.close();
+			}
+		}
+		live = true;
+	}
+	
+	/**
+	 * Wait for every event processor thread to run, so the disruptor is ready when {@code init} returns.
+	 * The disruptor is halted when one does not start within {@code startupTimeoutMillis}.
+	 */
+	private void awaitEventProcessors() {
+		final long start = System.nanoTime();
+		int notRunning = eventProcessorThreadFactory.awaitRunning(startupTimeoutMillis);
+		if(notRunning > 0){
+			halt();
+			throw new IllegalStateException(String.format("%d of %d event processors of disruptor %s did not start within %d ms.", 
+					notRunning, eventProcessorThreadFactory.getEventProcessorCount(), getThreadName(), startupTimeoutMillis));
+		}
+		LOG.debug("{} event processors of disruptor {} running after {} us.", eventProcessorThreadFactory.getEventProcessorCount(), getThreadName(), 
+				TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+	}
+	
+	/**
+	 * Give the {@code eventCodec} of this disruptor to a event handler without a codec of its own.
+	 * 
+	 * @param eventHandler any event handler, only {@link EventCodecAware} ones are changed
+	 */
+	@SuppressWarnings("unchecked")
+	protected void shareEventCodec(Object eventHandler) {
+		if(eventCodec != null && eventHandler instanceof EventCodecAware && ((EventCodecAware<T>) eventHandler).getEventCodec() == null){
+			((EventCodecAware<T>) eventHandler).setEventCodec(eventCodec);
+		}
+	}
+	
+	/**
+	 * Restore the state of event handlers from a snapshot before the journal is replayed.
+	 * 
+	 * @return journal position to replay from, null to replay the whole journal
+	 */
+	protected JournalPosition restoreSnapshot() {
+		return null;
+	}
+	
+	/**
+	 * Tell event handlers implementing {@link org.anair.disruptor.journal.ReplayAware} which events are replayed, before the event processors start.
+	 * 
+	 * @param lastReplayedSequence -1 when nothing is replayed
+	 */
+	protected void notifyReplayAware(long lastReplayedSequence) {
+	}
+	
+	/**
+	 * Tell event handlers implementing {@link WarmupAware} which events are warm-up events, before the event processors start.
+	 * 
+	 * @param lastWarmupSequence -1 when the disruptor is not warmed up
+	 */
+	protected void notifyWarmupAware(long lastWarmupSequence) {
+	}
+	
+	/**
+	 * Called once the warm-up events are processed, before replayed and live events are published.
+	 */
+	protected void warmedUp() {
+	}
+	
+	/**
+	 * Touch the off-heap slots, then publish {@code warmupEvents} events with the {@code warmupTranslator} through all event handlers 
+	 * and wait for the last event handlers to process them, so the event handler code is compiled before live events arrive.
+	 * The disruptor is halted when the warm-up events are not processed within {@code startupTimeoutMillis}.
+	 */
+	private void warmup() {
+		final long start = System.nanoTime();
+		if(getEventFactory() instanceof OffHeapEventFactory){
+			((OffHeapEventFactory<?>) getEventFactory()).pretouch();
+		}
+		final RingBuffer<T> ringBuffer = getRingBuffer();
+		final int batchSize = Math.min(replayBatchSize, ringBuffer.getBufferSize());
+		long published = 0;
+		while(published < warmupEvents){
+			int n = (int) Math.min(batchSize, warmupEvents - published);
+			long hi = ringBuffer.next(n);
+			long lo = hi - (n - 1);
+			for(long sequence = lo; sequence <= hi; sequence++){
+				warmupTranslator.translateTo(ringBuffer.get(sequence), sequence);
+			}
+			ringBuffer.publish(lo, hi);
+			published += n;
+		}
+		final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(startupTimeoutMillis);
+		while(ringBuffer.getMinimumGatingSequence() < lastWarmupSequence){
+			if(System.nanoTime() - deadline >= 0){
+				halt();
+				throw new IllegalStateException(String.format("Disruptor %s processed %d of %d warm-up events within %d ms.", 
+						getThreadName(), ringBuffer.getMinimumGatingSequence() + 1, warmupEvents, startupTimeoutMillis));
+			}
+			LockSupport.parkNanos(100000L);
+		}
+		warmedUp();
+		LOG.info("Warmed up disruptor {} with {} events in {} ms.", getThreadName(), warmupEvents, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+	
+	/**
+	 * Publish all journaled events in batches of claimed sequences, before live events are accepted.
+	 * Replay waits for free slots whatever the {@link BackpressurePolicy}. The disruptor is halted when a event can not be read.
+	 */
+	private void replay(JournalReader<T> journalReader) {
+		final long start = System.nanoTime();
+		final RingBuffer<T> ringBuffer = getRingBuffer();
+		final int batchSize = Math.min(replayBatchSize, ringBuffer.getBufferSize());
+		final long replayCount = lastReplayedSequence - lastWarmupSequence;
+		long replayed = 0;
+		while(replayed < replayCount){
+			int n = (int) Math.min(batchSize, replayCount - replayed);
+			long hi = ringBuffer.next(n);
+			long lo = hi - (n - 1);
+			for(long sequence = lo; sequence <= hi; sequence++){
+				Validate.validState(journalReader.read(ringBuffer.get(sequence)), "Journal %s ended before sequence %d.", journalReader.getJournalName(), sequence);
+			}
+			ringBuffer.publish(lo, hi);
+			replayed += n;
+		}
+		LOG.info("Replayed {} events of journal {} into disruptor {} in {} ms.", replayed, journalReader.getJournalName(), getThreadName(), 
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
 	}
 	
 	private void configureDisruptor(){
 		String disruptorConfigString = getDisruptorConfiguration();
 		LOG.info("Going to create a LMAX disruptor "+ disruptorConfigString);
 		
+		waitStrategy = getWaitStrategyType().instance(waitStrategyParameters);
+		if(getEventFactory() instanceof OffHeapEventFactory){
+			((OffHeapEventFactory<?>) getEventFactory()).allocate(getRingBufferSize());
+		}
+		eventProcessorThreadFactory = new EventProcessorThreadFactory(getThreadFactory());
 		setDisruptor(new Disruptor<T>(
 				getEventFactory(),
 				getRingBufferSize(),
-				getThreadFactory(),
+				eventProcessorThreadFactory,
 				getProducerType(),
-				getWaitStrategyType().instance()
+				waitStrategy
 		));
 		
 		LOG.info("Created and configured LMAX disruptor "+ disruptorConfigString);
@@ -66,8 +263,107 @@ public abstract class BaseDisruptorConfig<T> extends AbstractDisruptorLifecycleM
 	@Override
 	public abstract void publish(EventTranslator<T> eventTranslator); 
 	
+	/**
+	 * Claim {@code n} ring buffer sequences applying the {@link BackpressurePolicy} when the ring buffer is full.
+	 * 
+	 * @param n number of sequences
+	 * @return the highest claimed sequence, {@link #REJECTED} or {@link #CALLER_RUNS}
+	 */
+	protected long claim(int n) {
+		checkLive();
+		Validate.isTrue(n > 0 && n <= getRingBuffer().getBufferSize(), "Batch size must be between 1 and the ring buffer size: %d", n);
+		switch (backpressurePolicy) {
+			case BLOCK:
+				return getRingBuffer().next(n);
+			case BLOCK_WITH_TIMEOUT:
+				return claimWithTimeout(n);
+			default:
+				try {
+					return getRingBuffer().tryNext(n);
+				} catch (InsufficientCapacityException e) {
+					return ringBufferFull(n);
+				}
+		}
+	}
+	
+	/**
+	 * Live events are accepted once {@code init} has warmed up the disruptor and replayed the journal, 
+	 * so they never get a warm-up or replayed sequence.
+	 * 
+	 * @throws IllegalStateException before {@code init} completed
+	 */
+	protected void checkLive() {
+		Validate.validState(live, "Disruptor %s accepts events once init completed.", getThreadName());
+	}
+	
+	private long claimWithTimeout(int n) {
+		final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(publishTimeoutMillis);
+		do {
+			try {
+				return getRingBuffer().tryNext(n);
+			} catch (InsufficientCapacityException e) {
+				LockSupport.parkNanos(1L);
+			}
+		} while (System.nanoTime() - deadline < 0);
+		
+		timedOutPublishCount.add(n);
+		LOG.debug("Ring buffer {} is full. Dropped {} event(s) after waiting {} ms.", getThreadName(), n, publishTimeoutMillis);
+		return REJECTED;
+	}
+	
+	private long ringBufferFull(int n) {
+		if(backpressurePolicy == BackpressurePolicy.CALLER_RUNS){
+			callerRunsPublishCount.add(n);
+			return CALLER_RUNS;
+		}
+		
+		countRejected(n);
+		if(backpressurePolicy == BackpressurePolicy.REJECT){
+			throw new IllegalStateException("Ring buffer " + getThreadName() + " is full. Rejected " + n + " event(s).");
+		}
+		LOG.debug("Ring buffer {} is full. Dropped {} event(s).", getThreadName(), n);
+		return REJECTED;
+	}
+	
+	protected void countRejected(int n) {
+		rejectedPublishCount.add(n);
+	}
+	
+	/**
+	 * Run a event that could not be published through the {@code callerRunsEventHandler} on the publisher thread.
+	 * 
+	 * @param event a new event from the EventFactory, already translated
+	 */
+	protected void callerRuns(T event) {
+		try {
+			callerRunsEventHandler.onEvent(event, CALLER_RUNS, true);
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
 	private void createThreadFactory() {
-		super.setThreadFactory(new NamedThreadFactory(getThreadName()));
+		if(isCpuAffinityConfigured()){
+			super.setThreadFactory(new AffinityThreadFactory(getThreadName(), getCpuAffinity()));
+		}else{
+			super.setThreadFactory(new NamedThreadFactory(getThreadName()));
+		}
+	}
+	
+	protected boolean isCpuAffinityConfigured() {
+		return getCpuAffinity() != null;
+	}
+	
+	/**
+	 * @return CPU of every event processor thread, or null when CPU affinity is not configured
+	 */
+	public String getThreadPlacement() {
+		if(getThreadFactory() instanceof AffinityThreadFactory){
+			return ((AffinityThreadFactory) getThreadFactory()).getPlacement();
+		}
+		return null;
 	}
 	
 	public String getDisruptorConfiguration() {
@@ -76,6 +372,25 @@ public abstract class BaseDisruptorConfig<T> extends AbstractDisruptorLifecycleM
 		str.add("Ringbuffer slot size: " + getRingBufferSize());
 		str.add("Producer type: " + getProducerType().name());
 		str.add("Wait strategy: " + getWaitStrategyType().name());
+		if(getIdleTimeoutMillis() > 0){
+			str.add("Idle timeout: " + getIdleTimeoutMillis() + " ms");
+		}
+		str.add("Backpressure policy: " + getBackpressurePolicy().name());
+		if(getEventFactory() instanceof OffHeapEventFactory){
+			str.add("Off-heap events: " + getEventFactory());
+		}
+		if(eventCodec != null){
+			str.add("Event codec: " + eventCodec);
+		}
+		if(warmupTranslator != null){
+			str.add("Warm-up: " + warmupEvents + " events");
+		}
+		if(replayJournal != null){
+			str.add("Replay journal: " + replayJournal.getJournalName());
+		}
+		if(getCpuAffinity() != null){
+			str.add("CPU affinity: " + getCpuAffinity());
+		}
 		return str.toString();
 	}
 	
@@ -99,7 +414,13 @@ public abstract class BaseDisruptorConfig<T> extends AbstractDisruptorLifecycleM
 		return ringBufferSize;
 	}
 
+	/**
+	 * Number of ring buffer slots. Default 1024.
+	 * 
+	 * @param ringBufferSize a power of 2
+	 */
 	public void setRingBufferSize(int ringBufferSize) {
+		Validate.isTrue(ringBufferSize > 0 && Integer.bitCount(ringBufferSize) == 1, "Ring buffer size must be a power of 2: %d", ringBufferSize);
 		this.ringBufferSize = ringBufferSize;
 	}
 
@@ -119,6 +440,307 @@ public abstract class BaseDisruptorConfig<T> extends AbstractDisruptorLifecycleM
 		this.waitStrategyType = waitStrategyType;
 	}
 
+	public long getWaitTimeoutMillis() {
+		return waitStrategyParameters.getWaitTimeoutMillis();
+	}
+
+	/**
+	 * Time a event processor waits for events before timing out with {@link WaitStrategyType#TIMEOUT_BLOCKING} 
+	 * and {@link WaitStrategyType#LITE_TIMEOUT_BLOCKING}. Default 100 ms.
+	 * 
+	 * @param waitTimeoutMillis
+	 */
+	public void setWaitTimeoutMillis(long waitTimeoutMillis) {
+		waitStrategyParameters.setWaitTimeoutMillis(waitTimeoutMillis);
+	}
+
+	public long getIdleTimeoutMillis() {
+		return waitStrategyParameters.getIdleTimeoutMillis();
+	}
+
+	/**
+	 * Wake up event processors after {@code idleTimeoutMillis} without events to call event handlers implementing 
+	 * {@link com.lmax.disruptor.TimeoutHandler}, like a lingering {@link org.anair.disruptor.handler.BatchingEventHandler}. 
+	 * BLOCKING and LITE_BLOCKING become their timeout variants, ADAPTIVE times out in every mode. 
+	 * BUSY_SPIN, YIELDING and SLEEPING_WAIT do not time out. Default 0, no idle timeout.
+	 * 
+	 * @param idleTimeoutMillis
+	 */
+	public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+		Validate.isTrue(idleTimeoutMillis >= 0, "Idle timeout must not be negative: %d", idleTimeoutMillis);
+		waitStrategyParameters.setIdleTimeoutMillis(idleTimeoutMillis);
+	}
+
+	/**
+	 * @return true when event handlers implementing {@link com.lmax.disruptor.TimeoutHandler} are called while no events arrive
+	 */
+	protected boolean isTimingOut() {
+		return waitStrategyParameters.isIdleTimeout() 
+				|| getWaitStrategyType() == WaitStrategyType.TIMEOUT_BLOCKING || getWaitStrategyType() == WaitStrategyType.LITE_TIMEOUT_BLOCKING;
+	}
+
+	public long getSpinTimeoutNanos() {
+		return waitStrategyParameters.getSpinTimeoutNanos();
+	}
+
+	/**
+	 * Time to spin before yielding with {@link WaitStrategyType#PHASED_BACKOFF}. Default 10 us.
+	 * 
+	 * @param spinTimeoutNanos
+	 */
+	public void setSpinTimeoutNanos(long spinTimeoutNanos) {
+		waitStrategyParameters.setSpinTimeoutNanos(spinTimeoutNanos);
+	}
+
+	public long getYieldTimeoutNanos() {
+		return waitStrategyParameters.getYieldTimeoutNanos();
+	}
+
+	/**
+	 * Time to yield after spinning before falling back to the {@code phasedBackoffFallback} strategy with {@link WaitStrategyType#PHASED_BACKOFF}. Default 100 us.
+	 * 
+	 * @param yieldTimeoutNanos
+	 */
+	public void setYieldTimeoutNanos(long yieldTimeoutNanos) {
+		waitStrategyParameters.setYieldTimeoutNanos(yieldTimeoutNanos);
+	}
+
+	public WaitStrategyType getPhasedBackoffFallback() {
+		return waitStrategyParameters.getPhasedBackoffFallback();
+	}
+
+	/**
+	 * Wait strategy of {@link WaitStrategyType#PHASED_BACKOFF} after spinning and yielding: 
+	 * {@link WaitStrategyType#BLOCKING}, {@link WaitStrategyType#LITE_BLOCKING} (default) or {@link WaitStrategyType#SLEEPING_WAIT}.
+	 * 
+	 * @param phasedBackoffFallback
+	 */
+	public void setPhasedBackoffFallback(WaitStrategyType phasedBackoffFallback) {
+		waitStrategyParameters.setPhasedBackoffFallback(phasedBackoffFallback);
+	}
+
+	public int getSleepingRetries() {
+		return waitStrategyParameters.getSleepingRetries();
+	}
+
+	/**
+	 * Spin and yield tries before sleeping with {@link WaitStrategyType#SLEEPING_WAIT}. Default 200.
+	 * 
+	 * @param sleepingRetries
+	 */
+	public void setSleepingRetries(int sleepingRetries) {
+		waitStrategyParameters.setSleepingRetries(sleepingRetries);
+	}
+
+	public long getSleepTimeNanos() {
+		return waitStrategyParameters.getSleepTimeNanos();
+	}
+
+	/**
+	 * Time to sleep between checks with {@link WaitStrategyType#SLEEPING_WAIT}. Default 1 ns, the shortest park the OS allows.
+	 * 
+	 * @param sleepTimeNanos
+	 */
+	public void setSleepTimeNanos(long sleepTimeNanos) {
+		waitStrategyParameters.setSleepTimeNanos(sleepTimeNanos);
+	}
+
+	/**
+	 * @return current mode of the {@link WaitStrategyType#ADAPTIVE} wait strategy
+	 */
+	public AdaptiveWaitStrategy.Mode getWaitMode() {
+		if(waitStrategy instanceof AdaptiveWaitStrategy){
+			return ((AdaptiveWaitStrategy) waitStrategy).getMode();
+		}
+		return waitStrategyParameters.getWaitMode();
+	}
+
+	/**
+	 * Mode the {@link WaitStrategyType#ADAPTIVE} wait strategy starts with. Default BLOCK. 
+	 * Switches the mode when the disruptor is running.
+	 * 
+	 * @param waitMode
+	 */
+	public void setWaitMode(AdaptiveWaitStrategy.Mode waitMode) {
+		Validate.notNull(waitMode);
+		Validate.validState(waitStrategy == null || waitStrategy instanceof AdaptiveWaitStrategy, 
+				"Wait strategy of disruptor %s is %s, not ADAPTIVE.", getThreadName(), getWaitStrategyType());
+		waitStrategyParameters.setWaitMode(waitMode);
+		if(waitStrategy != null){
+			AdaptiveWaitStrategy.Mode previousMode = ((AdaptiveWaitStrategy) waitStrategy).switchMode(waitMode);
+			if(previousMode != waitMode){
+				LOG.info("Disruptor {} switched wait mode from {} to {}.", getThreadName(), previousMode, waitMode);
+			}
+		}
+	}
+
+	public EventCodec<T> getEventCodec() {
+		return eventCodec;
+	}
+
+	/**
+	 * Codec of the events of this disruptor, shared by the {@link EventCodecAware} event handlers without a codec of their own, 
+	 * like the {@link JournalingEventHandler}.
+	 * 
+	 * @param eventCodec
+	 */
+	public void setEventCodec(EventCodec<T> eventCodec) {
+		this.eventCodec = eventCodec;
+	}
+
+	public JournalingEventHandler<T> getReplayJournal() {
+		return replayJournal;
+	}
+
+	/**
+	 * Replay the journal of this journaling event handler through the ring buffer on init, before live events are published. 
+	 * Usually the journaling event handler of this disruptor, which skips the replayed events.
+	 * 
+	 * @param replayJournal
+	 */
+	public void setReplayJournal(JournalingEventHandler<T> replayJournal) {
+		this.replayJournal = replayJournal;
+	}
+
+	public int getReplayBatchSize() {
+		return replayBatchSize;
+	}
+
+	/**
+	 * Sequences claimed at once while replaying, at most the ring buffer size. Default 256.
+	 * 
+	 * @param replayBatchSize
+	 */
+	public void setReplayBatchSize(int replayBatchSize) {
+		Validate.isTrue(replayBatchSize > 0, "Replay batch size must be positive: %d", replayBatchSize);
+		this.replayBatchSize = replayBatchSize;
+	}
+
+	public long getStartupTimeoutMillis() {
+		return startupTimeoutMillis;
+	}
+
+	/**
+	 * Time {@code init} waits for the event processor threads to run. Default 10000.
+	 * 
+	 * @param startupTimeoutMillis
+	 */
+	public void setStartupTimeoutMillis(long startupTimeoutMillis) {
+		Validate.isTrue(startupTimeoutMillis > 0, "Startup timeout must be positive: %d", startupTimeoutMillis);
+		this.startupTimeoutMillis = startupTimeoutMillis;
+	}
+
+	/**
+	 * @return highest sequence replayed from the journal on init, -1 when nothing was replayed.
+	 * Replayed events follow the warm-up events.
+	 */
+	public long getLastReplayedSequence() {
+		return lastReplayedSequence;
+	}
+
+	public EventTranslator<T> getWarmupTranslator() {
+		return warmupTranslator;
+	}
+
+	/**
+	 * Fills synthetic events to warm up the disruptor on init. No warm-up when not set.
+	 * 
+	 * @param warmupTranslator
+	 */
+	public void setWarmupTranslator(EventTranslator<T> warmupTranslator) {
+		this.warmupTranslator = warmupTranslator;
+	}
+
+	public int getWarmupEvents() {
+		return warmupEvents;
+	}
+
+	/**
+	 * Warm-up events published on init. Default 10000, enough for the JIT compiler to compile the event handlers.
+	 * 
+	 * @param warmupEvents
+	 */
+	public void setWarmupEvents(int warmupEvents) {
+		Validate.isTrue(warmupEvents > 0, "Warm-up events must be positive: %d", warmupEvents);
+		this.warmupEvents = warmupEvents;
+	}
+
+	/**
+	 * @return highest sequence of the warm-up events published on init, -1 when the disruptor was not warmed up
+	 */
+	public long getLastWarmupSequence() {
+		return lastWarmupSequence;
+	}
+
+	public BackpressurePolicy getBackpressurePolicy() {
+		return backpressurePolicy;
+	}
+
+	public void setBackpressurePolicy(BackpressurePolicy backpressurePolicy) {
+		this.backpressurePolicy = backpressurePolicy;
+	}
+
+	public long getPublishTimeoutMillis() {
+		return publishTimeoutMillis;
+	}
+
+	/**
+	 * Maximum time to wait for a free slot with {@link BackpressurePolicy#BLOCK_WITH_TIMEOUT}.
+	 * 
+	 * @param publishTimeoutMillis
+	 */
+	public void setPublishTimeoutMillis(long publishTimeoutMillis) {
+		this.publishTimeoutMillis = publishTimeoutMillis;
+	}
+
+	public String getCpuAffinity() {
+		return cpuAffinity;
+	}
+
+	/**
+	 * Bind event processor threads to CPUs: a CPU list like {@code 2,3,6-7} with one CPU per thread 
+	 * in the order the event handlers are wired, or {@value AffinityThreadFactory#ISOLATED} for the next free isolated CPU.
+	 * 
+	 * @param cpuAffinity
+	 */
+	public void setCpuAffinity(String cpuAffinity) {
+		this.cpuAffinity = cpuAffinity;
+	}
+
+	protected EventHandler<T> getCallerRunsEventHandler() {
+		return callerRunsEventHandler;
+	}
+
+	/**
+	 * Handler that processes events on the publisher thread with {@link BackpressurePolicy#CALLER_RUNS}.
+	 * 
+	 * @param callerRunsEventHandler
+	 */
+	public void setCallerRunsEventHandler(EventHandler<T> callerRunsEventHandler) {
+		this.callerRunsEventHandler = callerRunsEventHandler;
+	}
+	
+	/**
+	 * @return events dropped or rejected because the ring buffer was full
+	 */
+	public long getRejectedPublishCount() {
+		return rejectedPublishCount.sum();
+	}
+	
+	/**
+	 * @return events dropped after waiting {@code publishTimeoutMillis}
+	 */
+	public long getTimedOutPublishCount() {
+		return timedOutPublishCount.sum();
+	}
+	
+	/**
+	 * @return events processed on the publisher thread
+	 */
+	public long getCallerRunsPublishCount() {
+		return callerRunsPublishCount.sum();
+	}
+
 	protected EventFactory<T> getEventFactory() {
 		return eventFactory;
 	}
@@ -1,14 +1,44 @@
 package org.anair.disruptor;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.anair.disruptor.exception.DeadLetterEvent;
 import org.anair.disruptor.exception.DisruptorExceptionHandler;
-import org.apache.commons.lang3.ArrayUtils;
+import org.anair.disruptor.exception.ExceptionStrategy;
+import org.anair.disruptor.handler.BatchingEventHandler;
+import org.anair.disruptor.journal.JournalPosition;
+import org.anair.disruptor.journal.ReplayAware;
+import org.anair.disruptor.journal.SnapshotAware;
+import org.anair.disruptor.journal.Snapshotter;
+import org.anair.disruptor.metrics.OccupancyHistogram;
+import org.anair.disruptor.metrics.ThroughputMeter;
+import org.anair.disruptor.metrics.TimedEventHandler;
+import org.anair.disruptor.waitstrategy.AdaptiveWaitStrategy;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.EventTranslator;
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.EventTranslatorTwoArg;
+import com.lmax.disruptor.EventTranslatorVararg;
 import com.lmax.disruptor.dsl.EventHandlerGroup;
 import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.Util;
 
 /**
  * Create and configure a default LMAX Disruptor spring bean.
@@ -25,6 +55,7 @@ import com.lmax.disruptor.dsl.ProducerType;
  * 	<li>Ring buffer size: 1024</li>
  *  <li>Producer Type: {@link ProducerType.SINGLE}</li>
  *  <li>Wait Strategy Type: {@link WaitStrategyType.BLOCKING}</li>
+ *  <li>Backpressure Policy: {@link BackpressurePolicy.BLOCK}</li>
  * </ul>
  * 
  * <p>
@@ -70,55 +101,1234 @@ public class DefaultDisruptorConfig<T> extends BaseDisruptorConfig<T>{
 	private static final Logger LOG = LoggerFactory.getLogger(DefaultDisruptorConfig.class);
 
 	private EventHandlerChain<T>[] eventHandlerChain;
+	private EventHandlerStage<T>[] eventHandlerStages;
+	private EventHandlerGraph<T> eventHandlerGraph;
+	private boolean latencyHistogramEnabled;
+	private final Map<EventHandler<T>, EventHandler<T>> registeredEventHandlers = new IdentityHashMap<EventHandler<T>, EventHandler<T>>();
+	private final Map<String, EventHandler<T>> eventHandlersByName = new LinkedHashMap<String, EventHandler<T>>();
+	private final Map<String, WorkHandlerPool<T>> workHandlerPoolsByName = new LinkedHashMap<String, WorkHandlerPool<T>>();
+	private final Set<String> eventHandlerNames = new LinkedHashSet<String>();
+	
+	private Map<String, String> eventHandlerCpuAffinity = Collections.emptyMap();
+	
+	private ExceptionStrategy exceptionStrategy = ExceptionStrategy.SKIP;
+	private Map<String, ExceptionStrategy> eventHandlerExceptionStrategy = Collections.emptyMap();
+	private int retryAttempts = 3;
+	private long retryBackoffMillis = 10;
+	private DisruptorExceptionHandler<T> workHandlerExceptionHandler;
+	private final Map<String, DisruptorExceptionHandler<T>> exceptionHandlers = new LinkedHashMap<String, DisruptorExceptionHandler<T>>();
+	private DefaultDisruptorConfig<DeadLetterEvent<T>> deadLetterDisruptor;
+	private EventCopier<T> deadLetterEventCopier;
+	private boolean deadLetterDisruptorStarted;
+	
+	private boolean throughputMeterEnabled;
+	private ScheduledExecutorService throughputSampler;
+	private final ThroughputMeter publishThroughputMeter = new ThroughputMeter();
+	private final Map<String, ThroughputMeter> consumeThroughputMeters = new LinkedHashMap<String, ThroughputMeter>();
+	
+	static final int MIN_RECOMMENDED_RING_BUFFER_SIZE = 64;
+	
+	private boolean occupancyMonitorEnabled;
+	private long occupancySampleIntervalMillis = 10;
+	private ScheduledExecutorService occupancySampler;
+	private volatile OccupancyHistogram occupancyHistogram = new OccupancyHistogram();
+	
+	private EventHandler<T> handoffEventHandler;
+	
+	private File snapshotDirectory;
+	private Snapshotter<T> snapshotter;
+	
+	private volatile boolean autoWaitMode;
+	private double spinPublishRate = 100000;
+	private double yieldPublishRate = 10000;
+	private double sleepPublishRate = 100;
+
+	@Override
+	public void init() {
+		if(autoWaitMode){
+			validateAutoWaitMode();
+		}
+		if(occupancyMonitorEnabled){
+			Validate.isTrue(occupancySampleIntervalMillis > 0, "Occupancy sample interval must be positive: %d", occupancySampleIntervalMillis);
+		}
+		if(snapshotDirectory != null){
+			Validate.notNull(getReplayJournal(), "Define a replayJournal to take snapshots of disruptor %s.", getThreadName());
+			snapshotter = new Snapshotter<T>(snapshotDirectory, getReplayJournal());
+		}
+		if(deadLetterDisruptor != null){
+			startDeadLetterDisruptor();
+		}
+		try {
+			super.init();
+		} catch (RuntimeException e) {
+			if(deadLetterDisruptorStarted){
+				deadLetterDisruptor.halt();
+				deadLetterDisruptorStarted = false;
+			}
+			throw e;
+		}
+		if(throughputMeterEnabled){
+			startThroughputSampler();
+		}
+		if(occupancyMonitorEnabled){
+			startOccupancySampler();
+		}
+	}
+	
+	/**
+	 * Start the dead-letter disruptor unless it is started already, like by a {@link DisruptorStartupCoordinator}.
+	 */
+	private void startDeadLetterDisruptor() {
+		Validate.notNull(deadLetterEventCopier, "Define a deadLetterEventCopier for the dead-letter disruptor of %s.", getThreadName());
+		Validate.isTrue(deadLetterDisruptor != (Object) this, "Disruptor %s can not be its own dead-letter disruptor.", getThreadName());
+		if(deadLetterDisruptor.getDisruptor() == null){
+			deadLetterDisruptor.init();
+			deadLetterDisruptorStarted = true;
+		}
+	}
+	
+	/**
+	 * Shutdown this disruptor, then the dead-letter disruptor it started, so it takes the last dead letters.
+	 */
+	@Override
+	public void controlledShutdown() {
+		stopSamplers();
+		super.controlledShutdown();
+		if(deadLetterDisruptorStarted){
+			deadLetterDisruptor.controlledShutdown();
+			deadLetterDisruptorStarted = false;
+		}
+	}
+	
+	@Override
+	public void halt() {
+		stopSamplers();
+		super.halt();
+	}
+	
+	@Override
+	public void awaitAndShutdown(long time) {
+		stopSamplers();
+		super.awaitAndShutdown(time);
+		if(deadLetterDisruptorStarted){
+			deadLetterDisruptor.awaitAndShutdown(time);
+			deadLetterDisruptorStarted = false;
+		}
+	}
+	
+	private void stopSamplers() {
+		stopThroughputSampler();
+		stopOccupancySampler();
+	}
 
 	@Override
 	public void publish(EventTranslator<T> eventTranslator){
-		getRingBuffer().publishEvent(eventTranslator);
-		LOG.debug("Published " + eventTranslator.getClass().getSimpleName()  +" event to sequence: " + getCurrentLocation());
+		long sequence = claim(1);
+		if(sequence >= 0){
+			try{
+				eventTranslator.translateTo(getRingBuffer().get(sequence), sequence);
+			}finally{
+				getRingBuffer().publish(sequence);
+			}
+			logPublished(eventTranslator);
+		}else if(sequence == CALLER_RUNS){
+			T event = getEventFactory().newInstance();
+			eventTranslator.translateTo(event, sequence);
+			callerRuns(event);
+		}
+	}
+	
+	@Override
+	public <A> void publish(EventTranslatorOneArg<T, A> eventTranslator, A arg0) {
+		long sequence = claim(1);
+		if(sequence >= 0){
+			try{
+				eventTranslator.translateTo(getRingBuffer().get(sequence), sequence, arg0);
+			}finally{
+				getRingBuffer().publish(sequence);
+			}
+			logPublished(eventTranslator);
+		}else if(sequence == CALLER_RUNS){
+			T event = getEventFactory().newInstance();
+			eventTranslator.translateTo(event, sequence, arg0);
+			callerRuns(event);
+		}
+	}
+
+	@Override
+	public <A, B> void publish(EventTranslatorTwoArg<T, A, B> eventTranslator, A arg0, B arg1) {
+		long sequence = claim(1);
+		if(sequence >= 0){
+			try{
+				eventTranslator.translateTo(getRingBuffer().get(sequence), sequence, arg0, arg1);
+			}finally{
+				getRingBuffer().publish(sequence);
+			}
+			logPublished(eventTranslator);
+		}else if(sequence == CALLER_RUNS){
+			T event = getEventFactory().newInstance();
+			eventTranslator.translateTo(event, sequence, arg0, arg1);
+			callerRuns(event);
+		}
+	}
+
+	@Override
+	public void publish(EventTranslatorVararg<T> eventTranslator, Object... args) {
+		long sequence = claim(1);
+		if(sequence >= 0){
+			try{
+				eventTranslator.translateTo(getRingBuffer().get(sequence), sequence, args);
+			}finally{
+				getRingBuffer().publish(sequence);
+			}
+			logPublished(eventTranslator);
+		}else if(sequence == CALLER_RUNS){
+			T event = getEventFactory().newInstance();
+			eventTranslator.translateTo(event, sequence, args);
+			callerRuns(event);
+		}
+	}
+	
+	@Override
+	public boolean tryPublish(EventTranslator<T> eventTranslator) {
+		checkLive();
+		return tryPublished(getRingBuffer().tryPublishEvent(eventTranslator), eventTranslator);
+	}
+
+	@Override
+	public <A> boolean tryPublish(EventTranslatorOneArg<T, A> eventTranslator, A arg0) {
+		checkLive();
+		return tryPublished(getRingBuffer().tryPublishEvent(eventTranslator, arg0), eventTranslator);
+	}
+
+	@Override
+	public <A, B> boolean tryPublish(EventTranslatorTwoArg<T, A, B> eventTranslator, A arg0, B arg1) {
+		checkLive();
+		return tryPublished(getRingBuffer().tryPublishEvent(eventTranslator, arg0, arg1), eventTranslator);
+	}
+
+	@Override
+	public boolean tryPublish(EventTranslatorVararg<T> eventTranslator, Object... args) {
+		checkLive();
+		return tryPublished(getRingBuffer().tryPublishEvent(eventTranslator, args), eventTranslator);
+	}
+	
+	private boolean tryPublished(boolean published, Object eventTranslator) {
+		if(published){
+			logPublished(eventTranslator);
+		}else{
+			countRejected(1);
+		}
+		return published;
+	}
+
+	@Override
+	public void publishEvents(EventTranslator<T>[] eventTranslators) {
+		publishEvents(eventTranslators, 0, eventTranslators.length);
+	}
+
+	@Override
+	public void publishEvents(EventTranslator<T>[] eventTranslators, int batchStartsAt, int batchSize) {
+		checkBounds(eventTranslators.length, batchStartsAt, batchSize);
+		long hi = claim(batchSize);
+		if(hi >= 0){
+			long lo = hi - (batchSize - 1);
+			try{
+				int i = batchStartsAt;
+				for(long sequence = lo; sequence <= hi; sequence++, i++){
+					eventTranslators[i].translateTo(getRingBuffer().get(sequence), sequence);
+				}
+			}finally{
+				getRingBuffer().publish(lo, hi);
+			}
+			logPublished(eventTranslators, batchSize);
+		}else if(hi == CALLER_RUNS){
+			for(int i = batchStartsAt; i < batchStartsAt + batchSize; i++){
+				T event = getEventFactory().newInstance();
+				eventTranslators[i].translateTo(event, hi);
+				callerRuns(event);
+			}
+		}
+	}
+
+	@Override
+	public <A> void publishEvents(EventTranslatorOneArg<T, A> eventTranslator, A[] arg0) {
+		publishEvents(eventTranslator, 0, arg0.length, arg0);
+	}
+
+	@Override
+	public <A> void publishEvents(EventTranslatorOneArg<T, A> eventTranslator, int batchStartsAt, int batchSize, A[] arg0) {
+		checkBounds(arg0.length, batchStartsAt, batchSize);
+		long hi = claim(batchSize);
+		if(hi >= 0){
+			long lo = hi - (batchSize - 1);
+			try{
+				int i = batchStartsAt;
+				for(long sequence = lo; sequence <= hi; sequence++, i++){
+					eventTranslator.translateTo(getRingBuffer().get(sequence), sequence, arg0[i]);
+				}
+			}finally{
+				getRingBuffer().publish(lo, hi);
+			}
+			logPublished(eventTranslator, batchSize);
+		}else if(hi == CALLER_RUNS){
+			for(int i = batchStartsAt; i < batchStartsAt + batchSize; i++){
+				T event = getEventFactory().newInstance();
+				eventTranslator.translateTo(event, hi, arg0[i]);
+				callerRuns(event);
+			}
+		}
+	}
+
+	@Override
+	public <A, B> void publishEvents(EventTranslatorTwoArg<T, A, B> eventTranslator, A[] arg0, B[] arg1) {
+		publishEvents(eventTranslator, 0, arg0.length, arg0, arg1);
+	}
+
+	@Override
+	public <A, B> void publishEvents(EventTranslatorTwoArg<T, A, B> eventTranslator, int batchStartsAt, int batchSize, A[] arg0, B[] arg1) {
+		checkBounds(Math.min(arg0.length, arg1.length), batchStartsAt, batchSize);
+		long hi = claim(batchSize);
+		if(hi >= 0){
+			long lo = hi - (batchSize - 1);
+			try{
+				int i = batchStartsAt;
+				for(long sequence = lo; sequence <= hi; sequence++, i++){
+					eventTranslator.translateTo(getRingBuffer().get(sequence), sequence, arg0[i], arg1[i]);
+				}
+			}finally{
+				getRingBuffer().publish(lo, hi);
+			}
+			logPublished(eventTranslator, batchSize);
+		}else if(hi == CALLER_RUNS){
+			for(int i = batchStartsAt; i < batchStartsAt + batchSize; i++){
+				T event = getEventFactory().newInstance();
+				eventTranslator.translateTo(event, hi, arg0[i], arg1[i]);
+				callerRuns(event);
+			}
+		}
+	}
+
+	@Override
+	public void publishEvents(EventTranslatorVararg<T> eventTranslator, Object[]... args) {
+		publishEvents(eventTranslator, 0, args.length, args);
+	}
+
+	@Override
+	public void publishEvents(EventTranslatorVararg<T> eventTranslator, int batchStartsAt, int batchSize, Object[]... args) {
+		checkBounds(args.length, batchStartsAt, batchSize);
+		long hi = claim(batchSize);
+		if(hi >= 0){
+			long lo = hi - (batchSize - 1);
+			try{
+				int i = batchStartsAt;
+				for(long sequence = lo; sequence <= hi; sequence++, i++){
+					eventTranslator.translateTo(getRingBuffer().get(sequence), sequence, args[i]);
+				}
+			}finally{
+				getRingBuffer().publish(lo, hi);
+			}
+			logPublished(eventTranslator, batchSize);
+		}else if(hi == CALLER_RUNS){
+			for(int i = batchStartsAt; i < batchStartsAt + batchSize; i++){
+				T event = getEventFactory().newInstance();
+				eventTranslator.translateTo(event, hi, args[i]);
+				callerRuns(event);
+			}
+		}
+	}
+	
+	private void checkBounds(int argumentLength, int batchStartsAt, int batchSize) {
+		if(batchStartsAt < 0 || batchSize < 0 || batchStartsAt + batchSize > argumentLength){
+			throw new IllegalArgumentException("Batch [" + batchStartsAt + ", " + (batchStartsAt + batchSize) + ") is out of the argument bounds: " + argumentLength);
+		}
+	}
+	
+	/**
+	 * Guarded so that a disabled debug level costs nothing on the publish path.
+	 */
+	private void logPublished(Object eventTranslator) {
+		if(LOG.isDebugEnabled()){
+			LOG.debug("Published " + eventTranslator.getClass().getSimpleName()  +" event to sequence: " + getCurrentLocation());
+		}
+	}
+	
+	private void logPublished(Object eventTranslator, int batchSize) {
+		if(LOG.isDebugEnabled()){
+			LOG.debug("Published " + batchSize + " " + eventTranslator.getClass().getSimpleName()  +" events up to sequence: " + getCurrentLocation());
+		}
 	}
 	
 	@Override
 	public void disruptorEventHandler() {
-		Validate.notEmpty(eventHandlerChain, "Define a Event Handler Chain.");
-		disruptorEventHandlerChain();
+		if(eventHandlerStages == null){
+			eventHandlerGraph = EventHandlerGraph.fromChains(eventHandlerChain);
+		}else{
+			Validate.isTrue(eventHandlerChain == null, "Define either a Event Handler Chain or Event Handler Stages.");
+			eventHandlerGraph = new EventHandlerGraph<T>(eventHandlerStages);
+		}
+		disruptorEventHandlerGraph();
+		validateSnapshotAware();
+		validateLingering();
+		assignCpus();
+		eventHandlerExceptionHandlers();
+	}
+	
+	/**
+	 * Snapshot aware event handlers must wait for the journaling event handler, which cuts the snapshots.
+	 */
+	private void validateSnapshotAware() {
+		if(snapshotter == null){
+			return;
+		}
+		String journalStage = eventHandlerGraph.getStageName(getReplayJournal());
+		Validate.isTrue(journalStage != null, "Journal %s is not a event handler of disruptor %s", getReplayJournal().getJournalName(), getThreadName());
+		for(EventHandler<T> eventHandler : registeredEventHandlers.keySet()){
+			if(eventHandler instanceof SnapshotAware){
+				Validate.isTrue(eventHandlerGraph.dependsOn(eventHandlerGraph.getStageName(eventHandler), journalStage), 
+						"Snapshot aware event handler %s must depend on journal %s", EventHandlerStage.nameOf(eventHandler), journalStage);
+			}
+		}
+	}
+	
+	/**
+	 * The event processor of a lingering event handler reports events as processed before they are flushed, 
+	 * so no event handler may wait for it.
+	 */
+	@SuppressWarnings("unchecked")
+	private void validateLingering() {
+		for(EventHandler<T> eventHandler : registeredEventHandlers.keySet()){
+			if(eventHandler instanceof BatchingEventHandler && ((BatchingEventHandler<T>) eventHandler).isLingering()){
+				String stageName = eventHandlerGraph.getStageName(eventHandler);
+				Validate.isTrue(eventHandlerGraph.getLastStages().contains(stageName) && handoffEventHandler == null, 
+						"Lingering event handler %s must be in a last stage of disruptor %s, no event handler can depend on it", stageName, getThreadName());
+			}
+		}
+	}
+	
+	/**
+	 * Event processor threads are created in the order the event handlers were wired, one per work handler of a worker pool. 
+	 */
+	private void assignCpus() {
+		if(getThreadFactory() instanceof AffinityThreadFactory){
+			for(String eventHandlerName : eventHandlerCpuAffinity.keySet()){
+				Validate.isTrue(eventHandlerNames.contains(eventHandlerName), "No event handler named %s", eventHandlerName);
+			}
+			List<String> threadLabels = new ArrayList<String>();
+			for(String eventHandlerName : eventHandlerNames){
+				WorkHandlerPool<T> workHandlerPool = workHandlerPoolsByName.get(eventHandlerName);
+				int threads = workHandlerPool == null ? 1 : workHandlerPool.getPoolSize();
+				for(int i=0;i<threads;i++){
+					threadLabels.add(eventHandlerName);
+				}
+			}
+			((AffinityThreadFactory) getThreadFactory()).assignCpus(threadLabels, eventHandlerCpuAffinity);
+		}
+	}
+	
+	@Override
+	protected boolean isCpuAffinityConfigured() {
+		return super.isCpuAffinityConfigured() || !eventHandlerCpuAffinity.isEmpty();
 	}
 
+	/**
+	 * Work handlers share the default exception handler of the Disruptor, with the {@code exceptionStrategy} of this disruptor.
+	 */
 	@Override
 	public void disruptorExceptionHandler() {
-		getDisruptor().setDefaultExceptionHandler(new DisruptorExceptionHandler<T>(getThreadName()));
+		workHandlerExceptionHandler = newExceptionHandler(null, null, exceptionStrategy);
+		getDisruptor().setDefaultExceptionHandler(workHandlerExceptionHandler);
 	}
 	
-	private void disruptorEventHandlerChain() {
-		for(int i=0;i<eventHandlerChain.length;i++){
-			EventHandlerChain<T> eventHandlersChain = eventHandlerChain[i];
-			EventHandlerGroup<T> eventHandlerGroup = null;
-			if(i == 0){
-				eventHandlerGroup = getDisruptor().handleEventsWith(eventHandlersChain.getCurrentEventHandlers());
+	/**
+	 * Give every event handler a exception handler of its own, so its failures are counted and retried apart.
+	 * The event handler is retried unwrapped, without the snapshot and latency wrappers.
+	 */
+	@SuppressWarnings("unchecked")
+	private void eventHandlerExceptionHandlers() {
+		for(String eventHandlerName : eventHandlerExceptionStrategy.keySet()){
+			Validate.isTrue(eventHandlerNames.contains(eventHandlerName), "No event handler named %s", eventHandlerName);
+			Validate.isTrue(!workHandlerPoolsByName.containsKey(eventHandlerName), 
+					"Worker pool %s uses the exception strategy of disruptor %s", eventHandlerName, getThreadName());
+		}
+		for(String eventHandlerName : eventHandlerNames){
+			EventHandler<T> eventHandler = eventHandlersByName.get(eventHandlerName);
+			if(eventHandler == null){
+				exceptionHandlers.put(eventHandlerName, workHandlerExceptionHandler);
 			}else{
-				eventHandlerGroup = getDisruptor().after(eventHandlersChain.getCurrentEventHandlers());
+				ExceptionStrategy strategy = eventHandlerExceptionStrategy.get(eventHandlerName);
+				EventHandler<T> unwrappedEventHandler = unwrap(eventHandler);
+				DisruptorExceptionHandler<T> exceptionHandler = newExceptionHandler(eventHandlerName, unwrappedEventHandler, strategy == null ? exceptionStrategy : strategy);
+				if(unwrappedEventHandler instanceof BatchingEventHandler){
+					exceptionHandler.setBatchingEventHandler((BatchingEventHandler<T>) unwrappedEventHandler);
+				}
+				getDisruptor().handleExceptionsFor(eventHandler).with(exceptionHandler);
+				exceptionHandlers.put(eventHandlerName, exceptionHandler);
+			}
+		}
+	}
+	
+	/**
+	 * @return the event handler as defined, before it was wrapped on registration
+	 */
+	private EventHandler<T> unwrap(EventHandler<T> registeredEventHandler) {
+		for(Map.Entry<EventHandler<T>, EventHandler<T>> registered : registeredEventHandlers.entrySet()){
+			if(registered.getValue() == registeredEventHandler){
+				return registered.getKey();
+			}
+		}
+		return registeredEventHandler;
+	}
+	
+	private DisruptorExceptionHandler<T> newExceptionHandler(String eventHandlerName, EventHandler<T> eventHandler, ExceptionStrategy strategy) {
+		DisruptorExceptionHandler<T> exceptionHandler = new DisruptorExceptionHandler<T>(getThreadName(), eventHandlerName, eventHandler);
+		exceptionHandler.setExceptionStrategy(strategy);
+		exceptionHandler.setRetryAttempts(retryAttempts);
+		exceptionHandler.setRetryBackoffMillis(retryBackoffMillis);
+		exceptionHandler.setDisruptor(this);
+		if(deadLetterDisruptor != null){
+			exceptionHandler.setDeadLetterDisruptor(deadLetterDisruptor, deadLetterEventCopier);
+		}
+		return exceptionHandler;
+	}
+	
+	@SuppressWarnings({"rawtypes","unchecked"})
+	private void disruptorEventHandlerGraph() {
+		Map<String, EventHandlerGroup<T>> eventHandlerGroups = new HashMap<String, EventHandlerGroup<T>>();
+		for(EventHandlerStage<T> stage : eventHandlerGraph.getStages()){
+			EventHandlerGroup<T> dependencies = null;
+			for(String dependency : stage.getDependsOn()){
+				EventHandlerGroup<T> eventHandlerGroup = eventHandlerGroups.get(dependency);
+				dependencies = dependencies == null ? eventHandlerGroup : dependencies.and(eventHandlerGroup);
 			}
-			
-			if(! ArrayUtils.isEmpty(eventHandlersChain.getNextEventHandlers())){
-				eventHandlerGroup.then(eventHandlersChain.getNextEventHandlers());
+			eventHandlerGroups.put(stage.getName(), handleEventsWith(dependencies, register(stage.getEventHandlers()), register(stage.getWorkHandlerPools())));
+		}
+		if(handoffEventHandler != null){
+			EventHandlerGroup<T> lastStages = null;
+			for(String stageName : eventHandlerGraph.getLastStages()){
+				lastStages = lastStages == null ? eventHandlerGroups.get(stageName) : lastStages.and(eventHandlerGroups.get(stageName));
 			}
+			handleEventsWith(lastStages, register(new EventHandler[]{handoffEventHandler}), new WorkHandlerPool[0]);
 		}
 		
 		getEventProcessorGraph();
 	}
 	
-	public String getEventProcessorGraph(){
-		StringBuilder str = new StringBuilder();
-		for(int i=0;i<eventHandlerChain.length;i++){
-			str.append("\n");
-			str.append(eventHandlerChain[i].printDependencyGraph());
+	/**
+	 * Wire event handlers and worker pools one by one, so event processor threads are created in the order of the event handler names.
+	 * 
+	 * @param dependencies event handlers to wait for, null to consume off the ring buffer
+	 */
+	@SuppressWarnings("unchecked")
+	private EventHandlerGroup<T> handleEventsWith(EventHandlerGroup<T> dependencies, EventHandler<T>[] eventHandlers, WorkHandlerPool<T>[] workHandlerPools) {
+		EventHandlerGroup<T> eventHandlerGroup = null;
+		for(EventHandler<T> eventHandler : eventHandlers){
+			EventHandlerGroup<T> wired = dependencies == null ? getDisruptor().handleEventsWith(eventHandler) : dependencies.handleEventsWith(eventHandler);
+			eventHandlerGroup = eventHandlerGroup == null ? wired : eventHandlerGroup.and(wired);
+		}
+		for(WorkHandlerPool<T> workHandlerPool : workHandlerPools){
+			EventHandlerGroup<T> wired;
+			if(dependencies == null){
+				wired = getDisruptor().handleEventsWithWorkerPool(workHandlerPool.getWorkHandlers());
+				workHandlerPool.wired(wired, getRingBuffer().newBarrier());
+			}else{
+				wired = dependencies.handleEventsWithWorkerPool(workHandlerPool.getWorkHandlers());
+				workHandlerPool.wired(wired, dependencies.asSequenceBarrier());
+			}
+			eventHandlerGroup = eventHandlerGroup == null ? wired : eventHandlerGroup.and(wired);
+		}
+		return eventHandlerGroup;
+	}
+	
+	/**
+	 * Name every event handler, share the event codec, wrap snapshot aware event handlers for a {@link Snapshotter} when taking snapshots 
+	 * and wrap it in a {@link TimedEventHandler} when latency histograms are enabled.
+	 * <p>A event handler appears in more than one chain, so the same registered handler must be returned every time 
+	 * for the Disruptor to find its dependency barrier.
+	 */
+	@SuppressWarnings({"rawtypes","unchecked"})
+	private EventHandler<T>[] register(EventHandler<T>[] eventHandlers) {
+		EventHandler<T>[] registered = new EventHandler[eventHandlers.length];
+		for(int i=0;i<eventHandlers.length;i++){
+			EventHandler<T> eventHandler = registeredEventHandlers.get(eventHandlers[i]);
+			if(eventHandler == null){
+				String name = uniqueEventHandlerName(EventHandlerStage.nameOf(eventHandlers[i]));
+				if(eventHandlers[i] instanceof BatchingEventHandler && ((BatchingEventHandler<T>) eventHandlers[i]).isLingering()){
+					((BatchingEventHandler<T>) eventHandlers[i]).validateLingering();
+					if(!isTimingOut()){
+						LOG.warn("Event handler {} lingers but disruptor {} has no idleTimeoutMillis. Its events are only flushed by later events.", name, getThreadName());
+					}
+				}
+				shareEventCodec(eventHandlers[i]);
+				eventHandler = eventHandlers[i];
+				if(snapshotter != null && eventHandler instanceof SnapshotAware){
+					eventHandler = snapshotter.wrap(eventHandler, name);
+				}
+				if(latencyHistogramEnabled){
+					eventHandler = new TimedEventHandler<T>(eventHandler, name);
+				}
+				registeredEventHandlers.put(eventHandlers[i], eventHandler);
+				eventHandlersByName.put(name, eventHandler);
+				eventHandlerNames.add(name);
+			}
+			registered[i] = eventHandler;
+		}
+		return registered;
+	}
+	
+	/**
+	 * Name every worker pool like its work handler. Worker pools are not timed.
+	 */
+	private WorkHandlerPool<T>[] register(WorkHandlerPool<T>[] workHandlerPools) {
+		for(WorkHandlerPool<T> workHandlerPool : workHandlerPools){
+			String name = uniqueEventHandlerName(workHandlerPool.getName());
+			workHandlerPoolsByName.put(name, workHandlerPool);
+			eventHandlerNames.add(name);
+		}
+		return workHandlerPools;
+	}
+	
+	/**
+	 * Event handler wired after the last stages, set by a {@link DisruptorPipeline} to hand events to the next ring buffer.
+	 */
+	void setHandoffEventHandler(EventHandler<T> handoffEventHandler) {
+		this.handoffEventHandler = handoffEventHandler;
+	}
+	
+	EventHandler<T> getHandoffEventHandler() {
+		return handoffEventHandler;
+	}
+	
+	@Override
+	protected JournalPosition restoreSnapshot() {
+		return snapshotter == null ? null : snapshotter.restore();
+	}
+	
+	/**
+	 * Take a snapshot of the snapshot aware event handlers. It is cut with the next journaled event and written in the background, 
+	 * after that older snapshots and journal segments are deleted.
+	 * 
+	 * @throws IllegalStateException when the disruptor has no {@code snapshotDirectory} or a snapshot is in progress
+	 */
+	public void takeSnapshot() {
+		Validate.validState(snapshotter != null, "Disruptor %s is not started or has no snapshotDirectory.", getThreadName());
+		snapshotter.takeSnapshot();
+	}
+	
+	/**
+	 * @return true while a snapshot is cut or written
+	 */
+	public boolean isSnapshotInProgress() {
+		return snapshotter != null && snapshotter.isSnapshotInProgress();
+	}
+	
+	/**
+	 * @return id, sequence and journal position of the last complete snapshot, taken or restored. Null when there is none.
+	 */
+	public String getLastSnapshot() {
+		return snapshotter == null ? null : snapshotter.getLastSnapshot();
+	}
+	
+	@Override
+	protected void notifyReplayAware(long lastReplayedSequence) {
+		for(Object eventProcessor : getEventProcessors()){
+			if(eventProcessor instanceof ReplayAware){
+				((ReplayAware) eventProcessor).setLastReplayedSequence(lastReplayedSequence);
+			}
+		}
+	}
+	
+	private void notifyEventHandlersWarmupAware(long lastWarmupSequence) {
+		for(Object eventProcessor : getEventProcessors()){
+			if(eventProcessor instanceof WarmupAware){
+				((WarmupAware) eventProcessor).setLastWarmupSequence(lastWarmupSequence);
+			}
+		}
+	}
+	
+	/**
+	 * @return event handlers as configured and the work handlers of the worker pools
+	 */
+	private List<Object> getEventProcessors() {
+		List<Object> eventProcessors = new ArrayList<Object>(registeredEventHandlers.keySet());
+		for(WorkHandlerPool<T> workHandlerPool : workHandlerPoolsByName.values()){
+			Collections.addAll(eventProcessors, (Object[]) workHandlerPool.getWorkHandlers());
+		}
+		return eventProcessors;
+	}
+	
+	/**
+	 * Failed warm-up events are not dead letters.
+	 */
+	@Override
+	protected void notifyWarmupAware(long lastWarmupSequence) {
+		notifyEventHandlersWarmupAware(lastWarmupSequence);
+		for(DisruptorExceptionHandler<T> exceptionHandler : getDistinctExceptionHandlers()){
+			exceptionHandler.setLastWarmupSequence(lastWarmupSequence);
+		}
+	}
+	
+	/**
+	 * Forget the latencies and ring occupancy of the warm-up events.
+	 */
+	@Override
+	protected void warmedUp() {
+		resetLatencyHistograms();
+		resetOccupancyHistogram();
+	}
+	
+	private String uniqueEventHandlerName(String name) {
+		String uniqueName = name;
+		for(int i=2; eventHandlerNames.contains(uniqueName); i++){
+			uniqueName = name + "#" + i;
+		}
+		return uniqueName;
+	}
+	
+	/**
+	 * @return names of all event handlers in the order they were wired. Duplicate class names get a {@code #n} suffix.
+	 */
+	public Set<String> getEventHandlerNames() {
+		return Collections.unmodifiableSet(eventHandlerNames);
+	}
+	
+	/**
+	 * @return event handlers as configured, before wrapping
+	 */
+	Set<EventHandler<T>> getEventHandlers() {
+		return Collections.unmodifiableSet(registeredEventHandlers.keySet());
+	}
+
+	/**
+	 * @return event handlers with latency histograms, keyed by event handler name. Empty when latency histograms are disabled.
+	 */
+	@SuppressWarnings("unchecked")
+	public Map<String, TimedEventHandler<T>> getTimedEventHandlers() {
+		Map<String, TimedEventHandler<T>> timedEventHandlers = new LinkedHashMap<String, TimedEventHandler<T>>();
+		for(Map.Entry<String, EventHandler<T>> entry : eventHandlersByName.entrySet()){
+			if(entry.getValue() instanceof TimedEventHandler){
+				timedEventHandlers.put(entry.getKey(), (TimedEventHandler<T>) entry.getValue());
+			}
+		}
+		return timedEventHandlers;
+	}
+	
+	/**
+	 * @return exception handlers keyed by event handler name. Worker pools share one exception handler.
+	 */
+	public Map<String, DisruptorExceptionHandler<T>> getExceptionHandlers() {
+		return Collections.unmodifiableMap(exceptionHandlers);
+	}
+	
+	/**
+	 * @return events any event or work handler threw a exception for
+	 */
+	public long getFailureCount() {
+		long failureCount = 0;
+		for(DisruptorExceptionHandler<T> exceptionHandler : getDistinctExceptionHandlers()){
+			failureCount += exceptionHandler.getFailureCount();
+		}
+		return failureCount;
+	}
+	
+	/**
+	 * @return failed events copied into the dead-letter disruptor
+	 */
+	public long getDeadLetterCount() {
+		long deadLetterCount = 0;
+		for(DisruptorExceptionHandler<T> exceptionHandler : getDistinctExceptionHandlers()){
+			deadLetterCount += exceptionHandler.getDeadLetterCount();
+		}
+		return deadLetterCount;
+	}
+	
+	/**
+	 * @return failed events not copied because the dead-letter disruptor was full
+	 */
+	public long getDroppedDeadLetterCount() {
+		long droppedDeadLetterCount = 0;
+		for(DisruptorExceptionHandler<T> exceptionHandler : getDistinctExceptionHandlers()){
+			droppedDeadLetterCount += exceptionHandler.getDroppedDeadLetterCount();
+		}
+		return droppedDeadLetterCount;
+	}
+	
+	private List<DisruptorExceptionHandler<T>> getDistinctExceptionHandlers() {
+		List<DisruptorExceptionHandler<T>> distinct = new ArrayList<DisruptorExceptionHandler<T>>();
+		if(workHandlerExceptionHandler != null){
+			distinct.add(workHandlerExceptionHandler);
+		}
+		for(DisruptorExceptionHandler<T> exceptionHandler : exceptionHandlers.values()){
+			if(exceptionHandler != workHandlerExceptionHandler){
+				distinct.add(exceptionHandler);
+			}
+		}
+		return distinct;
+	}
+	
+	public void resetLatencyHistograms() {
+		for(TimedEventHandler<T> timedEventHandler : getTimedEventHandlers().values()){
+			timedEventHandler.resetLatencyHistogram();
+		}
+	}
+	
+	/**
+	 * @param eventHandlerName
+	 * @return last sequence processed by the event handler
+	 */
+	public long getEventHandlerSequence(String eventHandlerName) {
+		WorkHandlerPool<T> workHandlerPool = workHandlerPoolsByName.get(eventHandlerName);
+		if(workHandlerPool != null){
+			return workHandlerPool.getSequence();
+		}
+		return getDisruptor().getSequenceValueFor(getRegisteredEventHandler(eventHandlerName));
+	}
+	
+	/**
+	 * @param eventHandlerName
+	 * @return events published to the ring buffer and not yet processed by the event handler
+	 */
+	public long getEventHandlerLag(String eventHandlerName) {
+		return getCurrentLocation() - getEventHandlerSequence(eventHandlerName);
+	}
+	
+	/**
+	 * @param eventHandlerName
+	 * @return events released by the event handler's dependency barrier and not yet processed by it. 
+	 * A large backlog means the event handler itself is slow, a large lag with a small backlog means a upstream event handler is slow.
+	 */
+	public long getEventHandlerBacklog(String eventHandlerName) {
+		WorkHandlerPool<T> workHandlerPool = workHandlerPoolsByName.get(eventHandlerName);
+		if(workHandlerPool != null){
+			return workHandlerPool.getDependencySequence() - workHandlerPool.getSequence();
+		}
+		EventHandler<T> eventHandler = getRegisteredEventHandler(eventHandlerName);
+		return getDisruptor().getBarrierFor(eventHandler).getCursor() - getDisruptor().getSequenceValueFor(eventHandler);
+	}
+	
+	/**
+	 * @return the event handler with the largest backlog, which is the stage holding back producers. Null if no event is waiting.
+	 */
+	public String getBottleneckEventHandler() {
+		String bottleneck = null;
+		long maxBacklog = 0;
+		for(String eventHandlerName : eventHandlerNames){
+			long backlog = getEventHandlerBacklog(eventHandlerName);
+			if(backlog > maxBacklog){
+				maxBacklog = backlog;
+				bottleneck = eventHandlerName;
+			}
+		}
+		return bottleneck;
+	}
+	
+	/**
+	 * @return lowest sequence of the last event handlers in the graph. Producers can not wrap the ring buffer past this sequence.
+	 */
+	public long getGatingSequence() {
+		return getRingBuffer().getMinimumGatingSequence();
+	}
+	
+	/**
+	 * Print sequence, lag and backlog of every event handler.
+	 */
+	public String getEventHandlerLag() {
+		StringJoiner str = new StringJoiner(" | ", "{", "}");
+		for(String eventHandlerName : eventHandlerNames){
+			long sequence = getEventHandlerSequence(eventHandlerName);
+			str.add(eventHandlerName + ": sequence " + sequence + ", lag " + (getCurrentLocation() - sequence) + ", backlog " + getEventHandlerBacklog(eventHandlerName));
 		}
-		LOG.info(str.toString());
-		
 		return str.toString();
 	}
+	
+	private EventHandler<T> getRegisteredEventHandler(String eventHandlerName) {
+		EventHandler<T> eventHandler = eventHandlersByName.get(eventHandlerName);
+		Validate.notNull(eventHandler, "No event handler named %s", eventHandlerName);
+		return eventHandler;
+	}
+	
+	private void startThroughputSampler() {
+		for(String eventHandlerName : eventHandlerNames){
+			consumeThroughputMeters.put(eventHandlerName, new ThroughputMeter());
+		}
+		throughputSampler = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory(getThreadName() + "-throughput"));
+		throughputSampler.scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					sampleThroughput();
+					if(autoWaitMode){
+						adaptWaitMode();
+					}
+				} catch (RuntimeException e) {
+					LOG.error("Error sampling throughput of disruptor " + getThreadName(), e);
+				}
+			}
+		}, ThroughputMeter.SAMPLE_INTERVAL_SECONDS, ThroughputMeter.SAMPLE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+		LOG.info("Sampling throughput of disruptor {} every {} second(s).", getThreadName(), ThroughputMeter.SAMPLE_INTERVAL_SECONDS);
+	}
+	
+	private void stopThroughputSampler() {
+		if(throughputSampler != null){
+			throughputSampler.shutdownNow();
+			throughputSampler = null;
+		}
+	}
+	
+	/**
+	 * Read the ring buffer cursor and every event handler sequence. Runs on the throughput sampler thread.
+	 */
+	void sampleThroughput() {
+		long now = System.nanoTime();
+		publishThroughputMeter.sample(getCurrentLocation(), now);
+		for(Map.Entry<String, ThroughputMeter> entry : consumeThroughputMeters.entrySet()){
+			entry.getValue().sample(getEventHandlerSequence(entry.getKey()), now);
+		}
+	}
+	
+	private void startOccupancySampler() {
+		occupancySampler = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory(getThreadName() + "-occupancy"));
+		occupancySampler.scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					sampleOccupancy();
+				} catch (RuntimeException e) {
+					LOG.error("Error sampling ring buffer occupancy of disruptor " + getThreadName(), e);
+				}
+			}
+		}, occupancySampleIntervalMillis, occupancySampleIntervalMillis, TimeUnit.MILLISECONDS);
+		LOG.info("Sampling ring buffer occupancy of disruptor {} every {} ms.", getThreadName(), occupancySampleIntervalMillis);
+	}
+	
+	private void stopOccupancySampler() {
+		if(occupancySampler != null){
+			occupancySampler.shutdownNow();
+			occupancySampler = null;
+		}
+	}
+	
+	/**
+	 * Record the events published and not yet processed by the last event handlers. Runs on the occupancy sampler thread.
+	 */
+	void sampleOccupancy() {
+		occupancyHistogram.record(getRingBuffer().getCursor() - getRingBuffer().getMinimumGatingSequence());
+	}
+	
+	/**
+	 * @return occupancy samples since the last reset. Empty when the occupancy monitor is disabled.
+	 */
+	public OccupancyHistogram getOccupancyHistogram() {
+		return occupancyHistogram;
+	}
+	
+	/**
+	 * Start recording into a new occupancy histogram. A sample being recorded while resetting may be lost.
+	 */
+	public void resetOccupancyHistogram() {
+		occupancyHistogram = new OccupancyHistogram();
+	}
+	
+	/**
+	 * Ring buffer size for the bursts sampled since the last reset: twice the occupancy high watermark, rounded up to a power of two 
+	 * and at least {@value #MIN_RECOMMENDED_RING_BUFFER_SIZE}. Twice the current size when the ring buffer was full.
+	 * 
+	 * @return recommended {@code ringBufferSize}
+	 */
+	public int recommendRingBufferSize() {
+		OccupancyHistogram histogram = occupancyHistogram;
+		Validate.validState(histogram.getCount() > 0, "No ring buffer occupancy sampled on disruptor %s. Enable the occupancy monitor.", getThreadName());
+		long highWatermark = histogram.getHighWatermark();
+		int recommendedSize;
+		if(highWatermark >= getRingBufferSize()){
+			recommendedSize = getRingBufferSize() >= 1 << 29 ? 1 << 30 : getRingBufferSize() * 2;
+		}else{
+			recommendedSize = Math.max(MIN_RECOMMENDED_RING_BUFFER_SIZE, Util.ceilingNextPowerOfTwo((int) highWatermark * 2));
+		}
+		LOG.info("Recommended ring buffer size of disruptor {} is {}: {} slots, occupancy high watermark {} and p99.9 {} over {} samples.", 
+				getThreadName(), recommendedSize, getRingBufferSize(), highWatermark, histogram.getValueAtPercentile(99.9), histogram.getCount());
+		return recommendedSize;
+	}
+	
+	/**
+	 * Pick the wait mode for the publish rate of the last 10 seconds. Runs on the throughput sampler thread.
+	 */
+	void adaptWaitMode() {
+		double publishRate = getPublishRate(10);
+		AdaptiveWaitStrategy.Mode waitMode;
+		if(publishRate >= spinPublishRate){
+			waitMode = AdaptiveWaitStrategy.Mode.SPIN;
+		}else if(publishRate >= yieldPublishRate){
+			waitMode = AdaptiveWaitStrategy.Mode.YIELD;
+		}else if(publishRate >= sleepPublishRate){
+			waitMode = AdaptiveWaitStrategy.Mode.SLEEP;
+		}else{
+			waitMode = AdaptiveWaitStrategy.Mode.BLOCK;
+		}
+		setWaitMode(waitMode);
+	}
+	
+	/**
+	 * Switch the {@link WaitStrategyType#ADAPTIVE} wait strategy by hand. Turns automatic wait mode off.
+	 * 
+	 * @param waitMode
+	 */
+	public void switchWaitMode(AdaptiveWaitStrategy.Mode waitMode) {
+		autoWaitMode = false;
+		setWaitMode(waitMode);
+	}
+	
+	/**
+	 * @param windowSeconds 1 to 60
+	 * @return events published per second over the window. 0 when throughput meters are disabled.
+	 */
+	public double getPublishRate(int windowSeconds) {
+		return publishThroughputMeter.getRate(windowSeconds);
+	}
+	
+	/**
+	 * @param eventHandlerName
+	 * @param windowSeconds 1 to 60
+	 * @return events consumed per second by the event handler over the window. 0 when throughput meters are disabled.
+	 */
+	public double getConsumeRate(String eventHandlerName, int windowSeconds) {
+		ThroughputMeter throughputMeter = consumeThroughputMeters.get(eventHandlerName);
+		return throughputMeter == null ? 0 : throughputMeter.getRate(windowSeconds);
+	}
+	
+	/**
+	 * Print the event handler stages level by level with the stages they depend on.
+	 */
+	public String getEventProcessorGraph(){
+		String graph = eventHandlerGraph.render();
+		LOG.info(graph);
+		
+		return graph;
+	}
 
 	public void setEventHandlerChain(EventHandlerChain<T>[] eventHandlerChain) {
 		this.eventHandlerChain = eventHandlerChain;
 	}
 
+	/**
+	 * Define the event handler graph as named stages with dependencies, instead of a Event Handler Chain.
+	 * 
+	 * @param eventHandlerStages
+	 */
+	public void setEventHandlerStages(EventHandlerStage<T>[] eventHandlerStages) {
+		this.eventHandlerStages = eventHandlerStages;
+	}
+
+	public Map<String, String> getEventHandlerCpuAffinity() {
+		return eventHandlerCpuAffinity;
+	}
+
+	/**
+	 * Bind event handler threads to a CPU or to the next free isolated CPU with {@value AffinityThreadFactory#ISOLATED}, keyed by event handler name. 
+	 * Give worker pools a CPU list, one CPU per work handler.
+	 * Event handlers not in the map get the next CPU of {@code cpuAffinity}.
+	 * 
+	 * @param eventHandlerCpuAffinity
+	 */
+	public void setEventHandlerCpuAffinity(Map<String, String> eventHandlerCpuAffinity) {
+		this.eventHandlerCpuAffinity = eventHandlerCpuAffinity;
+	}
+
+	public ExceptionStrategy getExceptionStrategy() {
+		return exceptionStrategy;
+	}
+
+	/**
+	 * What a event processor does when its event handler throws a exception. Default {@link ExceptionStrategy#SKIP}.
+	 * 
+	 * @param exceptionStrategy
+	 */
+	public void setExceptionStrategy(ExceptionStrategy exceptionStrategy) {
+		Validate.notNull(exceptionStrategy);
+		this.exceptionStrategy = exceptionStrategy;
+	}
+
+	public Map<String, ExceptionStrategy> getEventHandlerExceptionStrategy() {
+		return eventHandlerExceptionStrategy;
+	}
+
+	/**
+	 * Exception strategy of single event handlers, keyed by event handler name. Other event handlers and worker pools use {@code exceptionStrategy}.
+	 * 
+	 * @param eventHandlerExceptionStrategy
+	 */
+	public void setEventHandlerExceptionStrategy(Map<String, ExceptionStrategy> eventHandlerExceptionStrategy) {
+		this.eventHandlerExceptionStrategy = eventHandlerExceptionStrategy;
+	}
+
+	public int getRetryAttempts() {
+		return retryAttempts;
+	}
+
+	/**
+	 * Retries of a failed event with the {@link ExceptionStrategy#RETRY} strategy. Default 3.
+	 * 
+	 * @param retryAttempts
+	 */
+	public void setRetryAttempts(int retryAttempts) {
+		Validate.isTrue(retryAttempts >= 0, "Retry attempts must not be negative: %d", retryAttempts);
+		this.retryAttempts = retryAttempts;
+	}
+
+	public long getRetryBackoffMillis() {
+		return retryBackoffMillis;
+	}
+
+	/**
+	 * Wait before the first retry, doubled before every next retry. Default 10. The event processor holds back the events behind the failed one meanwhile.
+	 * 
+	 * @param retryBackoffMillis
+	 */
+	public void setRetryBackoffMillis(long retryBackoffMillis) {
+		Validate.isTrue(retryBackoffMillis >= 0, "Retry backoff must not be negative: %d", retryBackoffMillis);
+		this.retryBackoffMillis = retryBackoffMillis;
+	}
+
+	public DefaultDisruptorConfig<DeadLetterEvent<T>> getDeadLetterDisruptor() {
+		return deadLetterDisruptor;
+	}
+
+	/**
+	 * Disruptor the events are copied into when a event handler fails on them, with a {@link org.anair.disruptor.exception.DeadLetterEventFactory} and its own event handlers.
+	 * Give it no init or destroy method, this disruptor starts it first and shuts it down last. Halting this disruptor leaves it running.
+	 * 
+	 * @param deadLetterDisruptor
+	 */
+	public void setDeadLetterDisruptor(DefaultDisruptorConfig<DeadLetterEvent<T>> deadLetterDisruptor) {
+		this.deadLetterDisruptor = deadLetterDisruptor;
+	}
+
+	public EventCopier<T> getDeadLetterEventCopier() {
+		return deadLetterEventCopier;
+	}
+
+	/**
+	 * Copies a failed event into a dead-letter event. The failed event is reused by the ring buffer after the copy.
+	 * 
+	 * @param deadLetterEventCopier
+	 */
+	public void setDeadLetterEventCopier(EventCopier<T> deadLetterEventCopier) {
+		this.deadLetterEventCopier = deadLetterEventCopier;
+	}
+
+	public boolean isThroughputMeterEnabled() {
+		return throughputMeterEnabled;
+	}
+
+	/**
+	 * Sample the ring buffer cursor and event handler sequences every second on a background thread 
+	 * to compute publish and consume rates over 1, 10 and 60 seconds.
+	 * 
+	 * @param throughputMeterEnabled
+	 */
+	public void setThroughputMeterEnabled(boolean throughputMeterEnabled) {
+		this.throughputMeterEnabled = throughputMeterEnabled;
+	}
+
+	public boolean isOccupancyMonitorEnabled() {
+		return occupancyMonitorEnabled;
+	}
+
+	/**
+	 * Sample the ring buffer occupancy every {@code occupancySampleIntervalMillis} on a background thread 
+	 * to track its high watermark and histogram. Publishers and event processors pay nothing for it.
+	 * 
+	 * @param occupancyMonitorEnabled
+	 */
+	public void setOccupancyMonitorEnabled(boolean occupancyMonitorEnabled) {
+		this.occupancyMonitorEnabled = occupancyMonitorEnabled;
+	}
+
+	public long getOccupancySampleIntervalMillis() {
+		return occupancySampleIntervalMillis;
+	}
+
+	/**
+	 * Time between occupancy samples. Default 10 ms. Bursts shorter than the interval may be missed.
+	 * 
+	 * @param occupancySampleIntervalMillis
+	 */
+	public void setOccupancySampleIntervalMillis(long occupancySampleIntervalMillis) {
+		this.occupancySampleIntervalMillis = occupancySampleIntervalMillis;
+	}
+
+	public boolean isAutoWaitMode() {
+		return autoWaitMode;
+	}
+
+	/**
+	 * Switch the {@link WaitStrategyType#ADAPTIVE} wait strategy by the publish rate of the last 10 seconds:
+	 * spin at {@code spinPublishRate} events per second and above, yield at {@code yieldPublishRate}, 
+	 * sleep at {@code sleepPublishRate} and block below. Needs the throughput meter.
+	 * 
+	 * @param autoWaitMode
+	 */
+	public void setAutoWaitMode(boolean autoWaitMode) {
+		if(autoWaitMode && getDisruptor() != null){
+			validateAutoWaitMode();
+		}
+		this.autoWaitMode = autoWaitMode;
+	}
+	
+	private void validateAutoWaitMode() {
+		Validate.isTrue(getWaitStrategyType() == WaitStrategyType.ADAPTIVE && throughputMeterEnabled, 
+				"Automatic wait mode needs the ADAPTIVE wait strategy and the throughput meter.");
+	}
+
+	public double getSpinPublishRate() {
+		return spinPublishRate;
+	}
+
+	public void setSpinPublishRate(double spinPublishRate) {
+		this.spinPublishRate = spinPublishRate;
+	}
+
+	public double getYieldPublishRate() {
+		return yieldPublishRate;
+	}
+
+	public void setYieldPublishRate(double yieldPublishRate) {
+		this.yieldPublishRate = yieldPublishRate;
+	}
+
+	public double getSleepPublishRate() {
+		return sleepPublishRate;
+	}
+
+	public void setSleepPublishRate(double sleepPublishRate) {
+		this.sleepPublishRate = sleepPublishRate;
+	}
+
+	public File getSnapshotDirectory() {
+		return snapshotDirectory;
+	}
+
+	/**
+	 * Directory to write snapshots of the event handlers implementing {@link SnapshotAware} to. Needs a {@code replayJournal}, 
+	 * which snapshot aware event handlers depend on. On init the last snapshot is restored and only the journal after it is replayed.
+	 * 
+	 * @param snapshotDirectory
+	 */
+	public void setSnapshotDirectory(File snapshotDirectory) {
+		this.snapshotDirectory = snapshotDirectory;
+	}
+
+	public boolean isLatencyHistogramEnabled() {
+		return latencyHistogramEnabled;
+	}
+
+	/**
+	 * Record the service time of every event handler in a latency histogram. Costs two {@link System#nanoTime()} calls per event and handler.
+	 * 
+	 * @param latencyHistogramEnabled
+	 */
+	public void setLatencyHistogramEnabled(boolean latencyHistogramEnabled) {
+		this.latencyHistogramEnabled = latencyHistogramEnabled;
+	}
+
 }
@@ -1,6 +1,9 @@
 package org.anair.disruptor;
 
 import com.lmax.disruptor.EventTranslator;
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.EventTranslatorTwoArg;
+import com.lmax.disruptor.EventTranslatorVararg;
 
 /**
  * Disruptor configuration settings.
@@ -13,11 +16,146 @@ public interface DisruptorConfig<T> {
 
 	/**
 	 * Publish an event to the ring buffer using event translator.
+	 * <p>All publish methods apply the configured {@link BackpressurePolicy} when the ring buffer is full.
 	 * 
 	 * @param translator
 	 */
 	void publish(EventTranslator<T> eventTranslator);
 	
+	/**
+	 * Publish an event to the ring buffer passing one argument to the translator.
+	 * <p>A stateless translator can be shared, so no object is created per event.
+	 * 
+	 * @param eventTranslator
+	 * @param arg0
+	 */
+	<A> void publish(EventTranslatorOneArg<T, A> eventTranslator, A arg0);
+	
+	/**
+	 * Publish an event to the ring buffer passing two arguments to the translator.
+	 * 
+	 * @param eventTranslator
+	 * @param arg0
+	 * @param arg1
+	 */
+	<A, B> void publish(EventTranslatorTwoArg<T, A, B> eventTranslator, A arg0, B arg1);
+	
+	/**
+	 * Publish an event to the ring buffer passing a variable number of arguments to the translator.
+	 * 
+	 * @param eventTranslator
+	 * @param args
+	 */
+	void publish(EventTranslatorVararg<T> eventTranslator, Object... args);
+	
+	/**
+	 * Publish an event only if a ring buffer slot is available. Never blocks.
+	 * 
+	 * @param eventTranslator
+	 * @return false if the ring buffer is full and the event was not published
+	 */
+	boolean tryPublish(EventTranslator<T> eventTranslator);
+	
+	/**
+	 * Publish an event with one argument only if a ring buffer slot is available. Never blocks.
+	 * 
+	 * @param eventTranslator
+	 * @param arg0
+	 * @return false if the ring buffer is full and the event was not published
+	 */
+	<A> boolean tryPublish(EventTranslatorOneArg<T, A> eventTranslator, A arg0);
+	
+	/**
+	 * Publish an event with two arguments only if a ring buffer slot is available. Never blocks.
+	 * 
+	 * @param eventTranslator
+	 * @param arg0
+	 * @param arg1
+	 * @return false if the ring buffer is full and the event was not published
+	 */
+	<A, B> boolean tryPublish(EventTranslatorTwoArg<T, A, B> eventTranslator, A arg0, B arg1);
+	
+	/**
+	 * Publish an event with a variable number of arguments only if a ring buffer slot is available. Never blocks.
+	 * 
+	 * @param eventTranslator
+	 * @param args
+	 * @return false if the ring buffer is full and the event was not published
+	 */
+	boolean tryPublish(EventTranslatorVararg<T> eventTranslator, Object... args);
+	
+	/**
+	 * Publish a batch of events. All sequences are claimed at once and published together.
+	 * 
+	 * @param eventTranslators
+	 */
+	void publishEvents(EventTranslator<T>[] eventTranslators);
+	
+	/**
+	 * Publish {@code batchSize} events starting at {@code batchStartsAt} in {@code eventTranslators}.
+	 * 
+	 * @param eventTranslators
+	 * @param batchStartsAt
+	 * @param batchSize
+	 */
+	void publishEvents(EventTranslator<T>[] eventTranslators, int batchStartsAt, int batchSize);
+	
+	/**
+	 * Publish one event per element of {@code arg0}. All sequences are claimed at once and published together.
+	 * 
+	 * @param eventTranslator
+	 * @param arg0
+	 */
+	<A> void publishEvents(EventTranslatorOneArg<T, A> eventTranslator, A[] arg0);
+	
+	/**
+	 * Publish {@code batchSize} events starting at {@code batchStartsAt} in {@code arg0}.
+	 * 
+	 * @param eventTranslator
+	 * @param batchStartsAt
+	 * @param batchSize
+	 * @param arg0
+	 */
+	<A> void publishEvents(EventTranslatorOneArg<T, A> eventTranslator, int batchStartsAt, int batchSize, A[] arg0);
+	
+	/**
+	 * Publish one event per pair of elements of {@code arg0} and {@code arg1}.
+	 * 
+	 * @param eventTranslator
+	 * @param arg0
+	 * @param arg1
+	 */
+	<A, B> void publishEvents(EventTranslatorTwoArg<T, A, B> eventTranslator, A[] arg0, B[] arg1);
+	
+	/**
+	 * Publish {@code batchSize} events starting at {@code batchStartsAt} in {@code arg0} and {@code arg1}.
+	 * 
+	 * @param eventTranslator
+	 * @param batchStartsAt
+	 * @param batchSize
+	 * @param arg0
+	 * @param arg1
+	 */
+	<A, B> void publishEvents(EventTranslatorTwoArg<T, A, B> eventTranslator, int batchStartsAt, int batchSize, A[] arg0, B[] arg1);
+	
+	/**
+	 * Publish one event per element of {@code args}, each element being the arguments of one event.
+	 * 
+	 * @param eventTranslator
+	 * @param args
+	 */
+	void publishEvents(EventTranslatorVararg<T> eventTranslator, Object[]... args);
+	
+	/**
+	 * Publish {@code batchSize} events starting at {@code batchStartsAt} in {@code args}.
+	 * 
+	 * @param eventTranslator
+	 * @param batchStartsAt
+	 * @param batchSize
+	 * @param args
+	 */
+	void publishEvents(EventTranslatorVararg<T> eventTranslator, int batchStartsAt, int batchSize, Object[]... args);
+	
 	/**
 	 * Design a Event Processor/Consumer definition. 
 	 */
@@ -0,0 +1,305 @@
+package org.anair.disruptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.lmax.disruptor.EventTranslator;
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.EventTranslatorTwoArg;
+import com.lmax.disruptor.EventTranslatorVararg;
+
+/**
+ * Chain {@link DefaultDisruptorConfig} ring buffers, so events published to the first ring buffer flow through all of them in order.
+ * <p>After the last stages of every ring buffer but the last one, the pipeline wires a event handler that copies each Disruptor batch
+ * into the next ring buffer with the {@code eventCopier}, claiming the sequences of the whole batch at once.
+ * No translator is created per event and batches stay batches from ring to ring.
+ * <p>A full ring buffer blocks the hand off into it, which fills the ring buffer before it, up to the producers of the first one.
+ * The ring buffers after the first must therefore use the BLOCK {@link BackpressurePolicy}.
+ * Do not give the ring buffer beans a init or destroy method, this bean starts and stops them, the last ring buffer first.
+ *
+ * <p>
+ * Sample Spring configuration:
+ * <pre>{@code
+	<bean id="billingPipeline" class="org.anair.disruptor.DisruptorPipeline"
+		init-method="init" destroy-method="controlledShutdown">
+		<property name="threadName" value="billingPipeline" />
+		<property name="eventCopier" ref="billingEventCopier" />
+		<property name="disruptors">
+			<list>
+				<ref bean="billingIngestDisruptor" />
+				<ref bean="billingOutboundDisruptor" />
+			</list>
+		</property>
+	</bean>
+ * }</pre>
+ *
+ * @author Anoop Nair
+ *
+ * @param <T>
+ */
+public class DisruptorPipeline<T> implements DisruptorLifecycle<T> {
+	private static final Logger LOG = LoggerFactory.getLogger(DisruptorPipeline.class);
+
+	private String threadName;
+	private List<DefaultDisruptorConfig<T>> disruptors = new ArrayList<DefaultDisruptorConfig<T>>();
+	private EventCopier<T> eventCopier;
+	private int handoffBatchSize = 256;
+	private volatile boolean started;
+
+	@Override
+	public void init() {
+		Validate.notNull(threadName);
+		Validate.isTrue(disruptors.size() >= 2, "Pipeline %s needs atleast 2 disruptors: %d", threadName, disruptors.size());
+		Validate.notNull(eventCopier, "Define a eventCopier for pipeline %s", threadName);
+		Validate.validState(!started, "Pipeline %s is already started.", threadName);
+		for(int i=0;i<disruptors.size();i++){
+			DefaultDisruptorConfig<T> disruptor = disruptors.get(i);
+			Validate.validState(disruptor.getDisruptor() == null, "Disruptor %d of pipeline %s is already started. Remove its init method.", i, threadName);
+			Validate.isTrue(disruptors.indexOf(disruptor) == i, "Disruptor %s is in pipeline %s twice.", disruptor.getThreadName(), threadName);
+			if(i > 0){
+				Validate.isTrue(disruptor.getBackpressurePolicy() == BackpressurePolicy.BLOCK,
+						"Disruptor %s of pipeline %s must block when full to hold back the disruptor before it: %s", disruptor.getThreadName(), threadName, disruptor.getBackpressurePolicy());
+			}
+		}
+
+		int last = disruptors.size() - 1;
+		try {
+			for(int i=last;i>=0;i--){
+				if(i < last){
+					disruptors.get(i).setHandoffEventHandler(new HandoffEventHandler<T>(disruptors.get(i + 1), eventCopier, handoffBatchSize));
+				}
+				disruptors.get(i).init();
+			}
+		} catch (RuntimeException e) {
+			halt();
+			throw e;
+		}
+		started = true;
+		LOG.info("Started pipeline {}: {}", threadName, getDisruptorNames());
+	}
+
+	/**
+	 * Shutdown the disruptors in pipeline order, each after the one before it handed off all its events.
+	 */
+	@Override
+	public void controlledShutdown() {
+		for(DefaultDisruptorConfig<T> disruptor : disruptors){
+			if(disruptor.getDisruptor() != null){
+				disruptor.controlledShutdown();
+			}
+		}
+		started = false;
+	}
+
+	@Override
+	public void halt() {
+		for(DefaultDisruptorConfig<T> disruptor : disruptors){
+			if(disruptor.getDisruptor() != null){
+				disruptor.halt();
+			}
+		}
+		started = false;
+	}
+
+	@Override
+	public void awaitAndShutdown(long time) {
+		for(DefaultDisruptorConfig<T> disruptor : disruptors){
+			if(disruptor.getDisruptor() != null){
+				disruptor.awaitAndShutdown(time);
+			}
+		}
+		started = false;
+	}
+
+	/**
+	 * @return the disruptor events are published to
+	 */
+	public DefaultDisruptorConfig<T> getFirst() {
+		Validate.validState(started, "Pipeline %s is not started.", threadName);
+		return disruptors.get(0);
+	}
+
+	/**
+	 * Publish an event to the first disruptor. See {@link DisruptorConfig#publish(EventTranslator)}.
+	 *
+	 * @param eventTranslator
+	 */
+	public void publish(EventTranslator<T> eventTranslator) {
+		getFirst().publish(eventTranslator);
+	}
+
+	public <A> void publish(EventTranslatorOneArg<T, A> eventTranslator, A arg0) {
+		getFirst().publish(eventTranslator, arg0);
+	}
+
+	public <A, B> void publish(EventTranslatorTwoArg<T, A, B> eventTranslator, A arg0, B arg1) {
+		getFirst().publish(eventTranslator, arg0, arg1);
+	}
+
+	public void publish(EventTranslatorVararg<T> eventTranslator, Object... args) {
+		getFirst().publish(eventTranslator, args);
+	}
+
+	/**
+	 * Publish an event to the first disruptor only if a slot is available. Never blocks.
+	 *
+	 * @param eventTranslator
+	 * @return false if the first ring buffer is full and the event was not published
+	 */
+	public boolean tryPublish(EventTranslator<T> eventTranslator) {
+		return getFirst().tryPublish(eventTranslator);
+	}
+
+	public <A> boolean tryPublish(EventTranslatorOneArg<T, A> eventTranslator, A arg0) {
+		return getFirst().tryPublish(eventTranslator, arg0);
+	}
+
+	public <A, B> boolean tryPublish(EventTranslatorTwoArg<T, A, B> eventTranslator, A arg0, B arg1) {
+		return getFirst().tryPublish(eventTranslator, arg0, arg1);
+	}
+
+	public boolean tryPublish(EventTranslatorVararg<T> eventTranslator, Object... args) {
+		return getFirst().tryPublish(eventTranslator, args);
+	}
+
+	/**
+	 * @param hop index of the disruptor in the pipeline
+	 * @return events published to the disruptor and not yet processed by all its last event handlers,
+	 * which includes the hand off to the next disruptor
+	 */
+	public long getLag(int hop) {
+		DefaultDisruptorConfig<T> disruptor = disruptors.get(hop);
+		return disruptor.getDisruptor() == null ? 0 : disruptor.getCurrentLocation() - disruptor.getGatingSequence();
+	}
+
+	/**
+	 * @return events published to the pipeline and not yet processed by the last disruptor
+	 */
+	public long getTotalLag() {
+		long totalLag = 0;
+		for(int i=0;i<disruptors.size();i++){
+			totalLag += getLag(i);
+		}
+		return totalLag;
+	}
+
+	/**
+	 * Print the lag and bottleneck event handler of every disruptor, in pipeline order.
+	 */
+	public String getHopLag() {
+		StringJoiner str = new StringJoiner(" -> ", "{", "}");
+		for(int i=0;i<disruptors.size();i++){
+			DefaultDisruptorConfig<T> disruptor = disruptors.get(i);
+			str.add(disruptor.getDisruptor() == null ? disruptor.getThreadName() + ": not started" 
+					: disruptor.getThreadName() + ": lag " + getLag(i) + ", bottleneck " + disruptor.getBottleneckEventHandler());
+		}
+		return str.toString();
+	}
+
+	/**
+	 * @return events published to the first disruptor
+	 */
+	public long getPublishedCount() {
+		return disruptors.isEmpty() || disruptors.get(0).getDisruptor() == null ? 0 : disruptors.get(0).getCurrentLocation() + 1;
+	}
+
+	/**
+	 * @return events processed by all last event handlers of the last disruptor
+	 */
+	public long getCompletedCount() {
+		DefaultDisruptorConfig<T> last = disruptors.isEmpty() ? null : disruptors.get(disruptors.size() - 1);
+		return last == null || last.getDisruptor() == null ? 0 : last.getGatingSequence() + 1;
+	}
+
+	/**
+	 * @return events dropped or rejected by the first disruptor. The disruptors after it block instead.
+	 */
+	public long getRejectedPublishCount() {
+		return disruptors.isEmpty() ? 0 : disruptors.get(0).getRejectedPublishCount() + disruptors.get(0).getTimedOutPublishCount();
+	}
+
+	/**
+	 * @param windowSeconds 1 to 60
+	 * @return events published per second to the first disruptor over the window. 0 when its throughput meter is disabled.
+	 */
+	public double getPublishRate(int windowSeconds) {
+		return disruptors.isEmpty() ? 0 : disruptors.get(0).getPublishRate(windowSeconds);
+	}
+
+	public void resetLatencyHistograms() {
+		for(DefaultDisruptorConfig<T> disruptor : disruptors){
+			disruptor.resetLatencyHistograms();
+		}
+	}
+
+	private String getDisruptorNames() {
+		StringJoiner str = new StringJoiner(" -> ");
+		for(DefaultDisruptorConfig<T> disruptor : disruptors){
+			str.add(disruptor.getThreadName());
+		}
+		return str.toString();
+	}
+
+	public boolean isStarted() {
+		return started;
+	}
+
+	public String getThreadName() {
+		return threadName;
+	}
+
+	/**
+	 * Name of the pipeline. The disruptors keep their own thread names.
+	 *
+	 * @param threadName
+	 */
+	public void setThreadName(String threadName) {
+		this.threadName = threadName;
+	}
+
+	/**
+	 * @return disruptors in pipeline order
+	 */
+	public List<DefaultDisruptorConfig<T>> getDisruptors() {
+		return Collections.unmodifiableList(disruptors);
+	}
+
+	/**
+	 * @param disruptors not started disruptors, in the order events flow through them
+	 */
+	public void setDisruptors(List<DefaultDisruptorConfig<T>> disruptors) {
+		this.disruptors = new ArrayList<DefaultDisruptorConfig<T>>(disruptors);
+	}
+
+	public EventCopier<T> getEventCopier() {
+		return eventCopier;
+	}
+
+	/**
+	 * @param eventCopier copies a event into a slot of the next ring buffer
+	 */
+	public void setEventCopier(EventCopier<T> eventCopier) {
+		this.eventCopier = eventCopier;
+	}
+
+	public int getHandoffBatchSize() {
+		return handoffBatchSize;
+	}
+
+	/**
+	 * Events handed off to the next ring buffer with one claim, at most its size. Default 256.
+	 *
+	 * @param handoffBatchSize
+	 */
+	public void setHandoffBatchSize(int handoffBatchSize) {
+		Validate.isTrue(handoffBatchSize > 0, "Handoff batch size must be positive: %d", handoffBatchSize);
+		this.handoffBatchSize = handoffBatchSize;
+	}
+
+}
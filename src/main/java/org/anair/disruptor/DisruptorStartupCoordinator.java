@@ -0,0 +1,297 @@
+package org.anair.disruptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Start all disruptor, sharded disruptor and disruptor pipeline beans of the application context in parallel,
+ * before the context is refreshed. Give the disruptor beans no init or destroy method, this bean starts and stops them.
+ * <p>A disruptor bean is started after the disruptor beans it depends on, declared with {@code depends-on} or through
+ * the beans it references, like a event handler publishing to another disruptor. Independent disruptor beans start at the same time
+ * on {@code parallelism} threads. Every disruptor waits for its event processor threads to run, so all are ready to
+ * take events when the context is refreshed. Disruptors of a pipeline are started by the pipeline.
+ * <p>When a disruptor fails to start, the started ones are halted and the context refresh fails.
+ * On close the disruptors are shutdown in a controlled manner, dependent ones first.
+ *
+ * <pre>{@code
+ *  <bean class="org.anair.disruptor.DisruptorStartupCoordinator" p:parallelism="8" />
+ * }</pre>
+ *
+ * @author Anoop Nair
+ *
+ */
+@SuppressWarnings("rawtypes")
+public class DisruptorStartupCoordinator implements SmartLifecycle, ApplicationContextAware {
+	private static final Logger LOG = LoggerFactory.getLogger(DisruptorStartupCoordinator.class);
+
+	private ApplicationContext applicationContext;
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	private int phase = 0;
+
+	private final List<String> startOrder = Collections.synchronizedList(new ArrayList<String>());
+	private Map<String, DisruptorLifecycle> started = Collections.emptyMap();
+	private volatile boolean running;
+
+	@Override
+	public void start() {
+		Map<String, DisruptorLifecycle> disruptors = getDisruptorBeans();
+		Map<String, Set<String>> dependencies = getDependencies(disruptors);
+		List<String> beanNames = sort(dependencies);
+		started = disruptors;
+		startOrder.clear();
+
+		final long start = System.nanoTime();
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, beanNames.size())), new NamedThreadFactory("disruptor-startup"));
+		try {
+			Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<String, CompletableFuture<Void>>();
+			for(String beanName : beanNames){
+				List<CompletableFuture<Void>> dependencyFutures = new ArrayList<CompletableFuture<Void>>();
+				for(String dependency : dependencies.get(beanName)){
+					dependencyFutures.add(futures.get(dependency));
+				}
+				futures.put(beanName, CompletableFuture.allOf(dependencyFutures.toArray(new CompletableFuture[dependencyFutures.size()]))
+						.thenRunAsync(init(beanName, disruptors.get(beanName)), executor));
+			}
+			CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[futures.size()])).join();
+		} catch (CompletionException e) {
+			haltStarted();
+			throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+		} finally {
+			executor.shutdown();
+		}
+		running = true;
+		LOG.info("Started {} disruptor beans in {} ms: {}", beanNames.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), startOrder);
+	}
+
+	private Runnable init(final String beanName, final DisruptorLifecycle disruptor) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				LOG.debug("Starting disruptor bean {}.", beanName);
+				disruptor.init();
+				startOrder.add(beanName);
+			}
+		};
+	}
+
+	private void haltStarted() {
+		List<String> beanNames = new ArrayList<String>(startOrder);
+		Collections.reverse(beanNames);
+		for(String beanName : beanNames){
+			try {
+				started.get(beanName).halt();
+			} catch (RuntimeException e) {
+				LOG.error("Could not halt disruptor bean " + beanName, e);
+			}
+		}
+		startOrder.clear();
+	}
+
+	/**
+	 * Shutdown the started disruptor beans in a controlled manner, in reverse start order.
+	 */
+	@Override
+	public void stop() {
+		List<String> beanNames = new ArrayList<String>(startOrder);
+		Collections.reverse(beanNames);
+		for(String beanName : beanNames){
+			started.get(beanName).controlledShutdown();
+		}
+		startOrder.clear();
+		running = false;
+	}
+
+	@Override
+	public void stop(Runnable callback) {
+		try {
+			stop();
+		} finally {
+			callback.run();
+		}
+	}
+
+	/**
+	 * Disruptor beans not started by a init method, without the disruptors of pipelines.
+	 */
+	private Map<String, DisruptorLifecycle> getDisruptorBeans() {
+		Map<String, DisruptorLifecycle> disruptors = new LinkedHashMap<String, DisruptorLifecycle>();
+		disruptors.putAll(applicationContext.getBeansOfType(DefaultDisruptorConfig.class, false, true));
+		disruptors.putAll(applicationContext.getBeansOfType(ShardedDisruptorConfig.class, false, true));
+		disruptors.putAll(applicationContext.getBeansOfType(DisruptorPipeline.class, false, true));
+
+		Map<DisruptorLifecycle, String> pipelineDisruptors = getPipelineDisruptors(disruptors);
+		for(String beanName : new ArrayList<String>(disruptors.keySet())){
+			DisruptorLifecycle disruptor = disruptors.get(beanName);
+			if(pipelineDisruptors.containsKey(disruptor)){
+				disruptors.remove(beanName);
+			}else if(isStarted(disruptor)){
+				LOG.warn("Disruptor bean {} is already started by its init method.", beanName);
+				disruptors.remove(beanName);
+			}
+		}
+		return disruptors;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<DisruptorLifecycle, String> getPipelineDisruptors(Map<String, DisruptorLifecycle> disruptors) {
+		Map<DisruptorLifecycle, String> pipelineDisruptors = new IdentityHashMap<DisruptorLifecycle, String>();
+		for(Map.Entry<String, DisruptorLifecycle> entry : disruptors.entrySet()){
+			if(entry.getValue() instanceof DisruptorPipeline){
+				for(Object disruptor : ((DisruptorPipeline) entry.getValue()).getDisruptors()){
+					pipelineDisruptors.put((DisruptorLifecycle) disruptor, entry.getKey());
+				}
+			}
+		}
+		return pipelineDisruptors;
+	}
+
+	private static boolean isStarted(DisruptorLifecycle disruptor) {
+		if(disruptor instanceof DefaultDisruptorConfig){
+			return ((DefaultDisruptorConfig) disruptor).getDisruptor() != null;
+		}else if(disruptor instanceof ShardedDisruptorConfig){
+			return !((ShardedDisruptorConfig) disruptor).getShards().isEmpty();
+		}
+		return ((DisruptorPipeline) disruptor).isStarted();
+	}
+
+	/**
+	 * Disruptor beans every disruptor bean depends on, following the dependencies of other beans in between.
+	 * Depending on a disruptor of a pipeline is depending on the pipeline.
+	 */
+	private Map<String, Set<String>> getDependencies(Map<String, DisruptorLifecycle> disruptors) {
+		ConfigurableListableBeanFactory beanFactory = ((ConfigurableApplicationContext) applicationContext).getBeanFactory();
+		Map<String, String> pipelineOfBean = new LinkedHashMap<String, String>();
+		Map<DisruptorLifecycle, String> pipelineDisruptors = getPipelineDisruptors(disruptors);
+		for(Map.Entry<String, DefaultDisruptorConfig> entry : applicationContext.getBeansOfType(DefaultDisruptorConfig.class, false, true).entrySet()){
+			String pipeline = pipelineDisruptors.get(entry.getValue());
+			if(pipeline != null){
+				pipelineOfBean.put(entry.getKey(), pipeline);
+			}
+		}
+
+		Map<String, Set<String>> dependencies = new LinkedHashMap<String, Set<String>>();
+		for(String beanName : disruptors.keySet()){
+			Set<String> disruptorDependencies = new LinkedHashSet<String>();
+			collectDependencies(beanFactory, beanName, disruptors.keySet(), pipelineOfBean, new HashSet<String>(), disruptorDependencies);
+			disruptorDependencies.remove(beanName);
+			dependencies.put(beanName, disruptorDependencies);
+		}
+		return dependencies;
+	}
+
+	private static void collectDependencies(ConfigurableListableBeanFactory beanFactory, String beanName, Set<String> disruptorNames,
+			Map<String, String> pipelineOfBean, Set<String> visited, Set<String> disruptorDependencies) {
+		for(String dependency : beanFactory.getDependenciesForBean(beanName)){
+			if(!visited.add(dependency)){
+				continue;
+			}
+			String pipeline = pipelineOfBean.get(dependency);
+			if(disruptorNames.contains(dependency)){
+				disruptorDependencies.add(dependency);
+			}else if(pipeline != null && disruptorNames.contains(pipeline) && !pipeline.equals(beanName)){
+				disruptorDependencies.add(pipeline);
+			}else{
+				collectDependencies(beanFactory, dependency, disruptorNames, pipelineOfBean, visited, disruptorDependencies);
+			}
+		}
+	}
+
+	/**
+	 * @return bean names, every one after its dependencies
+	 * @throws IllegalArgumentException when disruptor beans depend on each other
+	 */
+	static List<String> sort(Map<String, Set<String>> dependencies) {
+		List<String> sorted = new ArrayList<String>();
+		Set<String> visiting = new LinkedHashSet<String>();
+		for(String beanName : dependencies.keySet()){
+			visit(beanName, dependencies, visiting, sorted);
+		}
+		return sorted;
+	}
+
+	private static void visit(String beanName, Map<String, Set<String>> dependencies, Set<String> visiting, List<String> sorted) {
+		if(sorted.contains(beanName)){
+			return;
+		}
+		Validate.isTrue(visiting.add(beanName), "Disruptor beans depend on each other: %s -> %s", visiting, beanName);
+		for(String dependency : dependencies.get(beanName)){
+			visit(dependency, dependencies, visiting, sorted);
+		}
+		visiting.remove(beanName);
+		sorted.add(beanName);
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	@Override
+	public boolean isAutoStartup() {
+		return true;
+	}
+
+	@Override
+	public int getPhase() {
+		return phase;
+	}
+
+	/**
+	 * Lifecycle phase to start the disruptors in. Start them in a phase before the beans publishing to them. Default 0.
+	 *
+	 * @param phase
+	 */
+	public void setPhase(int phase) {
+		this.phase = phase;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Disruptor beans started at the same time. Default the number of processors.
+	 *
+	 * @param parallelism
+	 */
+	public void setParallelism(int parallelism) {
+		Validate.isTrue(parallelism > 0, "Parallelism must be positive: %d", parallelism);
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * @return disruptor bean names in the order they finished starting
+	 */
+	public List<String> getStartOrder() {
+		return Collections.unmodifiableList(new ArrayList<String>(startOrder));
+	}
+
+	@Override
+	public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+		Validate.isInstanceOf(ConfigurableApplicationContext.class, applicationContext, "Disruptor startup needs a ConfigurableApplicationContext");
+		this.applicationContext = applicationContext;
+	}
+
+}
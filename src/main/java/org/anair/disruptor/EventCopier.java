@@ -0,0 +1,18 @@
+package org.anair.disruptor;
+
+/**
+ * Copies the fields of a event into another, preallocated event, usually a ring buffer slot.
+ * Implementations copy field by field and allocate nothing.
+ * 
+ * @author Anoop Nair
+ *
+ * @param <T>
+ */
+public interface EventCopier<T> {
+	
+	/**
+	 * @param from event to read, not changed
+	 * @param to event to overwrite
+	 */
+	void copy(T from, T to);
+}
@@ -11,6 +11,7 @@ import com.lmax.disruptor.EventHandler;
  * Design a eventprocessor/consumer dependency graph.
  * <p>Set current event processor(s) and their dependent(next) event processors.
  * This will help define the dependency barriers.
+ * <p>Current and next event processors can be {@link WorkHandlerPool}s, next to or instead of event handlers.
  * 
  * @author Anoop Nair
  *
@@ -20,12 +21,23 @@ public class EventHandlerChain<T> {
 
 	private EventHandler<T>[] currentEventHandlers;
 	private EventHandler<T>[] nextEventHandlers;
+	private WorkHandlerPool<T>[] currentWorkHandlerPools;
+	private WorkHandlerPool<T>[] nextWorkHandlerPools;
 	
-	public EventHandlerChain(EventHandler<T>[] currentEventHandlers,
-			EventHandler<T>[] nextEventHandlers) {
-		Validate.notEmpty(currentEventHandlers, "Atleast one Event handler should be present to consume off the ring buffer.");
+	public EventHandlerChain(EventHandler<T>[] currentEventHandlers, WorkHandlerPool<T>[] currentWorkHandlerPools,
+			EventHandler<T>[] nextEventHandlers, WorkHandlerPool<T>[] nextWorkHandlerPools) {
+		if(ArrayUtils.isEmpty(currentWorkHandlerPools)){
+			Validate.notEmpty(currentEventHandlers, "Atleast one Event handler should be present to consume off the ring buffer.");
+		}
 		this.currentEventHandlers = currentEventHandlers;
 		this.nextEventHandlers = nextEventHandlers;
+		this.currentWorkHandlerPools = currentWorkHandlerPools;
+		this.nextWorkHandlerPools = nextWorkHandlerPools;
+	}
+	
+	public EventHandlerChain(EventHandler<T>[] currentEventHandlers,
+			EventHandler<T>[] nextEventHandlers) {
+		this(currentEventHandlers, null, nextEventHandlers, null);
 	}
 	
 	public EventHandlerChain(EventHandler<T>[] currentEventHandlers) {
@@ -40,6 +52,14 @@ public class EventHandlerChain<T> {
 		return nextEventHandlers;
 	}
 
+	public WorkHandlerPool<T>[] getCurrentWorkHandlerPools() {
+		return currentWorkHandlerPools;
+	}
+
+	public WorkHandlerPool<T>[] getNextWorkHandlerPools() {
+		return nextWorkHandlerPools;
+	}
+
 	/**
 	 * Print event processor dependency graph.
 	 * 
@@ -47,19 +67,26 @@ public class EventHandlerChain<T> {
 	public String printDependencyGraph() {
 		StringJoiner str = new StringJoiner(" | ", "{", "}");
 		//print current Event handlers
-		printEventHandlers(str, getCurrentEventHandlers());
+		printEventHandlers(str, getCurrentEventHandlers(), getCurrentWorkHandlerPools());
 		
 		//print dependent Event handlers
-		if(! ArrayUtils.isEmpty(getNextEventHandlers())){
+		if(! ArrayUtils.isEmpty(getNextEventHandlers()) || ! ArrayUtils.isEmpty(getNextWorkHandlerPools())){
 			str.add(" -> ");	
-			printEventHandlers(str, getNextEventHandlers());
+			printEventHandlers(str, getNextEventHandlers(), getNextWorkHandlerPools());
 		}
 		return str.toString();
 	}
 
-	private void printEventHandlers(StringJoiner str, EventHandler<T>[] eventHandlers) {
-		for(int j=0;j<eventHandlers.length;j++){
-			str.add(eventHandlers[j].getClass().getSimpleName());
+	private void printEventHandlers(StringJoiner str, EventHandler<T>[] eventHandlers, WorkHandlerPool<T>[] workHandlerPools) {
+		if(eventHandlers != null){
+			for(int j=0;j<eventHandlers.length;j++){
+				str.add(EventHandlerStage.nameOf(eventHandlers[j]));
+			}
+		}
+		if(workHandlerPools != null){
+			for(int j=0;j<workHandlerPools.length;j++){
+				str.add(workHandlerPools[j].toString());
+			}
 		}
 	}
 }
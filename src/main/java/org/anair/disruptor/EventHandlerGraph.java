@@ -0,0 +1,280 @@
+package org.anair.disruptor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import org.apache.commons.lang3.Validate;
+
+import com.lmax.disruptor.EventHandler;
+
+/**
+ * Dependency graph of {@link EventHandlerStage}s. Validates stage names, dependencies and cycles, 
+ * and orders the stages so every stage comes after the stages it depends on.
+ * 
+ * @author Anoop Nair
+ *
+ * @param <T>
+ */
+public class EventHandlerGraph<T> {
+	
+	private final List<EventHandlerStage<T>> stages;
+	private final Map<String, Integer> levels = new LinkedHashMap<String, Integer>();
+	private final Set<String> lastStages = new LinkedHashSet<String>();
+	
+	public EventHandlerGraph(EventHandlerStage<T>[] eventHandlerStages) {
+		Validate.notEmpty(eventHandlerStages, "Define a Event Handler Stage.");
+		Map<String, EventHandlerStage<T>> stagesByName = new LinkedHashMap<String, EventHandlerStage<T>>();
+		Map<Object, String> stageOfEventHandler = new IdentityHashMap<Object, String>();
+		for(EventHandlerStage<T> stage : eventHandlerStages){
+			Validate.isTrue(stagesByName.put(stage.getName(), stage) == null, "Duplicate event handler stage %s", stage.getName());
+			for(EventHandler<T> eventHandler : stage.getEventHandlers()){
+				String otherStage = stageOfEventHandler.put(eventHandler, stage.getName());
+				Validate.isTrue(otherStage == null, "Event handler %s is in stages %s and %s", EventHandlerStage.nameOf(eventHandler), otherStage, stage.getName());
+			}
+			for(WorkHandlerPool<T> workHandlerPool : stage.getWorkHandlerPools()){
+				String otherStage = stageOfEventHandler.put(workHandlerPool, stage.getName());
+				Validate.isTrue(otherStage == null, "Worker pool %s is in stages %s and %s", workHandlerPool.getName(), otherStage, stage.getName());
+			}
+		}
+		for(EventHandlerStage<T> stage : eventHandlerStages){
+			for(String dependency : stage.getDependsOn()){
+				Validate.isTrue(stagesByName.containsKey(dependency), "Stage %s depends on unknown stage %s", stage.getName(), dependency);
+			}
+		}
+		this.stages = Collections.unmodifiableList(sort(stagesByName));
+		
+		for(EventHandlerStage<T> stage : stages){
+			int level = 1;
+			for(String dependency : stage.getDependsOn()){
+				level = Math.max(level, levels.get(dependency) + 1);
+			}
+			levels.put(stage.getName(), level);
+			lastStages.add(stage.getName());
+		}
+		for(EventHandlerStage<T> stage : stages){
+			for(String dependency : stage.getDependsOn()){
+				lastStages.remove(dependency);
+			}
+		}
+	}
+	
+	/**
+	 * Kahn's topological sort, keeping the configured order between independent stages.
+	 */
+	private List<EventHandlerStage<T>> sort(Map<String, EventHandlerStage<T>> stagesByName) {
+		Map<String, Set<String>> pending = new LinkedHashMap<String, Set<String>>();
+		for(EventHandlerStage<T> stage : stagesByName.values()){
+			Set<String> dependencies = new LinkedHashSet<String>();
+			Collections.addAll(dependencies, stage.getDependsOn());
+			pending.put(stage.getName(), dependencies);
+		}
+		
+		List<EventHandlerStage<T>> sorted = new ArrayList<EventHandlerStage<T>>(stagesByName.size());
+		Deque<String> ready = new ArrayDeque<String>();
+		while(!pending.isEmpty()){
+			for(Map.Entry<String, Set<String>> entry : pending.entrySet()){
+				if(entry.getValue().isEmpty()){
+					ready.add(entry.getKey());
+				}
+			}
+			Validate.isTrue(!ready.isEmpty(), "Event handler stages have a dependency cycle: %s", pending.keySet());
+			while(!ready.isEmpty()){
+				String name = ready.poll();
+				pending.remove(name);
+				sorted.add(stagesByName.get(name));
+				for(Set<String> dependencies : pending.values()){
+					dependencies.remove(name);
+				}
+			}
+		}
+		return sorted;
+	}
+	
+	/**
+	 * Convert event handler chains to a graph with a stage per event handler or worker pool, named like the event handler or work handler.
+	 * Next event handlers and worker pools depend on all current ones of the chain.
+	 */
+	@SuppressWarnings({"rawtypes","unchecked"})
+	public static <T> EventHandlerGraph<T> fromChains(EventHandlerChain<T>[] eventHandlerChains) {
+		Validate.notEmpty(eventHandlerChains, "Define a Event Handler Chain.");
+		Map<Object, String> names = new IdentityHashMap<Object, String>();
+		Map<String, Object> eventProcessors = new LinkedHashMap<String, Object>();
+		Map<String, Set<String>> dependencies = new LinkedHashMap<String, Set<String>>();
+		
+		for(EventHandlerChain<T> eventHandlerChain : eventHandlerChains){
+			List<String> current = new ArrayList<String>();
+			if(eventHandlerChain.getCurrentEventHandlers() != null){
+				for(EventHandler<T> eventHandler : eventHandlerChain.getCurrentEventHandlers()){
+					current.add(stageName(eventHandler, EventHandlerStage.nameOf(eventHandler), names, eventProcessors, dependencies));
+				}
+			}
+			if(eventHandlerChain.getCurrentWorkHandlerPools() != null){
+				for(WorkHandlerPool<T> workHandlerPool : eventHandlerChain.getCurrentWorkHandlerPools()){
+					current.add(stageName(workHandlerPool, workHandlerPool.getName(), names, eventProcessors, dependencies));
+				}
+			}
+			if(eventHandlerChain.getNextEventHandlers() != null){
+				for(EventHandler<T> eventHandler : eventHandlerChain.getNextEventHandlers()){
+					dependencies.get(stageName(eventHandler, EventHandlerStage.nameOf(eventHandler), names, eventProcessors, dependencies)).addAll(current);
+				}
+			}
+			if(eventHandlerChain.getNextWorkHandlerPools() != null){
+				for(WorkHandlerPool<T> workHandlerPool : eventHandlerChain.getNextWorkHandlerPools()){
+					dependencies.get(stageName(workHandlerPool, workHandlerPool.getName(), names, eventProcessors, dependencies)).addAll(current);
+				}
+			}
+		}
+		
+		List<EventHandlerStage<T>> stages = new ArrayList<EventHandlerStage<T>>();
+		for(Map.Entry<String, Object> entry : eventProcessors.entrySet()){
+			Set<String> stageDependencies = dependencies.get(entry.getKey());
+			String[] dependsOn = stageDependencies.toArray(new String[stageDependencies.size()]);
+			if(entry.getValue() instanceof WorkHandlerPool){
+				stages.add(new EventHandlerStage<T>(entry.getKey(), null, new WorkHandlerPool[]{(WorkHandlerPool<T>) entry.getValue()}, dependsOn));
+			}else{
+				stages.add(new EventHandlerStage<T>(entry.getKey(), new EventHandler[]{(EventHandler<T>) entry.getValue()}, dependsOn));
+			}
+		}
+		return new EventHandlerGraph<T>(stages.toArray(new EventHandlerStage[stages.size()]));
+	}
+	
+	private static String stageName(Object eventProcessor, String baseName, Map<Object, String> names, 
+			Map<String, Object> eventProcessors, Map<String, Set<String>> dependencies) {
+		String name = names.get(eventProcessor);
+		if(name == null){
+			name = baseName;
+			for(int i=2; eventProcessors.containsKey(name); i++){
+				name = baseName + "#" + i;
+			}
+			names.put(eventProcessor, name);
+			eventProcessors.put(name, eventProcessor);
+			dependencies.put(name, new LinkedHashSet<String>());
+		}
+		return name;
+	}
+	
+	/**
+	 * @return stages ordered so every stage comes after the stages it depends on
+	 */
+	public List<EventHandlerStage<T>> getStages() {
+		return stages;
+	}
+	
+	/**
+	 * @return names of the stages no other stage depends on, which gate the producers
+	 */
+	public Set<String> getLastStages() {
+		return Collections.unmodifiableSet(lastStages);
+	}
+	
+	/**
+	 * @param stageName
+	 * @return length of the longest dependency path from the ring buffer to the stage
+	 */
+	public int getLevel(String stageName) {
+		Integer level = levels.get(stageName);
+		Validate.notNull(level, "No event handler stage named %s", stageName);
+		return level;
+	}
+	
+	/**
+	 * @param eventHandler
+	 * @return name of the stage holding the event handler, null when it is not in the graph
+	 */
+	public String getStageName(EventHandler<T> eventHandler) {
+		for(EventHandlerStage<T> stage : stages){
+			for(EventHandler<T> stageEventHandler : stage.getEventHandlers()){
+				if(stageEventHandler == eventHandler){
+					return stage.getName();
+				}
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * @param stageName
+	 * @param upstreamStageName
+	 * @return true when the stage waits for the upstream stage, directly or through other stages
+	 */
+	public boolean dependsOn(String stageName, String upstreamStageName) {
+		Deque<String> pending = new ArrayDeque<String>();
+		pending.add(stageName);
+		Set<String> visited = new LinkedHashSet<String>();
+		while(!pending.isEmpty()){
+			String name = pending.poll();
+			for(EventHandlerStage<T> stage : stages){
+				if(stage.getName().equals(name)){
+					for(String dependency : stage.getDependsOn()){
+						if(dependency.equals(upstreamStageName)){
+							return true;
+						}
+						if(visited.add(dependency)){
+							pending.add(dependency);
+						}
+					}
+				}
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Print the stages level by level with the stages they depend on. The last stages gate the producers.
+	 * <pre>
+	 * 1: ConsumerA &lt;- ring buffer
+	 * 2: ConsumerB1 &lt;- ConsumerA
+	 * 2: ConsumerB2 &lt;- ConsumerA
+	 * 3: ConsumerD &lt;- ConsumerB1, ConsumerB2 (gates producers)
+	 * </pre>
+	 */
+	public String render() {
+		List<EventHandlerStage<T>> byLevel = new ArrayList<EventHandlerStage<T>>(stages);
+		Collections.sort(byLevel, new Comparator<EventHandlerStage<T>>() {
+			@Override
+			public int compare(EventHandlerStage<T> a, EventHandlerStage<T> b) {
+				return Integer.compare(levels.get(a.getName()), levels.get(b.getName()));
+			}
+		});
+		
+		StringBuilder str = new StringBuilder();
+		for(EventHandlerStage<T> stage : byLevel){
+			str.append("\n").append(levels.get(stage.getName())).append(": ").append(label(stage)).append(" <- ");
+			str.append(stage.getDependsOn().length == 0 ? "ring buffer" : String.join(", ", stage.getDependsOn()));
+			if(lastStages.contains(stage.getName())){
+				str.append(" (gates producers)");
+			}
+		}
+		return str.toString();
+	}
+	
+	private String label(EventHandlerStage<T> stage) {
+		EventHandler<T>[] eventHandlers = stage.getEventHandlers();
+		WorkHandlerPool<T>[] workHandlerPools = stage.getWorkHandlerPools();
+		if(eventHandlers.length == 1 && workHandlerPools.length == 0 && stage.getName().equals(EventHandlerStage.nameOf(eventHandlers[0]))){
+			return stage.getName();
+		}
+		if(eventHandlers.length == 0 && workHandlerPools.length == 1 && stage.getName().equals(workHandlerPools[0].getName())){
+			return workHandlerPools[0].toString();
+		}
+		StringJoiner str = new StringJoiner(" | ", stage.getName() + "{", "}");
+		for(EventHandler<T> eventHandler : eventHandlers){
+			str.add(EventHandlerStage.nameOf(eventHandler));
+		}
+		for(WorkHandlerPool<T> workHandlerPool : workHandlerPools){
+			str.add(workHandlerPool.toString());
+		}
+		return str.toString();
+	}
+
+}
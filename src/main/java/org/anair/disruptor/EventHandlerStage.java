@@ -0,0 +1,85 @@
+package org.anair.disruptor;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.Validate;
+
+import com.lmax.disruptor.EventHandler;
+
+/**
+ * A named stage of a {@link EventHandlerGraph}: event handlers that process every event in parallel 
+ * after all the stages they depend on have processed it.
+ * <p>A stage without dependencies consumes off the ring buffer. Its {@link WorkHandlerPool}s process the events next to, or instead of, its event handlers.
+ * 
+ * <p>
+ * Sample Spring configuration:
+ * <pre>{@code
+	<bean class="org.anair.disruptor.EventHandlerStage">
+		<constructor-arg name="name" value="business" />
+		<constructor-arg name="eventHandlers">
+			<array value-type="com.lmax.disruptor.EventHandler">
+				<ref bean="billingBusinessEventProcessor" />
+				<ref bean="corporateBillingBusinessEventProcessor" />
+			</array>
+		</constructor-arg>
+		<constructor-arg name="dependsOn" value="journal,validation" />
+	</bean>
+ * }</pre>
+ * 
+ * @author Anoop Nair
+ *
+ * @param <T>
+ */
+public class EventHandlerStage<T> {
+	
+	private final String name;
+	private final EventHandler<T>[] eventHandlers;
+	private final WorkHandlerPool<T>[] workHandlerPools;
+	private final String[] dependsOn;
+	
+	@SuppressWarnings({"rawtypes","unchecked"})
+	public EventHandlerStage(String name, EventHandler<T>[] eventHandlers, WorkHandlerPool<T>[] workHandlerPools, String[] dependsOn) {
+		Validate.notBlank(name, "Name the event handler stage.");
+		Validate.isTrue(!ArrayUtils.isEmpty(eventHandlers) || !ArrayUtils.isEmpty(workHandlerPools), 
+				"Atleast one Event handler or Worker pool should be present in stage %s.", name);
+		this.name = name;
+		this.eventHandlers = eventHandlers == null ? new EventHandler[0] : Validate.noNullElements(eventHandlers, "Event handler of stage %s is null.", name);
+		this.workHandlerPools = workHandlerPools == null ? new WorkHandlerPool[0] : Validate.noNullElements(workHandlerPools, "Worker pool of stage %s is null.", name);
+		this.dependsOn = dependsOn == null ? ArrayUtils.EMPTY_STRING_ARRAY : dependsOn;
+	}
+	
+	public EventHandlerStage(String name, EventHandler<T>[] eventHandlers, String[] dependsOn) {
+		this(name, eventHandlers, null, dependsOn);
+	}
+	
+	public EventHandlerStage(String name, EventHandler<T>[] eventHandlers) {
+		this(name, eventHandlers, null);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public EventHandler<T>[] getEventHandlers() {
+		return eventHandlers;
+	}
+
+	public WorkHandlerPool<T>[] getWorkHandlerPools() {
+		return workHandlerPools;
+	}
+
+	/**
+	 * @return names of the stages that process a event before this stage
+	 */
+	public String[] getDependsOn() {
+		return dependsOn;
+	}
+	
+	/**
+	 * @return class name of the event handler
+	 */
+	static String nameOf(EventHandler<?> eventHandler) {
+		String name = eventHandler.getClass().getSimpleName();
+		return name.isEmpty() ? eventHandler.getClass().getName() : name;
+	}
+	
+}
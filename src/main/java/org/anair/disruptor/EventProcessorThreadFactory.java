@@ -0,0 +1,62 @@
+package org.anair.disruptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.LockSupport;
+
+import com.lmax.disruptor.EventProcessor;
+
+/**
+ * Thread factory handed to the Disruptor. Keeps the event processors it creates threads for,
+ * so {@code init} can wait for them to run before events are published or the disruptor is shut down.
+ * <p>A event processor that is not running yet is skipped by {@code Disruptor.shutdown()},
+ * which could then return before the events published right after {@code init} are processed.
+ *
+ * @author Anoop Nair
+ *
+ */
+final class EventProcessorThreadFactory implements ThreadFactory {
+
+	private final ThreadFactory threadFactory;
+	private final List<EventProcessor> eventProcessors = new ArrayList<EventProcessor>();
+
+	EventProcessorThreadFactory(ThreadFactory threadFactory) {
+		this.threadFactory = threadFactory;
+	}
+
+	@Override
+	public synchronized Thread newThread(Runnable r) {
+		if(r instanceof EventProcessor){
+			eventProcessors.add((EventProcessor) r);
+		}
+		return threadFactory.newThread(r);
+	}
+
+	/**
+	 * @param timeoutMillis
+	 * @return event processors not running after the timeout, 0 when all run
+	 */
+	int awaitRunning(long timeoutMillis) {
+		final long deadline = System.nanoTime() + timeoutMillis * 1000000L;
+		int notRunning;
+		while((notRunning = countNotRunning()) > 0 && System.nanoTime() - deadline < 0){
+			LockSupport.parkNanos(100000L);
+		}
+		return notRunning;
+	}
+
+	private synchronized int countNotRunning() {
+		int notRunning = 0;
+		for(EventProcessor eventProcessor : eventProcessors){
+			if(!eventProcessor.isRunning()){
+				notRunning++;
+			}
+		}
+		return notRunning;
+	}
+
+	synchronized int getEventProcessorCount() {
+		return eventProcessors.size();
+	}
+}
@@ -0,0 +1,68 @@
+package org.anair.disruptor;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslatorOneArg;
+
+/**
+ * Last event handler of a ring buffer in a {@link DisruptorPipeline}. Collects the events of a Disruptor batch 
+ * and copies them into the next ring buffer with one claim of sequences per batch.
+ * <p>The collected events stay in their slots until the batch is handed off, since the event processor only 
+ * releases the slots after the batch. References left in the batch point to ring buffer slots, which live as long as the ring buffer. Claims block while the next ring buffer is full, which holds back this ring buffer 
+ * and in turn its producers. Warm-up events stay in this ring buffer.
+ * 
+ * @author Anoop Nair
+ *
+ * @param <T>
+ */
+final class HandoffEventHandler<T> implements EventHandler<T>, WarmupAware {
+
+	private final DefaultDisruptorConfig<T> downstream;
+	private final EventTranslatorOneArg<T, T> copyTranslator;
+	private final Object[] batch;
+	private int batchSize;
+	private long lastWarmupSequence = -1L;
+	
+	HandoffEventHandler(DefaultDisruptorConfig<T> downstream, final EventCopier<T> eventCopier, int maxBatchSize) {
+		this.downstream = downstream;
+		this.copyTranslator = new EventTranslatorOneArg<T, T>() {
+			@Override
+			public void translateTo(T event, long sequence, T from) {
+				eventCopier.copy(from, event);
+			}
+		};
+		this.batch = new Object[Math.min(maxBatchSize, downstream.getRingBufferSize())];
+	}
+	
+	@Override
+	public void onEvent(T event, long sequence, boolean endOfBatch) throws Exception {
+		if(sequence > lastWarmupSequence){
+			batch[batchSize++] = event;
+		}
+		if(batchSize > 0 && (endOfBatch || batchSize == batch.length)){
+			handoff();
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void handoff() {
+		try {
+			downstream.publishEvents(copyTranslator, 0, batchSize, (T[]) batch);
+		} finally {
+			batchSize = 0;
+		}
+	}
+	
+	@Override
+	public void setLastWarmupSequence(long lastWarmupSequence) {
+		this.lastWarmupSequence = lastWarmupSequence;
+	}
+	
+	DefaultDisruptorConfig<T> getDownstream() {
+		return downstream;
+	}
+	
+	@Override
+	public String toString() {
+		return "HandoffEventHandler to " + downstream.getThreadName();
+	}
+}
@@ -0,0 +1,308 @@
+package org.anair.disruptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectFactory;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslator;
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.EventTranslatorTwoArg;
+import com.lmax.disruptor.EventTranslatorVararg;
+
+/**
+ * Spread events over {@code shardCount} Disruptors by the hash of a key. Events with the same key always go to the same shard,
+ * so they are processed in publish order, while events with different keys are processed in parallel.
+ *
+ * <p>Every shard is a {@link DefaultDisruptorConfig} created by the {@code shardFactory}, with its own ring buffer, event handlers and threads
+ * named {@code <threadName>-shard-<n>}. Define the shard as a prototype bean with prototype or inner bean event handlers,
+ * since event handlers can not be shared between shards. Do not give the shard bean a init or destroy method, this bean starts and stops the shards.
+ *
+ * <p>
+ * Sample Spring configuration:
+ * <pre>{@code
+	<bean id="billingShard" class="org.anair.disruptor.DefaultDisruptorConfig" scope="prototype">
+		<property name="eventFactory">
+			<bean class="org.anair.disruptor.eventfactory.BillingEvent" />
+		</property>
+		<property name="eventHandlerChain">
+			...
+		</property>
+	</bean>
+
+	<bean id="billingDisruptor" class="org.anair.disruptor.ShardedDisruptorConfig"
+		init-method="init" destroy-method="controlledShutdown">
+		<property name="threadName" value="billingThread" />
+		<property name="shardCount" value="4" />
+		<property name="shardFactory">
+			<bean class="org.springframework.beans.factory.config.ObjectFactoryCreatingFactoryBean"
+				p:targetBeanName="billingShard" />
+		</property>
+	</bean>
+ * }</pre>
+ *
+ * @author Anoop Nair
+ *
+ * @param <T>
+ */
+public class ShardedDisruptorConfig<T> implements DisruptorLifecycle<T> {
+	private static final Logger LOG = LoggerFactory.getLogger(ShardedDisruptorConfig.class);
+
+	private String threadName;
+	private int shardCount;
+	private ObjectFactory<DefaultDisruptorConfig<T>> shardFactory;
+	private final List<DefaultDisruptorConfig<T>> shards = new ArrayList<DefaultDisruptorConfig<T>>();
+
+	@Override
+	public void init() {
+		Validate.notNull(threadName);
+		Validate.notNull(shardFactory);
+		Validate.isTrue(shardCount > 0, "Shard count must be positive: %d", shardCount);
+		Validate.validState(shards.isEmpty(), "Sharded disruptor %s is already started.", threadName);
+
+		Map<EventHandler<T>, String> eventHandlerShards = new IdentityHashMap<EventHandler<T>, String>();
+		try {
+			for(int i=0;i<shardCount;i++){
+				DefaultDisruptorConfig<T> shard = shardFactory.getObject();
+				Validate.validState(shard.getDisruptor() == null, "Shard %d of %s is already started. Remove its init method.", i, threadName);
+				shard.setThreadName(shardThreadName(i));
+				shards.add(shard);
+				shard.init();
+				for(EventHandler<T> eventHandler : shard.getEventHandlers()){
+					String otherShard = eventHandlerShards.put(eventHandler, shard.getThreadName());
+					Validate.isTrue(otherShard == null, "Event handler %s is shared by %s and %s. Make it a prototype bean.",
+							EventHandlerStage.nameOf(eventHandler), otherShard, shard.getThreadName());
+				}
+			}
+		} catch (RuntimeException e) {
+			halt();
+			throw e;
+		}
+		LOG.info("Started {} disruptor shards of {}.", shardCount, threadName);
+	}
+
+	private String shardThreadName(int shard) {
+		return threadName + "-shard-" + shard;
+	}
+
+	@Override
+	public void controlledShutdown() {
+		for(DefaultDisruptorConfig<T> shard : shards){
+			shard.controlledShutdown();
+		}
+		shards.clear();
+	}
+
+	@Override
+	public void halt() {
+		for(DefaultDisruptorConfig<T> shard : shards){
+			if(shard.getDisruptor() != null){
+				shard.halt();
+			}
+		}
+		shards.clear();
+	}
+
+	@Override
+	public void awaitAndShutdown(long time) {
+		for(DefaultDisruptorConfig<T> shard : shards){
+			shard.awaitAndShutdown(time);
+		}
+		shards.clear();
+	}
+
+	/**
+	 * @param key
+	 * @return index of the shard events with this key are published to
+	 */
+	public int shardOf(Object key) {
+		Validate.notNull(key, "Shard key must not be null.");
+		int h = key.hashCode();
+		return Math.floorMod(h ^ (h >>> 16), shardCount);
+	}
+
+	/**
+	 * Use the shard directly to publish a batch of events with the same key.
+	 *
+	 * @param key
+	 * @return the shard events with this key are published to
+	 */
+	public DefaultDisruptorConfig<T> getShard(Object key) {
+		Validate.validState(!shards.isEmpty(), "Sharded disruptor %s is not started.", threadName);
+		return shards.get(shardOf(key));
+	}
+
+	/**
+	 * Publish an event to the shard of the key. See {@link DisruptorConfig#publish(EventTranslator)}.
+	 *
+	 * @param key
+	 * @param eventTranslator
+	 */
+	public void publish(Object key, EventTranslator<T> eventTranslator) {
+		getShard(key).publish(eventTranslator);
+	}
+
+	public <A> void publish(Object key, EventTranslatorOneArg<T, A> eventTranslator, A arg0) {
+		getShard(key).publish(eventTranslator, arg0);
+	}
+
+	public <A, B> void publish(Object key, EventTranslatorTwoArg<T, A, B> eventTranslator, A arg0, B arg1) {
+		getShard(key).publish(eventTranslator, arg0, arg1);
+	}
+
+	public void publish(Object key, EventTranslatorVararg<T> eventTranslator, Object... args) {
+		getShard(key).publish(eventTranslator, args);
+	}
+
+	/**
+	 * Publish an event to the shard of the key only if a slot is available. Never blocks.
+	 *
+	 * @param key
+	 * @param eventTranslator
+	 * @return false if the ring buffer of the shard is full and the event was not published
+	 */
+	public boolean tryPublish(Object key, EventTranslator<T> eventTranslator) {
+		return getShard(key).tryPublish(eventTranslator);
+	}
+
+	public <A> boolean tryPublish(Object key, EventTranslatorOneArg<T, A> eventTranslator, A arg0) {
+		return getShard(key).tryPublish(eventTranslator, arg0);
+	}
+
+	public <A, B> boolean tryPublish(Object key, EventTranslatorTwoArg<T, A, B> eventTranslator, A arg0, B arg1) {
+		return getShard(key).tryPublish(eventTranslator, arg0, arg1);
+	}
+
+	public boolean tryPublish(Object key, EventTranslatorVararg<T> eventTranslator, Object... args) {
+		return getShard(key).tryPublish(eventTranslator, args);
+	}
+
+	/**
+	 * @return started shards, in shard index order
+	 */
+	public List<DefaultDisruptorConfig<T>> getShards() {
+		return Collections.unmodifiableList(shards);
+	}
+
+	/**
+	 * @return events published to all shards
+	 */
+	public long getPublishedCount() {
+		long publishedCount = 0;
+		for(DefaultDisruptorConfig<T> shard : shards){
+			publishedCount += shard.getCurrentLocation() + 1;
+		}
+		return publishedCount;
+	}
+
+	/**
+	 * @return events published to the busiest shard divided by the average per shard. 1 when keys are spread evenly, {@code shardCount} when all keys hash to one shard.
+	 */
+	public double getShardSkew() {
+		long publishedCount = getPublishedCount();
+		if(publishedCount == 0){
+			return 1;
+		}
+		long maxPublishedCount = 0;
+		for(DefaultDisruptorConfig<T> shard : shards){
+			maxPublishedCount = Math.max(maxPublishedCount, shard.getCurrentLocation() + 1);
+		}
+		return maxPublishedCount * (double) shards.size() / publishedCount;
+	}
+
+	public long getRemainingCapacity() {
+		long remainingCapacity = 0;
+		for(DefaultDisruptorConfig<T> shard : shards){
+			remainingCapacity += shard.getRemainingCapacity();
+		}
+		return remainingCapacity;
+	}
+
+	public long getTotalCapacity() {
+		long totalCapacity = 0;
+		for(DefaultDisruptorConfig<T> shard : shards){
+			totalCapacity += shard.getRingBufferSize();
+		}
+		return totalCapacity;
+	}
+
+	/**
+	 * @return events dropped or rejected by all shards
+	 */
+	public long getRejectedPublishCount() {
+		long rejectedPublishCount = 0;
+		for(DefaultDisruptorConfig<T> shard : shards){
+			rejectedPublishCount += shard.getRejectedPublishCount() + shard.getTimedOutPublishCount();
+		}
+		return rejectedPublishCount;
+	}
+
+	/**
+	 * @param windowSeconds 1 to 60
+	 * @return events published per second to all shards over the window. 0 when throughput meters are disabled.
+	 */
+	public double getPublishRate(int windowSeconds) {
+		double publishRate = 0;
+		for(DefaultDisruptorConfig<T> shard : shards){
+			publishRate += shard.getPublishRate(windowSeconds);
+		}
+		return publishRate;
+	}
+
+	public void resetLatencyHistograms() {
+		for(DefaultDisruptorConfig<T> shard : shards){
+			shard.resetLatencyHistograms();
+		}
+	}
+
+	/**
+	 * Print published events, remaining capacity and bottleneck event handler of every shard.
+	 */
+	public String getShardSummary() {
+		StringJoiner str = new StringJoiner(" | ", "{", "}");
+		for(DefaultDisruptorConfig<T> shard : shards){
+			str.add(shard.getThreadName() + ": published " + (shard.getCurrentLocation() + 1) + ", remaining capacity " + shard.getRemainingCapacity()
+				+ ", bottleneck " + shard.getBottleneckEventHandler());
+		}
+		return str.toString();
+	}
+
+	public String getThreadName() {
+		return threadName;
+	}
+
+	/**
+	 * Shard threads are named {@code <threadName>-shard-<n>}.
+	 *
+	 * @param threadName
+	 */
+	public void setThreadName(String threadName) {
+		this.threadName = threadName;
+	}
+
+	public int getShardCount() {
+		return shardCount;
+	}
+
+	public void setShardCount(int shardCount) {
+		this.shardCount = shardCount;
+	}
+
+	/**
+	 * Creates a new, not started shard on every call.
+	 *
+	 * @param shardFactory
+	 */
+	public void setShardFactory(ObjectFactory<DefaultDisruptorConfig<T>> shardFactory) {
+		this.shardFactory = shardFactory;
+	}
+
+}
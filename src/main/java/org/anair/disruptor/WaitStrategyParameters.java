@@ -0,0 +1,93 @@
+package org.anair.disruptor;
+
+import org.anair.disruptor.waitstrategy.AdaptiveWaitStrategy;
+
+/**
+ * Tuning values of the parameterized wait strategies. Defaults are the LMAX Disruptor defaults where there is one.
+ * 
+ * @author Anoop Nair
+ *
+ */
+class WaitStrategyParameters {
+	static final long DEFAULT_SLEEP_TIME_NANOS = 1;
+	
+	private long waitTimeoutMillis = 100;
+	private long idleTimeoutMillis;
+	private long spinTimeoutNanos = 10000;
+	private long yieldTimeoutNanos = 100000;
+	private WaitStrategyType phasedBackoffFallback = WaitStrategyType.LITE_BLOCKING;
+	private int sleepingRetries = 200;
+	private long sleepTimeNanos = DEFAULT_SLEEP_TIME_NANOS;
+	private AdaptiveWaitStrategy.Mode waitMode = AdaptiveWaitStrategy.Mode.BLOCK;
+	
+	long getWaitTimeoutMillis() {
+		return waitTimeoutMillis;
+	}
+	
+	void setWaitTimeoutMillis(long waitTimeoutMillis) {
+		this.waitTimeoutMillis = waitTimeoutMillis;
+	}
+	
+	long getIdleTimeoutMillis() {
+		return idleTimeoutMillis;
+	}
+	
+	void setIdleTimeoutMillis(long idleTimeoutMillis) {
+		this.idleTimeoutMillis = idleTimeoutMillis;
+	}
+	
+	/**
+	 * @return true when event processors must wake up to call timeout handlers after {@code idleTimeoutMillis} without events
+	 */
+	boolean isIdleTimeout() {
+		return idleTimeoutMillis > 0;
+	}
+	
+	long getSpinTimeoutNanos() {
+		return spinTimeoutNanos;
+	}
+	
+	void setSpinTimeoutNanos(long spinTimeoutNanos) {
+		this.spinTimeoutNanos = spinTimeoutNanos;
+	}
+	
+	long getYieldTimeoutNanos() {
+		return yieldTimeoutNanos;
+	}
+	
+	void setYieldTimeoutNanos(long yieldTimeoutNanos) {
+		this.yieldTimeoutNanos = yieldTimeoutNanos;
+	}
+	
+	WaitStrategyType getPhasedBackoffFallback() {
+		return phasedBackoffFallback;
+	}
+	
+	void setPhasedBackoffFallback(WaitStrategyType phasedBackoffFallback) {
+		this.phasedBackoffFallback = phasedBackoffFallback;
+	}
+	
+	int getSleepingRetries() {
+		return sleepingRetries;
+	}
+	
+	void setSleepingRetries(int sleepingRetries) {
+		this.sleepingRetries = sleepingRetries;
+	}
+	
+	long getSleepTimeNanos() {
+		return sleepTimeNanos;
+	}
+	
+	void setSleepTimeNanos(long sleepTimeNanos) {
+		this.sleepTimeNanos = sleepTimeNanos;
+	}
+	
+	AdaptiveWaitStrategy.Mode getWaitMode() {
+		return waitMode;
+	}
+	
+	void setWaitMode(AdaptiveWaitStrategy.Mode waitMode) {
+		this.waitMode = waitMode;
+	}
+}
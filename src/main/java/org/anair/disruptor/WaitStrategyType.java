@@ -1,9 +1,18 @@
 package org.anair.disruptor;
 
+import java.util.concurrent.TimeUnit;
+
+import org.anair.disruptor.waitstrategy.AdaptiveWaitStrategy;
+import org.anair.disruptor.waitstrategy.TunableSleepingWaitStrategy;
+import org.apache.commons.lang3.Validate;
+
 import com.lmax.disruptor.BlockingWaitStrategy;
 import com.lmax.disruptor.BusySpinWaitStrategy;
 import com.lmax.disruptor.LiteBlockingWaitStrategy;
+import com.lmax.disruptor.LiteTimeoutBlockingWaitStrategy;
+import com.lmax.disruptor.PhasedBackoffWaitStrategy;
 import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.TimeoutBlockingWaitStrategy;
 import com.lmax.disruptor.WaitStrategy;
 import com.lmax.disruptor.YieldingWaitStrategy;
 
@@ -15,10 +24,15 @@ import com.lmax.disruptor.YieldingWaitStrategy;
  */
 public enum WaitStrategyType {
         /**
+         * Becomes {@link #TIMEOUT_BLOCKING} with a {@code idleTimeoutMillis}.
+         * 
          * @see com.lmax.disruptor.BlockingWaitStrategy
          */
         BLOCKING {
-            public WaitStrategy instance() {
+            WaitStrategy instance(WaitStrategyParameters parameters) {
+                if(parameters.isIdleTimeout()){
+                    return TIMEOUT_BLOCKING.instance(parameters);
+                }
                 return new BlockingWaitStrategy();
             }
         },
@@ -27,26 +41,41 @@ public enum WaitStrategyType {
          * @see com.lmax.disruptor.BusySpinWaitStrategy
          */
         BUSY_SPIN {
-            public WaitStrategy instance() {
+            WaitStrategy instance(WaitStrategyParameters parameters) {
+                noIdleTimeout(this, parameters);
                 return new BusySpinWaitStrategy();
             }
         },
 
         /**
+         * Becomes {@link #LITE_TIMEOUT_BLOCKING} with a {@code idleTimeoutMillis}.
+         * 
          * @see com.lmax.disruptor.LiteBlockingWaitStrategy
          */
         LITE_BLOCKING {
-            public WaitStrategy instance() {
+            WaitStrategy instance(WaitStrategyParameters parameters) {
+                if(parameters.isIdleTimeout()){
+                    return LITE_TIMEOUT_BLOCKING.instance(parameters);
+                }
                 return new LiteBlockingWaitStrategy();
             }
         },
         
         /**
+         * Tuned by {@code sleepingRetries} and {@code sleepTimeNanos}.
+         * 
          * @see com.lmax.disruptor.SleepingWaitStrategy
+         * @see TunableSleepingWaitStrategy
          */
         SLEEPING_WAIT {
-            public WaitStrategy instance() {
-                return new SleepingWaitStrategy();
+            WaitStrategy instance(WaitStrategyParameters parameters) {
+                noIdleTimeout(this, parameters);
+                Validate.isTrue(parameters.getSleepingRetries() >= 0, "Sleeping retries must not be negative: %d", parameters.getSleepingRetries());
+                Validate.isTrue(parameters.getSleepTimeNanos() > 0, "Sleep time must be positive: %d", parameters.getSleepTimeNanos());
+                if(parameters.getSleepTimeNanos() == WaitStrategyParameters.DEFAULT_SLEEP_TIME_NANOS){
+                    return new SleepingWaitStrategy(parameters.getSleepingRetries());
+                }
+                return new TunableSleepingWaitStrategy(parameters.getSleepingRetries(), parameters.getSleepTimeNanos());
             }
         },
         
@@ -54,10 +83,84 @@ public enum WaitStrategyType {
          * @see com.lmax.disruptor.YieldingWaitStrategy
          */
         YIELDING {
-            public WaitStrategy instance() {
+            WaitStrategy instance(WaitStrategyParameters parameters) {
+                noIdleTimeout(this, parameters);
                 return new YieldingWaitStrategy();
             }
+        },
+        
+        /**
+         * Spin for {@code spinTimeoutNanos}, yield for {@code yieldTimeoutNanos} and then wait with the {@code phasedBackoffFallback} strategy:
+         * {@link #BLOCKING}, {@link #LITE_BLOCKING} or {@link #SLEEPING_WAIT}.
+         * 
+         * @see com.lmax.disruptor.PhasedBackoffWaitStrategy
+         */
+        PHASED_BACKOFF {
+            WaitStrategy instance(WaitStrategyParameters parameters) {
+                Validate.isTrue(parameters.getSpinTimeoutNanos() >= 0 && parameters.getYieldTimeoutNanos() >= 0, "Spin and yield timeouts must not be negative.");
+                WaitStrategyType fallback = parameters.getPhasedBackoffFallback();
+                Validate.isTrue(fallback == BLOCKING || fallback == LITE_BLOCKING || fallback == SLEEPING_WAIT, 
+                        "Phased backoff falls back to BLOCKING, LITE_BLOCKING or SLEEPING_WAIT, not %s", fallback);
+                return new PhasedBackoffWaitStrategy(parameters.getSpinTimeoutNanos(), parameters.getYieldTimeoutNanos(), TimeUnit.NANOSECONDS, 
+                        fallback.instance(parameters));
+            }
+        },
+        
+        /**
+         * Block and wake up event processors after {@code waitTimeoutMillis}, or {@code idleTimeoutMillis} when set, without events. 
+         * Event handlers implementing {@link com.lmax.disruptor.TimeoutHandler} are called on every timeout.
+         * 
+         * @see com.lmax.disruptor.TimeoutBlockingWaitStrategy
+         */
+        TIMEOUT_BLOCKING {
+            WaitStrategy instance(WaitStrategyParameters parameters) {
+                return new TimeoutBlockingWaitStrategy(waitTimeoutMillis(parameters), TimeUnit.MILLISECONDS);
+            }
+        },
+        
+        /**
+         * Same as {@link #TIMEOUT_BLOCKING}, without taking the lock when no event processor is waiting.
+         * 
+         * @see com.lmax.disruptor.LiteTimeoutBlockingWaitStrategy
+         */
+        LITE_TIMEOUT_BLOCKING {
+            WaitStrategy instance(WaitStrategyParameters parameters) {
+                return new LiteTimeoutBlockingWaitStrategy(waitTimeoutMillis(parameters), TimeUnit.MILLISECONDS);
+            }
+        },
+        
+        /**
+         * Spin, yield, sleep {@code sleepTimeNanos} or block, starting with {@code waitMode}. 
+         * Switched at runtime through JMX or by the publish rate. Times out after {@code idleTimeoutMillis} in every mode.
+         * 
+         * @see AdaptiveWaitStrategy
+         */
+        ADAPTIVE {
+            WaitStrategy instance(WaitStrategyParameters parameters) {
+                return new AdaptiveWaitStrategy(parameters.getWaitMode(), parameters.getSleepTimeNanos(), 
+                        TimeUnit.MILLISECONDS.toNanos(Math.max(parameters.getIdleTimeoutMillis(), 0)));
+            }
         };
         
-        abstract WaitStrategy instance();
+        /**
+         * @return a wait strategy with default parameters
+         */
+        WaitStrategy instance() {
+            return instance(new WaitStrategyParameters());
+        }
+        
+        abstract WaitStrategy instance(WaitStrategyParameters parameters);
+        
+        private static long waitTimeoutMillis(WaitStrategyParameters parameters) {
+            if(parameters.isIdleTimeout()){
+                return parameters.getIdleTimeoutMillis();
+            }
+            Validate.isTrue(parameters.getWaitTimeoutMillis() > 0, "Wait timeout must be positive: %d", parameters.getWaitTimeoutMillis());
+            return parameters.getWaitTimeoutMillis();
+        }
+        
+        private static void noIdleTimeout(WaitStrategyType waitStrategyType, WaitStrategyParameters parameters) {
+            Validate.isTrue(!parameters.isIdleTimeout(), 
+                    "%s wait strategy does not time out. Use a blocking or the ADAPTIVE wait strategy for a idle timeout.", waitStrategyType);
+        }
 }
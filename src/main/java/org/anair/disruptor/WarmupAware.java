@@ -0,0 +1,18 @@
+package org.anair.disruptor;
+
+/**
+ * Implemented by event and work handlers that must tell synthetic warm-up events from real events,
+ * for example to not write them to a database or send them downstream.
+ * 
+ * @author Anoop Nair
+ *
+ */
+public interface WarmupAware {
+	
+	/**
+	 * Called before the event processors start. Events up to this sequence are warm-up events published by the disruptor bean on init.
+	 * 
+	 * @param lastWarmupSequence -1 when the disruptor is not warmed up
+	 */
+	void setLastWarmupSequence(long lastWarmupSequence);
+}
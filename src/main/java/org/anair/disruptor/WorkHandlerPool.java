@@ -0,0 +1,94 @@
+package org.anair.disruptor;
+
+import java.util.Arrays;
+
+import org.apache.commons.lang3.Validate;
+
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.WorkHandler;
+import com.lmax.disruptor.dsl.EventHandlerGroup;
+
+/**
+ * A stage of {@link WorkHandler}s sharing the events between them: every event is processed by one work handler of the pool.
+ * <p>Put it in the work handler pools of a {@link EventHandlerChain} or {@link EventHandlerStage}, next to or instead of event handlers.
+ * Each work handler runs on its own thread.
+ *
+ * <p>
+ * Sample Spring configuration:
+ * <pre>{@code
+	<bean class="org.anair.disruptor.WorkHandlerPool">
+		<constructor-arg name="workHandler" ref="enrichmentWorkHandler" />
+		<constructor-arg name="poolSize" value="4" />
+	</bean>
+ * }</pre>
+ *
+ * @author Anoop Nair
+ *
+ * @param <T>
+ */
+public class WorkHandlerPool<T> {
+
+	private final WorkHandler<T>[] workHandlers;
+	private SequenceBarrier sequenceBarrier;
+	private SequenceBarrier dependencyBarrier;
+
+	public WorkHandlerPool(WorkHandler<T>[] workHandlers) {
+		Validate.notEmpty(workHandlers, "Atleast one Work handler should be present in a worker pool.");
+		Validate.noNullElements(workHandlers);
+		this.workHandlers = workHandlers;
+	}
+
+	/**
+	 * @param workHandler called by {@code poolSize} threads, so it must be thread safe
+	 * @param poolSize
+	 */
+	@SuppressWarnings({"rawtypes","unchecked"})
+	public WorkHandlerPool(WorkHandler<T> workHandler, int poolSize) {
+		Validate.notNull(workHandler);
+		Validate.isTrue(poolSize > 0, "Pool size must be positive: %d", poolSize);
+		this.workHandlers = new WorkHandler[poolSize];
+		Arrays.fill(workHandlers, workHandler);
+	}
+
+	public WorkHandler<T>[] getWorkHandlers() {
+		return workHandlers;
+	}
+
+	public int getPoolSize() {
+		return workHandlers.length;
+	}
+
+	/**
+	 * @return class name of the work handler
+	 */
+	public String getName() {
+		String name = workHandlers[0].getClass().getSimpleName();
+		return name.isEmpty() ? workHandlers[0].getClass().getName() : name;
+	}
+
+	void wired(EventHandlerGroup<T> eventHandlerGroup, SequenceBarrier dependencyBarrier) {
+		Validate.validState(this.sequenceBarrier == null, "Worker pool %s is already wired.", getName());
+		this.sequenceBarrier = eventHandlerGroup.asSequenceBarrier();
+		this.dependencyBarrier = dependencyBarrier;
+	}
+
+	/**
+	 * @return last sequence processed by all work handlers
+	 */
+	long getSequence() {
+		return sequenceBarrier.getCursor();
+	}
+
+	/**
+	 * @return last sequence released to the worker pool by its dependencies
+	 */
+	long getDependencySequence() {
+		return dependencyBarrier.getCursor();
+	}
+
+	@Override
+	public String toString() {
+		return getName() + " x" + getPoolSize();
+	}
+
+}
@@ -0,0 +1,28 @@
+package org.anair.disruptor.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes events to and reads them from a {@link ByteBuffer}, without intermediate byte arrays.
+ * <p>Both methods start at the buffer position and leave it after the last byte written or read.
+ * Events are passed in and decoded into reused instances, usually ring buffer slots, so a codec allocates nothing per event.
+ * 
+ * @author Anoop Nair
+ *
+ * @param <T>
+ */
+public interface EventCodec<T> {
+	
+	/**
+	 * @param event
+	 * @param buffer
+	 * @throws java.nio.BufferOverflowException when the event does not fit in the remaining bytes
+	 */
+	void encode(T event, ByteBuffer buffer);
+	
+	/**
+	 * @param buffer holds one encoded event from its position
+	 * @param event instance to overwrite with the decoded fields
+	 */
+	void decode(ByteBuffer buffer, T event);
+}
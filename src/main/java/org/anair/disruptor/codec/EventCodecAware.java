@@ -0,0 +1,19 @@
+package org.anair.disruptor.codec;
+
+/**
+ * Implemented by event handlers that encode events. A event handler without a codec of its own gets the {@code eventCodec}
+ * of the disruptor bean on init, so persistence, replication and off-heap features share one codec per event type.
+ * 
+ * @author Anoop Nair
+ *
+ * @param <T>
+ */
+public interface EventCodecAware<T> {
+	
+	/**
+	 * @return the codec of the event handler, null when it has none
+	 */
+	EventCodec<T> getEventCodec();
+	
+	void setEventCodec(EventCodec<T> eventCodec);
+}
@@ -0,0 +1,320 @@
+package org.anair.disruptor.codec;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Codec for simple mutable events. Writes the fields of the event class and its super classes one after the other,
+ * super class fields first and by name, without field names or type information.
+ * <p>Primitives, enums, {@link String} and {@link StringBuilder} fields are supported, static and transient fields are skipped.
+ * Only decoded String fields allocate, StringBuilder fields are decoded into the instance of the event.
+ * A codec is created once per event class and is thread safe. Events written by it can only be read by a codec of the same class version.
+ *
+ * <pre>{@code
+ * <bean id="billingEventCodec" class="org.anair.disruptor.codec.PojoEventCodec">
+ * 	<constructor-arg value="org.anair.disruptor.eventfactory.BillingEvent" />
+ * </bean>
+ * }</pre>
+ *
+ * @author Anoop Nair
+ *
+ * @param <T>
+ */
+public class PojoEventCodec<T> implements EventCodec<T> {
+
+	private final Class<T> eventClass;
+	private final FieldCodec[] fieldCodecs;
+
+	/**
+	 * @param eventClass
+	 * @throws IllegalArgumentException when a field type is not supported or a field is final
+	 */
+	public PojoEventCodec(Class<T> eventClass) {
+		this.eventClass = Validate.notNull(eventClass, "Define a event class");
+		List<FieldCodec> fieldCodecs = new ArrayList<FieldCodec>();
+		for(Class<?> type : hierarchy(eventClass)){
+			Field[] fields = type.getDeclaredFields();
+			Arrays.sort(fields, new Comparator<Field>() {
+				@Override
+				public int compare(Field field, Field other) {
+					return field.getName().compareTo(other.getName());
+				}
+			});
+			for(Field field : fields){
+				int modifiers = field.getModifiers();
+				if(Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()){
+					continue;
+				}
+				Validate.isTrue(!Modifier.isFinal(modifiers), "Field %s of %s is final and can not be decoded into a reused event", field.getName(), type.getName());
+				fieldCodecs.add(new FieldCodec(field, FieldType.of(field)));
+			}
+		}
+		this.fieldCodecs = fieldCodecs.toArray(new FieldCodec[fieldCodecs.size()]);
+	}
+
+	private static List<Class<?>> hierarchy(Class<?> eventClass) {
+		List<Class<?>> hierarchy = new ArrayList<Class<?>>();
+		for(Class<?> type = eventClass; type != null && type != Object.class; type = type.getSuperclass()){
+			hierarchy.add(type);
+		}
+		Collections.reverse(hierarchy);
+		return hierarchy;
+	}
+
+	@Override
+	public void encode(T event, ByteBuffer buffer) {
+		try {
+			for(FieldCodec fieldCodec : fieldCodecs){
+				fieldCodec.type.encode(fieldCodec, event, buffer);
+			}
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Can not read event " + eventClass.getName(), e);
+		}
+	}
+
+	@Override
+	public void decode(ByteBuffer buffer, T event) {
+		try {
+			for(FieldCodec fieldCodec : fieldCodecs){
+				fieldCodec.type.decode(fieldCodec, buffer, event);
+			}
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Can not write event " + eventClass.getName(), e);
+		}
+	}
+
+	public Class<T> getEventClass() {
+		return eventClass;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " of " + eventClass.getSimpleName() + " [" + fieldCodecs.length + " fields]";
+	}
+
+	private static final class FieldCodec {
+		private final Field field;
+		private final FieldType type;
+		private final Object[] enumConstants;
+
+		private FieldCodec(Field field, FieldType type) {
+			field.setAccessible(true);
+			this.field = field;
+			this.type = type;
+			this.enumConstants = field.getType().getEnumConstants();
+		}
+	}
+
+	private enum FieldType {
+		BOOLEAN {
+			@Override
+			void encode(FieldCodec fieldCodec, Object event, ByteBuffer buffer) throws IllegalAccessException {
+				buffer.put(fieldCodec.field.getBoolean(event) ? (byte) 1 : (byte) 0);
+			}
+
+			@Override
+			void decode(FieldCodec fieldCodec, ByteBuffer buffer, Object event) throws IllegalAccessException {
+				fieldCodec.field.setBoolean(event, buffer.get() != 0);
+			}
+		},
+		BYTE {
+			@Override
+			void encode(FieldCodec fieldCodec, Object event, ByteBuffer buffer) throws IllegalAccessException {
+				buffer.put(fieldCodec.field.getByte(event));
+			}
+
+			@Override
+			void decode(FieldCodec fieldCodec, ByteBuffer buffer, Object event) throws IllegalAccessException {
+				fieldCodec.field.setByte(event, buffer.get());
+			}
+		},
+		SHORT {
+			@Override
+			void encode(FieldCodec fieldCodec, Object event, ByteBuffer buffer) throws IllegalAccessException {
+				buffer.putShort(fieldCodec.field.getShort(event));
+			}
+
+			@Override
+			void decode(FieldCodec fieldCodec, ByteBuffer buffer, Object event) throws IllegalAccessException {
+				fieldCodec.field.setShort(event, buffer.getShort());
+			}
+		},
+		CHAR {
+			@Override
+			void encode(FieldCodec fieldCodec, Object event, ByteBuffer buffer) throws IllegalAccessException {
+				buffer.putChar(fieldCodec.field.getChar(event));
+			}
+
+			@Override
+			void decode(FieldCodec fieldCodec, ByteBuffer buffer, Object event) throws IllegalAccessException {
+				fieldCodec.field.setChar(event, buffer.getChar());
+			}
+		},
+		INT {
+			@Override
+			void encode(FieldCodec fieldCodec, Object event, ByteBuffer buffer) throws IllegalAccessException {
+				buffer.putInt(fieldCodec.field.getInt(event));
+			}
+
+			@Override
+			void decode(FieldCodec fieldCodec, ByteBuffer buffer, Object event) throws IllegalAccessException {
+				fieldCodec.field.setInt(event, buffer.getInt());
+			}
+		},
+		LONG {
+			@Override
+			void encode(FieldCodec fieldCodec, Object event, ByteBuffer buffer) throws IllegalAccessException {
+				buffer.putLong(fieldCodec.field.getLong(event));
+			}
+
+			@Override
+			void decode(FieldCodec fieldCodec, ByteBuffer buffer, Object event) throws IllegalAccessException {
+				fieldCodec.field.setLong(event, buffer.getLong());
+			}
+		},
+		FLOAT {
+			@Override
+			void encode(FieldCodec fieldCodec, Object event, ByteBuffer buffer) throws IllegalAccessException {
+				buffer.putFloat(fieldCodec.field.getFloat(event));
+			}
+
+			@Override
+			void decode(FieldCodec fieldCodec, ByteBuffer buffer, Object event) throws IllegalAccessException {
+				fieldCodec.field.setFloat(event, buffer.getFloat());
+			}
+		},
+		DOUBLE {
+			@Override
+			void encode(FieldCodec fieldCodec, Object event, ByteBuffer buffer) throws IllegalAccessException {
+				buffer.putDouble(fieldCodec.field.getDouble(event));
+			}
+
+			@Override
+			void decode(FieldCodec fieldCodec, ByteBuffer buffer, Object event) throws IllegalAccessException {
+				fieldCodec.field.setDouble(event, buffer.getDouble());
+			}
+		},
+		ENUM {
+			@Override
+			void encode(FieldCodec fieldCodec, Object event, ByteBuffer buffer) throws IllegalAccessException {
+				Enum<?> value = (Enum<?>) fieldCodec.field.get(event);
+				buffer.putInt(value == null ? -1 : value.ordinal());
+			}
+
+			@Override
+			void decode(FieldCodec fieldCodec, ByteBuffer buffer, Object event) throws IllegalAccessException {
+				int ordinal = buffer.getInt();
+				fieldCodec.field.set(event, ordinal < 0 ? null : fieldCodec.enumConstants[ordinal]);
+			}
+		},
+		/**
+		 * Length in chars, -1 for null, then the chars.
+		 */
+		STRING {
+			@Override
+			void encode(FieldCodec fieldCodec, Object event, ByteBuffer buffer) throws IllegalAccessException {
+				encodeChars((CharSequence) fieldCodec.field.get(event), buffer);
+			}
+
+			@Override
+			void decode(FieldCodec fieldCodec, ByteBuffer buffer, Object event) throws IllegalAccessException {
+				int length = buffer.getInt();
+				if(length < 0){
+					fieldCodec.field.set(event, null);
+					return;
+				}
+				char[] chars = new char[length];
+				for(int i=0;i<length;i++){
+					chars[i] = buffer.getChar();
+				}
+				fieldCodec.field.set(event, new String(chars));
+			}
+		},
+		STRING_BUILDER {
+			@Override
+			void encode(FieldCodec fieldCodec, Object event, ByteBuffer buffer) throws IllegalAccessException {
+				encodeChars((CharSequence) fieldCodec.field.get(event), buffer);
+			}
+
+			@Override
+			void decode(FieldCodec fieldCodec, ByteBuffer buffer, Object event) throws IllegalAccessException {
+				int length = buffer.getInt();
+				if(length < 0){
+					fieldCodec.field.set(event, null);
+					return;
+				}
+				StringBuilder value = (StringBuilder) fieldCodec.field.get(event);
+				if(value == null){
+					value = new StringBuilder(length);
+					fieldCodec.field.set(event, value);
+				}
+				value.setLength(0);
+				for(int i=0;i<length;i++){
+					value.append(buffer.getChar());
+				}
+			}
+		};
+
+		abstract void encode(FieldCodec fieldCodec, Object event, ByteBuffer buffer) throws IllegalAccessException;
+
+		abstract void decode(FieldCodec fieldCodec, ByteBuffer buffer, Object event) throws IllegalAccessException;
+
+		private static void encodeChars(CharSequence value, ByteBuffer buffer) {
+			if(value == null){
+				buffer.putInt(-1);
+				return;
+			}
+			buffer.putInt(value.length());
+			for(int i=0;i<value.length();i++){
+				buffer.putChar(value.charAt(i));
+			}
+		}
+
+		static FieldType of(Field field) {
+			Class<?> type = field.getType();
+			if(type == boolean.class){
+				return BOOLEAN;
+			}
+			if(type == byte.class){
+				return BYTE;
+			}
+			if(type == short.class){
+				return SHORT;
+			}
+			if(type == char.class){
+				return CHAR;
+			}
+			if(type == int.class){
+				return INT;
+			}
+			if(type == long.class){
+				return LONG;
+			}
+			if(type == float.class){
+				return FLOAT;
+			}
+			if(type == double.class){
+				return DOUBLE;
+			}
+			if(type.isEnum()){
+				return ENUM;
+			}
+			if(type == String.class){
+				return STRING;
+			}
+			if(type == StringBuilder.class){
+				return STRING_BUILDER;
+			}
+			throw new IllegalArgumentException("Field " + field.getName() + " of " + field.getDeclaringClass().getName() + " has unsupported type "
+					+ type.getName() + ". Make it transient or write a EventCodec.");
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package org.anair.disruptor.exception;
+
+/**
+ * Event of a dead-letter disruptor. Holds a copy of a event a event handler failed on, with its sequence, 
+ * the name of the event handler and the exception.
+ * 
+ * @author Anoop Nair
+ *
+ * @param <T> event type of the disruptor the event failed on
+ */
+public class DeadLetterEvent<T> {
+
+	private final T event;
+	private long sequence;
+	private String eventHandlerName;
+	private Throwable exception;
+	
+	public DeadLetterEvent(T event) {
+		this.event = event;
+	}
+	
+	void failed(long sequence, String eventHandlerName, Throwable exception) {
+		this.sequence = sequence;
+		this.eventHandlerName = eventHandlerName;
+		this.exception = exception;
+	}
+
+	/**
+	 * @return copy of the failed event
+	 */
+	public T getEvent() {
+		return event;
+	}
+
+	/**
+	 * @return sequence of the failed event in the ring buffer it failed on
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * @return name of the failed event handler, null when a work handler failed
+	 */
+	public String getEventHandlerName() {
+		return eventHandlerName;
+	}
+
+	public Throwable getException() {
+		return exception;
+	}
+	
+	@Override
+	public String toString() {
+		return "Dead letter of " + eventHandlerName + " at sequence " + sequence + ": " + exception;
+	}
+}
@@ -0,0 +1,39 @@
+package org.anair.disruptor.exception;
+
+import org.apache.commons.lang3.Validate;
+
+import com.lmax.disruptor.EventFactory;
+
+/**
+ * Event factory of a dead-letter disruptor. Every dead-letter event holds a event from the {@code eventFactory} 
+ * to copy failed events into. Use a heap event factory, off-heap slots are only allocated for a ring buffer of their own.
+ * 
+ * @author Anoop Nair
+ *
+ * @param <T> event type of the disruptor the events fail on
+ */
+public class DeadLetterEventFactory<T> implements EventFactory<DeadLetterEvent<T>> {
+
+	private EventFactory<T> eventFactory;
+	
+	public DeadLetterEventFactory() {
+	}
+	
+	public DeadLetterEventFactory(EventFactory<T> eventFactory) {
+		this.eventFactory = eventFactory;
+	}
+	
+	@Override
+	public DeadLetterEvent<T> newInstance() {
+		Validate.notNull(eventFactory, "Define a eventFactory for the dead-letter events.");
+		return new DeadLetterEvent<T>(eventFactory.newInstance());
+	}
+
+	public EventFactory<T> getEventFactory() {
+		return eventFactory;
+	}
+
+	public void setEventFactory(EventFactory<T> eventFactory) {
+		this.eventFactory = eventFactory;
+	}
+}
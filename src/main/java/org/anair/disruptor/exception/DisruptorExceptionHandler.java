@@ -1,43 +1,182 @@
 package org.anair.disruptor.exception;
 
 
+import java.util.Collections;
+import java.util.List;
 import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.anair.disruptor.DefaultDisruptorConfig;
+import org.anair.disruptor.DisruptorLifecycle;
+import org.anair.disruptor.EventCopier;
+import org.anair.disruptor.WarmupAware;
+import org.anair.disruptor.handler.BatchingEventHandler;
+import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslatorVararg;
 import com.lmax.disruptor.ExceptionHandler;
 
 /**
- * Disruptor exception handler.
+ * Disruptor exception handler. Handles the exceptions of one event handler, or of all work handlers of a disruptor, 
+ * according to a {@link ExceptionStrategy}, and counts them.
+ * <p>A failed {@link BatchingEventHandler} batch is retried and given up on as a whole. A timeout failure has no event: 
+ * it is only retried for a failed batch.
+ * <p>The exception is never thrown back to the event processor, which would stop its thread and stall the ring buffer.
+ * <p>With a dead-letter disruptor, every event that is not recovered by a retry is copied into it, unless it is a warm-up event. 
+ * Every event of a failed batch is copied. The dead letter is dropped and counted when the dead-letter ring buffer is full, 
+ * so the failing ring buffer never waits for it.
  * 
  * @see ExceptionHandler
  * 
  * @author Anoop Nair
  *
  */
-public class DisruptorExceptionHandler<T> implements ExceptionHandler<T> {
+public class DisruptorExceptionHandler<T> implements ExceptionHandler<T>, WarmupAware {
 	private static final Logger LOG = LoggerFactory.getLogger(DisruptorExceptionHandler.class);
 	protected String errorPrefix = "Ringbuffer Disruptor failed for thread: ";
 
+	private final String eventHandlerName;
+	private final EventHandler<T> eventHandler;
+	private BatchingEventHandler<T> batchingEventHandler;
+	private ExceptionStrategy exceptionStrategy = ExceptionStrategy.SKIP;
+	private int retryAttempts = 3;
+	private long retryBackoffMillis = 10;
+	private DisruptorLifecycle<T> disruptor;
+	private DefaultDisruptorConfig<DeadLetterEvent<T>> deadLetterDisruptor;
+	private EventCopier<T> deadLetterEventCopier;
+	private long lastWarmupSequence = -1L;
+	private final EventTranslatorVararg<DeadLetterEvent<T>> deadLetterTranslator = new EventTranslatorVararg<DeadLetterEvent<T>>() {
+		@SuppressWarnings("unchecked")
+		@Override
+		public void translateTo(DeadLetterEvent<T> deadLetter, long deadLetterSequence, Object... args) {
+			deadLetter.failed((Long) args[1], eventHandlerName, (Throwable) args[2]);
+			deadLetterEventCopier.copy((T) args[0], deadLetter.getEvent());
+		}
+	};
+	
+	private final AtomicLong failureCount = new AtomicLong();
+	private final AtomicLong recoveredCount = new AtomicLong();
+	private final AtomicLong skippedCount = new AtomicLong();
+	private final AtomicLong deadLetterCount = new AtomicLong();
+	private final AtomicLong droppedDeadLetterCount = new AtomicLong();
+	private volatile String lastFailure;
 	
 	public DisruptorExceptionHandler(String threadName) {
+		this(threadName, null, null);
+	}
+	
+	/**
+	 * @param threadName
+	 * @param eventHandlerName name of the event handler in dead letters, null for work handlers
+	 * @param eventHandler event handler called again by the {@link ExceptionStrategy#RETRY} strategy, null when it can not be retried
+	 */
+	public DisruptorExceptionHandler(String threadName, String eventHandlerName, EventHandler<T> eventHandler) {
 		this.errorPrefix+= threadName + " | ";
+		this.eventHandlerName = eventHandlerName;
+		this.eventHandler = eventHandler;
 	}
 
 	@Override
 	public void handleEventException(Throwable ex, long sequence, T event) {
+		failureCount.incrementAndGet();
+		lastFailure = "Sequence " + sequence + ": " + ex;
+		if(exceptionStrategy == ExceptionStrategy.RETRY && retry(ex, sequence, event)){
+			recoveredCount.incrementAndGet();
+			return;
+		}
+		
 		StringJoiner str = new StringJoiner(" | ");
 		str.add(errorPrefix);
 		str.add("Sequence: ");
 		str.add(sequence+"");
 		str.add("Event: ");
-		str.add(event.toString());
+		str.add(String.valueOf(event));
 		str.add("Exception message: ");
 		str.add(ex.getMessage());
 		LOG.error(str.toString(), ex);
 		
-		throw new RuntimeException(ex);
+		if(deadLetterDisruptor != null){
+			List<T> failedBatch = batchingEventHandler == null ? Collections.<T>emptyList() : batchingEventHandler.getFailedBatch();
+			if(failedBatch.isEmpty()){
+				deadLetter(ex, sequence, event);
+			}else{
+				long firstSequence = batchingEventHandler.getBatchSequence() - failedBatch.size() + 1;
+				for(int i=0;i<failedBatch.size();i++){
+					deadLetter(ex, firstSequence + i, failedBatch.get(i));
+				}
+			}
+		}
+		if(batchingEventHandler != null){
+			batchingEventHandler.discardFailedBatch();
+		}
+		if(exceptionStrategy == ExceptionStrategy.HALT && disruptor != null){
+			LOG.error(errorPrefix + "Halting the disruptor.");
+			disruptor.halt();
+		}else{
+			skippedCount.incrementAndGet();
+		}
+	}
+	
+	/**
+	 * Pass the failed batch of a batching event handler to it again, or else call the event handler again with the event.
+	 * 
+	 * @return true when a retry succeeded
+	 */
+	private boolean retry(Throwable ex, long sequence, T event) {
+		boolean failedBatch = batchingEventHandler != null && !batchingEventHandler.getFailedBatch().isEmpty();
+		if(!failedBatch && (eventHandler == null || event == null)){
+			return false;
+		}
+		long backoffMillis = retryBackoffMillis;
+		for(int attempt=1;attempt<=retryAttempts;attempt++){
+			LOG.warn("{}Retry {} of {} for sequence {} in {} ms after: {}", errorPrefix, attempt, retryAttempts, sequence, backoffMillis, ex.toString());
+			try {
+				TimeUnit.MILLISECONDS.sleep(backoffMillis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+			try {
+				if(failedBatch){
+					batchingEventHandler.retryFailedBatch();
+				}else{
+					eventHandler.onEvent(event, sequence, true);
+				}
+				return true;
+			} catch (Throwable retryEx) {
+				lastFailure = "Sequence " + sequence + ": " + retryEx;
+			}
+			backoffMillis *= 2;
+		}
+		return false;
+	}
+
+	/**
+	 * Copy a failed event into the dead-letter disruptor. A timeout failure has no event and warm-up events are not copied.
+	 */
+	private void deadLetter(Throwable ex, long sequence, T event) {
+		if(event == null || sequence <= lastWarmupSequence){
+			return;
+		}
+		boolean published;
+		try {
+			published = deadLetterDisruptor.tryPublish(deadLetterTranslator, event, sequence, ex);
+		} catch (RuntimeException e) {
+			droppedDeadLetterCount.incrementAndGet();
+			LOG.error(errorPrefix + "Can not copy the event at sequence " + sequence + " into dead-letter disruptor " 
+					+ deadLetterDisruptor.getThreadName() + ", its dead letter holds a incomplete copy.", e);
+			return;
+		}
+		if(published){
+			deadLetterCount.incrementAndGet();
+		}else{
+			droppedDeadLetterCount.incrementAndGet();
+			LOG.warn("{}Dropped the dead letter of sequence {}, dead-letter disruptor {} is full.", errorPrefix, sequence, deadLetterDisruptor.getThreadName());
+		}
 	}
 
 	@Override
@@ -49,4 +188,105 @@ public class DisruptorExceptionHandler<T> implements ExceptionHandler<T> {
 	public void handleOnShutdownException(Throwable ex) {
 		LOG.error(errorPrefix + ex.getMessage(), ex);
 	}
+
+	public ExceptionStrategy getExceptionStrategy() {
+		return exceptionStrategy;
+	}
+
+	public void setExceptionStrategy(ExceptionStrategy exceptionStrategy) {
+		Validate.notNull(exceptionStrategy);
+		this.exceptionStrategy = exceptionStrategy;
+	}
+
+	public int getRetryAttempts() {
+		return retryAttempts;
+	}
+
+	public void setRetryAttempts(int retryAttempts) {
+		Validate.isTrue(retryAttempts >= 0, "Retry attempts must not be negative: %d", retryAttempts);
+		this.retryAttempts = retryAttempts;
+	}
+
+	public long getRetryBackoffMillis() {
+		return retryBackoffMillis;
+	}
+
+	public void setRetryBackoffMillis(long retryBackoffMillis) {
+		Validate.isTrue(retryBackoffMillis >= 0, "Retry backoff must not be negative: %d", retryBackoffMillis);
+		this.retryBackoffMillis = retryBackoffMillis;
+	}
+
+	/**
+	 * @param batchingEventHandler the event handler, unwrapped, when it is a batching event handler. Its failed batch is retried 
+	 * and discarded as a whole.
+	 */
+	public void setBatchingEventHandler(BatchingEventHandler<T> batchingEventHandler) {
+		this.batchingEventHandler = batchingEventHandler;
+	}
+
+	/**
+	 * @param disruptor halted by the {@link ExceptionStrategy#HALT} strategy
+	 */
+	public void setDisruptor(DisruptorLifecycle<T> disruptor) {
+		this.disruptor = disruptor;
+	}
+
+	/**
+	 * @param deadLetterDisruptor disruptor the failed events are copied into
+	 * @param deadLetterEventCopier copies a failed event into a dead-letter event
+	 */
+	public void setDeadLetterDisruptor(DefaultDisruptorConfig<DeadLetterEvent<T>> deadLetterDisruptor, EventCopier<T> deadLetterEventCopier) {
+		this.deadLetterDisruptor = deadLetterDisruptor;
+		this.deadLetterEventCopier = deadLetterEventCopier;
+	}
+
+	/**
+	 * Failed warm-up events are counted, but not copied into the dead-letter disruptor.
+	 */
+	@Override
+	public void setLastWarmupSequence(long lastWarmupSequence) {
+		this.lastWarmupSequence = lastWarmupSequence;
+	}
+
+	/**
+	 * @return events, batches and timeouts the event handler threw a exception for, retried or not
+	 */
+	public long getFailureCount() {
+		return failureCount.get();
+	}
+
+	/**
+	 * @return failures handled by a retry
+	 */
+	public long getRecoveredCount() {
+		return recoveredCount.get();
+	}
+
+	/**
+	 * @return failures skipped
+	 */
+	public long getSkippedCount() {
+		return skippedCount.get();
+	}
+
+	/**
+	 * @return failed events copied into the dead-letter disruptor
+	 */
+	public long getDeadLetterCount() {
+		return deadLetterCount.get();
+	}
+
+	/**
+	 * @return failed events not copied because the dead-letter disruptor was full or the copy failed
+	 */
+	public long getDroppedDeadLetterCount() {
+		return droppedDeadLetterCount.get();
+	}
+
+	/**
+	 * @return sequence and exception of the last failure, null when none failed
+	 */
+	public String getLastFailure() {
+		return lastFailure;
+	}
 }
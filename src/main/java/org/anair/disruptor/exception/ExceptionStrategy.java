@@ -0,0 +1,25 @@
+package org.anair.disruptor.exception;
+
+/**
+ * Defines what a event processor does when its event handler throws a exception.
+ * 
+ * @author Anoop Nair
+ *
+ */
+public enum ExceptionStrategy {
+	/**
+	 * Log the failed event, count it as skipped and go on with the next event.
+	 */
+	SKIP,
+	
+	/**
+	 * Call the event handler again up to {@code retryAttempts} times, waiting {@code retryBackoffMillis} before the first retry 
+	 * and twice as long before every next one. The event is skipped when all retries fail. Work handlers are not retried.
+	 */
+	RETRY,
+	
+	/**
+	 * Log the failed event and halt the disruptor. Publishers block or are rejected once the ring buffer is full.
+	 */
+	HALT
+}
@@ -0,0 +1,280 @@
+package org.anair.disruptor.handler;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.TimeUnit;
+
+import org.anair.disruptor.EventCopier;
+import org.apache.commons.lang3.Validate;
+
+import com.lmax.disruptor.EventFactory;
+import com.lmax.disruptor.LifecycleAware;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceReportingEventHandler;
+import com.lmax.disruptor.TimeoutHandler;
+
+/**
+ * Base event handler that collects events and processes them together in {@link #onBatch(List)},
+ * once per Disruptor batch or every {@code maxBatchSize} events. Use it to write a batch with one I/O call instead of one per event.
+ * <p>The Disruptor ends a batch when the handler has caught up with the published events, so batches are small under light load
+ * and grow with the load. The batch buffer is allocated once and reused.
+ * <p>With a {@code lingerMillis}, events are copied into the buffer with the {@code eventCopier} and kept over
+ * several Disruptor batches, until the batch is full, {@code lingerMillis} have passed at the end of a Disruptor batch,
+ * the Disruptor times out after its {@code idleTimeoutMillis} without events or shuts down.
+ * The Disruptor reports lingering events as processed at the end of every Disruptor batch, before they are flushed,
+ * so a lingering event handler must be in a last stage: no event handler can depend on it.
+ * <p>When {@link #onBatch(List)} throws, the batch is kept as the failed batch for the Disruptor exception handler,
+ * which retries or discards it. A failed batch still kept on the next event is discarded.
+ * <p>Put it in a {@link org.anair.disruptor.EventHandlerChain} like any event handler.
+ *
+ * <pre>{@code
+ * public class JournalBillingEventProcessor extends BatchingEventHandler<BillingEvent> {
+ * 	protected void onBatch(List<BillingEvent> events) throws Exception {
+ * 		journal.write(events);
+ * 	}
+ * }
+ * }</pre>
+ *
+ * @author Anoop Nair
+ *
+ * @param <T>
+ */
+public abstract class BatchingEventHandler<T> implements SequenceReportingEventHandler<T>, TimeoutHandler, LifecycleAware {
+
+	public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+	private Object[] batch = new Object[DEFAULT_MAX_BATCH_SIZE];
+	private int batchSize;
+	private long batchSequence = -1L;
+	private boolean failedBatch;
+	private final List<T> batchView = new BatchView();
+	private Sequence sequenceCallback;
+	private long lingerNanos;
+	private long batchStartNanos;
+	private EventFactory<T> eventFactory;
+	private EventCopier<T> eventCopier;
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void onEvent(T event, long sequence, boolean endOfBatch) throws Exception {
+		if(failedBatch){
+			discardFailedBatch();
+		}
+		if(lingerNanos == 0){
+			batch[batchSize] = event;
+		}else{
+			if(batchSize == 0){
+				batchStartNanos = System.nanoTime();
+			}
+			eventCopier.copy(event, (T) batch[batchSize]);
+		}
+		batchSize++;
+		batchSequence = sequence;
+
+		if(batchSize == batch.length){
+			flush();
+			if(!endOfBatch && sequenceCallback != null){
+				sequenceCallback.set(sequence);
+			}
+		}else if(endOfBatch && (lingerNanos == 0 || System.nanoTime() - batchStartNanos >= lingerNanos)){
+			flush();
+		}
+	}
+
+	/**
+	 * Process the collected events now. The batch is emptied when {@link #onBatch(List)} succeeds
+	 * and kept as the failed batch when it throws.
+	 */
+	protected void flush() throws Exception {
+		if(batchSize == 0){
+			return;
+		}
+		failedBatch = true;
+		onBatch(batchView);
+		failedBatch = false;
+		batchSize = 0;
+	}
+
+	/**
+	 * @return events of the last {@link #onBatch(List)} call that threw, empty when it did not. Only valid until the next event.
+	 */
+	public List<T> getFailedBatch() {
+		return failedBatch ? batchView : Collections.<T>emptyList();
+	}
+
+	/**
+	 * Pass the failed batch to {@link #onBatch(List)} again. Called by the Disruptor exception handler.
+	 *
+	 * @throws IllegalStateException when there is no failed batch
+	 * @throws Exception when {@link #onBatch(List)} fails again, the batch is kept
+	 */
+	public void retryFailedBatch() throws Exception {
+		Validate.validState(failedBatch, "No failed batch to retry in %s", getClass().getName());
+		flush();
+	}
+
+	/**
+	 * Drop the failed batch, if any. Called by the Disruptor exception handler when it gives up on it.
+	 */
+	public void discardFailedBatch() {
+		if(failedBatch){
+			failedBatch = false;
+			batchSize = 0;
+		}
+	}
+
+	/**
+	 * Process a batch of events in sequence order.
+	 * <p>The events are ring buffer slots, or reused copies with a {@code lingerMillis}, and the list is reused.
+	 * Both are only valid during this call, copy what must be kept.
+	 *
+	 * @param events 1 to {@code maxBatchSize} events, unmodifiable
+	 * @throws Exception passed to the Disruptor exception handler with the last event of the batch, or no event on a timeout
+	 */
+	protected abstract void onBatch(List<T> events) throws Exception;
+
+	/**
+	 * Flush lingering events when the Disruptor times out without events.
+	 */
+	@Override
+	public void onTimeout(long sequence) throws Exception {
+		flush();
+	}
+
+	@Override
+	public void onStart() {
+		validateLingering();
+	}
+
+	/**
+	 * Called by the disruptor bean on init, before any event is processed.
+	 *
+	 * @throws IllegalStateException when lingering without a {@code eventFactory} or {@code eventCopier}
+	 */
+	public void validateLingering() {
+		Validate.validState(lingerNanos == 0 || eventFactory != null, "Define a eventFactory to linger %s", getClass().getName());
+		Validate.validState(lingerNanos == 0 || eventCopier != null, "Define a eventCopier to linger %s", getClass().getName());
+	}
+
+	/**
+	 * Flush lingering events before the event processor stops.
+	 */
+	@Override
+	public void onShutdown() {
+		try {
+			flush();
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * @return events collected and not yet passed to {@link #onBatch(List)}
+	 */
+	public int getBufferedCount() {
+		return batchSize;
+	}
+
+	/**
+	 * @return sequence of the last event collected, the batch holds the events up to it in sequence order
+	 */
+	public long getBatchSequence() {
+		return batchSequence;
+	}
+
+	public int getMaxBatchSize() {
+		return batch.length;
+	}
+
+	/**
+	 * Most events passed to one {@link #onBatch(List)} call. Default {@value #DEFAULT_MAX_BATCH_SIZE}.
+	 * When a batch is cut, producers are released up to the processed events.
+	 *
+	 * @param maxBatchSize
+	 */
+	public void setMaxBatchSize(int maxBatchSize) {
+		Validate.isTrue(maxBatchSize > 0, "Max batch size must be positive: %d", maxBatchSize);
+		Validate.validState(batchSize == 0, "Max batch size can not be changed with %d events collected.", batchSize);
+		this.batch = new Object[maxBatchSize];
+		fillBatch();
+	}
+
+	public long getLingerMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(lingerNanos);
+	}
+
+	/**
+	 * Keep events over several Disruptor batches for up to {@code lingerMillis}, checked at the end of every Disruptor batch.
+	 * Needs a {@code eventFactory}, a {@code eventCopier} and a {@code idleTimeoutMillis} on the disruptor bean
+	 * to flush when no more events arrive. Must be in a last stage, the disruptor bean validates it on init.
+	 * Default 0, flush at the end of every Disruptor batch.
+	 *
+	 * @param lingerMillis
+	 */
+	public void setLingerMillis(long lingerMillis) {
+		Validate.isTrue(lingerMillis >= 0, "Linger time must not be negative: %d", lingerMillis);
+		Validate.validState(batchSize == 0, "Linger time can not be changed with %d events collected.", batchSize);
+		this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+		fillBatch();
+	}
+
+	/**
+	 * @return true when events are kept over several Disruptor batches
+	 */
+	public boolean isLingering() {
+		return lingerNanos > 0;
+	}
+
+	/**
+	 * Creates the buffer events that lingering events are copied into. Usually the event factory of the disruptor bean.
+	 *
+	 * @param eventFactory
+	 */
+	public void setEventFactory(EventFactory<T> eventFactory) {
+		this.eventFactory = eventFactory;
+		fillBatch();
+	}
+
+	/**
+	 * Copies a ring buffer event into a buffer event, to keep it after the Disruptor batch. Needed to linger.
+	 *
+	 * @param eventCopier
+	 */
+	public void setEventCopier(EventCopier<T> eventCopier) {
+		this.eventCopier = eventCopier;
+	}
+
+	private void fillBatch() {
+		for(int i=0;i<batch.length;i++){
+			batch[i] = lingerNanos > 0 && eventFactory != null ? eventFactory.newInstance() : null;
+		}
+	}
+
+	@Override
+	public void setSequenceCallback(Sequence sequenceCallback) {
+		this.sequenceCallback = sequenceCallback;
+	}
+
+	/**
+	 * Read only view of the collected events.
+	 */
+	private final class BatchView extends AbstractList<T> implements RandomAccess {
+		@SuppressWarnings("unchecked")
+		@Override
+		public T get(int index) {
+			if(index < 0 || index >= batchSize){
+				throw new IndexOutOfBoundsException("Index: " + index + ", batch size: " + batchSize);
+			}
+			return (T) batch[index];
+		}
+
+		@Override
+		public int size() {
+			return batchSize;
+		}
+	}
+}
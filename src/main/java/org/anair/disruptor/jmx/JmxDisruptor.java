@@ -9,6 +9,7 @@ import javax.management.ObjectName;
 import javax.management.StandardMBean;
 
 import org.anair.disruptor.DefaultDisruptorConfig;
+import org.anair.disruptor.waitstrategy.AdaptiveWaitStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -68,6 +69,56 @@ public class JmxDisruptor extends StandardMBean implements JmxDisruptorMBean {
         	return "Current Ring buffer slot location ready to be consumed.";
         }else if (attribute.getName().equals("RemainingCapacity")) {
         	return "Remaining slots in the ring buffer.";
+        }else if (attribute.getName().equals("BackpressurePolicy")) {
+        	return "What a publisher does when the ring buffer is full. Can be one of BLOCK, BLOCK_WITH_TIMEOUT, DROP_NEWEST, REJECT, CALLER_RUNS.";
+        }else if (attribute.getName().equals("RejectedPublishCount")) {
+        	return "Events dropped or rejected because the ring buffer was full.";
+        }else if (attribute.getName().equals("TimedOutPublishCount")) {
+        	return "Events dropped after waiting for a free ring buffer slot.";
+        }else if (attribute.getName().equals("CallerRunsPublishCount")) {
+        	return "Events processed on the publisher thread because the ring buffer was full.";
+        }else if (attribute.getName().equals("FailureCount")) {
+        	return "Events a event or work handler threw a exception for.";
+        }else if (attribute.getName().equals("DeadLetterCount")) {
+        	return "Failed events copied into the dead-letter disruptor.";
+        }else if (attribute.getName().equals("DroppedDeadLetterCount")) {
+        	return "Failed events not copied because the dead-letter disruptor was full.";
+        }else if (attribute.getName().equals("LatencyHistogramEnabled")) {
+        	return "Event handler latency histograms are recorded.";
+        }else if (attribute.getName().equals("GatingSequence")) {
+        	return "Lowest sequence of the last event handlers. Producers can not wrap the ring buffer past it.";
+        }else if (attribute.getName().equals("BottleneckEventHandler")) {
+        	return "Event handler with the largest backlog of events released to it. This stage is holding back producers.";
+        }else if (attribute.getName().equals("EventHandlerLag")) {
+        	return "Print sequence, lag behind the ring buffer cursor and backlog of every event handler.";
+        }else if (attribute.getName().equals("ThroughputMeterEnabled")) {
+        	return "Publish and consume rates are sampled every second.";
+        }else if (attribute.getName().equals("PublishRate1s")) {
+        	return "Events published per second over the last second.";
+        }else if (attribute.getName().equals("PublishRate10s")) {
+        	return "Events published per second over the last 10 seconds.";
+        }else if (attribute.getName().equals("PublishRate60s")) {
+        	return "Events published per second over the last 60 seconds.";
+        }else if (attribute.getName().equals("CpuAffinity")) {
+        	return "CPUs the event processor threads are bound to.";
+        }else if (attribute.getName().equals("ThreadPlacement")) {
+        	return "CPU every event processor thread is running on.";
+        }else if (attribute.getName().equals("WaitMode")) {
+        	return "Current mode of the ADAPTIVE wait strategy: SPIN, YIELD, SLEEP or BLOCK.";
+        }else if (attribute.getName().equals("AutoWaitMode")) {
+        	return "The ADAPTIVE wait strategy is switched by the publish rate.";
+        }else if (attribute.getName().equals("OccupancyMonitorEnabled")) {
+        	return "Ring buffer occupancy is sampled on a background thread.";
+        }else if (attribute.getName().equals("OccupancyHighWatermark")) {
+        	return "Most events waiting in the ring buffer for the last event handlers since the last reset.";
+        }else if (attribute.getName().equals("OccupancyP99")) {
+        	return "Ring buffer occupancy of 99% of the samples, rounded up to a power of 2 minus 1.";
+        }else if (attribute.getName().equals("OccupancyHistogram")) {
+        	return "Print the share of occupancy samples per power of 2 bucket.";
+        }else if (attribute.getName().equals("SnapshotInProgress")) {
+        	return "A snapshot is waiting for the next journaled event or being written.";
+        }else if (attribute.getName().equals("LastSnapshot")) {
+        	return "Id, sequence and journal position of the last complete snapshot.";
         }
         return null;
     }
@@ -86,6 +137,16 @@ public class JmxDisruptor extends StandardMBean implements JmxDisruptorMBean {
             return "Reset the ring buffer cursor to a specific value.";
         }else if (operation.getName().equals("publishToRingbuffer")) {
             return "Publish the specified sequence to the ring buffer.";
+        }else if (operation.getName().equals("resetLatencyHistograms")) {
+            return "Clear the latency histograms of all event handlers.";
+        }else if (operation.getName().equals("switchWaitMode")) {
+            return "Switch the ADAPTIVE wait strategy. Turns automatic wait mode off.";
+        }else if (operation.getName().equals("resetOccupancyHistogram")) {
+            return "Clear the ring buffer occupancy histogram and high watermark.";
+        }else if (operation.getName().equals("recommendRingBufferSize")) {
+            return "Ring buffer size for the sampled bursts: twice the occupancy high watermark, rounded up to a power of 2.";
+        }else if (operation.getName().equals("takeSnapshot")) {
+            return "Snapshot the snapshot aware event handlers with the next journaled event, then delete older snapshots and journal segments.";
         }
         
         return null;
@@ -110,6 +171,11 @@ public class JmxDisruptor extends StandardMBean implements JmxDisruptorMBean {
 	            case 0: return "Ring buffer sequence";
 	            default : return null;
             }
+        }else if (op.getName().equals("switchWaitMode")) {
+            switch (sequence) {
+	            case 0: return "SPIN, YIELD, SLEEP or BLOCK";
+	            default : return null;
+            }
         }
         return null;
     }
@@ -149,6 +215,21 @@ public class JmxDisruptor extends StandardMBean implements JmxDisruptorMBean {
 		disruptorConfig.publishToRingbuffer(sequence);
 	}
 
+	@Override
+	public void resetLatencyHistograms() {
+		disruptorConfig.resetLatencyHistograms();
+	}
+
+	@Override
+	public void resetOccupancyHistogram() {
+		disruptorConfig.resetOccupancyHistogram();
+	}
+
+	@Override
+	public int recommendRingBufferSize() {
+		return disruptorConfig.recommendRingBufferSize();
+	}
+
 	@Override
 	public String getEventProcessorGraph() {
 		return disruptorConfig.getEventProcessorGraph();
@@ -184,6 +265,146 @@ public class JmxDisruptor extends StandardMBean implements JmxDisruptorMBean {
 		return disruptorConfig.getRemainingCapacity();
 	}
 
+	@Override
+	public String getBackpressurePolicy() {
+		return disruptorConfig.getBackpressurePolicy().name();
+	}
+
+	@Override
+	public long getRejectedPublishCount() {
+		return disruptorConfig.getRejectedPublishCount();
+	}
+
+	@Override
+	public long getTimedOutPublishCount() {
+		return disruptorConfig.getTimedOutPublishCount();
+	}
+
+	@Override
+	public long getCallerRunsPublishCount() {
+		return disruptorConfig.getCallerRunsPublishCount();
+	}
+
+	@Override
+	public long getFailureCount() {
+		return disruptorConfig.getFailureCount();
+	}
+
+	@Override
+	public long getDeadLetterCount() {
+		return disruptorConfig.getDeadLetterCount();
+	}
+
+	@Override
+	public long getDroppedDeadLetterCount() {
+		return disruptorConfig.getDroppedDeadLetterCount();
+	}
+
+	@Override
+	public boolean isLatencyHistogramEnabled() {
+		return disruptorConfig.isLatencyHistogramEnabled();
+	}
+
+	@Override
+	public long getGatingSequence() {
+		return disruptorConfig.getGatingSequence();
+	}
+
+	@Override
+	public String getBottleneckEventHandler() {
+		return disruptorConfig.getBottleneckEventHandler();
+	}
+
+	@Override
+	public String getEventHandlerLag() {
+		return disruptorConfig.getEventHandlerLag();
+	}
+
+	@Override
+	public boolean isThroughputMeterEnabled() {
+		return disruptorConfig.isThroughputMeterEnabled();
+	}
+
+	@Override
+	public double getPublishRate1s() {
+		return disruptorConfig.getPublishRate(1);
+	}
+
+	@Override
+	public double getPublishRate10s() {
+		return disruptorConfig.getPublishRate(10);
+	}
+
+	@Override
+	public double getPublishRate60s() {
+		return disruptorConfig.getPublishRate(60);
+	}
+
+	@Override
+	public String getCpuAffinity() {
+		return disruptorConfig.getCpuAffinity();
+	}
+
+	@Override
+	public String getThreadPlacement() {
+		return disruptorConfig.getThreadPlacement();
+	}
+
+	@Override
+	public String getWaitMode() {
+		return disruptorConfig.getWaitMode().name();
+	}
+
+	@Override
+	public void switchWaitMode(String waitMode) {
+		disruptorConfig.switchWaitMode(AdaptiveWaitStrategy.Mode.valueOf(waitMode));
+	}
+
+	@Override
+	public boolean isAutoWaitMode() {
+		return disruptorConfig.isAutoWaitMode();
+	}
+
+	@Override
+	public void setAutoWaitMode(boolean autoWaitMode) {
+		disruptorConfig.setAutoWaitMode(autoWaitMode);
+	}
+
+	@Override
+	public boolean isOccupancyMonitorEnabled() {
+		return disruptorConfig.isOccupancyMonitorEnabled();
+	}
+
+	@Override
+	public long getOccupancyHighWatermark() {
+		return disruptorConfig.getOccupancyHistogram().getHighWatermark();
+	}
+
+	@Override
+	public long getOccupancyP99() {
+		return disruptorConfig.getOccupancyHistogram().getValueAtPercentile(99);
+	}
+
+	@Override
+	public String getOccupancyHistogram() {
+		return disruptorConfig.getOccupancyHistogram().printBuckets();
+	}
+
+	@Override
+	public void takeSnapshot() {
+		disruptorConfig.takeSnapshot();
+	}
+
+	@Override
+	public boolean isSnapshotInProgress() {
+		return disruptorConfig.isSnapshotInProgress();
+	}
+
+	@Override
+	public String getLastSnapshot() {
+		return disruptorConfig.getLastSnapshot();
+	}
+
 	@Override
 	public String getDisruptorConfiguration() {
 		return disruptorConfig.getDisruptorConfiguration();
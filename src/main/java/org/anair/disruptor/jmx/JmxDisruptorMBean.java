@@ -17,6 +17,12 @@ public interface JmxDisruptorMBean {
 	
 	void publishToRingbuffer(long sequence);
 	
+	void resetLatencyHistograms();
+	
+	void resetOccupancyHistogram();
+	
+	int recommendRingBufferSize();
+	
 	String getDisruptorConfiguration();
 	
 	String getEventProcessorGraph();
@@ -33,4 +39,60 @@ public interface JmxDisruptorMBean {
 	
 	long getRemainingCapacity();
 	
+	String getBackpressurePolicy();
+	
+	long getRejectedPublishCount();
+	
+	long getTimedOutPublishCount();
+	
+	long getCallerRunsPublishCount();
+	
+	long getFailureCount();
+	
+	long getDeadLetterCount();
+	
+	long getDroppedDeadLetterCount();
+	
+	boolean isLatencyHistogramEnabled();
+	
+	long getGatingSequence();
+	
+	String getBottleneckEventHandler();
+	
+	String getEventHandlerLag();
+	
+	boolean isThroughputMeterEnabled();
+	
+	double getPublishRate1s();
+	
+	double getPublishRate10s();
+	
+	double getPublishRate60s();
+	
+	String getCpuAffinity();
+	
+	String getThreadPlacement();
+	
+	String getWaitMode();
+	
+	void switchWaitMode(String waitMode);
+	
+	boolean isAutoWaitMode();
+	
+	void setAutoWaitMode(boolean autoWaitMode);
+	
+	boolean isOccupancyMonitorEnabled();
+	
+	long getOccupancyHighWatermark();
+	
+	long getOccupancyP99();
+	
+	String getOccupancyHistogram();
+	
+	void takeSnapshot();
+	
+	boolean isSnapshotInProgress();
+	
+	String getLastSnapshot();
+	
 }
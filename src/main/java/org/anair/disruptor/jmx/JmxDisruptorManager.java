@@ -1,19 +1,31 @@
 package org.anair.disruptor.jmx;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.management.MBeanServer;
 
 import org.anair.disruptor.DefaultDisruptorConfig;
+import org.anair.disruptor.DisruptorPipeline;
+import org.anair.disruptor.ShardedDisruptorConfig;
 import org.apache.commons.collections4.MapUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
 
 /**
  * Identify all disruptor beans and register them as MBeans.
+ * <p>A sharded disruptor bean gets a aggregate MBean and every shard its own disruptor MBean named {@code <bean>-shard-<n>}.
+ * A disruptor pipeline bean gets a MBean with the lag of every hop. Its ring buffers defined as inner beans get a disruptor MBean named {@code <bean>-hop-<n>}.
+ * A dead-letter disruptor defined as inner bean gets a disruptor MBean named {@code <bean>-dead-letter}.
+ * Prototype disruptor beans, like the shard bean of a sharded disruptor, are not registered.
+ * <p>Event handlers of disruptors started after this bean, like by a {@link org.anair.disruptor.DisruptorStartupCoordinator}, are registered when the context is refreshed.
  * <p> Add this to your spring configuration file and pass in the mbeanserver.
  * <pre>{@code
  *  <bean class="org.anair.disruptor.jmx.JmxDisruptorManager"
@@ -24,33 +36,146 @@ import org.springframework.context.ApplicationContextAware;
  *
  */
 @SuppressWarnings("rawtypes")
-public class JmxDisruptorManager implements ApplicationContextAware{
+public class JmxDisruptorManager implements ApplicationContextAware, ApplicationListener<ContextRefreshedEvent>{
 	private static final Logger LOG = LoggerFactory.getLogger(JmxDisruptorManager.class);
 	
 	private ApplicationContext applicationContext;
 	private MBeanServer mBeanServer;
+	private final Map<String, DefaultDisruptorConfig> registeredDisruptors = new LinkedHashMap<String, DefaultDisruptorConfig>();
+	private final Map<String, ShardedDisruptorConfig> registeredShardedDisruptors = new LinkedHashMap<String, ShardedDisruptorConfig>();
 	
 	private void registerDisruptorMBeans()  {
 		Map<String, DefaultDisruptorConfig> disruptorsMBeanMap = getDisruptorMBeans();
+		Map<String, ShardedDisruptorConfig> shardedDisruptorsMBeanMap = getShardedDisruptorMBeans();
+		Map<String, DisruptorPipeline> disruptorPipelinesMBeanMap = getDisruptorPipelineMBeans();
 		
-		if(MapUtils.isEmpty(disruptorsMBeanMap)){
+		if(MapUtils.isEmpty(disruptorsMBeanMap) && MapUtils.isEmpty(shardedDisruptorsMBeanMap) && MapUtils.isEmpty(disruptorPipelinesMBeanMap)){
 			LOG.warn("No Disruptor beans identified.");
-		}else{
+			return;
+		}
+		if(MapUtils.isNotEmpty(disruptorsMBeanMap)){
 			for(Map.Entry<String, DefaultDisruptorConfig> entry: disruptorsMBeanMap.entrySet()){
-				try {
-					JmxDisruptor jmxDisruptor = new JmxDisruptor(entry.getValue(), entry.getKey());
-					mBeanServer.registerMBean(jmxDisruptor, jmxDisruptor.getObjectName());
-					LOG.debug(entry.getKey() + " Disruptor bean is resgistered in the MBeanServer.");
-				} catch (Exception e) {
-					LOG.error("Error registering Disruptor MBean.", e);
-				}
+				registerDisruptorMBean(entry.getValue(), entry.getKey());
 			}
 			LOG.debug(disruptorsMBeanMap.size() + " Disruptor beans regsitered in the MBeanServer");	
 		}
+		if(MapUtils.isNotEmpty(shardedDisruptorsMBeanMap)){
+			for(Map.Entry<String, ShardedDisruptorConfig> entry: shardedDisruptorsMBeanMap.entrySet()){
+				registerShardedDisruptorMBeans(entry.getValue(), entry.getKey());
+			}
+			LOG.debug(shardedDisruptorsMBeanMap.size() + " Sharded Disruptor beans regsitered in the MBeanServer");	
+		}
+		if(MapUtils.isNotEmpty(disruptorPipelinesMBeanMap)){
+			for(Map.Entry<String, DisruptorPipeline> entry: disruptorPipelinesMBeanMap.entrySet()){
+				registerDisruptorPipelineMBeans(entry.getValue(), entry.getKey(), disruptorsMBeanMap);
+			}
+			LOG.debug(disruptorPipelinesMBeanMap.size() + " Disruptor pipeline beans regsitered in the MBeanServer");	
+		}
+		registerDeadLetterDisruptorMBeans();
+	}
+	
+	/**
+	 * Register dead-letter disruptors not registered as disruptor beans, after all disruptor beans.
+	 */
+	private void registerDeadLetterDisruptorMBeans() {
+		for(Map.Entry<String, DefaultDisruptorConfig> entry : new LinkedHashMap<String, DefaultDisruptorConfig>(registeredDisruptors).entrySet()){
+			DefaultDisruptorConfig deadLetterDisruptor = entry.getValue().getDeadLetterDisruptor();
+			if(deadLetterDisruptor != null && !containsDisruptor(registeredDisruptors, deadLetterDisruptor)){
+				registerDisruptorMBean(deadLetterDisruptor, entry.getKey() + "-dead-letter");
+			}
+		}
+	}
+	
+	private void registerDisruptorMBean(DefaultDisruptorConfig disruptorConfig, String beanName) {
+		try {
+			JmxDisruptor jmxDisruptor = new JmxDisruptor(disruptorConfig, beanName);
+			mBeanServer.registerMBean(jmxDisruptor, jmxDisruptor.getObjectName());
+			LOG.debug(beanName + " Disruptor bean is resgistered in the MBeanServer.");
+		} catch (Exception e) {
+			LOG.error("Error registering Disruptor MBean.", e);
+		}
+		registeredDisruptors.put(beanName, disruptorConfig);
+		registerEventHandlerMBeans(disruptorConfig, beanName);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void registerShardedDisruptorMBeans(ShardedDisruptorConfig shardedDisruptorConfig, String beanName) {
+		try {
+			JmxShardedDisruptor jmxShardedDisruptor = new JmxShardedDisruptor(shardedDisruptorConfig, beanName);
+			mBeanServer.registerMBean(jmxShardedDisruptor, jmxShardedDisruptor.getObjectName());
+			LOG.debug(beanName + " Sharded Disruptor bean is resgistered in the MBeanServer.");
+		} catch (Exception e) {
+			LOG.error("Error registering Sharded Disruptor MBean.", e);
+		}
+		registeredShardedDisruptors.put(beanName, shardedDisruptorConfig);
+		registerShardMBeans(shardedDisruptorConfig, beanName);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void registerShardMBeans(ShardedDisruptorConfig shardedDisruptorConfig, String beanName) {
+		List<DefaultDisruptorConfig> shards = shardedDisruptorConfig.getShards();
+		for(int i=0;i<shards.size();i++){
+			if(!containsDisruptor(registeredDisruptors, shards.get(i))){
+				registerDisruptorMBean(shards.get(i), beanName + "-shard-" + i);
+			}
+		}
 	}
 
+	@SuppressWarnings("unchecked")
+	private void registerDisruptorPipelineMBeans(DisruptorPipeline disruptorPipeline, String beanName, Map<String, DefaultDisruptorConfig> disruptorsMBeanMap) {
+		try {
+			JmxDisruptorPipeline jmxDisruptorPipeline = new JmxDisruptorPipeline(disruptorPipeline, beanName);
+			mBeanServer.registerMBean(jmxDisruptorPipeline, jmxDisruptorPipeline.getObjectName());
+			LOG.debug(beanName + " Disruptor pipeline bean is resgistered in the MBeanServer.");
+		} catch (Exception e) {
+			LOG.error("Error registering Disruptor pipeline MBean.", e);
+		}
+		List<DefaultDisruptorConfig> disruptors = disruptorPipeline.getDisruptors();
+		for(int i=0;i<disruptors.size();i++){
+			if(!containsDisruptor(disruptorsMBeanMap, disruptors.get(i))){
+				registerDisruptorMBean(disruptors.get(i), beanName + "-hop-" + i);
+			}
+		}
+	}
+	
+	private boolean containsDisruptor(Map<String, DefaultDisruptorConfig> disruptorsMBeanMap, DefaultDisruptorConfig disruptorConfig) {
+		if(disruptorsMBeanMap != null){
+			for(DefaultDisruptorConfig registered : disruptorsMBeanMap.values()){
+				if(registered == disruptorConfig){
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void registerEventHandlerMBeans(DefaultDisruptorConfig disruptorConfig, String beanName) {
+		Set<String> eventHandlerNames = disruptorConfig.getEventHandlerNames();
+		for(String eventHandlerName: eventHandlerNames){
+			try {
+				JmxEventHandler jmxEventHandler = new JmxEventHandler(disruptorConfig, beanName, eventHandlerName);
+				if(mBeanServer.isRegistered(jmxEventHandler.getObjectName())){
+					continue;
+				}
+				mBeanServer.registerMBean(jmxEventHandler, jmxEventHandler.getObjectName());
+				LOG.debug(eventHandlerName + " Event handler of " + beanName + " is resgistered in the MBeanServer.");
+			} catch (Exception e) {
+				LOG.error("Error registering Event handler MBean.", e);
+			}
+		}
+	}
+	
 	private Map<String, DefaultDisruptorConfig> getDisruptorMBeans() {
-		return this.applicationContext.getBeansOfType(DefaultDisruptorConfig.class);
+		return this.applicationContext.getBeansOfType(DefaultDisruptorConfig.class, false, true);
+	}
+	
+	private Map<String, ShardedDisruptorConfig> getShardedDisruptorMBeans() {
+		return this.applicationContext.getBeansOfType(ShardedDisruptorConfig.class, false, true);
+	}
+	
+	private Map<String, DisruptorPipeline> getDisruptorPipelineMBeans() {
+		return this.applicationContext.getBeansOfType(DisruptorPipeline.class, false, true);
 	}
 	
 	@Override
@@ -60,6 +185,23 @@ public class JmxDisruptorManager implements ApplicationContextAware{
 		registerDisruptorMBeans();
 	}
 
+	/**
+	 * Register shards and event handlers of disruptors started since the disruptor MBeans were registered.
+	 */
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		if(event.getApplicationContext() != applicationContext){
+			return;
+		}
+		for(Map.Entry<String, ShardedDisruptorConfig> entry : registeredShardedDisruptors.entrySet()){
+			registerShardMBeans(entry.getValue(), entry.getKey());
+		}
+		registerDeadLetterDisruptorMBeans();
+		for(Map.Entry<String, DefaultDisruptorConfig> entry : new LinkedHashMap<String, DefaultDisruptorConfig>(registeredDisruptors).entrySet()){
+			registerEventHandlerMBeans(entry.getValue(), entry.getKey());
+		}
+	}
+
 	public void setmBeanServer(MBeanServer mBeanServer) {
 		this.mBeanServer = mBeanServer;
 	}
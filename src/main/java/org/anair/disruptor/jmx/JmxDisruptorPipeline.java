@@ -0,0 +1,188 @@
+package org.anair.disruptor.jmx;
+
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.anair.disruptor.DisruptorPipeline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exposes a {@link DisruptorPipeline} as one JMX MBean, with the lag of every hop.
+ * <p>Registered by {@link JmxDisruptorManager}. Every ring buffer of the pipeline also has its {@link JmxDisruptor}.
+ *
+ * @author Anoop Nair
+ *
+ */
+@SuppressWarnings("rawtypes")
+public class JmxDisruptorPipeline extends StandardMBean implements JmxDisruptorPipelineMBean {
+	private static final String DISRUPTOR_PIPELINE_JMX_MBEAN_NAME = "disruptor-spring:type=disruptorPipeline,name=";
+
+	private static final Logger LOG = LoggerFactory.getLogger(JmxDisruptorPipeline.class);
+
+	private DisruptorPipeline disruptorPipeline;
+	private ObjectName objectName;
+	private String beanName;
+
+	public JmxDisruptorPipeline(DisruptorPipeline disruptorPipeline, String beanName) throws NotCompliantMBeanException {
+		super(JmxDisruptorPipelineMBean.class);
+		this.disruptorPipeline = disruptorPipeline;
+		this.beanName = beanName;
+		objectName = createObjectName(beanName);
+	}
+
+	/* (non-Javadoc)
+	 * @see javax.management.StandardMBean#getDescription(javax.management.MBeanInfo)
+	 */
+	protected String getDescription(MBeanInfo info) {
+        return "Spring managed LMAX Disruptor pipeline bean: " + beanName;
+    }
+
+	/* (non-Javadoc)
+	 * @see javax.management.StandardMBean#getDescription(javax.management.MBeanAttributeInfo)
+	 */
+	protected String getDescription(MBeanAttributeInfo attribute) {
+		if (attribute.getName().equals("ThreadName")) {
+            return "Name of the pipeline.";
+        }else if (attribute.getName().equals("HopCount")) {
+        	return "Number of ring buffers in the pipeline.";
+        }else if (attribute.getName().equals("PublishedCount")) {
+        	return "Events published to the first ring buffer.";
+        }else if (attribute.getName().equals("CompletedCount")) {
+        	return "Events processed by the last event handlers of the last ring buffer.";
+        }else if (attribute.getName().equals("TotalLag")) {
+        	return "Events published to the pipeline and not yet processed by the last ring buffer.";
+        }else if (attribute.getName().equals("RejectedPublishCount")) {
+        	return "Events dropped, rejected or timed out because the first ring buffer was full.";
+        }else if (attribute.getName().equals("PublishRate1s")) {
+        	return "Events published per second to the pipeline over the last second.";
+        }else if (attribute.getName().equals("PublishRate10s")) {
+        	return "Events published per second to the pipeline over the last 10 seconds.";
+        }else if (attribute.getName().equals("PublishRate60s")) {
+        	return "Events published per second to the pipeline over the last 60 seconds.";
+        }else if (attribute.getName().equals("HopLag")) {
+        	return "Print lag and bottleneck event handler of every ring buffer, in pipeline order.";
+        }
+        return null;
+    }
+
+	/* (non-Javadoc)
+	 * @see javax.management.StandardMBean#getDescription(javax.management.MBeanOperationInfo)
+	 */
+	protected String getDescription(MBeanOperationInfo operation) {
+        if (operation.getName().equals("controlledShutdown")) {
+            return "Shutdown all ring buffers in pipeline order after all their events are processed and handed off.";
+        }else if (operation.getName().equals("halt")) {
+            return "Halt all ring buffers. Do not wait for ring buffer events to be processed.";
+        }else if (operation.getName().equals("awaitAndShutdown")) {
+            return "Wait for events of every ring buffer to finish for a few seconds and then shutdown, in pipeline order.";
+        }else if (operation.getName().equals("resetLatencyHistograms")) {
+            return "Clear the latency histograms of all event handlers of all ring buffers.";
+        }
+        return null;
+    }
+
+	/* (non-Javadoc)
+	 * @see javax.management.StandardMBean#getDescription(javax.management.MBeanOperationInfo, javax.management.MBeanParameterInfo, int)
+	 */
+	protected String getDescription(MBeanOperationInfo op, MBeanParameterInfo param, int sequence) {
+        if (op.getName().equals("awaitAndShutdown")) {
+            switch (sequence) {
+                case 0: return "Time in seconds";
+                default : return null;
+            }
+        }
+        return null;
+    }
+
+	private ObjectName createObjectName(String disruptorPipelineBeanName) {
+        ObjectName objectName = null;
+        try {
+			objectName = new ObjectName(DISRUPTOR_PIPELINE_JMX_MBEAN_NAME + disruptorPipelineBeanName);
+			LOG.info(objectName.getCanonicalName() + " MBean defined.");
+		} catch (Exception e) {
+			LOG.error("Error creating Disruptor Pipeline Bean ObjectName. ", e);
+		}
+        return objectName;
+    }
+
+	protected ObjectName getObjectName() {
+		return objectName;
+	}
+
+	@Override
+	public void controlledShutdown() {
+		disruptorPipeline.controlledShutdown();
+	}
+
+	@Override
+	public void halt() {
+		disruptorPipeline.halt();
+	}
+
+	@Override
+	public void awaitAndShutdown(long time) {
+		disruptorPipeline.awaitAndShutdown(time);
+	}
+
+	@Override
+	public void resetLatencyHistograms() {
+		disruptorPipeline.resetLatencyHistograms();
+	}
+
+	@Override
+	public String getThreadName() {
+		return disruptorPipeline.getThreadName();
+	}
+
+	@Override
+	public int getHopCount() {
+		return disruptorPipeline.getDisruptors().size();
+	}
+
+	@Override
+	public long getPublishedCount() {
+		return disruptorPipeline.getPublishedCount();
+	}
+
+	@Override
+	public long getCompletedCount() {
+		return disruptorPipeline.getCompletedCount();
+	}
+
+	@Override
+	public long getTotalLag() {
+		return disruptorPipeline.getTotalLag();
+	}
+
+	@Override
+	public long getRejectedPublishCount() {
+		return disruptorPipeline.getRejectedPublishCount();
+	}
+
+	@Override
+	public double getPublishRate1s() {
+		return disruptorPipeline.getPublishRate(1);
+	}
+
+	@Override
+	public double getPublishRate10s() {
+		return disruptorPipeline.getPublishRate(10);
+	}
+
+	@Override
+	public double getPublishRate60s() {
+		return disruptorPipeline.getPublishRate(60);
+	}
+
+	@Override
+	public String getHopLag() {
+		return disruptorPipeline.getHopLag();
+	}
+
+}
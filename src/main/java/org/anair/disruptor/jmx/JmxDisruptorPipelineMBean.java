@@ -0,0 +1,40 @@
+package org.anair.disruptor.jmx;
+
+
+/**
+ * Disruptor pipeline JMX capabilities, over all ring buffers of the pipeline.
+ *
+ * @author Anoop Nair
+ *
+ */
+public interface JmxDisruptorPipelineMBean {
+
+	void controlledShutdown();
+
+	void halt();
+
+	void awaitAndShutdown(long time);
+
+	void resetLatencyHistograms();
+
+	String getThreadName();
+
+	int getHopCount();
+
+	long getPublishedCount();
+
+	long getCompletedCount();
+
+	long getTotalLag();
+
+	long getRejectedPublishCount();
+
+	double getPublishRate1s();
+
+	double getPublishRate10s();
+
+	double getPublishRate60s();
+
+	String getHopLag();
+
+}
@@ -0,0 +1,252 @@
+package org.anair.disruptor.jmx;
+
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.anair.disruptor.DefaultDisruptorConfig;
+import org.anair.disruptor.exception.DisruptorExceptionHandler;
+import org.anair.disruptor.metrics.LatencyHistogram;
+import org.anair.disruptor.metrics.TimedEventHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exposes the progress, failure counts and latency histogram of one event handler in a JMX MBean.
+ * <p>Registered by {@link JmxDisruptorManager} next to the {@link JmxDisruptor} of the disruptor bean.
+ * Latency attributes are 0 unless latency histograms are enabled on the disruptor bean. 
+ * The failure counts of a worker pool are shared by all worker pools of the disruptor.
+ * 
+ * @author Anoop Nair
+ *
+ */
+@SuppressWarnings("rawtypes")
+public class JmxEventHandler extends StandardMBean implements JmxEventHandlerMBean {
+	private static final String EVENT_HANDLER_JMX_MBEAN_NAME = "disruptor-spring:type=disruptor,name=%s,handler=%s";
+
+	private static final Logger LOG = LoggerFactory.getLogger(JmxEventHandler.class);
+	
+	private static final LatencyHistogram EMPTY_HISTOGRAM = new LatencyHistogram();
+	
+	private DefaultDisruptorConfig disruptorConfig;
+	private String eventHandlerName;
+	private ObjectName objectName;
+	
+	public JmxEventHandler(DefaultDisruptorConfig disruptorConfig, String beanName, String eventHandlerName) throws NotCompliantMBeanException {
+		super(JmxEventHandlerMBean.class);
+		this.disruptorConfig = disruptorConfig;
+		this.eventHandlerName = eventHandlerName;
+		objectName = createObjectName(beanName, eventHandlerName);
+	}
+	
+	/* (non-Javadoc)
+	 * @see javax.management.StandardMBean#getDescription(javax.management.MBeanInfo)
+	 */
+	protected String getDescription(MBeanInfo info) {
+        return "Event handler: " + eventHandlerName;
+    }
+	
+	/* (non-Javadoc)
+	 * @see javax.management.StandardMBean#getDescription(javax.management.MBeanAttributeInfo)
+	 */
+	protected String getDescription(MBeanAttributeInfo attribute) {
+		if (attribute.getName().equals("EventHandler")) {
+            return "Event handler name.";
+        }else if (attribute.getName().equals("Sequence")) {
+            return "Last ring buffer sequence processed by the event handler.";
+        }else if (attribute.getName().equals("Lag")) {
+            return "Events published to the ring buffer and not yet processed by the event handler.";
+        }else if (attribute.getName().equals("Backlog")) {
+            return "Events released by the dependency barrier and not yet processed by the event handler. A large backlog means this event handler is slow.";
+        }else if (attribute.getName().equals("ConsumeRate1s")) {
+            return "Events consumed per second over the last second.";
+        }else if (attribute.getName().equals("ConsumeRate10s")) {
+            return "Events consumed per second over the last 10 seconds.";
+        }else if (attribute.getName().equals("ConsumeRate60s")) {
+            return "Events consumed per second over the last 60 seconds.";
+        }else if (attribute.getName().equals("ExceptionStrategy")) {
+            return "What the event processor does when the event handler throws a exception. Can be one of SKIP, RETRY, HALT.";
+        }else if (attribute.getName().equals("FailureCount")) {
+            return "Events the event handler threw a exception for.";
+        }else if (attribute.getName().equals("RecoveredCount")) {
+            return "Failed events handled by a retry.";
+        }else if (attribute.getName().equals("SkippedCount")) {
+            return "Failed events skipped after the exception was logged.";
+        }else if (attribute.getName().equals("DeadLetterCount")) {
+            return "Failed events copied into the dead-letter disruptor.";
+        }else if (attribute.getName().equals("LastFailure")) {
+            return "Sequence and exception of the last failed event.";
+        }else if (attribute.getName().equals("LatencyHistogramEnabled")) {
+            return "Latency histogram is recorded for this event handler.";
+        }else if (attribute.getName().equals("Count")) {
+            return "Number of events handled since the last reset.";
+        }else if (attribute.getName().equals("MeanNanos")) {
+        	return "Mean time spent handling a event in nanoseconds.";
+        }else if (attribute.getName().equals("P50Nanos")) {
+        	return "Median time spent handling a event in nanoseconds.";
+        }else if (attribute.getName().equals("P99Nanos")) {
+        	return "99th percentile of the time spent handling a event in nanoseconds.";
+        }else if (attribute.getName().equals("P999Nanos")) {
+        	return "99.9th percentile of the time spent handling a event in nanoseconds.";
+        }else if (attribute.getName().equals("MaxNanos")) {
+        	return "Maximum time spent handling a event in nanoseconds.";
+        }
+        return null;
+    }
+	
+	/* (non-Javadoc)
+	 * @see javax.management.StandardMBean#getDescription(javax.management.MBeanOperationInfo)
+	 */
+	protected String getDescription(MBeanOperationInfo operation) {
+        if (operation.getName().equals("resetLatencyHistogram")) {
+            return "Clear the latency histogram of this event handler.";
+        }
+        return null;
+    }
+	
+	private ObjectName createObjectName(String disruptorBeanName, String eventHandlerName) {
+        ObjectName objectName = null;
+        try {
+			objectName = new ObjectName(String.format(EVENT_HANDLER_JMX_MBEAN_NAME, disruptorBeanName, eventHandlerName));
+			LOG.info(objectName.getCanonicalName() + " MBean defined.");
+		} catch (Exception e) {
+			LOG.error("Error creating Event handler ObjectName. ", e);
+		}
+        return objectName;
+    }
+	
+	protected ObjectName getObjectName() {
+		return objectName;
+	}
+
+	private TimedEventHandler getTimedEventHandler() {
+		return (TimedEventHandler) disruptorConfig.getTimedEventHandlers().get(eventHandlerName);
+	}
+	
+	private DisruptorExceptionHandler getExceptionHandler() {
+		return (DisruptorExceptionHandler) disruptorConfig.getExceptionHandlers().get(eventHandlerName);
+	}
+	
+	private LatencyHistogram getLatencyHistogram() {
+		TimedEventHandler timedEventHandler = getTimedEventHandler();
+		return timedEventHandler == null ? EMPTY_HISTOGRAM : timedEventHandler.getLatencyHistogram();
+	}
+
+	@Override
+	public void resetLatencyHistogram() {
+		TimedEventHandler timedEventHandler = getTimedEventHandler();
+		if(timedEventHandler != null){
+			timedEventHandler.resetLatencyHistogram();
+		}
+	}
+
+	@Override
+	public String getEventHandler() {
+		return eventHandlerName;
+	}
+
+	@Override
+	public long getSequence() {
+		return disruptorConfig.getEventHandlerSequence(eventHandlerName);
+	}
+
+	@Override
+	public long getLag() {
+		return disruptorConfig.getEventHandlerLag(eventHandlerName);
+	}
+
+	@Override
+	public long getBacklog() {
+		return disruptorConfig.getEventHandlerBacklog(eventHandlerName);
+	}
+
+	@Override
+	public double getConsumeRate1s() {
+		return disruptorConfig.getConsumeRate(eventHandlerName, 1);
+	}
+
+	@Override
+	public double getConsumeRate10s() {
+		return disruptorConfig.getConsumeRate(eventHandlerName, 10);
+	}
+
+	@Override
+	public double getConsumeRate60s() {
+		return disruptorConfig.getConsumeRate(eventHandlerName, 60);
+	}
+
+	@Override
+	public String getExceptionStrategy() {
+		DisruptorExceptionHandler exceptionHandler = getExceptionHandler();
+		return exceptionHandler == null ? null : exceptionHandler.getExceptionStrategy().name();
+	}
+
+	@Override
+	public long getFailureCount() {
+		DisruptorExceptionHandler exceptionHandler = getExceptionHandler();
+		return exceptionHandler == null ? 0 : exceptionHandler.getFailureCount();
+	}
+
+	@Override
+	public long getRecoveredCount() {
+		DisruptorExceptionHandler exceptionHandler = getExceptionHandler();
+		return exceptionHandler == null ? 0 : exceptionHandler.getRecoveredCount();
+	}
+
+	@Override
+	public long getSkippedCount() {
+		DisruptorExceptionHandler exceptionHandler = getExceptionHandler();
+		return exceptionHandler == null ? 0 : exceptionHandler.getSkippedCount();
+	}
+
+	@Override
+	public long getDeadLetterCount() {
+		DisruptorExceptionHandler exceptionHandler = getExceptionHandler();
+		return exceptionHandler == null ? 0 : exceptionHandler.getDeadLetterCount();
+	}
+
+	@Override
+	public String getLastFailure() {
+		DisruptorExceptionHandler exceptionHandler = getExceptionHandler();
+		return exceptionHandler == null ? null : exceptionHandler.getLastFailure();
+	}
+
+	@Override
+	public boolean isLatencyHistogramEnabled() {
+		return getTimedEventHandler() != null;
+	}
+
+	@Override
+	public long getCount() {
+		return getLatencyHistogram().getCount();
+	}
+
+	@Override
+	public long getMeanNanos() {
+		return getLatencyHistogram().getMean();
+	}
+
+	@Override
+	public long getP50Nanos() {
+		return getLatencyHistogram().getValueAtPercentile(50);
+	}
+
+	@Override
+	public long getP99Nanos() {
+		return getLatencyHistogram().getValueAtPercentile(99);
+	}
+
+	@Override
+	public long getP999Nanos() {
+		return getLatencyHistogram().getValueAtPercentile(99.9);
+	}
+
+	@Override
+	public long getMaxNanos() {
+		return getLatencyHistogram().getMax();
+	}
+
+}
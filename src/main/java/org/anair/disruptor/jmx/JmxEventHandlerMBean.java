@@ -0,0 +1,54 @@
+package org.anair.disruptor.jmx;
+
+
+/**
+ * Event handler progress, failures and latency JMX capabilities.
+ * 
+ * @author Anoop Nair
+ *
+ */
+public interface JmxEventHandlerMBean {
+
+	void resetLatencyHistogram();
+	
+	String getEventHandler();
+	
+	long getSequence();
+	
+	long getLag();
+	
+	long getBacklog();
+	
+	double getConsumeRate1s();
+	
+	double getConsumeRate10s();
+	
+	double getConsumeRate60s();
+	
+	String getExceptionStrategy();
+	
+	long getFailureCount();
+	
+	long getRecoveredCount();
+	
+	long getSkippedCount();
+	
+	long getDeadLetterCount();
+	
+	String getLastFailure();
+	
+	boolean isLatencyHistogramEnabled();
+	
+	long getCount();
+	
+	long getMeanNanos();
+	
+	long getP50Nanos();
+	
+	long getP99Nanos();
+	
+	long getP999Nanos();
+	
+	long getMaxNanos();
+	
+}
@@ -0,0 +1,195 @@
+package org.anair.disruptor.jmx;
+
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.anair.disruptor.ShardedDisruptorConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exposes the aggregate view of a {@link ShardedDisruptorConfig} in a JMX MBean.
+ * <p>Registered by {@link JmxDisruptorManager} next to a {@link JmxDisruptor} per shard.
+ *
+ * @author Anoop Nair
+ *
+ */
+@SuppressWarnings("rawtypes")
+public class JmxShardedDisruptor extends StandardMBean implements JmxShardedDisruptorMBean {
+	private static final String SHARDED_DISRUPTOR_JMX_MBEAN_NAME = "disruptor-spring:type=shardedDisruptor,name=";
+
+	private static final Logger LOG = LoggerFactory.getLogger(JmxShardedDisruptor.class);
+
+	private ShardedDisruptorConfig shardedDisruptorConfig;
+	private ObjectName objectName;
+	private String beanName;
+
+	public JmxShardedDisruptor(ShardedDisruptorConfig shardedDisruptorConfig, String beanName) throws NotCompliantMBeanException {
+		super(JmxShardedDisruptorMBean.class);
+		this.shardedDisruptorConfig = shardedDisruptorConfig;
+		this.beanName = beanName;
+		objectName = createObjectName(beanName);
+	}
+
+	/* (non-Javadoc)
+	 * @see javax.management.StandardMBean#getDescription(javax.management.MBeanInfo)
+	 */
+	protected String getDescription(MBeanInfo info) {
+        return "Spring managed sharded LMAX Disruptor bean: " + beanName;
+    }
+
+	/* (non-Javadoc)
+	 * @see javax.management.StandardMBean#getDescription(javax.management.MBeanAttributeInfo)
+	 */
+	protected String getDescription(MBeanAttributeInfo attribute) {
+		if (attribute.getName().equals("ThreadName")) {
+            return "Thread name prefix of the shards.";
+        }else if (attribute.getName().equals("ShardCount")) {
+        	return "Number of disruptor shards.";
+        }else if (attribute.getName().equals("TotalCapacity")) {
+        	return "Ring buffer capacity of all shards.";
+        }else if (attribute.getName().equals("RemainingCapacity")) {
+        	return "Remaining slots in the ring buffers of all shards.";
+        }else if (attribute.getName().equals("PublishedCount")) {
+        	return "Events published to all shards.";
+        }else if (attribute.getName().equals("RejectedPublishCount")) {
+        	return "Events dropped, rejected or timed out because the ring buffer of a shard was full.";
+        }else if (attribute.getName().equals("ShardSkew")) {
+        	return "Events published to the busiest shard divided by the average per shard. 1 when keys are spread evenly.";
+        }else if (attribute.getName().equals("PublishRate1s")) {
+        	return "Events published per second to all shards over the last second.";
+        }else if (attribute.getName().equals("PublishRate10s")) {
+        	return "Events published per second to all shards over the last 10 seconds.";
+        }else if (attribute.getName().equals("PublishRate60s")) {
+        	return "Events published per second to all shards over the last 60 seconds.";
+        }else if (attribute.getName().equals("ShardSummary")) {
+        	return "Print published events, remaining capacity and bottleneck event handler of every shard.";
+        }
+        return null;
+    }
+
+	/* (non-Javadoc)
+	 * @see javax.management.StandardMBean#getDescription(javax.management.MBeanOperationInfo)
+	 */
+	protected String getDescription(MBeanOperationInfo operation) {
+        if (operation.getName().equals("controlledShutdown")) {
+            return "Shutdown all shards in a controlled manner after all ring buffer events are processed.";
+        }else if (operation.getName().equals("halt")) {
+            return "Halt all shards. Do not wait for ring buffer events to be processed.";
+        }else if (operation.getName().equals("awaitAndShutdown")) {
+            return "Wait for events of every shard to finish for a few seconds and then shutdown.";
+        }else if (operation.getName().equals("resetLatencyHistograms")) {
+            return "Clear the latency histograms of all event handlers of all shards.";
+        }
+        return null;
+    }
+
+	/* (non-Javadoc)
+	 * @see javax.management.StandardMBean#getDescription(javax.management.MBeanOperationInfo, javax.management.MBeanParameterInfo, int)
+	 */
+	protected String getDescription(MBeanOperationInfo op, MBeanParameterInfo param, int sequence) {
+        if (op.getName().equals("awaitAndShutdown")) {
+            switch (sequence) {
+                case 0: return "Time in seconds";
+                default : return null;
+            }
+        }
+        return null;
+    }
+
+	private ObjectName createObjectName(String shardedDisruptorBeanName) {
+        ObjectName objectName = null;
+        try {
+			objectName = new ObjectName(SHARDED_DISRUPTOR_JMX_MBEAN_NAME + shardedDisruptorBeanName);
+			LOG.info(objectName.getCanonicalName() + " MBean defined.");
+		} catch (Exception e) {
+			LOG.error("Error creating Sharded Disruptor Bean ObjectName. ", e);
+		}
+        return objectName;
+    }
+
+	protected ObjectName getObjectName() {
+		return objectName;
+	}
+
+	@Override
+	public void controlledShutdown() {
+		shardedDisruptorConfig.controlledShutdown();
+	}
+
+	@Override
+	public void halt() {
+		shardedDisruptorConfig.halt();
+	}
+
+	@Override
+	public void awaitAndShutdown(long time) {
+		shardedDisruptorConfig.awaitAndShutdown(time);
+	}
+
+	@Override
+	public void resetLatencyHistograms() {
+		shardedDisruptorConfig.resetLatencyHistograms();
+	}
+
+	@Override
+	public String getThreadName() {
+		return shardedDisruptorConfig.getThreadName();
+	}
+
+	@Override
+	public int getShardCount() {
+		return shardedDisruptorConfig.getShardCount();
+	}
+
+	@Override
+	public long getTotalCapacity() {
+		return shardedDisruptorConfig.getTotalCapacity();
+	}
+
+	@Override
+	public long getRemainingCapacity() {
+		return shardedDisruptorConfig.getRemainingCapacity();
+	}
+
+	@Override
+	public long getPublishedCount() {
+		return shardedDisruptorConfig.getPublishedCount();
+	}
+
+	@Override
+	public long getRejectedPublishCount() {
+		return shardedDisruptorConfig.getRejectedPublishCount();
+	}
+
+	@Override
+	public double getShardSkew() {
+		return shardedDisruptorConfig.getShardSkew();
+	}
+
+	@Override
+	public double getPublishRate1s() {
+		return shardedDisruptorConfig.getPublishRate(1);
+	}
+
+	@Override
+	public double getPublishRate10s() {
+		return shardedDisruptorConfig.getPublishRate(10);
+	}
+
+	@Override
+	public double getPublishRate60s() {
+		return shardedDisruptorConfig.getPublishRate(60);
+	}
+
+	@Override
+	public String getShardSummary() {
+		return shardedDisruptorConfig.getShardSummary();
+	}
+
+}
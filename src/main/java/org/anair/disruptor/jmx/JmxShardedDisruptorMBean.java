@@ -0,0 +1,42 @@
+package org.anair.disruptor.jmx;
+
+
+/**
+ * Sharded disruptor JMX capabilities, aggregated over all shards.
+ *
+ * @author Anoop Nair
+ *
+ */
+public interface JmxShardedDisruptorMBean {
+
+	void controlledShutdown();
+
+	void halt();
+
+	void awaitAndShutdown(long time);
+
+	void resetLatencyHistograms();
+
+	String getThreadName();
+
+	int getShardCount();
+
+	long getTotalCapacity();
+
+	long getRemainingCapacity();
+
+	long getPublishedCount();
+
+	long getRejectedPublishCount();
+
+	double getShardSkew();
+
+	double getPublishRate1s();
+
+	double getPublishRate10s();
+
+	double getPublishRate60s();
+
+	String getShardSummary();
+
+}
@@ -0,0 +1,26 @@
+package org.anair.disruptor.journal;
+
+/**
+ * Defines when journaled events are forced from the page cache to disk.
+ * <p>Journaled events survive a crash of the JVM with every policy, a crash of the machine only once they were forced.
+ * 
+ * @author Anoop Nair
+ *
+ */
+public enum FsyncPolicy {
+	/**
+	 * Force at the end of every Disruptor batch. Safest, and the batches grow with the load so a busy journal forces less often per event.
+	 */
+	EVERY_BATCH,
+	
+	/**
+	 * Force at the end of a Disruptor batch once {@code fsyncIntervalMillis} have passed since the last force,
+	 * and when the Disruptor times out after its {@code idleTimeoutMillis} without events.
+	 */
+	INTERVAL,
+	
+	/**
+	 * Leave it to the operating system.
+	 */
+	NEVER
+}
@@ -0,0 +1,31 @@
+package org.anair.disruptor.journal;
+
+/**
+ * Position in a journal: a segment and the offset of the next record in it.
+ * 
+ * @author Anoop Nair
+ *
+ */
+public final class JournalPosition {
+	
+	private final long segmentIndex;
+	private final int offset;
+	
+	public JournalPosition(long segmentIndex, int offset) {
+		this.segmentIndex = segmentIndex;
+		this.offset = offset;
+	}
+
+	public long getSegmentIndex() {
+		return segmentIndex;
+	}
+
+	public int getOffset() {
+		return offset;
+	}
+
+	@Override
+	public String toString() {
+		return "segment " + segmentIndex + " offset " + offset;
+	}
+}
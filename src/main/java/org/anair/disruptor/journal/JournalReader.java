@@ -0,0 +1,124 @@
+package org.anair.disruptor.journal;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.anair.disruptor.codec.EventCodec;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Reads the events of a journal written by a {@link JournalingEventHandler}, oldest first, through memory mapped segments.
+ * <p>The segments are listed when the reader is created, so segments a running journal opens later are not read.
+ * Segments before the start position are skipped. Every segment is unmapped once it is read, close the reader to unmap
+ * the segment being read when stopping early.
+ * Not thread safe.
+ *
+ * @author Anoop Nair
+ *
+ * @param <T>
+ */
+public class JournalReader<T> implements Closeable {
+
+	private final File journalDirectory;
+	private final String journalName;
+	private final EventCodec<T> eventCodec;
+	private final JournalPosition from;
+	private final List<Long> segmentIndexes;
+	private int nextSegment;
+	private JournalSegment segment;
+
+	public JournalReader(File journalDirectory, String journalName, EventCodec<T> eventCodec) {
+		this(journalDirectory, journalName, eventCodec, null);
+	}
+
+	/**
+	 * @param from position to read from, usually of a snapshot. Null to read from the start.
+	 */
+	public JournalReader(File journalDirectory, String journalName, EventCodec<T> eventCodec, JournalPosition from) {
+		this.journalDirectory = Validate.notNull(journalDirectory, "Define a journalDirectory");
+		this.journalName = Validate.notBlank(journalName, "Define a journalName");
+		this.eventCodec = Validate.notNull(eventCodec, "Define a eventCodec for journal %s", journalName);
+		this.from = from;
+		this.segmentIndexes = JournalSegment.segmentIndexes(journalDirectory, journalName);
+		while(from != null && !segmentIndexes.isEmpty() && segmentIndexes.get(0) < from.getSegmentIndex()){
+			segmentIndexes.remove(0);
+		}
+	}
+
+	/**
+	 * Read the journal of a journaling event handler.
+	 */
+	public JournalReader(JournalingEventHandler<T> journalingEventHandler) {
+		this(journalingEventHandler, null);
+	}
+
+	/**
+	 * Read the journal of a journaling event handler from a position.
+	 */
+	public JournalReader(JournalingEventHandler<T> journalingEventHandler, JournalPosition from) {
+		this(journalingEventHandler.getJournalDirectory(), journalingEventHandler.getJournalName(), journalingEventHandler.getEventCodec(), from);
+	}
+
+	/**
+	 * Decode the next event.
+	 *
+	 * @param event instance to decode into, usually a ring buffer slot
+	 * @return false after the last event
+	 */
+	public boolean read(T event) {
+		while(segment == null || !segment.read(event, eventCodec)){
+			close();
+			if(nextSegment == segmentIndexes.size()){
+				return false;
+			}
+			segment = open(segmentIndexes.get(nextSegment++));
+		}
+		return true;
+	}
+
+	/**
+	 * Unmap the segment being read.
+	 */
+	@Override
+	public void close() {
+		if(segment != null){
+			segment.close();
+			segment = null;
+		}
+	}
+
+	/**
+	 * @return events in all segments, counted without decoding them
+	 */
+	public long count() {
+		long count = 0;
+		for(long index : segmentIndexes){
+			JournalSegment countedSegment = open(index);
+			try {
+				count += countedSegment.countRecords();
+			} finally {
+				countedSegment.close();
+			}
+		}
+		return count;
+	}
+
+	private JournalSegment open(long index) {
+		try {
+			JournalSegment segment = JournalSegment.openReadOnly(journalDirectory, journalName, index);
+			if(from != null && index == from.getSegmentIndex()){
+				segment.setPosition(Math.min(from.getOffset(), segment.getSize()));
+			}
+			return segment;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Can not read journal segment " + JournalSegment.segmentFile(journalDirectory, journalName, index), e);
+		}
+	}
+
+	public String getJournalName() {
+		return journalName;
+	}
+}
@@ -0,0 +1,277 @@
+package org.anair.disruptor.journal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.anair.disruptor.codec.EventCodec;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One memory mapped journal file, named {@code <journalName>-<index>.journal}.
+ * <p>Records are a int length, including the length itself, followed by the encoded event. The length is written after
+ * the event, so a record is only visible once it is complete. The file is created with its full size, zero filled, and
+ * a length of 0 marks the end of the records.
+ * <p>The file channel is closed once the file is mapped. {@link #close()} unmaps the file.
+ *
+ * @author Anoop Nair
+ *
+ */
+final class JournalSegment {
+	private static final Logger LOG = LoggerFactory.getLogger(JournalSegment.class);
+
+	static final String SUFFIX = ".journal";
+	static final int LENGTH_BYTES = 4;
+	private static final Object UNSAFE;
+	private static final Method INVOKE_CLEANER;
+	private static final AtomicBoolean UNMAP_FAILURE_LOGGED = new AtomicBoolean();
+
+	/**
+	 * Java 9 and later unmap with {@code sun.misc.Unsafe.invokeCleaner}, Java 8 with the cleaner of the buffer.
+	 */
+	static {
+		Object unsafe = null;
+		Method invokeCleaner = null;
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Method method = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			unsafe = theUnsafe.get(null);
+			invokeCleaner = method;
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			LOG.debug("No sun.misc.Unsafe.invokeCleaner, unmapping with the cleaner of the buffer: {}", e.toString());
+		}
+		UNSAFE = unsafe;
+		INVOKE_CLEANER = invokeCleaner;
+	}
+
+	private final long index;
+	private final File file;
+	private final MappedByteBuffer buffer;
+
+	private JournalSegment(long index, File file, MappedByteBuffer buffer) {
+		this.index = index;
+		this.file = file;
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Map a segment file, creating it with {@code segmentSize} bytes if it does not exist. The position is set after the last record.
+	 */
+	static JournalSegment open(File directory, String journalName, long index, int segmentSize) throws IOException {
+		File file = segmentFile(directory, journalName, index);
+		try(RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+			long size = randomAccessFile.length() > 0 ? randomAccessFile.length() : segmentSize;
+			MappedByteBuffer buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+			JournalSegment segment = new JournalSegment(index, file, buffer);
+			buffer.position(segment.endOfRecords());
+			return segment;
+		}
+	}
+
+	/**
+	 * Map a existing segment file to read its records from the start.
+	 */
+	static JournalSegment openReadOnly(File directory, String journalName, long index) throws IOException {
+		File file = segmentFile(directory, journalName, index);
+		try(RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+			return new JournalSegment(index, file, randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, randomAccessFile.length()));
+		}
+	}
+
+	static File segmentFile(File directory, String journalName, long index) {
+		return new File(directory, String.format("%s-%010d%s", journalName, index, SUFFIX));
+	}
+
+	/**
+	 * @return indexes of the segment files of a journal, in ascending order
+	 */
+	static List<Long> segmentIndexes(File directory, String journalName) {
+		List<Long> indexes = new ArrayList<>();
+		String[] fileNames = directory.list();
+		String prefix = journalName + "-";
+		for(String fileName : fileNames == null ? new String[0] : fileNames){
+			if(fileName.startsWith(prefix) && fileName.endsWith(SUFFIX)){
+				String index = fileName.substring(prefix.length(), fileName.length() - SUFFIX.length());
+				if(StringUtils.isNumeric(index)){
+					indexes.add(Long.parseLong(index));
+				}
+			}
+		}
+		Collections.sort(indexes);
+		return indexes;
+	}
+
+	/**
+	 * Delete the segment files before a segment.
+	 *
+	 * @return number of deleted segments
+	 */
+	static int deleteBefore(File directory, String journalName, long index) {
+		int deleted = 0;
+		for(long olderIndex : segmentIndexes(directory, journalName)){
+			if(olderIndex < index && segmentFile(directory, journalName, olderIndex).delete()){
+				deleted++;
+			}
+		}
+		return deleted;
+	}
+
+	/**
+	 * Append a event after the last record.
+	 *
+	 * @return false, with nothing written, when the event does not fit in the remaining bytes
+	 */
+	<T> boolean append(T event, EventCodec<T> eventCodec) {
+		int start = buffer.position();
+		if(buffer.remaining() <= LENGTH_BYTES){
+			return false;
+		}
+		buffer.position(start + LENGTH_BYTES);
+		try {
+			eventCodec.encode(event, buffer);
+		} catch (BufferOverflowException e) {
+			clear(start);
+			return false;
+		} catch (RuntimeException e) {
+			clear(start);
+			throw e;
+		}
+		buffer.putInt(start, buffer.position() - start);
+		return true;
+	}
+
+	/**
+	 * Zero the bytes of a failed record, so they are not read as the length of the next one.
+	 */
+	private void clear(int start) {
+		int end = buffer.position();
+		for(int i=start;i<end;i++){
+			buffer.put(i, (byte) 0);
+		}
+		buffer.position(start);
+	}
+
+	/**
+	 * Decode the record at the position into a event and move to the next record.
+	 * 
+	 * @return false, with the position unchanged, after the last record
+	 */
+	<T> boolean read(T event, EventCodec<T> eventCodec) {
+		int start = buffer.position();
+		int length = recordLength(start);
+		if(length < 0){
+			return false;
+		}
+		buffer.limit(start + length).position(start + LENGTH_BYTES);
+		try {
+			eventCodec.decode(buffer, event);
+		} finally {
+			buffer.limit(buffer.capacity()).position(start + length);
+		}
+		return true;
+	}
+
+	/**
+	 * @return records from the position to the end, without decoding them
+	 */
+	int countRecords() {
+		int count = 0;
+		int length;
+		for(int position = buffer.position(); (length = recordLength(position)) >= 0; position += length){
+			count++;
+		}
+		return count;
+	}
+
+	private int endOfRecords() {
+		int position = 0;
+		int length;
+		while((length = recordLength(position)) >= 0){
+			position += length;
+		}
+		return position;
+	}
+
+	/**
+	 * @return length of the record at a position, -1 when there is no complete record
+	 */
+	private int recordLength(int position) {
+		if(buffer.capacity() - position <= LENGTH_BYTES){
+			return -1;
+		}
+		int length = buffer.getInt(position);
+		return length < LENGTH_BYTES || length > buffer.capacity() - position ? -1 : length;
+	}
+
+	void force() {
+		buffer.force();
+	}
+
+	/**
+	 * Unmap the file now instead of when the buffer is garbage collected, so a deleted segment file frees its disk space.
+	 * The segment must not be used after this.
+	 */
+	void close() {
+		try {
+			if(INVOKE_CLEANER != null){
+				INVOKE_CLEANER.invoke(UNSAFE, buffer);
+			}else{
+				Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+				cleanerMethod.setAccessible(true);
+				Object cleaner = cleanerMethod.invoke(buffer);
+				if(cleaner != null){
+					cleaner.getClass().getMethod("clean").invoke(cleaner);
+				}
+			}
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			if(UNMAP_FAILURE_LOGGED.compareAndSet(false, true)){
+				LOG.warn("Can not unmap journal segments, they are unmapped when garbage collected: {}", e.toString());
+			}
+		}
+	}
+
+	/**
+	 * @return true when segments are unmapped on {@link #close()}, false on a JVM without a way to unmap them
+	 */
+	static boolean canUnmap() {
+		return INVOKE_CLEANER != null || System.getProperty("java.specification.version").startsWith("1.");
+	}
+
+	boolean isEmpty() {
+		return buffer.position() == 0;
+	}
+
+	int getPosition() {
+		return buffer.position();
+	}
+
+	void setPosition(int position) {
+		buffer.position(position);
+	}
+
+	int getSize() {
+		return buffer.capacity();
+	}
+
+	long getIndex() {
+		return index;
+	}
+
+	File getFile() {
+		return file;
+	}
+}
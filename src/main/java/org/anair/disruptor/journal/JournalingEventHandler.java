@@ -0,0 +1,265 @@
+package org.anair.disruptor.journal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.anair.disruptor.WarmupAware;
+import org.anair.disruptor.codec.EventCodec;
+import org.anair.disruptor.codec.EventCodecAware;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.LifecycleAware;
+import com.lmax.disruptor.TimeoutHandler;
+
+/**
+ * Event handler that appends every event to a journal of memory mapped segment files, encoded by a {@link EventCodec}.
+ * <p>Events are encoded straight into the mapped file, which costs a memory copy and no system call. At the end of each
+ * Disruptor batch the written events are forced to disk according to the {@link FsyncPolicy}. A new segment of
+ * {@code segmentSize} bytes is started when a event does not fit in the current one, and on every start, so the segments
+ * of earlier runs are never written again.
+ * <p>Put it first in the {@link org.anair.disruptor.EventHandlerChain}, so business event handlers only see journaled events.
+ * Set it as {@code replayJournal} of the disruptor bean to replay the journal on init. Replayed events are not journaled again, warm-up events are not journaled at all.
+ * Snapshots of the disruptor are cut here, see {@link Snapshotter}.
+ *
+ * <pre>{@code
+ * <bean id="journalBillingEventProcessor" class="org.anair.disruptor.journal.JournalingEventHandler"
+ * 		p:journalDirectory="/var/billing/journal" p:journalName="billing" p:eventCodec-ref="billingEventCodec"/>
+ * }</pre>
+ *
+ * @author Anoop Nair
+ *
+ * @param <T>
+ */
+public class JournalingEventHandler<T> implements EventHandler<T>, LifecycleAware, TimeoutHandler, ReplayAware, WarmupAware, EventCodecAware<T> {
+	private static final Logger LOG = LoggerFactory.getLogger(JournalingEventHandler.class);
+
+	public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+	public static final long DEFAULT_FSYNC_INTERVAL_MILLIS = 1000;
+
+	private EventCodec<T> eventCodec;
+	private File journalDirectory;
+	private String journalName;
+	private int segmentSize = DEFAULT_SEGMENT_SIZE;
+	private FsyncPolicy fsyncPolicy = FsyncPolicy.EVERY_BATCH;
+	private long fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_FSYNC_INTERVAL_MILLIS);
+
+	private JournalSegment segment;
+	private boolean unforced;
+	private long lastFsyncNanos;
+	private final AtomicLong journaledCount = new AtomicLong();
+	private final AtomicLong fsyncCount = new AtomicLong();
+	private long lastReplayedSequence = -1L;
+	private long lastWarmupSequence = -1L;
+	private volatile Snapshot snapshotRequest;
+
+	@Override
+	public void onEvent(T event, long sequence, boolean endOfBatch) throws Exception {
+		if(sequence <= lastReplayedSequence || sequence <= lastWarmupSequence){
+			return;
+		}
+		Validate.validState(segment != null, "Journal %s is not open.", journalName);
+		Snapshot snapshot = snapshotRequest;
+		if(snapshot != null){
+			snapshotRequest = null;
+			snapshot.cut(sequence - 1, new JournalPosition(segment.getIndex(), segment.getPosition()));
+		}
+		if(!segment.append(event, eventCodec)){
+			rollSegment();
+			if(!segment.append(event, eventCodec)){
+				throw new IllegalArgumentException("Event at sequence " + sequence + " does not fit in a empty journal segment of " + segmentSize + " bytes.");
+			}
+		}
+		unforced = true;
+		journaledCount.lazySet(journaledCount.get() + 1);
+
+		if(endOfBatch){
+			if(fsyncPolicy == FsyncPolicy.EVERY_BATCH
+					|| fsyncPolicy == FsyncPolicy.INTERVAL && System.nanoTime() - lastFsyncNanos >= fsyncIntervalNanos){
+				fsync();
+			}
+		}
+	}
+
+	/**
+	 * Force the written events of a {@link FsyncPolicy#INTERVAL} journal when no more events arrive.
+	 */
+	@Override
+	public void onTimeout(long sequence) throws Exception {
+		if(fsyncPolicy != FsyncPolicy.NEVER){
+			fsync();
+		}
+	}
+
+	/**
+	 * Open a new segment after the segments of earlier runs.
+	 */
+	@Override
+	public void onStart() {
+		Validate.notNull(eventCodec, "Define a eventCodec for journal %s", journalName);
+		Validate.notNull(journalDirectory, "Define a journalDirectory for journal %s", journalName);
+		Validate.notBlank(journalName, "Define a journalName");
+		Validate.validState(journalDirectory.isDirectory() || journalDirectory.mkdirs(), "Can not create journal directory %s", journalDirectory);
+
+		List<Long> segmentIndexes = JournalSegment.segmentIndexes(journalDirectory, journalName);
+		long index = segmentIndexes.isEmpty() ? 0 : segmentIndexes.get(segmentIndexes.size() - 1) + 1;
+		segment = openSegment(index);
+		lastFsyncNanos = System.nanoTime();
+		LOG.info("Journaling to {} with fsync policy {}.", segment.getFile(), fsyncPolicy);
+	}
+
+	/**
+	 * Force the written events to disk, unless the policy is {@link FsyncPolicy#NEVER}, and unmap the segment.
+	 */
+	@Override
+	public void onShutdown() {
+		if(segment != null){
+			if(fsyncPolicy != FsyncPolicy.NEVER){
+				fsync();
+			}
+			segment.close();
+			segment = null;
+			LOG.info("Closed journal {} after {} events.", journalName, getJournaledCount());
+		}
+	}
+
+	@Override
+	public void setLastReplayedSequence(long lastReplayedSequence) {
+		this.lastReplayedSequence = lastReplayedSequence;
+	}
+
+	@Override
+	public void setLastWarmupSequence(long lastWarmupSequence) {
+		this.lastWarmupSequence = lastWarmupSequence;
+	}
+
+	/**
+	 * Cut the snapshot before the next live event.
+	 */
+	void requestSnapshot(Snapshot snapshot) {
+		this.snapshotRequest = snapshot;
+	}
+
+	private void rollSegment() {
+		if(fsyncPolicy != FsyncPolicy.NEVER){
+			fsync();
+		}
+		Validate.isTrue(!segment.isEmpty(), "Event does not fit in a empty journal segment of %d bytes.", segmentSize);
+		JournalSegment fullSegment = segment;
+		segment = openSegment(fullSegment.getIndex() + 1);
+		fullSegment.close();
+		LOG.debug("Journal rolled to {}.", segment.getFile());
+	}
+
+	private JournalSegment openSegment(long index) {
+		try {
+			return JournalSegment.open(journalDirectory, journalName, index, segmentSize);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Can not open journal segment " + JournalSegment.segmentFile(journalDirectory, journalName, index), e);
+		}
+	}
+
+	private void fsync() {
+		if(unforced){
+			segment.force();
+			unforced = false;
+			fsyncCount.lazySet(fsyncCount.get() + 1);
+		}
+		lastFsyncNanos = System.nanoTime();
+	}
+
+	/**
+	 * @return events written to the journal since start
+	 */
+	public long getJournaledCount() {
+		return journaledCount.get();
+	}
+
+	/**
+	 * @return times the written events were forced to disk
+	 */
+	public long getFsyncCount() {
+		return fsyncCount.get();
+	}
+
+	@Override
+	public EventCodec<T> getEventCodec() {
+		return eventCodec;
+	}
+
+	/**
+	 * @param eventCodec codec of the journal, the {@code eventCodec} of the disruptor bean when not set
+	 */
+	@Override
+	public void setEventCodec(EventCodec<T> eventCodec) {
+		this.eventCodec = eventCodec;
+	}
+
+	public File getJournalDirectory() {
+		return journalDirectory;
+	}
+
+	public void setJournalDirectory(File journalDirectory) {
+		this.journalDirectory = journalDirectory;
+	}
+
+	public String getJournalName() {
+		return journalName;
+	}
+
+	/**
+	 * Prefix of the segment file names. Journals sharing a directory need different names.
+	 *
+	 * @param journalName
+	 */
+	public void setJournalName(String journalName) {
+		this.journalName = journalName;
+	}
+
+	public int getSegmentSize() {
+		return segmentSize;
+	}
+
+	/**
+	 * Size in bytes of a segment file. Default 64 MB.
+	 *
+	 * @param segmentSize
+	 */
+	public void setSegmentSize(int segmentSize) {
+		Validate.isTrue(segmentSize > JournalSegment.LENGTH_BYTES, "Journal segment size is too small: %d", segmentSize);
+		this.segmentSize = segmentSize;
+	}
+
+	public FsyncPolicy getFsyncPolicy() {
+		return fsyncPolicy;
+	}
+
+	/**
+	 * Default {@link FsyncPolicy#EVERY_BATCH}.
+	 *
+	 * @param fsyncPolicy
+	 */
+	public void setFsyncPolicy(FsyncPolicy fsyncPolicy) {
+		this.fsyncPolicy = Validate.notNull(fsyncPolicy);
+	}
+
+	public long getFsyncIntervalMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(fsyncIntervalNanos);
+	}
+
+	/**
+	 * Time between forces of a {@link FsyncPolicy#INTERVAL} journal. Default 1000.
+	 *
+	 * @param fsyncIntervalMillis
+	 */
+	public void setFsyncIntervalMillis(long fsyncIntervalMillis) {
+		Validate.isTrue(fsyncIntervalMillis >= 0, "Fsync interval must not be negative: %d", fsyncIntervalMillis);
+		this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis);
+	}
+}
@@ -0,0 +1,18 @@
+package org.anair.disruptor.journal;
+
+/**
+ * Implemented by event and work handlers that treat events replayed from a journal differently from live events, 
+ * for example to not send them downstream again.
+ * 
+ * @author Anoop Nair
+ *
+ */
+public interface ReplayAware {
+	
+	/**
+	 * Called before the event processors start. Events up to this sequence are replayed from the journal, later events are live.
+	 * 
+	 * @param lastReplayedSequence -1 when nothing is replayed
+	 */
+	void setLastReplayedSequence(long lastReplayedSequence);
+}
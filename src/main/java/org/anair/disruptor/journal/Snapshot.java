@@ -0,0 +1,88 @@
+package org.anair.disruptor.journal;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A snapshot of a journal and the event handlers of its disruptor.
+ * <p>The journaling event handler cuts it between two events: the {@code sequence} of the last event in the snapshot and the
+ * journal position after it. Every {@link SnapshotAware} event handler then writes its state before processing the next event.
+ *
+ * @author Anoop Nair
+ *
+ */
+final class Snapshot {
+
+	private final long id;
+	private final AtomicInteger pending;
+	private final Set<String> writers = ConcurrentHashMap.newKeySet();
+	private final Snapshotter<?> snapshotter;
+	private volatile long sequence = Long.MIN_VALUE;
+	private volatile JournalPosition journalPosition;
+	private volatile boolean failed;
+
+	/**
+	 * @param participants event handlers writing their state plus the journaling event handler
+	 */
+	Snapshot(long id, int participants, Snapshotter<?> snapshotter) {
+		this.id = id;
+		this.pending = new AtomicInteger(participants);
+		this.snapshotter = snapshotter;
+	}
+
+	static Snapshot complete(long id, long sequence, JournalPosition journalPosition) {
+		Snapshot snapshot = new Snapshot(id, 0, null);
+		snapshot.journalPosition = journalPosition;
+		snapshot.sequence = sequence;
+		return snapshot;
+	}
+
+	/**
+	 * Cut the snapshot. Called by the journaling event handler before it journals the event after {@code sequence}.
+	 */
+	void cut(long sequence, JournalPosition journalPosition) {
+		this.journalPosition = journalPosition;
+		this.sequence = sequence;
+		written();
+	}
+
+	/**
+	 * @return false when the event handler already wrote its state, so it counts once
+	 */
+	boolean writing(String eventHandlerName) {
+		return writers.add(eventHandlerName);
+	}
+
+	/**
+	 * A participant is done. The last one completes the snapshot.
+	 */
+	void written() {
+		if(pending.decrementAndGet() == 0){
+			snapshotter.complete(this);
+		}
+	}
+
+	void fail() {
+		failed = true;
+	}
+
+	boolean isFailed() {
+		return failed;
+	}
+
+	long getId() {
+		return id;
+	}
+
+	/**
+	 * @return sequence of the last event in the snapshot, {@link Long#MIN_VALUE} until it is cut
+	 */
+	long getSequence() {
+		return sequence;
+	}
+
+	JournalPosition getJournalPosition() {
+		return journalPosition;
+	}
+}
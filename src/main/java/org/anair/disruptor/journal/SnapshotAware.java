@@ -0,0 +1,33 @@
+package org.anair.disruptor.journal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Implemented by event handlers that keep state in memory built from the events, to save it in snapshots of a disruptor 
+ * with a {@code snapshotDirectory}. Recovery then reads the last snapshot and replays only the journal after it.
+ * <p>Event handlers implementing it must depend on the journaling event handler, directly or through other stages.
+ * 
+ * @author Anoop Nair
+ *
+ */
+public interface SnapshotAware {
+	
+	/**
+	 * Write the state after the last processed event. Called on the event processor thread between two events, 
+	 * so the state is consistent with the journal position of the snapshot. Event handlers buffering events must write them too.
+	 * 
+	 * @param out closed by the caller
+	 * @throws IOException fails the snapshot
+	 */
+	void writeSnapshot(OutputStream out) throws IOException;
+	
+	/**
+	 * Restore the state of the last complete snapshot. Called on init before the event processors start and the journal tail is replayed.
+	 * 
+	 * @param in closed by the caller
+	 * @throws IOException fails the disruptor init
+	 */
+	void readSnapshot(InputStream in) throws IOException;
+}
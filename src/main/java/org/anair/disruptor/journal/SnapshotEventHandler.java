@@ -0,0 +1,70 @@
+package org.anair.disruptor.journal;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.LifecycleAware;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceReportingEventHandler;
+import com.lmax.disruptor.TimeoutHandler;
+
+/**
+ * Wraps a {@link SnapshotAware} event handler and writes its state before the first event after a snapshot cut.
+ * <p>Lifecycle, timeout and sequence callbacks are passed on to the wrapped handler when it implements them.
+ *
+ * @author Anoop Nair
+ *
+ * @param <T>
+ */
+final class SnapshotEventHandler<T> implements SequenceReportingEventHandler<T>, LifecycleAware, TimeoutHandler {
+
+	private final EventHandler<T> eventHandler;
+	private final String name;
+	private final Snapshotter<T> snapshotter;
+
+	SnapshotEventHandler(EventHandler<T> eventHandler, String name, Snapshotter<T> snapshotter) {
+		this.eventHandler = eventHandler;
+		this.name = name;
+		this.snapshotter = snapshotter;
+	}
+
+	@Override
+	public void onEvent(T event, long sequence, boolean endOfBatch) throws Exception {
+		Snapshot snapshot = snapshotter.getPendingSnapshot();
+		if(snapshot != null && sequence == snapshot.getSequence() + 1){
+			snapshotter.write(snapshot, name, (SnapshotAware) eventHandler);
+		}
+		eventHandler.onEvent(event, sequence, endOfBatch);
+	}
+
+	@Override
+	public void setSequenceCallback(Sequence sequenceCallback) {
+		if(eventHandler instanceof SequenceReportingEventHandler){
+			((SequenceReportingEventHandler<T>) eventHandler).setSequenceCallback(sequenceCallback);
+		}
+	}
+
+	@Override
+	public void onStart() {
+		if(eventHandler instanceof LifecycleAware){
+			((LifecycleAware) eventHandler).onStart();
+		}
+	}
+
+	@Override
+	public void onShutdown() {
+		if(eventHandler instanceof LifecycleAware){
+			((LifecycleAware) eventHandler).onShutdown();
+		}
+	}
+
+	@Override
+	public void onTimeout(long sequence) throws Exception {
+		if(eventHandler instanceof TimeoutHandler){
+			((TimeoutHandler) eventHandler).onTimeout(sequence);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return eventHandler.toString();
+	}
+}
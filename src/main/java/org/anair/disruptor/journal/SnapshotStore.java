@@ -0,0 +1,149 @@
+package org.anair.disruptor.journal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Snapshot files of a journal. Every snapshot is a directory {@code <journalName>-<id>.snapshot} with a file per event handler
+ * and a {@value #MANIFEST} holding the sequence and journal position. The manifest is written last, a snapshot without one is incomplete.
+ *
+ * @author Anoop Nair
+ *
+ */
+final class SnapshotStore {
+
+	static final String MANIFEST = "snapshot.properties";
+	private static final String SUFFIX = ".snapshot";
+
+	private final File snapshotDirectory;
+	private final String journalName;
+
+	SnapshotStore(File snapshotDirectory, String journalName) {
+		this.snapshotDirectory = snapshotDirectory;
+		this.journalName = journalName;
+	}
+
+	/**
+	 * @return id after the last snapshot, complete or not
+	 */
+	long nextId() {
+		List<Long> ids = ids();
+		return ids.isEmpty() ? 0 : ids.get(ids.size() - 1) + 1;
+	}
+
+	/**
+	 * @return the last complete snapshot, null when there is none
+	 */
+	Snapshot latest() throws IOException {
+		List<Long> ids = ids();
+		for(int i=ids.size()-1;i>=0;i--){
+			File manifest = new File(directory(ids.get(i)), MANIFEST);
+			if(manifest.isFile()){
+				Properties properties = new Properties();
+				try(InputStream in = new FileInputStream(manifest)) {
+					properties.load(in);
+				}
+				return Snapshot.complete(ids.get(i), Long.parseLong(properties.getProperty("sequence")),
+						new JournalPosition(Long.parseLong(properties.getProperty("journalSegment")), Integer.parseInt(properties.getProperty("journalOffset"))));
+			}
+		}
+		return null;
+	}
+
+	void write(Snapshot snapshot, String eventHandlerName, SnapshotAware eventHandler) throws IOException {
+		File directory = directory(snapshot.getId());
+		if(!directory.isDirectory() && !directory.mkdirs()){
+			throw new IOException("Can not create snapshot directory " + directory);
+		}
+		try(FileOutputStream file = new FileOutputStream(new File(directory, eventHandlerName + SUFFIX))) {
+			OutputStream out = new BufferedOutputStream(file);
+			eventHandler.writeSnapshot(out);
+			out.flush();
+			file.getFD().sync();
+		}
+	}
+
+	/**
+	 * @return false when the snapshot has no file for the event handler
+	 */
+	boolean read(Snapshot snapshot, String eventHandlerName, SnapshotAware eventHandler) throws IOException {
+		File file = new File(directory(snapshot.getId()), eventHandlerName + SUFFIX);
+		if(!file.isFile()){
+			return false;
+		}
+		try(InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+			eventHandler.readSnapshot(in);
+		}
+		return true;
+	}
+
+	/**
+	 * Write the manifest, which makes the snapshot the one to recover from.
+	 */
+	void complete(Snapshot snapshot) throws IOException {
+		File directory = directory(snapshot.getId());
+		if(!directory.isDirectory() && !directory.mkdirs()){
+			throw new IOException("Can not create snapshot directory " + directory);
+		}
+		Properties properties = new Properties();
+		properties.setProperty("sequence", String.valueOf(snapshot.getSequence()));
+		properties.setProperty("journalSegment", String.valueOf(snapshot.getJournalPosition().getSegmentIndex()));
+		properties.setProperty("journalOffset", String.valueOf(snapshot.getJournalPosition().getOffset()));
+		File tmp = new File(directory, MANIFEST + ".tmp");
+		try(FileOutputStream out = new FileOutputStream(tmp)) {
+			properties.store(out, "Snapshot of journal " + journalName);
+			out.getFD().sync();
+		}
+		Files.move(tmp.toPath(), new File(directory, MANIFEST).toPath(), StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Delete the snapshots before a snapshot, complete or not.
+	 */
+	void deleteBefore(long id) {
+		for(long olderId : ids()){
+			if(olderId < id){
+				File directory = directory(olderId);
+				File[] files = directory.listFiles();
+				for(File file : files == null ? new File[0] : files){
+					file.delete();
+				}
+				directory.delete();
+			}
+		}
+	}
+
+	File directory(long id) {
+		return new File(snapshotDirectory, String.format("%s-%010d%s", journalName, id, SUFFIX));
+	}
+
+	private List<Long> ids() {
+		List<Long> ids = new ArrayList<>();
+		String[] fileNames = snapshotDirectory.list();
+		String prefix = journalName + "-";
+		for(String fileName : fileNames == null ? new String[0] : fileNames){
+			if(fileName.startsWith(prefix) && fileName.endsWith(SUFFIX)){
+				String id = fileName.substring(prefix.length(), fileName.length() - SUFFIX.length());
+				if(StringUtils.isNumeric(id)){
+					ids.add(Long.parseLong(id));
+				}
+			}
+		}
+		Collections.sort(ids);
+		return ids;
+	}
+}
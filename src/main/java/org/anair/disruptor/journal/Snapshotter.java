@@ -0,0 +1,158 @@
+package org.anair.disruptor.journal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.lmax.disruptor.EventHandler;
+
+/**
+ * Takes snapshots of the {@link SnapshotAware} event handlers of a disruptor and truncates its journal.
+ * <p>A snapshot is cut by the journaling event handler with the next event it journals, the barrier every snapshot aware event handler
+ * waits for. Each of them writes its state on its own thread before processing the first event after the cut, so publishers are never stopped.
+ * Once all states are written the snapshot is completed, older snapshots and the journal segments before its position are deleted.
+ * <p>On recovery the last complete snapshot is read and the journal is replayed from its position.
+ *
+ * @author Anoop Nair
+ *
+ * @param <T>
+ */
+public class Snapshotter<T> {
+	private static final Logger LOG = LoggerFactory.getLogger(Snapshotter.class);
+
+	private final JournalingEventHandler<T> journal;
+	private final SnapshotStore snapshotStore;
+	private final Map<String, SnapshotAware> eventHandlers = new LinkedHashMap<String, SnapshotAware>();
+	private final AtomicReference<Snapshot> pendingSnapshot = new AtomicReference<Snapshot>();
+	private volatile Snapshot lastSnapshot;
+
+	public Snapshotter(File snapshotDirectory, JournalingEventHandler<T> journal) {
+		Validate.notNull(snapshotDirectory, "Define a snapshotDirectory");
+		this.journal = Validate.notNull(journal, "Define the journaling event handler to snapshot");
+		Validate.notBlank(journal.getJournalName(), "Define a journalName");
+		this.snapshotStore = new SnapshotStore(snapshotDirectory, journal.getJournalName());
+	}
+
+	/**
+	 * Wrap a snapshot aware event handler to write its state when a snapshot is cut.
+	 *
+	 * @param eventHandler implements {@link SnapshotAware}
+	 * @param eventHandlerName unique name, used as snapshot file name
+	 */
+	public EventHandler<T> wrap(EventHandler<T> eventHandler, String eventHandlerName) {
+		Validate.isTrue(eventHandler instanceof SnapshotAware, "Event handler %s is not SnapshotAware", eventHandlerName);
+		Validate.isTrue(!eventHandlers.containsKey(eventHandlerName), "Duplicate event handler name %s", eventHandlerName);
+		eventHandlers.put(eventHandlerName, (SnapshotAware) eventHandler);
+		return new SnapshotEventHandler<T>(eventHandler, eventHandlerName, this);
+	}
+
+	/**
+	 * Read the last complete snapshot into the event handlers, before the event processors start.
+	 *
+	 * @return journal position to replay from, null to replay the whole journal when there is no snapshot
+	 */
+	public JournalPosition restore() {
+		try {
+			Snapshot snapshot = snapshotStore.latest();
+			if(snapshot == null){
+				return null;
+			}
+			for(Map.Entry<String, SnapshotAware> entry : eventHandlers.entrySet()){
+				if(!snapshotStore.read(snapshot, entry.getKey(), entry.getValue())){
+					LOG.warn("Snapshot {} of journal {} has no state of event handler {}.", snapshot.getId(), journal.getJournalName(), entry.getKey());
+				}
+			}
+			lastSnapshot = snapshot;
+			LOG.info("Restored snapshot {} of journal {}. Replaying the journal from {}.", snapshot.getId(), journal.getJournalName(), snapshot.getJournalPosition());
+			return snapshot.getJournalPosition();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Can not restore snapshot of journal " + journal.getJournalName(), e);
+		}
+	}
+
+	/**
+	 * Cut a snapshot with the next journaled event. Returns before the snapshot is written.
+	 *
+	 * @throws IllegalStateException when a snapshot is in progress
+	 */
+	public void takeSnapshot() {
+		Snapshot snapshot = new Snapshot(snapshotStore.nextId(), eventHandlers.size() + 1, this);
+		Validate.validState(pendingSnapshot.compareAndSet(null, snapshot), "A snapshot of journal %s is in progress.", journal.getJournalName());
+		journal.requestSnapshot(snapshot);
+		LOG.info("Requested snapshot {} of journal {}.", snapshot.getId(), journal.getJournalName());
+	}
+
+	Snapshot getPendingSnapshot() {
+		return pendingSnapshot.get();
+	}
+
+	/**
+	 * Write the state of a event handler once, a repeated call for the same snapshot does nothing.
+	 */
+	void write(Snapshot snapshot, String eventHandlerName, SnapshotAware eventHandler) {
+		if(!snapshot.writing(eventHandlerName)){
+			return;
+		}
+		try {
+			snapshotStore.write(snapshot, eventHandlerName, eventHandler);
+		} catch (IOException | RuntimeException e) {
+			snapshot.fail();
+			LOG.error("Event handler " + eventHandlerName + " failed to write snapshot " + snapshot.getId() + " of journal " + journal.getJournalName(), e);
+		} finally {
+			snapshot.written();
+		}
+	}
+
+	/**
+	 * Write the manifest and delete what the snapshot replaces. Called by the last participant.
+	 */
+	void complete(Snapshot snapshot) {
+		try {
+			if(snapshot.isFailed()){
+				LOG.error("Snapshot {} of journal {} failed. Nothing was deleted.", snapshot.getId(), journal.getJournalName());
+				return;
+			}
+			snapshotStore.complete(snapshot);
+			lastSnapshot = snapshot;
+			snapshotStore.deleteBefore(snapshot.getId());
+			int deletedSegments = JournalSegment.deleteBefore(journal.getJournalDirectory(), journal.getJournalName(), snapshot.getJournalPosition().getSegmentIndex());
+			LOG.info("Completed snapshot {} of journal {} at sequence {}. Deleted {} journal segment(s) before {}.",
+					snapshot.getId(), journal.getJournalName(), snapshot.getSequence(), deletedSegments, snapshot.getJournalPosition());
+		} catch (IOException | RuntimeException e) {
+			LOG.error("Can not complete snapshot " + snapshot.getId() + " of journal " + journal.getJournalName(), e);
+		} finally {
+			pendingSnapshot.compareAndSet(snapshot, null);
+		}
+	}
+
+	/**
+	 * @return true while a snapshot is cut or written
+	 */
+	public boolean isSnapshotInProgress() {
+		return pendingSnapshot.get() != null;
+	}
+
+	/**
+	 * @return sequence of the last event in the last complete snapshot, -1 when there is none.
+	 * Sequences of snapshots restored on init are sequences of the earlier run.
+	 */
+	public long getLastSnapshotSequence() {
+		Snapshot snapshot = lastSnapshot;
+		return snapshot == null ? -1L : snapshot.getSequence();
+	}
+
+	/**
+	 * @return id, sequence and journal position of the last complete snapshot, null when there is none
+	 */
+	public String getLastSnapshot() {
+		Snapshot snapshot = lastSnapshot;
+		return snapshot == null ? null : "Snapshot " + snapshot.getId() + " at sequence " + snapshot.getSequence() + ", journal " + snapshot.getJournalPosition();
+	}
+}
@@ -0,0 +1,102 @@
+package org.anair.disruptor.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear histogram of nanosecond latencies.
+ * <p>Every power of two is split into {@value #SUB_BUCKET_COUNT} linear buckets, so a reported value is at most ~3% above the 
+ * recorded value. Values below {@value #SUB_BUCKET_COUNT} ns are exact.
+ * 
+ * <p>Recording is lock-free and allocation free, but assumes a <b>single writer</b>: the event processor thread 
+ * of the measured event handler. Writes are ordered stores ({@code lazySet}), so recording costs no memory fence. 
+ * Any thread may read. Reads are not an atomic snapshot, which is fine for monitoring.
+ * 
+ * @author Anoop Nair
+ *
+ */
+public class LatencyHistogram {
+	
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+	
+	private static final int COUNT = 0;
+	private static final int SUM = 1;
+	private static final int MAX = 2;
+	
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLongArray totals = new AtomicLongArray(3);
+	
+	/**
+	 * Record a latency. Negative values are recorded as 0.
+	 * <p>Must only be called by one thread.
+	 * 
+	 * @param nanos
+	 */
+	public void record(long nanos) {
+		long value = Math.max(0L, nanos);
+		int index = bucketIndex(value);
+		counts.lazySet(index, counts.get(index) + 1);
+		totals.lazySet(SUM, totals.get(SUM) + value);
+		if(value > totals.get(MAX)){
+			totals.lazySet(MAX, value);
+		}
+		totals.lazySet(COUNT, totals.get(COUNT) + 1);
+	}
+	
+	public long getCount() {
+		return totals.get(COUNT);
+	}
+	
+	public long getMax() {
+		return totals.get(MAX);
+	}
+	
+	public long getMean() {
+		long n = totals.get(COUNT);
+		return n == 0 ? 0 : totals.get(SUM) / n;
+	}
+	
+	/**
+	 * @param percentile between 0 and 100, e.g. 99.9
+	 * @return the highest value of the bucket holding the percentile, capped at the recorded max. 0 if nothing was recorded.
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long total = 0;
+		for(int i=0;i<BUCKET_COUNT;i++){
+			total += counts.get(i);
+		}
+		if(total == 0){
+			return 0;
+		}
+		
+		long target = Math.max(1L, (long) Math.ceil(Math.min(100.0, percentile) / 100.0 * total));
+		long seen = 0;
+		for(int i=0;i<BUCKET_COUNT;i++){
+			seen += counts.get(i);
+			if(seen >= target){
+				return Math.min(highestValueInBucket(i), getMax());
+			}
+		}
+		return getMax();
+	}
+	
+	static int bucketIndex(long value) {
+		if(value < SUB_BUCKET_COUNT){
+			return (int) value;
+		}
+		int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		int shift = magnitude - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+		return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+	}
+	
+	static long highestValueInBucket(int index) {
+		if(index < SUB_BUCKET_COUNT){
+			return index;
+		}
+		int shift = index / SUB_BUCKET_COUNT - 1;
+		long top = SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT;
+		return ((top + 1) << shift) - 1;
+	}
+}
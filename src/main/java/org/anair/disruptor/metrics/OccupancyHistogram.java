@@ -0,0 +1,102 @@
+package org.anair.disruptor.metrics;
+
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of ring buffer occupancy: events published and not yet processed by the last event handlers.
+ * <p>Occupancies are counted in power of two buckets {@code 0, 1, 2-3, 4-7, ...}, the same steps ring buffer sizes grow in.
+ * The high watermark is exact.
+ *
+ * <p>Like {@link LatencyHistogram}, recording assumes a <b>single writer</b>, the occupancy sampler thread, and any thread may read.
+ *
+ * @author Anoop Nair
+ *
+ */
+public class OccupancyHistogram {
+
+	private static final int BUCKET_COUNT = 64;
+
+	private static final int COUNT = 0;
+	private static final int HIGH_WATERMARK = 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLongArray totals = new AtomicLongArray(2);
+
+	/**
+	 * Record a occupancy sample. Negative values are recorded as 0.
+	 * <p>Must only be called by one thread.
+	 *
+	 * @param occupancy
+	 */
+	public void record(long occupancy) {
+		long value = Math.max(0L, occupancy);
+		int index = bucketIndex(value);
+		counts.lazySet(index, counts.get(index) + 1);
+		if(value > totals.get(HIGH_WATERMARK)){
+			totals.lazySet(HIGH_WATERMARK, value);
+		}
+		totals.lazySet(COUNT, totals.get(COUNT) + 1);
+	}
+
+	public long getCount() {
+		return totals.get(COUNT);
+	}
+
+	/**
+	 * @return highest occupancy sampled
+	 */
+	public long getHighWatermark() {
+		return totals.get(HIGH_WATERMARK);
+	}
+
+	/**
+	 * @param percentile between 0 and 100, e.g. 99.9
+	 * @return the highest occupancy of the bucket holding the percentile, capped at the high watermark. 0 if nothing was recorded.
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long total = 0;
+		for(int i=0;i<BUCKET_COUNT;i++){
+			total += counts.get(i);
+		}
+		if(total == 0){
+			return 0;
+		}
+
+		long target = Math.max(1L, (long) Math.ceil(Math.min(100.0, percentile) / 100.0 * total));
+		long seen = 0;
+		for(int i=0;i<BUCKET_COUNT;i++){
+			seen += counts.get(i);
+			if(seen >= target){
+				return Math.min(highestValueInBucket(i), getHighWatermark());
+			}
+		}
+		return getHighWatermark();
+	}
+
+	/**
+	 * Print the share of samples in every non empty bucket, like {@code {0: 90.0% | 1: 6.0% | 2-3: 4.0%}}.
+	 */
+	public String printBuckets() {
+		StringJoiner str = new StringJoiner(" | ", "{", "}");
+		long total = getCount();
+		for(int i=0;i<BUCKET_COUNT && total > 0;i++){
+			long count = counts.get(i);
+			if(count > 0){
+				long lowest = i == 0 ? 0 : 1L << (i - 1);
+				long highest = highestValueInBucket(i);
+				String bucket = lowest == highest ? String.valueOf(lowest) : lowest + "-" + highest;
+				str.add(bucket + ": " + String.format("%.1f%%", count * 100.0 / total));
+			}
+		}
+		return str.toString();
+	}
+
+	static int bucketIndex(long value) {
+		return 64 - Long.numberOfLeadingZeros(value);
+	}
+
+	static long highestValueInBucket(int index) {
+		return index == 0 ? 0 : (1L << index) - 1;
+	}
+}
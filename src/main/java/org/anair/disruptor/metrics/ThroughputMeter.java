@@ -0,0 +1,53 @@
+package org.anair.disruptor.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Events per second over sliding windows, computed from samples of a ever increasing ring buffer sequence.
+ * <p>Samples are taken by a background thread once per {@value #SAMPLE_INTERVAL_SECONDS} second and the last 
+ * {@value #MAX_WINDOW_SECONDS} seconds are kept, so the event processors and publishers pay nothing for it.
+ * 
+ * @author Anoop Nair
+ *
+ */
+public class ThroughputMeter {
+	
+	public static final int SAMPLE_INTERVAL_SECONDS = 1;
+	public static final int MAX_WINDOW_SECONDS = 60;
+	private static final int CAPACITY = MAX_WINDOW_SECONDS / SAMPLE_INTERVAL_SECONDS + 1;
+	
+	private final long[] sequences = new long[CAPACITY];
+	private final long[] timestamps = new long[CAPACITY];
+	private int count;
+	private int next;
+	
+	/**
+	 * @param sequence current sequence
+	 * @param nanoTime {@link System#nanoTime()} of the sample
+	 */
+	public synchronized void sample(long sequence, long nanoTime) {
+		sequences[next] = sequence;
+		timestamps[next] = nanoTime;
+		next = (next + 1) % CAPACITY;
+		count = Math.min(count + 1, CAPACITY);
+	}
+	
+	/**
+	 * @param windowSeconds between {@value #SAMPLE_INTERVAL_SECONDS} and {@value #MAX_WINDOW_SECONDS}
+	 * @return events per second over the window, or over all samples when less than the window has been sampled. 0 before the second sample.
+	 */
+	public synchronized double getRate(int windowSeconds) {
+		if(count < 2){
+			return 0;
+		}
+		int samplesBack = Math.min(windowSeconds / SAMPLE_INTERVAL_SECONDS, count - 1);
+		int newest = (next - 1 + CAPACITY) % CAPACITY;
+		int oldest = (newest - samplesBack + CAPACITY) % CAPACITY;
+		
+		long elapsedNanos = timestamps[newest] - timestamps[oldest];
+		if(elapsedNanos <= 0){
+			return 0;
+		}
+		return (sequences[newest] - sequences[oldest]) * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+	}
+}
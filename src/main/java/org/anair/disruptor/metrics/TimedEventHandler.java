@@ -0,0 +1,85 @@
+package org.anair.disruptor.metrics;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.LifecycleAware;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceReportingEventHandler;
+import com.lmax.disruptor.TimeoutHandler;
+
+/**
+ * Wraps a event handler and records the time spent in each {@link EventHandler#onEvent(Object, long, boolean)} call
+ * in a {@link LatencyHistogram}.
+ * <p>Lifecycle, timeout and sequence callbacks are passed on to the wrapped handler when it implements them.
+ * 
+ * @author Anoop Nair
+ *
+ * @param <T>
+ */
+public class TimedEventHandler<T> implements SequenceReportingEventHandler<T>, LifecycleAware, TimeoutHandler {
+
+	private final EventHandler<T> eventHandler;
+	private final String name;
+	private volatile LatencyHistogram latencyHistogram = new LatencyHistogram();
+	
+	public TimedEventHandler(EventHandler<T> eventHandler, String name) {
+		this.eventHandler = eventHandler;
+		this.name = name;
+	}
+
+	@Override
+	public void onEvent(T event, long sequence, boolean endOfBatch) throws Exception {
+		final long start = System.nanoTime();
+		try {
+			eventHandler.onEvent(event, sequence, endOfBatch);
+		} finally {
+			latencyHistogram.record(System.nanoTime() - start);
+		}
+	}
+	
+	/**
+	 * Start recording into a new histogram. A event being recorded while resetting may be lost.
+	 */
+	public void resetLatencyHistogram() {
+		latencyHistogram = new LatencyHistogram();
+	}
+	
+	public LatencyHistogram getLatencyHistogram() {
+		return latencyHistogram;
+	}
+	
+	public EventHandler<T> getEventHandler() {
+		return eventHandler;
+	}
+	
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public void setSequenceCallback(Sequence sequenceCallback) {
+		if(eventHandler instanceof SequenceReportingEventHandler){
+			((SequenceReportingEventHandler<T>) eventHandler).setSequenceCallback(sequenceCallback);
+		}
+	}
+
+	@Override
+	public void onStart() {
+		if(eventHandler instanceof LifecycleAware){
+			((LifecycleAware) eventHandler).onStart();
+		}
+	}
+
+	@Override
+	public void onShutdown() {
+		if(eventHandler instanceof LifecycleAware){
+			((LifecycleAware) eventHandler).onShutdown();
+		}
+	}
+
+	@Override
+	public void onTimeout(long sequence) throws Exception {
+		if(eventHandler instanceof TimeoutHandler){
+			((TimeoutHandler) eventHandler).onTimeout(sequence);
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package org.anair.disruptor.offheap;
+
+import org.anair.disruptor.codec.EventCodec;
+import org.apache.commons.lang3.Validate;
+
+import com.lmax.disruptor.EventFactory;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.LifecycleAware;
+
+/**
+ * Handle events published by a {@link CodecEventTranslator} with a event handler of heap events.
+ * Every slot is decoded into one heap event created by the {@code eventFactory}, which is reused for all events,
+ * so the event handler must copy what it keeps after {@code onEvent}.
+ * <p>Lifecycle callbacks are passed on to the event handler when it implements them.
+ *
+ * <pre>{@code
+ * <bean class="org.anair.disruptor.offheap.CodecEventHandler">
+ * 	<constructor-arg ref="billingEventCodec" />
+ * 	<constructor-arg ref="billingEventFactory" />
+ * 	<constructor-arg ref="billingBusinessEventProcessor" />
+ * </bean>
+ * }</pre>
+ *
+ * @author Anoop Nair
+ *
+ * @param <T> heap event
+ */
+public class CodecEventHandler<T> implements EventHandler<Flyweight>, LifecycleAware {
+
+	private final EventCodec<T> eventCodec;
+	private final EventHandler<T> eventHandler;
+	private final T heapEvent;
+	private final SlotView slotView = new SlotView();
+
+	public CodecEventHandler(EventCodec<T> eventCodec, EventFactory<T> eventFactory, EventHandler<T> eventHandler) {
+		this.eventCodec = Validate.notNull(eventCodec, "Define a eventCodec");
+		this.eventHandler = Validate.notNull(eventHandler, "Define a eventHandler");
+		this.heapEvent = Validate.notNull(eventFactory, "Define a eventFactory").newInstance();
+	}
+
+	@Override
+	public void onEvent(Flyweight event, long sequence, boolean endOfBatch) throws Exception {
+		eventCodec.decode(slotView.of(event, SlotView.LENGTH, event.getInt(0)), heapEvent);
+		eventHandler.onEvent(heapEvent, sequence, endOfBatch);
+	}
+
+	@Override
+	public void onStart() {
+		if(eventHandler instanceof LifecycleAware){
+			((LifecycleAware) eventHandler).onStart();
+		}
+	}
+
+	@Override
+	public void onShutdown() {
+		if(eventHandler instanceof LifecycleAware){
+			((LifecycleAware) eventHandler).onShutdown();
+		}
+	}
+
+	public EventHandler<T> getEventHandler() {
+		return eventHandler;
+	}
+
+	@Override
+	public String toString() {
+		return eventHandler.toString();
+	}
+}
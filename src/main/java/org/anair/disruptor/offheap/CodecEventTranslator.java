@@ -0,0 +1,46 @@
+package org.anair.disruptor.offheap;
+
+import java.nio.ByteBuffer;
+
+import org.anair.disruptor.codec.EventCodec;
+import org.apache.commons.lang3.Validate;
+
+import com.lmax.disruptor.EventTranslatorOneArg;
+
+/**
+ * Publish heap events into off-heap slots by encoding them with a {@link EventCodec}, after a int length.
+ * Handle them with a {@link CodecEventHandler} of the same codec. Thread safe.
+ *
+ * <pre>{@code
+ * disruptorConfig.publish(billingTranslator, billingEvent);
+ * }</pre>
+ *
+ * @author Anoop Nair
+ *
+ * @param <T> heap event
+ */
+public class CodecEventTranslator<T> implements EventTranslatorOneArg<Flyweight, T> {
+
+	private final EventCodec<T> eventCodec;
+	private final ThreadLocal<SlotView> slotViews = new ThreadLocal<SlotView>() {
+		@Override
+		protected SlotView initialValue() {
+			return new SlotView();
+		}
+	};
+
+	public CodecEventTranslator(EventCodec<T> eventCodec) {
+		this.eventCodec = Validate.notNull(eventCodec, "Define a eventCodec");
+	}
+
+	/**
+	 * @throws java.nio.BufferOverflowException when the encoded event does not fit in the slot
+	 */
+	@Override
+	public void translateTo(Flyweight event, long sequence, T heapEvent) {
+		ByteBuffer slot = slotViews.get().of(event, SlotView.LENGTH, event.getSlotSize() - SlotView.LENGTH);
+		int start = slot.position();
+		eventCodec.encode(heapEvent, slot);
+		event.putInt(0, slot.position() - start);
+	}
+}
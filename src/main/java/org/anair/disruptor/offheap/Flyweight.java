@@ -0,0 +1,133 @@
+package org.anair.disruptor.offheap;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Ring buffer entry over a fixed size slot of off-heap memory, allocated by a {@link OffHeapEventFactory}.
+ * The entry holds no event fields, only where its slot is, so the event data is never seen by the garbage collector.
+ * <p>Extend it with typed accessors at fixed offsets, or publish and handle heap events through a codec with
+ * {@link CodecEventTranslator} and {@link CodecEventHandler}.
+ *
+ * <pre>{@code
+ * public class BillingFlyweight extends Flyweight {
+ * 	public long getAccountId() { return getLong(0); }
+ * 	public void setAccountId(long accountId) { putLong(0, accountId); }
+ * 	public double getAmount() { return getDouble(8); }
+ * 	public void setAmount(double amount) { putDouble(8, amount); }
+ * }
+ * }</pre>
+ *
+ * @author Anoop Nair
+ *
+ */
+public class Flyweight {
+
+	private ByteBuffer buffer;
+	private int offset;
+	private int slotSize;
+
+	void wrap(ByteBuffer buffer, int offset, int slotSize) {
+		this.buffer = buffer;
+		this.offset = offset;
+		this.slotSize = slotSize;
+	}
+
+	/**
+	 * Position a view of the shared buffer on the slot.
+	 *
+	 * @param view duplicate of the shared buffer, owned by the calling thread
+	 * @param index first byte in the slot
+	 * @param length bytes from index
+	 */
+	ByteBuffer view(ByteBuffer view, int index, int length) {
+		view.clear();
+		view.limit(offset(index, length) + length);
+		view.position(offset + index);
+		return view;
+	}
+
+	ByteBuffer getBuffer() {
+		return buffer;
+	}
+
+	public int getSlotSize() {
+		return slotSize;
+	}
+
+	/**
+	 * Zero the slot.
+	 */
+	public void clear() {
+		int index = 0;
+		for(;index + 8 <= slotSize; index += 8){
+			buffer.putLong(offset + index, 0L);
+		}
+		for(;index < slotSize; index++){
+			buffer.put(offset + index, (byte) 0);
+		}
+	}
+
+	protected byte getByte(int index) {
+		return buffer.get(offset(index, 1));
+	}
+
+	protected void putByte(int index, byte value) {
+		buffer.put(offset(index, 1), value);
+	}
+
+	protected int getInt(int index) {
+		return buffer.getInt(offset(index, 4));
+	}
+
+	protected void putInt(int index, int value) {
+		buffer.putInt(offset(index, 4), value);
+	}
+
+	protected long getLong(int index) {
+		return buffer.getLong(offset(index, 8));
+	}
+
+	protected void putLong(int index, long value) {
+		buffer.putLong(offset(index, 8), value);
+	}
+
+	protected double getDouble(int index) {
+		return buffer.getDouble(offset(index, 8));
+	}
+
+	protected void putDouble(int index, double value) {
+		buffer.putDouble(offset(index, 8), value);
+	}
+
+	/**
+	 * Copy {@code bytes.length} bytes from index into bytes.
+	 */
+	protected void getBytes(int index, byte[] bytes) {
+		int position = offset(index, bytes.length);
+		for(int i=0;i<bytes.length;i++){
+			bytes[i] = buffer.get(position + i);
+		}
+	}
+
+	protected void putBytes(int index, byte[] bytes) {
+		int position = offset(index, bytes.length);
+		for(int i=0;i<bytes.length;i++){
+			buffer.put(position + i, bytes[i]);
+		}
+	}
+
+	/**
+	 * The shared buffer only checks its own bounds, a field past the slot would overwrite the next slot.
+	 */
+	private int offset(int index, int length) {
+		if(index < 0 || length < 0 || index + length > slotSize){
+			throw new IndexOutOfBoundsException("Bytes " + index + " to " + (index + length) + " are outside the slot of " + slotSize + " bytes");
+		}
+		return offset + index;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " [slot at " + offset + ", " + slotSize + " bytes]";
+	}
+}
@@ -0,0 +1,157 @@
+package org.anair.disruptor.offheap;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.lmax.disruptor.EventFactory;
+
+/**
+ * Event factory keeping the ring buffer events off the heap. The disruptor bean allocates one {@code slotSize} byte slot per ring buffer entry
+ * in a single direct buffer, or in a file mapped into memory when a {@code mappedFile} is set, and every entry is a {@link Flyweight} over its slot.
+ * <p>The Disruptor still holds a object per entry, but a flyweight only knows its slot. A ring buffer of 1M entries adds 1M small objects
+ * without references to event data, instead of 1M events with all their fields. Slots of a ring buffer take at most 2 GB.
+ * <p>Give every disruptor its own factory, the slots are allocated once.
+ *
+ * <pre>{@code
+ * <property name="eventFactory">
+ * 	<bean class="org.anair.disruptor.offheap.OffHeapEventFactory"
+ * 		p:slotSize="64" p:flyweightClass="org.anair.disruptor.eventfactory.BillingFlyweight" />
+ * </property>
+ * }</pre>
+ *
+ * @author Anoop Nair
+ *
+ * @param <F>
+ */
+public class OffHeapEventFactory<F extends Flyweight> implements EventFactory<F> {
+	private static final Logger LOG = LoggerFactory.getLogger(OffHeapEventFactory.class);
+
+	private static final int PAGE_SIZE = 4096;
+
+	private int slotSize;
+	private Class<? extends Flyweight> flyweightClass = Flyweight.class;
+	private File mappedFile;
+
+	private ByteBuffer buffer;
+	private int slots;
+	private int nextSlot;
+
+	public OffHeapEventFactory() {
+	}
+
+	public OffHeapEventFactory(int slotSize) {
+		this.slotSize = slotSize;
+	}
+
+	/**
+	 * Allocate the slots of a ring buffer, before the ring buffer is created.
+	 *
+	 * @param slots ring buffer size
+	 * @throws IllegalStateException when the slots are already allocated
+	 */
+	public void allocate(int slots) {
+		Validate.isTrue(slotSize > 0, "Slot size must be positive: %d", slotSize);
+		Validate.isTrue(slots > 0, "Slot count must be positive: %d", slots);
+		Validate.isTrue((long) slots * slotSize <= Integer.MAX_VALUE, "%d slots of %d bytes do not fit in a buffer of 2 GB", slots, slotSize);
+		Validate.validState(buffer == null, "Off-heap slots are already allocated. Give every disruptor its own %s.", getClass().getSimpleName());
+
+		int size = slots * slotSize;
+		if(mappedFile == null){
+			buffer = ByteBuffer.allocateDirect(size);
+		}else{
+			try(RandomAccessFile file = new RandomAccessFile(mappedFile, "rw")) {
+				file.setLength(size);
+				buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Can not map off-heap slots to " + mappedFile, e);
+			}
+		}
+		this.slots = slots;
+		LOG.info("Allocated {} off-heap slots of {} bytes, {}.", slots, slotSize, mappedFile == null ? "direct" : "mapped to " + mappedFile);
+	}
+
+	/**
+	 * Read and write back one byte of every page of the slots, so a mapped file is paged in before live events are written.
+	 *
+	 * @throws IllegalStateException when the slots are not allocated
+	 */
+	public void pretouch() {
+		Validate.validState(buffer != null, "Off-heap slots are not allocated. Use the factory as eventFactory of a disruptor bean.");
+		for(int position = 0; position < buffer.capacity(); position += PAGE_SIZE){
+			buffer.put(position, buffer.get(position));
+		}
+	}
+
+	/**
+	 * @return a flyweight over the next free slot
+	 * @throws IllegalStateException when the slots are not allocated or all taken
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public F newInstance() {
+		Validate.validState(buffer != null, "Off-heap slots are not allocated. Use the factory as eventFactory of a disruptor bean.");
+		Validate.validState(nextSlot < slots, "All %d off-heap slots are taken.", slots);
+		Flyweight flyweight;
+		try {
+			flyweight = flyweightClass.newInstance();
+		} catch (InstantiationException | IllegalAccessException e) {
+			throw new IllegalStateException("Can not create flyweight " + flyweightClass.getName() + ". It needs a public no-arg constructor.", e);
+		}
+		flyweight.wrap(buffer, nextSlot++ * slotSize, slotSize);
+		return (F) flyweight;
+	}
+
+	public int getSlotSize() {
+		return slotSize;
+	}
+
+	/**
+	 * @param slotSize bytes of a event, fixed
+	 */
+	public void setSlotSize(int slotSize) {
+		this.slotSize = slotSize;
+	}
+
+	public Class<? extends Flyweight> getFlyweightClass() {
+		return flyweightClass;
+	}
+
+	/**
+	 * @param flyweightClass flyweight with a public no-arg constructor. Default {@link Flyweight}.
+	 */
+	public void setFlyweightClass(Class<? extends Flyweight> flyweightClass) {
+		this.flyweightClass = flyweightClass;
+	}
+
+	public File getMappedFile() {
+		return mappedFile;
+	}
+
+	/**
+	 * @param mappedFile file to map the slots to instead of direct memory, created or resized on allocation.
+	 * The events are not journaled by it, the file is only written back by the operating system.
+	 */
+	public void setMappedFile(File mappedFile) {
+		this.mappedFile = mappedFile;
+	}
+
+	/**
+	 * @return bytes of allocated slots, 0 before allocation
+	 */
+	public long getAllocatedBytes() {
+		return buffer == null ? 0 : buffer.capacity();
+	}
+
+	@Override
+	public String toString() {
+		return slotSize + " byte " + (mappedFile == null ? "direct" : "mapped") + " slots";
+	}
+}
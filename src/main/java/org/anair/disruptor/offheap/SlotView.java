@@ -0,0 +1,28 @@
+package org.anair.disruptor.offheap;
+
+import java.nio.ByteBuffer;
+
+/**
+ * View of the slot of a flyweight for a codec, over a duplicate of the shared buffer owned by one thread.
+ * 
+ * @author Anoop Nair
+ *
+ */
+final class SlotView {
+
+	/**
+	 * Codecs write a int length in front of the encoded event.
+	 */
+	static final int LENGTH = 4;
+
+	private ByteBuffer source;
+	private ByteBuffer view;
+
+	ByteBuffer of(Flyweight flyweight, int index, int length) {
+		if(flyweight.getBuffer() != source){
+			source = flyweight.getBuffer();
+			view = source.duplicate();
+		}
+		return flyweight.view(view, index, length);
+	}
+}
@@ -0,0 +1,69 @@
+package org.anair.disruptor.publisher;
+
+import org.anair.disruptor.DisruptorConfig;
+
+import com.lmax.disruptor.EventTranslatorOneArg;
+
+/**
+ * Base publisher that copies the published object into the ring buffer slot without creating a translator per event.
+ * <p>The publisher is itself a stateless {@link EventTranslatorOneArg}, created once with the spring bean and 
+ * passed to the ring buffer with the published object as the argument. 
+ * Implement {@link #translateTo(Object, long, Object)} to copy the fields into the pre-allocated slot.
+ * 
+ * <pre>{@code
+ * public class BillingEventPublisher extends AbstractEventPublisher<BillingEvent> {
+ * 	public void translateTo(BillingEvent event, long sequence, BillingEvent data) {
+ * 		event.setAccountId(data.getAccountId());
+ * 		event.setAmount(data.getAmount());
+ * 	}
+ * }
+ * }</pre>
+ * 
+ * @author Anoop Nair
+ *
+ * @param <T>
+ */
+public abstract class AbstractEventPublisher<T> implements EventPublisher<T>, EventTranslatorOneArg<T, T> {
+
+	private DisruptorConfig<T> disruptorConfig;
+	
+	@Override
+	public void publish(T t) {
+		disruptorConfig.publish(this, t);
+	}
+	
+	/**
+	 * Publish all objects as one batch. The ring buffer sequences are claimed at once.
+	 * 
+	 * @param ts
+	 */
+	public void publish(T[] ts) {
+		disruptorConfig.publishEvents(this, ts);
+	}
+	
+	/**
+	 * Publish {@code batchSize} objects starting at {@code batchStartsAt} as one batch.
+	 * 
+	 * @param ts
+	 * @param batchStartsAt
+	 * @param batchSize
+	 */
+	public void publish(T[] ts, int batchStartsAt, int batchSize) {
+		disruptorConfig.publishEvents(this, batchStartsAt, batchSize, ts);
+	}
+	
+	/**
+	 * Copy {@code data} into the ring buffer {@code event} slot.
+	 */
+	@Override
+	public abstract void translateTo(T event, long sequence, T data);
+	
+	protected DisruptorConfig<T> getDisruptorConfig() {
+		return disruptorConfig;
+	}
+
+	@Override
+	public void setDisruptorConfig(DisruptorConfig<T> disruptorConfig) {
+		this.disruptorConfig = disruptorConfig;
+	}
+}
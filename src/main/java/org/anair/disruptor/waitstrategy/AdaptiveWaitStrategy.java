@@ -0,0 +1,192 @@
+package org.anair.disruptor.waitstrategy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.lang3.Validate;
+
+import com.lmax.disruptor.AlertException;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.WaitStrategy;
+
+/**
+ * Wait strategy that can be switched between spinning, yielding, sleeping and blocking while the Disruptor is running.
+ * Waiting event processors pick up a new {@link Mode} on their next check, blocked event processors are woken up.
+ *
+ * <p>Publishers only take the lock when a event processor is blocked, so spinning costs the same as a {@link com.lmax.disruptor.BusySpinWaitStrategy}
+ * plus a volatile read per publish.
+ * <p>With a timeout, waiting event processors give up after {@code timeoutNanos} without events in every mode,
+ * so event handlers implementing {@link com.lmax.disruptor.TimeoutHandler} are called.
+ *
+ * @author Anoop Nair
+ *
+ */
+public final class AdaptiveWaitStrategy implements WaitStrategy {
+
+	public enum Mode {
+		/**
+		 * Busy spin. Lowest latency, burns a core per event processor.
+		 */
+		SPIN,
+		/**
+		 * {@link Thread#yield()} between checks.
+		 */
+		YIELD,
+		/**
+		 * Park {@code sleepTimeNanos} between checks.
+		 */
+		SLEEP,
+		/**
+		 * Block until a publisher signals. Lowest CPU use, highest latency.
+		 */
+		BLOCK
+	}
+
+	private final Lock lock = new ReentrantLock();
+	private final Condition processorNotifyCondition = lock.newCondition();
+	private final AtomicBoolean signalNeeded = new AtomicBoolean(false);
+	private final long sleepTimeNanos;
+	private final long timeoutNanos;
+	private volatile Mode mode;
+
+	/**
+	 * @param mode initial mode
+	 * @param sleepTimeNanos time to park between checks in {@link Mode#SLEEP}
+	 */
+	public AdaptiveWaitStrategy(Mode mode, long sleepTimeNanos) {
+		this(mode, sleepTimeNanos, 0);
+	}
+
+	/**
+	 * @param mode initial mode
+	 * @param sleepTimeNanos time to park between checks in {@link Mode#SLEEP}
+	 * @param timeoutNanos time without events before timing out, 0 to wait forever
+	 */
+	public AdaptiveWaitStrategy(Mode mode, long sleepTimeNanos, long timeoutNanos) {
+		Validate.notNull(mode);
+		Validate.isTrue(sleepTimeNanos > 0, "Sleep time must be positive: %d", sleepTimeNanos);
+		Validate.isTrue(timeoutNanos >= 0, "Timeout must not be negative: %d", timeoutNanos);
+		this.mode = mode;
+		this.sleepTimeNanos = sleepTimeNanos;
+		this.timeoutNanos = timeoutNanos;
+	}
+
+	@Override
+	public long waitFor(long sequence, Sequence cursor, Sequence dependentSequence, SequenceBarrier barrier)
+			throws AlertException, InterruptedException, TimeoutException {
+		long availableSequence;
+		long deadline = 0;
+		while ((availableSequence = dependentSequence.get()) < sequence) {
+			barrier.checkAlert();
+			if (timeoutNanos > 0) {
+				if (deadline == 0) {
+					deadline = System.nanoTime() + timeoutNanos;
+				} else if (System.nanoTime() - deadline >= 0) {
+					throw TimeoutException.INSTANCE;
+				}
+			}
+			switch (mode) {
+				case SPIN:
+					break;
+				case YIELD:
+					Thread.yield();
+					break;
+				case SLEEP:
+					LockSupport.parkNanos(sleepTimeNanos);
+					break;
+				default:
+					block(sequence, cursor, barrier, deadline);
+			}
+		}
+		return availableSequence;
+	}
+
+	/**
+	 * Block until the cursor reaches the sequence, the mode is switched or the deadline passes. Event processors waiting
+	 * for a dependent event processor, with the cursor already past the sequence, yield instead.
+	 */
+	private void block(long sequence, Sequence cursor, SequenceBarrier barrier, long deadline) throws AlertException, InterruptedException {
+		if (cursor.get() >= sequence) {
+			Thread.yield();
+			return;
+		}
+
+		lock.lock();
+		try {
+			while (mode == Mode.BLOCK) {
+				signalNeeded.getAndSet(true);
+				if (cursor.get() >= sequence) {
+					break;
+				}
+				barrier.checkAlert();
+				if (timeoutNanos > 0) {
+					long remainingNanos = deadline - System.nanoTime();
+					if (remainingNanos <= 0) {
+						break;
+					}
+					processorNotifyCondition.awaitNanos(remainingNanos);
+				} else {
+					processorNotifyCondition.await();
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void signalAllWhenBlocking() {
+		if (signalNeeded.get() && signalNeeded.getAndSet(false)) {
+			signalAll();
+		}
+	}
+
+	private void signalAll() {
+		lock.lock();
+		try {
+			processorNotifyCondition.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public Mode getMode() {
+		return mode;
+	}
+
+	/**
+	 * Switch the way event processors wait. Blocked event processors are woken up to pick up the new mode.
+	 *
+	 * @param mode
+	 * @return the previous mode
+	 */
+	public Mode switchMode(Mode mode) {
+		Validate.notNull(mode);
+		Mode previousMode = this.mode;
+		this.mode = mode;
+		if (previousMode == Mode.BLOCK && mode != Mode.BLOCK) {
+			signalAll();
+		}
+		return previousMode;
+	}
+
+	public long getSleepTimeNanos() {
+		return sleepTimeNanos;
+	}
+
+	public long getTimeout(TimeUnit unit) {
+		return unit.convert(timeoutNanos, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public String toString() {
+		return "AdaptiveWaitStrategy{mode=" + mode + ", sleepTimeNanos=" + sleepTimeNanos + ", timeoutNanos=" + timeoutNanos + "}";
+	}
+
+}
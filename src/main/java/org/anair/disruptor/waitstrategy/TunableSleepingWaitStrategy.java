@@ -0,0 +1,64 @@
+package org.anair.disruptor.waitstrategy;
+
+import java.util.concurrent.locks.LockSupport;
+
+import com.lmax.disruptor.AlertException;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.WaitStrategy;
+
+/**
+ * Same as {@link com.lmax.disruptor.SleepingWaitStrategy}: spin, then yield, then sleep. 
+ * The time to sleep between retries is configurable instead of the 1 nanosecond minimum.
+ * 
+ * @author Anoop Nair
+ *
+ */
+public final class TunableSleepingWaitStrategy implements WaitStrategy {
+	private static final int SPIN_TRIES = 100;
+	
+	private final int retries;
+	private final long sleepTimeNanos;
+
+	/**
+	 * @param retries spin and yield tries before sleeping. The last 100 tries yield.
+	 * @param sleepTimeNanos time to park the event processor thread between checks after the retries
+	 */
+	public TunableSleepingWaitStrategy(int retries, long sleepTimeNanos) {
+		this.retries = retries;
+		this.sleepTimeNanos = sleepTimeNanos;
+	}
+
+	@Override
+	public long waitFor(long sequence, Sequence cursor, Sequence dependentSequence, SequenceBarrier barrier) 
+			throws AlertException, InterruptedException {
+		long availableSequence;
+		int counter = retries;
+		
+		while ((availableSequence = dependentSequence.get()) < sequence) {
+			barrier.checkAlert();
+			if (counter > SPIN_TRIES) {
+				--counter;
+			} else if (counter > 0) {
+				--counter;
+				Thread.yield();
+			} else {
+				LockSupport.parkNanos(sleepTimeNanos);
+			}
+		}
+		return availableSequence;
+	}
+
+	@Override
+	public void signalAllWhenBlocking() {
+	}
+	
+	public int getRetries() {
+		return retries;
+	}
+	
+	public long getSleepTimeNanos() {
+		return sleepTimeNanos;
+	}
+
+}
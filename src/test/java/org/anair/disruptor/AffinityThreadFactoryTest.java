@@ -0,0 +1,80 @@
+package org.anair.disruptor;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class AffinityThreadFactoryTest {
+	
+	private static final String THREAD_NAME = "affinity";
+	
+	private static final Runnable NOOP = new Runnable() {
+		@Override
+		public void run() {}
+	};
+	
+	@Test
+	public void test_parseCpuList() {
+		assertEquals(Arrays.asList(2, 3, 6, 7, 8), AffinityThreadFactory.parseCpuList("2, 3,6-8"));
+		assertEquals(Collections.emptyList(), AffinityThreadFactory.parseCpuList(null));
+		assertEquals(AffinityThreadFactory.NEXT_ISOLATED_CPU, AffinityThreadFactory.parseCpu("isolated"));
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_parseCpuList_invalid_range() {
+		AffinityThreadFactory.parseCpuList("4-2");
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_parseCpuList_invalid_cpu() {
+		AffinityThreadFactory.parseCpuList("2,x");
+	}
+	
+	@Test
+	public void test_assignCpus_worker_pool() throws InterruptedException {
+		AffinityThreadFactory affinityThreadFactory = new AffinityThreadFactory(THREAD_NAME, null);
+		affinityThreadFactory.assignCpus(Arrays.asList("ConsumerA", "Pool", "Pool", "Pool"), Collections.singletonMap("Pool", "0-1"));
+		Thread[] threads = new Thread[4];
+		for(int i=0;i<threads.length;i++){
+			threads[i] = affinityThreadFactory.newThread(NOOP);
+			threads[i].start();
+			threads[i].join();
+		}
+		
+		String placement = affinityThreadFactory.getPlacement();
+		assertTrue(placement, placement.startsWith("{" + threads[0].getName() + " ConsumerA: not bound | "));
+		assertTrue(placement, placement.endsWith(" | " + threads[3].getName() + " Pool: not bound}"));
+	}
+	
+	@Test
+	public void test_unbound_threads() {
+		AffinityThreadFactory affinityThreadFactory = new AffinityThreadFactory(THREAD_NAME, null);
+		affinityThreadFactory.assignCpus(Arrays.asList("ConsumerA"), Collections.<String, String>emptyMap());
+		Thread thread = affinityThreadFactory.newThread(NOOP);
+		
+		assertTrue(thread.getName().matches(THREAD_NAME+"-\\d*"));
+		assertTrue(thread.isDaemon());
+		assertEquals("{" + thread.getName() + " ConsumerA: not bound}", affinityThreadFactory.getPlacement());
+	}
+	
+	@Test
+	public void test_bound_thread_placement() throws InterruptedException {
+		AffinityThreadFactory affinityThreadFactory = new AffinityThreadFactory(THREAD_NAME, "0");
+		affinityThreadFactory.assignCpus(Arrays.asList("ConsumerA", "ConsumerB"), Collections.singletonMap("ConsumerB", "isolated"));
+		Thread threadA = affinityThreadFactory.newThread(NOOP);
+		Thread threadB = affinityThreadFactory.newThread(NOOP);
+		assertEquals("{}", affinityThreadFactory.getPlacement());
+		
+		threadA.start();
+		threadA.join();
+		threadB.start();
+		threadB.join();
+		
+		String placement = affinityThreadFactory.getPlacement();
+		assertTrue(placement, placement.matches("\\{" + threadA.getName() + " ConsumerA: (cpu \\d+|not bound) \\| " + threadB.getName() + " ConsumerB: (cpu \\d+|not bound)\\}"));
+	}
+
+}
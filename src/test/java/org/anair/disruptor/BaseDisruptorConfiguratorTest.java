@@ -8,6 +8,9 @@ import org.junit.Test;
 
 import com.lmax.disruptor.EventFactory;
 import com.lmax.disruptor.EventTranslator;
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.EventTranslatorTwoArg;
+import com.lmax.disruptor.EventTranslatorVararg;
 import com.lmax.disruptor.dsl.ProducerType;
 
 @SuppressWarnings({"rawtypes","unchecked"})
@@ -28,6 +31,51 @@ public class BaseDisruptorConfiguratorTest {
 
 			@Override
 			public void publish(EventTranslator eventTranslator) {}
+
+			@Override
+			public void publish(EventTranslatorOneArg eventTranslator, Object arg0) {}
+
+			@Override
+			public void publish(EventTranslatorTwoArg eventTranslator, Object arg0, Object arg1) {}
+
+			@Override
+			public void publish(EventTranslatorVararg eventTranslator, Object... args) {}
+
+			@Override
+			public boolean tryPublish(EventTranslator eventTranslator) {return false;}
+
+			@Override
+			public boolean tryPublish(EventTranslatorOneArg eventTranslator, Object arg0) {return false;}
+
+			@Override
+			public boolean tryPublish(EventTranslatorTwoArg eventTranslator, Object arg0, Object arg1) {return false;}
+
+			@Override
+			public boolean tryPublish(EventTranslatorVararg eventTranslator, Object... args) {return false;}
+
+			@Override
+			public void publishEvents(EventTranslator[] eventTranslators) {}
+
+			@Override
+			public void publishEvents(EventTranslator[] eventTranslators, int batchStartsAt, int batchSize) {}
+
+			@Override
+			public void publishEvents(EventTranslatorOneArg eventTranslator, Object[] arg0) {}
+
+			@Override
+			public void publishEvents(EventTranslatorOneArg eventTranslator, int batchStartsAt, int batchSize, Object[] arg0) {}
+
+			@Override
+			public void publishEvents(EventTranslatorTwoArg eventTranslator, Object[] arg0, Object[] arg1) {}
+
+			@Override
+			public void publishEvents(EventTranslatorTwoArg eventTranslator, int batchStartsAt, int batchSize, Object[] arg0, Object[] arg1) {}
+
+			@Override
+			public void publishEvents(EventTranslatorVararg eventTranslator, Object[]... args) {}
+
+			@Override
+			public void publishEvents(EventTranslatorVararg eventTranslator, int batchStartsAt, int batchSize, Object[]... args) {}
 		};
 		
 		disruptorConfigurator.setThreadName(THREAD_NAME);
@@ -1,5 +1,19 @@
 package org.anair.disruptor;
 
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.anair.disruptor.exception.DisruptorExceptionHandler;
+import org.anair.disruptor.exception.ExceptionStrategy;
+import org.anair.disruptor.metrics.TimedEventHandler;
+import org.anair.disruptor.waitstrategy.AdaptiveWaitStrategy;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -7,6 +21,10 @@ import org.junit.Test;
 import com.lmax.disruptor.EventFactory;
 import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.EventTranslator;
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.EventTranslatorTwoArg;
+import com.lmax.disruptor.EventTranslatorVararg;
+import com.lmax.disruptor.WorkHandler;
 
 @SuppressWarnings({"rawtypes","unchecked"})
 public class DefaultDisruptorConfigTest {
@@ -14,6 +32,7 @@ public class DefaultDisruptorConfigTest {
 	private DefaultDisruptorConfig disruptorConfig;
 	private static final String THREAD_NAME = "namo";
 	private static final int ringBufferSize = 16;
+	private CountDownLatch consumerLatch;
 	
 	@Before
 	public void setup(){
@@ -21,11 +40,15 @@ public class DefaultDisruptorConfigTest {
 		disruptorConfig.setRingBufferSize(ringBufferSize);
 		disruptorConfig.setThreadName(THREAD_NAME);
 		disruptorConfig.setEventFactory(new SampleEventFactory());
+		consumerLatch = new CountDownLatch(1);
 	}
 	
 	@After
 	public void teardown(){
-		disruptorConfig.controlledShutdown();
+		consumerLatch.countDown();
+		if(disruptorConfig.getDisruptor() != null){
+			disruptorConfig.controlledShutdown();
+		}
 	}
 	
 	@Test(expected=NullPointerException.class)
@@ -146,7 +169,642 @@ public class DefaultDisruptorConfigTest {
 		});
 	}
 	
+	/** 
+	 *                                            Counting work handler 1  
+	 *                                           /                       \
+	 * Publisher -> Ring buffer ---> Consumer A -  Counting work handler 2  -> Consumer D 
+	 *                                           \                       /
+	 *                                            Counting work handler 3
+	 */
+	@Test
+	public void test_worker_pool_between_event_handlers() throws InterruptedException {
+		CountingWorkHandler countingWorkHandler = new CountingWorkHandler();
+		WorkHandlerPool<String> workHandlerPool = new WorkHandlerPool<String>(countingWorkHandler, 3);
+		ConsumerA consumerA = new ConsumerA();
+		ConsumerD consumerD = new ConsumerD();
+		
+		disruptorConfig.setLatencyHistogramEnabled(true);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{
+				new EventHandlerChain<String>(new EventHandler[]{consumerA}, null, null, new WorkHandlerPool[]{workHandlerPool}),
+				new EventHandlerChain<String>(null, new WorkHandlerPool[]{workHandlerPool}, new EventHandler[]{consumerD}, null)});
+		disruptorConfig.init();
+		
+		disruptorConfig.publishEvents(ONE_ARG_TRANSLATOR, new String[]{"a", "b", "c", "d", "e"});
+		awaitCount((TimedEventHandler<String>) disruptorConfig.getTimedEventHandlers().get("ConsumerD"), 5);
+		
+		assertEquals(5, countingWorkHandler.count.get());
+		assertEquals(Arrays.asList("ConsumerA", "CountingWorkHandler", "ConsumerD"), new ArrayList<String>(disruptorConfig.getEventHandlerNames()));
+		assertEquals(Arrays.asList("ConsumerA", "ConsumerD"), new ArrayList<String>(disruptorConfig.getTimedEventHandlers().keySet()));
+		assertEquals(4, disruptorConfig.getEventHandlerSequence("CountingWorkHandler"));
+		assertEquals(0, disruptorConfig.getEventHandlerBacklog("CountingWorkHandler"));
+		assertTrue(disruptorConfig.getEventProcessorGraph().contains("CountingWorkHandler x3"));
+	}
+	
+	@Test
+	public void test_worker_pool_off_ringbuffer() throws InterruptedException {
+		CountingWorkHandler countingWorkHandler = new CountingWorkHandler();
+		WorkHandlerPool<String> workHandlerPool = new WorkHandlerPool<String>(new WorkHandler[]{countingWorkHandler, countingWorkHandler});
+		
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(null, new WorkHandlerPool[]{workHandlerPool}, null, null)});
+		disruptorConfig.init();
+		
+		disruptorConfig.publishEvents(ONE_ARG_TRANSLATOR, new String[]{"a", "b", "c"});
+		long deadline = System.currentTimeMillis() + 5000;
+		while(disruptorConfig.getEventHandlerLag("CountingWorkHandler") > 0 && System.currentTimeMillis() < deadline){
+			Thread.sleep(1);
+		}
+		assertEquals(3, countingWorkHandler.count.get());
+		assertEquals(2, disruptorConfig.getGatingSequence());
+	}
+	
+	/** 
+	 *                                 Consumer B1 -------------
+	 *                                /                         \
+	 * Publisher -> Ring buffer ---> A -> Consumer B2 -> Consumer C1 -> Consumer D 
+	 *                                \                         /
+	 *                                 Consumer C2 -------------
+	 */
+	@Test
+	public void test_eventHandlerStages() throws InterruptedException {
+		disruptorConfig.setLatencyHistogramEnabled(true);
+		disruptorConfig.setEventHandlerStages(new EventHandlerStage[]{
+				new EventHandlerStage<String>("d", new EventHandler[]{new ConsumerD()}, new String[]{"b1", "c1", "c2"}),
+				new EventHandlerStage<String>("a", new EventHandler[]{new ConsumerA()}),
+				new EventHandlerStage<String>("b1", new EventHandler[]{new ConsumerB1()}, new String[]{"a"}),
+				new EventHandlerStage<String>("b2", new EventHandler[]{new ConsumerB2()}, new String[]{"a"}),
+				new EventHandlerStage<String>("c1", new EventHandler[]{new ConsumerC1()}, new String[]{"b2"}),
+				new EventHandlerStage<String>("c2", new EventHandler[]{new ConsumerC2()}, new String[]{"a"})});
+		disruptorConfig.init();
+		
+		disruptorConfig.publishEvents(ONE_ARG_TRANSLATOR, new String[]{"a", "b", "c"});
+		awaitCount((TimedEventHandler<String>) disruptorConfig.getTimedEventHandlers().get("ConsumerD"), 3);
+		
+		assertEquals(Arrays.asList("ConsumerA", "ConsumerB1", "ConsumerB2", "ConsumerC2", "ConsumerC1", "ConsumerD"), new ArrayList<String>(disruptorConfig.getEventHandlerNames()));
+		for(TimedEventHandler<String> timedEventHandler : ((Map<String, TimedEventHandler<String>>) disruptorConfig.getTimedEventHandlers()).values()){
+			assertEquals(timedEventHandler.getName(), 3, timedEventHandler.getLatencyHistogram().getCount());
+		}
+		assertEquals(2, disruptorConfig.getGatingSequence());
+		assertTrue(disruptorConfig.getEventProcessorGraph().endsWith("\n4: d{ConsumerD} <- b1, c1, c2 (gates producers)"));
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_eventHandlerStages_and_chain() {
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA()})});
+		disruptorConfig.setEventHandlerStages(new EventHandlerStage[]{new EventHandlerStage<String>("a", new EventHandler[]{new ConsumerB1()})});
+		disruptorConfig.init();
+	}
+	
+	@Test
+	public void test_publish_with_arguments() {
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA()})});
+		disruptorConfig.init();
+		
+		disruptorConfig.publish(ONE_ARG_TRANSLATOR, "a");
+		disruptorConfig.publish(TWO_ARG_TRANSLATOR, "a", "b");
+		disruptorConfig.publish(VARARG_TRANSLATOR, "a", "b", "c");
+		assertEquals(2, disruptorConfig.getCurrentLocation());
+	}
+	
+	@Test
+	public void test_publishEvents_batch() {
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA()})});
+		disruptorConfig.init();
+		
+		String[] arg0 = new String[]{"a", "b", "c", "d"};
+		disruptorConfig.publishEvents(ONE_ARG_TRANSLATOR, arg0);
+		assertEquals(3, disruptorConfig.getCurrentLocation());
+		
+		disruptorConfig.publishEvents(ONE_ARG_TRANSLATOR, 1, 2, arg0);
+		assertEquals(5, disruptorConfig.getCurrentLocation());
+		
+		disruptorConfig.publishEvents(TWO_ARG_TRANSLATOR, arg0, arg0);
+		assertEquals(9, disruptorConfig.getCurrentLocation());
+		
+		disruptorConfig.publishEvents(VARARG_TRANSLATOR, new Object[]{"a"}, new Object[]{"b", "c"});
+		assertEquals(11, disruptorConfig.getCurrentLocation());
+		
+		disruptorConfig.publishEvents(new EventTranslator[]{NO_ARG_TRANSLATOR, NO_ARG_TRANSLATOR, NO_ARG_TRANSLATOR}, 0, 2);
+		assertEquals(13, disruptorConfig.getCurrentLocation());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_publishEvents_batch_larger_than_ringbuffer() {
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA()})});
+		disruptorConfig.init();
+		
+		disruptorConfig.publishEvents(ONE_ARG_TRANSLATOR, new String[ringBufferSize + 1]);
+	}
+	
+	@Test
+	public void test_latency_histograms_diamond_topology() throws InterruptedException {
+		ConsumerA consumerA = new ConsumerA();
+		ConsumerB1 consumerB1 = new ConsumerB1();
+		ConsumerB2 consumerB2 = new ConsumerB2();
+		ConsumerD consumerD = new ConsumerD();
+		
+		EventHandlerChain<String> eventHandlerChain1 = new EventHandlerChain<String>(new EventHandler[]{consumerA}, new EventHandler[]{consumerB1, consumerB2});
+		EventHandlerChain<String> eventHandlerChain2 = new EventHandlerChain<String>(new EventHandler[]{consumerB1, consumerB2}, new EventHandler[]{consumerD});
+		
+		disruptorConfig.setLatencyHistogramEnabled(true);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{eventHandlerChain1, eventHandlerChain2});
+		disruptorConfig.init();
+		
+		disruptorConfig.publishEvents(ONE_ARG_TRANSLATOR, new String[]{"a", "b", "c"});
+		
+		Map<String, TimedEventHandler<String>> timedEventHandlers = disruptorConfig.getTimedEventHandlers();
+		awaitCount(timedEventHandlers.get("ConsumerD"), 3);
+		assertEquals(Arrays.asList("ConsumerA", "ConsumerB1", "ConsumerB2", "ConsumerD"), new ArrayList<String>(timedEventHandlers.keySet()));
+		for(TimedEventHandler<String> timedEventHandler : timedEventHandlers.values()){
+			assertEquals(timedEventHandler.getName(), 3, timedEventHandler.getLatencyHistogram().getCount());
+		}
+		
+		disruptorConfig.resetLatencyHistograms();
+		assertEquals(0, timedEventHandlers.get("ConsumerD").getLatencyHistogram().getCount());
+	}
+	
+	@Test
+	public void test_latency_histograms_disabled() {
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA(), new ConsumerA()})});
+		disruptorConfig.init();
+		
+		assertFalse(disruptorConfig.isLatencyHistogramEnabled());
+		assertTrue(disruptorConfig.getTimedEventHandlers().isEmpty());
+		assertEquals(Arrays.asList("ConsumerA", "ConsumerA#2"), new ArrayList<String>(disruptorConfig.getEventHandlerNames()));
+	}
 	
+	@Test
+	public void test_eventHandler_lag() {
+		BlockedConsumer blockedConsumer = new BlockedConsumer();
+		ConsumerD consumerD = new ConsumerD();
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{blockedConsumer}, new EventHandler[]{consumerD})});
+		disruptorConfig.init();
+		for(int i=0;i<5;i++){
+			disruptorConfig.publish(NO_ARG_TRANSLATOR);
+		}
+		
+		assertEquals(Arrays.asList("BlockedConsumer", "ConsumerD"), new ArrayList<String>(disruptorConfig.getEventHandlerNames()));
+		assertEquals(-1, disruptorConfig.getEventHandlerSequence("BlockedConsumer"));
+		assertEquals(5, disruptorConfig.getEventHandlerLag("BlockedConsumer"));
+		assertEquals(5, disruptorConfig.getEventHandlerBacklog("BlockedConsumer"));
+		assertEquals(5, disruptorConfig.getEventHandlerLag("ConsumerD"));
+		assertEquals(0, disruptorConfig.getEventHandlerBacklog("ConsumerD"));
+		assertEquals(-1, disruptorConfig.getGatingSequence());
+		assertEquals("BlockedConsumer", disruptorConfig.getBottleneckEventHandler());
+		assertEquals("{BlockedConsumer: sequence -1, lag 5, backlog 5 | ConsumerD: sequence -1, lag 5, backlog 0}", disruptorConfig.getEventHandlerLag());
+	}
+	
+	@Test(expected=NullPointerException.class)
+	public void test_eventHandler_lag_unknown_handler() {
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA()})});
+		disruptorConfig.init();
+		disruptorConfig.getEventHandlerLag("dummy");
+	}
+	
+	@Test
+	public void test_throughput_meters() throws InterruptedException {
+		disruptorConfig.setThroughputMeterEnabled(true);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA()})});
+		disruptorConfig.init();
+		
+		disruptorConfig.sampleThroughput();
+		disruptorConfig.publishEvents(ONE_ARG_TRANSLATOR, new String[]{"a", "b", "c"});
+		long deadline = System.currentTimeMillis() + 5000;
+		while(disruptorConfig.getEventHandlerSequence("ConsumerA") < 2 && System.currentTimeMillis() < deadline){
+			Thread.sleep(1);
+		}
+		disruptorConfig.sampleThroughput();
+		
+		assertTrue(disruptorConfig.isThroughputMeterEnabled());
+		assertTrue(disruptorConfig.getPublishRate(1) > 0);
+		assertEquals(disruptorConfig.getPublishRate(1), disruptorConfig.getPublishRate(60), 0);
+		assertTrue(disruptorConfig.getConsumeRate("ConsumerA", 10) > 0);
+		assertEquals(0, disruptorConfig.getConsumeRate("dummy", 10), 0);
+	}
+	
+	@Test
+	public void test_throughput_meters_disabled() {
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA()})});
+		disruptorConfig.init();
+		disruptorConfig.publish(NO_ARG_TRANSLATOR);
+		
+		assertFalse(disruptorConfig.isThroughputMeterEnabled());
+		assertEquals(0, disruptorConfig.getPublishRate(1), 0);
+		assertEquals(0, disruptorConfig.getConsumeRate("ConsumerA", 1), 0);
+	}
+	
+	@Test
+	public void test_tryPublish_ringbuffer_full() {
+		fillRingBuffer();
+		
+		assertFalse(disruptorConfig.tryPublish(NO_ARG_TRANSLATOR));
+		assertFalse(disruptorConfig.tryPublish(ONE_ARG_TRANSLATOR, "a"));
+		assertEquals(2, disruptorConfig.getRejectedPublishCount());
+		assertEquals(ringBufferSize - 1, disruptorConfig.getCurrentLocation());
+	}
+	
+	@Test
+	public void test_tryPublish() {
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA()})});
+		disruptorConfig.init();
+		
+		assertTrue(disruptorConfig.tryPublish(NO_ARG_TRANSLATOR));
+		assertTrue(disruptorConfig.tryPublish(TWO_ARG_TRANSLATOR, "a", "b"));
+		assertTrue(disruptorConfig.tryPublish(VARARG_TRANSLATOR, "a", "b", "c"));
+		assertEquals(0, disruptorConfig.getRejectedPublishCount());
+		assertEquals(2, disruptorConfig.getCurrentLocation());
+	}
+	
+	@Test
+	public void test_backpressure_drop_newest() {
+		disruptorConfig.setBackpressurePolicy(BackpressurePolicy.DROP_NEWEST);
+		fillRingBuffer();
+		
+		disruptorConfig.publish(NO_ARG_TRANSLATOR);
+		disruptorConfig.publishEvents(ONE_ARG_TRANSLATOR, new String[]{"a", "b"});
+		assertEquals(3, disruptorConfig.getRejectedPublishCount());
+		assertEquals(ringBufferSize - 1, disruptorConfig.getCurrentLocation());
+	}
+	
+	@Test(expected=IllegalStateException.class)
+	public void test_backpressure_reject() {
+		disruptorConfig.setBackpressurePolicy(BackpressurePolicy.REJECT);
+		fillRingBuffer();
+		
+		disruptorConfig.publish(NO_ARG_TRANSLATOR);
+	}
+	
+	@Test
+	public void test_backpressure_block_with_timeout() {
+		disruptorConfig.setBackpressurePolicy(BackpressurePolicy.BLOCK_WITH_TIMEOUT);
+		disruptorConfig.setPublishTimeoutMillis(10);
+		fillRingBuffer();
+		
+		disruptorConfig.publish(TWO_ARG_TRANSLATOR, "a", "b");
+		assertEquals(1, disruptorConfig.getTimedOutPublishCount());
+		assertEquals(0, disruptorConfig.getRejectedPublishCount());
+		assertEquals(ringBufferSize - 1, disruptorConfig.getCurrentLocation());
+	}
+	
+	@Test
+	public void test_backpressure_caller_runs() {
+		final AtomicInteger callerRunsEvents = new AtomicInteger();
+		disruptorConfig.setBackpressurePolicy(BackpressurePolicy.CALLER_RUNS);
+		disruptorConfig.setCallerRunsEventHandler(new EventHandler<String>() {
+			@Override
+			public void onEvent(String event, long sequence, boolean endOfBatch) throws Exception {
+				callerRunsEvents.incrementAndGet();
+			}
+		});
+		fillRingBuffer();
+		
+		disruptorConfig.publish(VARARG_TRANSLATOR, "a");
+		disruptorConfig.publishEvents(new EventTranslator[]{NO_ARG_TRANSLATOR, NO_ARG_TRANSLATOR});
+		assertEquals(3, callerRunsEvents.get());
+		assertEquals(3, disruptorConfig.getCallerRunsPublishCount());
+		assertEquals(ringBufferSize - 1, disruptorConfig.getCurrentLocation());
+	}
+	
+	@Test(expected=NullPointerException.class)
+	public void test_backpressure_caller_runs_without_handler() {
+		disruptorConfig.setBackpressurePolicy(BackpressurePolicy.CALLER_RUNS);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA()})});
+		disruptorConfig.init();
+	}
+	
+	@Test
+	public void test_adaptive_waitMode() throws InterruptedException {
+		disruptorConfig.setWaitStrategyType(WaitStrategyType.ADAPTIVE);
+		disruptorConfig.setWaitMode(AdaptiveWaitStrategy.Mode.SLEEP);
+		disruptorConfig.setLatencyHistogramEnabled(true);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA()})});
+		disruptorConfig.init();
+		assertEquals(AdaptiveWaitStrategy.Mode.SLEEP, disruptorConfig.getWaitMode());
+		
+		TimedEventHandler<String> consumerA = (TimedEventHandler<String>) disruptorConfig.getTimedEventHandlers().get("ConsumerA");
+		for(AdaptiveWaitStrategy.Mode waitMode : AdaptiveWaitStrategy.Mode.values()){
+			disruptorConfig.switchWaitMode(waitMode);
+			assertEquals(waitMode, disruptorConfig.getWaitMode());
+			disruptorConfig.publish(NO_ARG_TRANSLATOR);
+			awaitCount(consumerA, waitMode.ordinal() + 1);
+			assertEquals(waitMode.ordinal() + 1, consumerA.getLatencyHistogram().getCount());
+		}
+	}
+	
+	@Test
+	public void test_auto_waitMode() throws InterruptedException {
+		disruptorConfig.setWaitStrategyType(WaitStrategyType.ADAPTIVE);
+		disruptorConfig.setThroughputMeterEnabled(true);
+		disruptorConfig.setAutoWaitMode(true);
+		disruptorConfig.setSpinPublishRate(Double.MAX_VALUE);
+		disruptorConfig.setYieldPublishRate(1);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA()})});
+		disruptorConfig.init();
+		
+		disruptorConfig.adaptWaitMode();
+		assertEquals(AdaptiveWaitStrategy.Mode.BLOCK, disruptorConfig.getWaitMode());
+		
+		disruptorConfig.sampleThroughput();
+		disruptorConfig.publishEvents(ONE_ARG_TRANSLATOR, new String[]{"a", "b", "c"});
+		disruptorConfig.sampleThroughput();
+		disruptorConfig.adaptWaitMode();
+		assertEquals(AdaptiveWaitStrategy.Mode.YIELD, disruptorConfig.getWaitMode());
+		
+		disruptorConfig.switchWaitMode(AdaptiveWaitStrategy.Mode.SPIN);
+		assertFalse(disruptorConfig.isAutoWaitMode());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_auto_waitMode_without_throughput_meter() {
+		disruptorConfig.setWaitStrategyType(WaitStrategyType.ADAPTIVE);
+		disruptorConfig.setAutoWaitMode(true);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA()})});
+		disruptorConfig.init();
+	}
+	
+	@Test(expected=IllegalStateException.class)
+	public void test_switch_waitMode_not_adaptive() {
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA()})});
+		disruptorConfig.init();
+		disruptorConfig.switchWaitMode(AdaptiveWaitStrategy.Mode.SPIN);
+	}
+	
+	@Test
+	public void test_eventHandlerCpuAffinity() throws InterruptedException {
+		disruptorConfig.setEventHandlerCpuAffinity(Collections.singletonMap("ConsumerB1", "isolated"));
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA()}, new EventHandler[]{new ConsumerB1()})});
+		disruptorConfig.init();
+		
+		long deadline = System.currentTimeMillis() + 5000;
+		while(!disruptorConfig.getThreadPlacement().contains("ConsumerB1") && System.currentTimeMillis() < deadline){
+			Thread.sleep(1);
+		}
+		String placement = disruptorConfig.getThreadPlacement();
+		assertTrue(placement, placement.matches("\\{" + THREAD_NAME + "-\\d+ ConsumerA: not bound \\| " + THREAD_NAME + "-\\d+ ConsumerB1: (cpu \\d+|not bound)\\}"));
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_eventHandlerCpuAffinity_unknown_handler() {
+		disruptorConfig.setEventHandlerCpuAffinity(Collections.singletonMap("ConsumerX", "2"));
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA()})});
+		disruptorConfig.init();
+	}
+	
+	@Test
+	public void test_no_cpuAffinity() {
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA()})});
+		disruptorConfig.init();
+		assertNull(disruptorConfig.getThreadPlacement());
+	}
+	
+	@Test
+	public void test_occupancy_monitor() throws InterruptedException {
+		BlockedConsumer blockedConsumer = new BlockedConsumer();
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{blockedConsumer})});
+		disruptorConfig.setOccupancyMonitorEnabled(true);
+		disruptorConfig.setOccupancySampleIntervalMillis(1);
+		disruptorConfig.init();
+		
+		for(int i=0;i<5;i++){
+			disruptorConfig.publish(NO_ARG_TRANSLATOR);
+		}
+		long deadline = System.currentTimeMillis() + 5000;
+		while(disruptorConfig.getOccupancyHistogram().getHighWatermark() < 5 && System.currentTimeMillis() < deadline){
+			Thread.sleep(5);
+		}
+		assertEquals(5, disruptorConfig.getOccupancyHistogram().getHighWatermark());
+		assertEquals(DefaultDisruptorConfig.MIN_RECOMMENDED_RING_BUFFER_SIZE, disruptorConfig.recommendRingBufferSize());
+		
+		disruptorConfig.resetOccupancyHistogram();
+		for(int i=5;i<ringBufferSize;i++){
+			disruptorConfig.publish(NO_ARG_TRANSLATOR);
+		}
+		deadline = System.currentTimeMillis() + 5000;
+		while(disruptorConfig.getOccupancyHistogram().getHighWatermark() < ringBufferSize && System.currentTimeMillis() < deadline){
+			Thread.sleep(5);
+		}
+		assertEquals(ringBufferSize * 2, disruptorConfig.recommendRingBufferSize());
+	}
+	
+	@Test
+	public void test_recommendRingBufferSize() {
+		disruptorConfig.setRingBufferSize(1024);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA()})});
+		disruptorConfig.init();
+		disruptorConfig.getOccupancyHistogram().record(100);
+		assertEquals(256, disruptorConfig.recommendRingBufferSize());
+	}
+	
+	@Test(expected=IllegalStateException.class)
+	public void test_recommendRingBufferSize_without_samples() {
+		disruptorConfig.recommendRingBufferSize();
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_ringBufferSize_not_power_of_2() {
+		disruptorConfig.setRingBufferSize(1000);
+	}
+	
+	@Test
+	public void test_event_processors_running_after_init() {
+		final AtomicInteger count = new AtomicInteger();
+		CountingWorkHandler countingWorkHandler = new CountingWorkHandler();
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new EventHandler<String>() {
+			@Override
+			public void onEvent(String event, long sequence, boolean endOfBatch) throws Exception {
+				count.incrementAndGet();
+			}
+		}}, null, null, new WorkHandlerPool[]{new WorkHandlerPool<String>(countingWorkHandler, 2)})});
+		disruptorConfig.init();
+		
+		for(int i=0;i<100;i++){
+			disruptorConfig.publish(NO_ARG_TRANSLATOR);
+		}
+		disruptorConfig.controlledShutdown();
+		assertEquals(100, count.get());
+		assertEquals(100, countingWorkHandler.count.get());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_startupTimeoutMillis_not_positive() {
+		disruptorConfig.setStartupTimeoutMillis(0);
+	}
+	
+	@Test
+	public void test_warmup_before_live_events() {
+		final AtomicInteger warmupCount = new AtomicInteger();
+		final AtomicInteger liveCount = new AtomicInteger();
+		WarmupRecordingEventHandler warmupRecordingEventHandler = new WarmupRecordingEventHandler(warmupCount, liveCount);
+		CountingWorkHandler countingWorkHandler = new CountingWorkHandler();
+		disruptorConfig.setLatencyHistogramEnabled(true);
+		disruptorConfig.setWarmupEvents(100);
+		disruptorConfig.setWarmupTranslator(NO_ARG_TRANSLATOR);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{warmupRecordingEventHandler}, 
+				null, null, new WorkHandlerPool[]{new WorkHandlerPool<String>(countingWorkHandler, 2)})});
+		disruptorConfig.init();
+		
+		assertEquals(99, disruptorConfig.getLastWarmupSequence());
+		assertEquals(99, warmupRecordingEventHandler.lastWarmupSequence);
+		assertEquals(100, warmupCount.get());
+		assertEquals(100, countingWorkHandler.count.get());
+		assertEquals(0, ((TimedEventHandler<String>) disruptorConfig.getTimedEventHandlers().get("WarmupRecordingEventHandler")).getLatencyHistogram().getCount());
+		assertTrue(disruptorConfig.getDisruptorConfiguration().contains("Warm-up: 100 events"));
+		
+		disruptorConfig.publish(NO_ARG_TRANSLATOR);
+		disruptorConfig.controlledShutdown();
+		assertEquals(1, liveCount.get());
+		assertEquals(100, warmupCount.get());
+	}
+	
+	@Test
+	public void test_publish_during_warmup_rejected() {
+		final AtomicReference<Exception> publishFailure = new AtomicReference<Exception>();
+		disruptorConfig.setWarmupEvents(10);
+		disruptorConfig.setWarmupTranslator(NO_ARG_TRANSLATOR);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new EventHandler<String>() {
+			@Override
+			public void onEvent(String event, long sequence, boolean endOfBatch) throws Exception {
+				if(sequence == 0){
+					try {
+						disruptorConfig.tryPublish(NO_ARG_TRANSLATOR);
+					} catch (IllegalStateException e) {
+						publishFailure.set(e);
+					}
+				}
+			}
+		}})});
+		disruptorConfig.init();
+		
+		assertNotNull(publishFailure.get());
+		assertEquals(9, disruptorConfig.getRingBuffer().getCursor());
+		assertTrue(disruptorConfig.tryPublish(NO_ARG_TRANSLATOR));
+	}
+	
+	@Test(expected=IllegalStateException.class)
+	public void test_publish_before_init() {
+		disruptorConfig.publish(NO_ARG_TRANSLATOR);
+	}
+	
+	@Test
+	public void test_no_warmup() {
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA()})});
+		disruptorConfig.init();
+		
+		assertEquals(-1, disruptorConfig.getLastWarmupSequence());
+		assertFalse(disruptorConfig.getDisruptorConfiguration().contains("Warm-up"));
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_warmupEvents_not_positive() {
+		disruptorConfig.setWarmupEvents(0);
+	}
+	
+	@Test
+	public void test_skip_failed_event() {
+		final AtomicInteger count = new AtomicInteger();
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new PoisonEventHandler()}, new EventHandler[]{new EventHandler<String>() {
+			@Override
+			public void onEvent(String event, long sequence, boolean endOfBatch) throws Exception {
+				count.incrementAndGet();
+			}
+		}})});
+		disruptorConfig.init();
+		
+		for(int i=0;i<10;i++){
+			disruptorConfig.publish(NO_ARG_TRANSLATOR);
+		}
+		disruptorConfig.controlledShutdown();
+		assertEquals(10, count.get());
+		assertEquals(1, disruptorConfig.getFailureCount());
+		DisruptorExceptionHandler<String> exceptionHandler = (DisruptorExceptionHandler<String>) disruptorConfig.getExceptionHandlers().get("PoisonEventHandler");
+		assertEquals(1, exceptionHandler.getSkippedCount());
+		assertEquals(ExceptionStrategy.SKIP, exceptionHandler.getExceptionStrategy());
+	}
+	
+	@Test
+	public void test_halt_on_failed_event() throws InterruptedException {
+		disruptorConfig.setExceptionStrategy(ExceptionStrategy.RETRY);
+		disruptorConfig.setEventHandlerExceptionStrategy(Collections.singletonMap("PoisonEventHandler", ExceptionStrategy.HALT));
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new PoisonEventHandler()}, new EventHandler[]{new ConsumerA()})});
+		disruptorConfig.init();
+		assertEquals(ExceptionStrategy.RETRY, ((DisruptorExceptionHandler<String>) disruptorConfig.getExceptionHandlers().get("ConsumerA")).getExceptionStrategy());
+		
+		disruptorConfig.publish(NO_ARG_TRANSLATOR);
+		disruptorConfig.publish(NO_ARG_TRANSLATOR);
+		long deadline = System.currentTimeMillis() + 5000;
+		while(disruptorConfig.getFailureCount() == 0 && System.currentTimeMillis() < deadline){
+			Thread.sleep(1);
+		}
+		disruptorConfig.publish(NO_ARG_TRANSLATOR);
+		Thread.sleep(50);
+		assertEquals(1, disruptorConfig.getFailureCount());
+		assertEquals(1, disruptorConfig.getEventHandlerSequence("PoisonEventHandler"));
+	}
+	
+	@Test
+	public void test_retry_unwrapped_event_handler() throws InterruptedException {
+		FlakyEventHandler flakyEventHandler = new FlakyEventHandler(2);
+		disruptorConfig.setExceptionStrategy(ExceptionStrategy.RETRY);
+		disruptorConfig.setRetryBackoffMillis(0);
+		disruptorConfig.setLatencyHistogramEnabled(true);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{flakyEventHandler})});
+		disruptorConfig.init();
+		
+		disruptorConfig.publish(NO_ARG_TRANSLATOR);
+		DisruptorExceptionHandler<String> exceptionHandler = (DisruptorExceptionHandler<String>) disruptorConfig.getExceptionHandlers().get("FlakyEventHandler");
+		long deadline = System.currentTimeMillis() + 5000;
+		while(exceptionHandler.getRecoveredCount() == 0 && System.currentTimeMillis() < deadline){
+			Thread.sleep(1);
+		}
+		assertEquals(1, exceptionHandler.getRecoveredCount());
+		assertEquals(3, flakyEventHandler.calls.get());
+		assertEquals(1, ((TimedEventHandler<String>) disruptorConfig.getTimedEventHandlers().get("FlakyEventHandler")).getLatencyHistogram().getCount());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_exception_strategy_unknown_handler() {
+		disruptorConfig.setEventHandlerExceptionStrategy(Collections.singletonMap("Unknown", ExceptionStrategy.HALT));
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new ConsumerA()})});
+		disruptorConfig.init();
+	}
+	
+	private void awaitCount(TimedEventHandler<String> timedEventHandler, long count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while(timedEventHandler.getLatencyHistogram().getCount() < count && System.currentTimeMillis() < deadline){
+			Thread.sleep(1);
+		}
+	}
+	
+	/**
+	 * Blocks the only consumer on its first event and publishes until every slot is taken.
+	 */
+	private void fillRingBuffer() {
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new BlockedConsumer()})});
+		disruptorConfig.init();
+		for(int i=0;i<ringBufferSize;i++){
+			disruptorConfig.publish(NO_ARG_TRANSLATOR);
+		}
+		assertEquals(0, disruptorConfig.getRemainingCapacity());
+	}
+	
+	private static final EventTranslator<String> NO_ARG_TRANSLATOR = new EventTranslator<String>() {
+		@Override
+		public void translateTo(String event, long sequence) {}
+	};
+	
+	private static final EventTranslatorOneArg<String, String> ONE_ARG_TRANSLATOR = new EventTranslatorOneArg<String, String>() {
+		@Override
+		public void translateTo(String event, long sequence, String arg0) {}
+	};
+	
+	private static final EventTranslatorTwoArg<String, String, String> TWO_ARG_TRANSLATOR = new EventTranslatorTwoArg<String, String, String>() {
+		@Override
+		public void translateTo(String event, long sequence, String arg0, String arg1) {}
+	};
+	
+	private static final EventTranslatorVararg<String> VARARG_TRANSLATOR = new EventTranslatorVararg<String>() {
+		@Override
+		public void translateTo(String event, long sequence, Object... args) {}
+	};
 	
 	private class ConsumerA implements EventHandler<String>{
 
@@ -158,6 +816,16 @@ public class DefaultDisruptorConfigTest {
 		
 	}
 	
+	private class BlockedConsumer implements EventHandler<String>{
+
+		@Override
+		public void onEvent(String event, long sequence, boolean endOfBatch)
+				throws Exception {
+			consumerLatch.await();
+		}
+		
+	}
+	
 	private class ConsumerB1 implements EventHandler<String>{
 
 		@Override
@@ -210,6 +878,64 @@ public class DefaultDisruptorConfigTest {
 	
 	
 	
+	/**
+	 * Fails on the second event.
+	 */
+	private class PoisonEventHandler implements EventHandler<String> {
+		@Override
+		public void onEvent(String event, long sequence, boolean endOfBatch) throws Exception {
+			if(sequence == 1){
+				throw new IllegalArgumentException("poison event");
+			}
+		}
+	}
+	
+	private class FlakyEventHandler implements EventHandler<String> {
+		private final int failures;
+		private final AtomicInteger calls = new AtomicInteger();
+		
+		private FlakyEventHandler(int failures) {
+			this.failures = failures;
+		}
+		
+		@Override
+		public void onEvent(String event, long sequence, boolean endOfBatch) throws Exception {
+			if(calls.incrementAndGet() <= failures){
+				throw new IllegalStateException("flaky event");
+			}
+		}
+	}
+	
+	private class WarmupRecordingEventHandler implements EventHandler<String>, WarmupAware {
+		private final AtomicInteger warmupCount;
+		private final AtomicInteger liveCount;
+		private long lastWarmupSequence = Long.MIN_VALUE;
+
+		private WarmupRecordingEventHandler(AtomicInteger warmupCount, AtomicInteger liveCount) {
+			this.warmupCount = warmupCount;
+			this.liveCount = liveCount;
+		}
+
+		@Override
+		public void onEvent(String event, long sequence, boolean endOfBatch) throws Exception {
+			(sequence <= lastWarmupSequence ? warmupCount : liveCount).incrementAndGet();
+		}
+
+		@Override
+		public void setLastWarmupSequence(long lastWarmupSequence) {
+			this.lastWarmupSequence = lastWarmupSequence;
+		}
+	}
+	
+	private class CountingWorkHandler implements WorkHandler<String>{
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public void onEvent(String event) throws Exception {
+			count.incrementAndGet();
+		}
+	}
+	
 	private class SampleEventFactory implements EventFactory<String>{
 
 		@Override
@@ -0,0 +1,236 @@
+package org.anair.disruptor;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lmax.disruptor.EventFactory;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslatorOneArg;
+
+@SuppressWarnings({"rawtypes","unchecked"})
+public class DisruptorPipelineTest {
+
+	private DisruptorPipeline<BillingEvent> disruptorPipeline;
+	private RecordingEventHandler recordingEventHandler;
+
+	@Before
+	public void setup(){
+		recordingEventHandler = new RecordingEventHandler();
+		disruptorPipeline = new DisruptorPipeline<BillingEvent>();
+		disruptorPipeline.setThreadName("pipeline");
+		disruptorPipeline.setEventCopier(BILLING_EVENT_COPIER);
+	}
+
+	@After
+	public void teardown(){
+		disruptorPipeline.halt();
+	}
+
+	private DefaultDisruptorConfig<BillingEvent> newDisruptor(String threadName, int ringBufferSize, EventHandler<BillingEvent> eventHandler) {
+		DefaultDisruptorConfig<BillingEvent> disruptorConfig = new DefaultDisruptorConfig<BillingEvent>();
+		disruptorConfig.setThreadName(threadName);
+		disruptorConfig.setRingBufferSize(ringBufferSize);
+		disruptorConfig.setEventFactory(BILLING_EVENT_FACTORY);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<BillingEvent>(new EventHandler[]{eventHandler})});
+		return disruptorConfig;
+	}
+
+	@Test
+	public void test_events_flow_through_all_disruptors_in_order() throws Exception {
+		DefaultDisruptorConfig<BillingEvent> ingest = newDisruptor("ingest", 8, new StageEventHandler("ingest"));
+		DefaultDisruptorConfig<BillingEvent> enrich = newDisruptor("enrich", 16, new StageEventHandler("enrich"));
+		DefaultDisruptorConfig<BillingEvent> outbound = newDisruptor("outbound", 8, recordingEventHandler);
+		disruptorPipeline.setDisruptors(Arrays.asList(ingest, enrich, outbound));
+		disruptorPipeline.init();
+		assertTrue(disruptorPipeline.isStarted());
+		assertTrue(ingest.getEventHandlerNames().contains("HandoffEventHandler"));
+		assertFalse(outbound.getEventHandlerNames().contains("HandoffEventHandler"));
+
+		for(int i=0;i<1000;i++){
+			disruptorPipeline.publish(TRANSLATOR, (long) i);
+		}
+		recordingEventHandler.await(1000);
+		disruptorPipeline.controlledShutdown();
+		assertFalse(disruptorPipeline.isStarted());
+
+		assertEquals(1000, recordingEventHandler.events.size());
+		for(int i=0;i<1000;i++){
+			assertEquals(i, recordingEventHandler.events.get(i).accountId);
+			assertEquals("ingest,enrich", recordingEventHandler.events.get(i).stages);
+		}
+		assertEquals(1000, disruptorPipeline.getPublishedCount());
+		assertEquals(1000, disruptorPipeline.getCompletedCount());
+		assertEquals(0, disruptorPipeline.getTotalLag());
+		assertTrue(disruptorPipeline.getHopLag(), disruptorPipeline.getHopLag().startsWith("{ingest: lag 0, bottleneck "));
+		assertTrue(disruptorPipeline.getHopLag(), disruptorPipeline.getHopLag().contains(" -> enrich: lag 0, bottleneck "));
+	}
+
+	@Test
+	public void test_full_downstream_holds_back_the_publisher() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		DefaultDisruptorConfig<BillingEvent> ingest = newDisruptor("ingest", 4, new StageEventHandler("ingest"));
+		DefaultDisruptorConfig<BillingEvent> outbound = newDisruptor("outbound", 4, new EventHandler<BillingEvent>() {
+			@Override
+			public void onEvent(BillingEvent event, long sequence, boolean endOfBatch) throws Exception {
+				release.await();
+				recordingEventHandler.onEvent(event, sequence, endOfBatch);
+			}
+		});
+		disruptorPipeline.setDisruptors(Arrays.asList(ingest, outbound));
+		disruptorPipeline.init();
+
+		disruptorPipeline.publish(TRANSLATOR, 0L);
+		int published = 1;
+		long deadline = System.currentTimeMillis() + 5000;
+		while(disruptorPipeline.getLag(1) == 0 && System.currentTimeMillis() < deadline){
+			Thread.sleep(5);
+		}
+		while(System.currentTimeMillis() < deadline){
+			if(disruptorPipeline.tryPublish(TRANSLATOR, (long) published)){
+				published++;
+			}else{
+				Thread.sleep(20);
+				if(!disruptorPipeline.tryPublish(TRANSLATOR, (long) published)){
+					break;
+				}
+				published++;
+			}
+		}
+		assertEquals(4, disruptorPipeline.getLag(0));
+		assertTrue(disruptorPipeline.getLag(1) > 0 && disruptorPipeline.getLag(1) <= 4);
+		assertEquals(published, disruptorPipeline.getTotalLag());
+		assertTrue(recordingEventHandler.events.isEmpty());
+
+		release.countDown();
+		recordingEventHandler.await(published);
+		disruptorPipeline.controlledShutdown();
+		assertEquals(published, recordingEventHandler.events.size());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_one_disruptor() {
+		disruptorPipeline.setDisruptors(Arrays.asList(newDisruptor("ingest", 8, recordingEventHandler)));
+		disruptorPipeline.init();
+	}
+
+	@Test(expected=NullPointerException.class)
+	public void test_no_eventCopier() {
+		disruptorPipeline.setEventCopier(null);
+		disruptorPipeline.setDisruptors(Arrays.asList(newDisruptor("ingest", 8, recordingEventHandler), newDisruptor("outbound", 8, recordingEventHandler)));
+		disruptorPipeline.init();
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_downstream_must_block() {
+		DefaultDisruptorConfig<BillingEvent> outbound = newDisruptor("outbound", 8, recordingEventHandler);
+		outbound.setBackpressurePolicy(BackpressurePolicy.DROP_NEWEST);
+		disruptorPipeline.setDisruptors(Arrays.asList(newDisruptor("ingest", 8, recordingEventHandler), outbound));
+		disruptorPipeline.init();
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_disruptor_twice() {
+		DefaultDisruptorConfig<BillingEvent> ingest = newDisruptor("ingest", 8, recordingEventHandler);
+		disruptorPipeline.setDisruptors(Arrays.asList(ingest, ingest));
+		disruptorPipeline.init();
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void test_started_disruptor() {
+		DefaultDisruptorConfig<BillingEvent> outbound = newDisruptor("outbound", 8, recordingEventHandler);
+		outbound.init();
+		try {
+			disruptorPipeline.setDisruptors(Arrays.asList(newDisruptor("ingest", 8, recordingEventHandler), outbound));
+			disruptorPipeline.init();
+		} finally {
+			outbound.halt();
+		}
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void test_publish_before_init() {
+		disruptorPipeline.publish(TRANSLATOR, 1L);
+	}
+
+	@Test
+	public void test_metrics_before_init() {
+		disruptorPipeline.setDisruptors(Arrays.asList(newDisruptor("ingest", 8, recordingEventHandler), newDisruptor("outbound", 8, recordingEventHandler)));
+		assertEquals(0, disruptorPipeline.getPublishedCount());
+		assertEquals(0, disruptorPipeline.getCompletedCount());
+		assertEquals(0, disruptorPipeline.getTotalLag());
+		assertEquals("{ingest: not started -> outbound: not started}", disruptorPipeline.getHopLag());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_invalid_handoffBatchSize() {
+		disruptorPipeline.setHandoffBatchSize(0);
+	}
+
+	private static class BillingEvent {
+		private long accountId;
+		private String stages;
+	}
+
+	private static class StageEventHandler implements EventHandler<BillingEvent> {
+		private final String stage;
+
+		private StageEventHandler(String stage) {
+			this.stage = stage;
+		}
+
+		@Override
+		public void onEvent(BillingEvent event, long sequence, boolean endOfBatch) throws Exception {
+			event.stages = event.stages == null ? stage : event.stages + "," + stage;
+		}
+	}
+
+	private static class RecordingEventHandler implements EventHandler<BillingEvent> {
+		private final List<BillingEvent> events = Collections.synchronizedList(new ArrayList<BillingEvent>());
+
+		@Override
+		public void onEvent(BillingEvent event, long sequence, boolean endOfBatch) throws Exception {
+			BillingEvent copy = new BillingEvent();
+			BILLING_EVENT_COPIER.copy(event, copy);
+			events.add(copy);
+		}
+
+		private void await(int count) throws InterruptedException {
+			long deadline = System.currentTimeMillis() + 5000;
+			while(events.size() < count && System.currentTimeMillis() < deadline){
+				Thread.sleep(5);
+			}
+		}
+	}
+
+	private static final EventFactory<BillingEvent> BILLING_EVENT_FACTORY = new EventFactory<BillingEvent>() {
+		@Override
+		public BillingEvent newInstance() {
+			return new BillingEvent();
+		}
+	};
+
+	private static final EventCopier<BillingEvent> BILLING_EVENT_COPIER = new EventCopier<BillingEvent>() {
+		@Override
+		public void copy(BillingEvent from, BillingEvent to) {
+			to.accountId = from.accountId;
+			to.stages = from.stages;
+		}
+	};
+
+	private static final EventTranslatorOneArg<BillingEvent, Long> TRANSLATOR = new EventTranslatorOneArg<BillingEvent, Long>() {
+		@Override
+		public void translateTo(BillingEvent event, long sequence, Long accountId) {
+			event.accountId = accountId;
+			event.stages = null;
+		}
+	};
+}
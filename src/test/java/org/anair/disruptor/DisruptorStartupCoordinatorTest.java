@@ -0,0 +1,236 @@
+package org.anair.disruptor;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.BeanNameAware;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.ManagedList;
+import org.springframework.context.support.GenericApplicationContext;
+
+import com.lmax.disruptor.EventFactory;
+import com.lmax.disruptor.EventHandler;
+
+@SuppressWarnings({"rawtypes","unchecked"})
+public class DisruptorStartupCoordinatorTest {
+
+	private static final List<String> EVENTS = Collections.synchronizedList(new ArrayList<String>());
+	private static volatile CountDownLatch startLatch;
+
+	private GenericApplicationContext applicationContext;
+	private DisruptorStartupCoordinator coordinator;
+
+	@Before
+	public void setup(){
+		EVENTS.clear();
+		startLatch = null;
+		applicationContext = new GenericApplicationContext();
+		applicationContext.registerBeanDefinition("coordinator", BeanDefinitionBuilder.genericBeanDefinition(DisruptorStartupCoordinator.class)
+				.addPropertyValue("parallelism", 4).getBeanDefinition());
+	}
+
+	@After
+	public void teardown(){
+		if(applicationContext.isActive()){
+			applicationContext.close();
+		}
+	}
+
+	private BeanDefinitionBuilder disruptor(String beanName) {
+		BeanDefinitionBuilder builder = BeanDefinitionBuilder.genericBeanDefinition(RecordingDisruptorConfig.class);
+		applicationContext.registerBeanDefinition(beanName, builder.getBeanDefinition());
+		return builder;
+	}
+
+	private void refresh() {
+		applicationContext.refresh();
+		coordinator = applicationContext.getBean(DisruptorStartupCoordinator.class);
+	}
+
+	@Test
+	public void test_start_after_depends_on() {
+		disruptor("ingest").addDependsOn("outbound");
+		disruptor("outbound");
+		disruptor("audit").addDependsOn("ingest");
+		refresh();
+
+		assertTrue(coordinator.isRunning());
+		assertEquals(Arrays.asList("outbound", "ingest", "audit"), coordinator.getStartOrder());
+		assertTrue(EVENTS.indexOf("started:outbound") < EVENTS.indexOf("start:ingest"));
+		assertTrue(EVENTS.indexOf("started:ingest") < EVENTS.indexOf("start:audit"));
+
+		applicationContext.close();
+		assertFalse(coordinator.isRunning());
+		assertTrue(EVENTS.indexOf("shutdown:audit") < EVENTS.indexOf("shutdown:ingest"));
+		assertTrue(EVENTS.indexOf("shutdown:ingest") < EVENTS.indexOf("shutdown:outbound"));
+	}
+
+	@Test
+	public void test_start_after_referenced_disruptor() {
+		disruptor("ingest").addPropertyReference("forwarder", "forwarder");
+		applicationContext.registerBeanDefinition("forwarder", BeanDefinitionBuilder.genericBeanDefinition(AtomicReference.class)
+				.addConstructorArgReference("outbound").getBeanDefinition());
+		disruptor("outbound");
+		refresh();
+
+		assertEquals(Arrays.asList("outbound", "ingest"), coordinator.getStartOrder());
+	}
+
+	@Test
+	public void test_independent_disruptors_start_in_parallel() {
+		startLatch = new CountDownLatch(3);
+		disruptor("billing");
+		disruptor("audit");
+		disruptor("outbound");
+		refresh();
+
+		assertEquals(0, startLatch.getCount());
+		assertFalse(EVENTS.contains("timeout"));
+		assertEquals(new LinkedHashSet<String>(Arrays.asList("billing", "audit", "outbound")), new LinkedHashSet<String>(coordinator.getStartOrder()));
+	}
+
+	@Test
+	public void test_failed_start_halts_started_disruptors() {
+		disruptor("outbound");
+		disruptor("broken").addPropertyValue("failing", true);
+		disruptor("ingest").addDependsOn("broken");
+		try {
+			refresh();
+			fail("Context should not refresh");
+		} catch (RuntimeException e) {
+			Throwable cause = e;
+			while(cause.getCause() != null){
+				cause = cause.getCause();
+			}
+			assertEquals("broken failed", cause.getMessage());
+		}
+		assertTrue(EVENTS.contains("halt:outbound"));
+		assertFalse(EVENTS.contains("start:ingest"));
+	}
+
+	@Test
+	public void test_pipeline_starts_its_disruptors() {
+		disruptor("ingest");
+		disruptor("outbound");
+		applicationContext.getBeanFactory().registerSingleton("billingEventCopier", new EventCopier<String>() {
+			@Override
+			public void copy(String from, String to) {
+			}
+		});
+		ManagedList<RuntimeBeanReference> disruptors = new ManagedList<RuntimeBeanReference>();
+		disruptors.add(new RuntimeBeanReference("ingest"));
+		disruptors.add(new RuntimeBeanReference("outbound"));
+		applicationContext.registerBeanDefinition("pipeline", BeanDefinitionBuilder.genericBeanDefinition(DisruptorPipeline.class)
+				.addPropertyValue("threadName", "pipeline")
+				.addPropertyReference("eventCopier", "billingEventCopier")
+				.addPropertyValue("disruptors", disruptors)
+				.getBeanDefinition());
+		disruptor("audit").addDependsOn("outbound");
+		refresh();
+
+		assertEquals(Arrays.asList("pipeline", "audit"), coordinator.getStartOrder());
+		assertTrue(applicationContext.getBean(DisruptorPipeline.class).isStarted());
+		assertEquals(1, Collections.frequency(EVENTS, "start:ingest"));
+	}
+
+	@Test
+	public void test_skip_disruptor_with_init_method() {
+		disruptor("ingest").setInitMethodName("init");
+		disruptor("outbound");
+		refresh();
+
+		assertEquals(Arrays.asList("outbound"), coordinator.getStartOrder());
+		assertEquals(1, Collections.frequency(EVENTS, "start:ingest"));
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_disruptors_depending_on_each_other() {
+		Map<String, Set<String>> dependencies = new HashMap<String, Set<String>>();
+		dependencies.put("ingest", Collections.singleton("outbound"));
+		dependencies.put("outbound", Collections.singleton("ingest"));
+		DisruptorStartupCoordinator.sort(dependencies);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_invalid_parallelism() {
+		new DisruptorStartupCoordinator().setParallelism(0);
+	}
+
+	public static class RecordingDisruptorConfig extends DefaultDisruptorConfig<String> implements BeanNameAware {
+		private boolean failing;
+
+		public RecordingDisruptorConfig() {
+			setRingBufferSize(8);
+			setEventFactory(new EventFactory<String>() {
+				@Override
+				public String newInstance() {
+					return "";
+				}
+			});
+			setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{new EventHandler<String>() {
+				@Override
+				public void onEvent(String event, long sequence, boolean endOfBatch) throws Exception {
+				}
+			}})});
+		}
+
+		@Override
+		public void init() {
+			EVENTS.add("start:" + getThreadName());
+			if(startLatch != null){
+				startLatch.countDown();
+				try {
+					if(!startLatch.await(5, TimeUnit.SECONDS)){
+						EVENTS.add("timeout");
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			if(failing){
+				throw new IllegalStateException(getThreadName() + " failed");
+			}
+			super.init();
+			EVENTS.add("started:" + getThreadName());
+		}
+
+		@Override
+		public void controlledShutdown() {
+			super.controlledShutdown();
+			EVENTS.add("shutdown:" + getThreadName());
+		}
+
+		@Override
+		public void halt() {
+			super.halt();
+			EVENTS.add("halt:" + getThreadName());
+		}
+
+		@Override
+		public void setBeanName(String name) {
+			setThreadName(name);
+		}
+
+		public void setFailing(boolean failing) {
+			this.failing = failing;
+		}
+
+		public void setForwarder(Object forwarder) {
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package org.anair.disruptor;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.WorkHandler;
+
+@SuppressWarnings({"rawtypes","unchecked"})
+public class EventHandlerGraphTest {
+	
+	private final Journal journal = new Journal();
+	private final Validation validation = new Validation();
+	private final Business business = new Business();
+	private final Formatting formatting = new Formatting();
+	
+	@Test
+	public void test_stages_in_dependency_order() {
+		EventHandlerGraph<String> graph = new EventHandlerGraph<String>(new EventHandlerStage[]{
+				new EventHandlerStage<String>("format", new EventHandler[]{formatting}, new String[]{"business", "journal"}),
+				new EventHandlerStage<String>("business", new EventHandler[]{business}, new String[]{"validate"}),
+				new EventHandlerStage<String>("journal", new EventHandler[]{journal}),
+				new EventHandlerStage<String>("validate", new EventHandler[]{validation})});
+		
+		assertEquals(Arrays.asList("journal", "validate", "business", "format"), stageNames(graph));
+		assertEquals(1, graph.getLevel("journal"));
+		assertEquals(2, graph.getLevel("business"));
+		assertEquals(3, graph.getLevel("format"));
+		assertEquals("\n1: journal{Journal} <- ring buffer"
+				+ "\n1: validate{Validation} <- ring buffer"
+				+ "\n2: business{Business} <- validate"
+				+ "\n3: format{Formatting} <- business, journal (gates producers)", graph.render());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_cycle() {
+		new EventHandlerGraph<String>(new EventHandlerStage[]{
+				new EventHandlerStage<String>("journal", new EventHandler[]{journal}),
+				new EventHandlerStage<String>("business", new EventHandler[]{business}, new String[]{"journal", "format"}),
+				new EventHandlerStage<String>("format", new EventHandler[]{formatting}, new String[]{"business"})});
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_self_dependency() {
+		new EventHandlerGraph<String>(new EventHandlerStage[]{new EventHandlerStage<String>("journal", new EventHandler[]{journal}, new String[]{"journal"})});
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_unknown_dependency() {
+		new EventHandlerGraph<String>(new EventHandlerStage[]{new EventHandlerStage<String>("business", new EventHandler[]{business}, new String[]{"journal"})});
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_duplicate_stage() {
+		new EventHandlerGraph<String>(new EventHandlerStage[]{
+				new EventHandlerStage<String>("journal", new EventHandler[]{journal}),
+				new EventHandlerStage<String>("journal", new EventHandler[]{validation})});
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_event_handler_in_two_stages() {
+		new EventHandlerGraph<String>(new EventHandlerStage[]{
+				new EventHandlerStage<String>("journal", new EventHandler[]{journal}),
+				new EventHandlerStage<String>("audit", new EventHandler[]{journal, validation})});
+	}
+	
+	@Test
+	public void test_fromChains() {
+		EventHandlerGraph<String> graph = EventHandlerGraph.fromChains(new EventHandlerChain[]{
+				new EventHandlerChain<String>(new EventHandler[]{journal, validation}, null, 
+						new EventHandler[]{business}, new WorkHandlerPool[]{new WorkHandlerPool<String>(new Enrichment(), 2)}),
+				new EventHandlerChain<String>(new EventHandler[]{business}, new EventHandler[]{formatting})});
+		
+		assertEquals(Arrays.asList("Journal", "Validation", "Business", "Enrichment", "Formatting"), stageNames(graph));
+		assertEquals("\n1: Journal <- ring buffer"
+				+ "\n1: Validation <- ring buffer"
+				+ "\n2: Business <- Journal, Validation"
+				+ "\n2: Enrichment x2 <- Journal, Validation (gates producers)"
+				+ "\n3: Formatting <- Business (gates producers)", graph.render());
+	}
+	
+	@Test
+	public void test_stage_with_worker_pools() {
+		WorkHandlerPool<String> enrichment = new WorkHandlerPool<String>(new Enrichment(), 2);
+		EventHandlerGraph<String> graph = new EventHandlerGraph<String>(new EventHandlerStage[]{
+				new EventHandlerStage<String>("journal", new EventHandler[]{journal}),
+				new EventHandlerStage<String>("enrich", null, new WorkHandlerPool[]{enrichment}, new String[]{"journal"}),
+				new EventHandlerStage<String>("business", new EventHandler[]{business}, new WorkHandlerPool[]{new WorkHandlerPool<String>(new Enrichment(), 3)}, new String[]{"enrich"})});
+		
+		assertEquals(Arrays.asList("journal", "enrich", "business"), stageNames(graph));
+		assertEquals("\n1: journal{Journal} <- ring buffer"
+				+ "\n2: enrich{Enrichment x2} <- journal"
+				+ "\n3: business{Business | Enrichment x3} <- enrich (gates producers)", graph.render());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_worker_pool_in_two_stages() {
+		WorkHandlerPool<String> enrichment = new WorkHandlerPool<String>(new Enrichment(), 2);
+		new EventHandlerGraph<String>(new EventHandlerStage[]{
+				new EventHandlerStage<String>("enrich", null, new WorkHandlerPool[]{enrichment}, null),
+				new EventHandlerStage<String>("audit", new EventHandler[]{journal}, new WorkHandlerPool[]{enrichment}, null)});
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_stage_without_event_processors() {
+		new EventHandlerStage<String>("empty", null, new WorkHandlerPool[0], null);
+	}
+	
+	@Test
+	public void test_chain_of_worker_pools() {
+		WorkHandlerPool<String> enrichment = new WorkHandlerPool<String>(new Enrichment(), 2);
+		EventHandlerChain<String> chain = new EventHandlerChain<String>(null, new WorkHandlerPool[]{enrichment}, new EventHandler[]{formatting}, null);
+		EventHandlerGraph<String> graph = EventHandlerGraph.fromChains(new EventHandlerChain[]{chain});
+		
+		assertEquals("{Enrichment x2 |  ->  | Formatting}", chain.printDependencyGraph());
+		assertEquals("\n1: Enrichment x2 <- ring buffer"
+				+ "\n2: Formatting <- Enrichment (gates producers)", graph.render());
+	}
+	
+	private List<String> stageNames(EventHandlerGraph<String> graph) {
+		List<String> names = new ArrayList<String>();
+		for(EventHandlerStage<String> stage : graph.getStages()){
+			names.add(stage.getName());
+		}
+		return names;
+	}
+	
+	private static class Journal implements EventHandler<String> {
+		@Override
+		public void onEvent(String event, long sequence, boolean endOfBatch) {}
+	}
+	
+	private static class Validation implements EventHandler<String> {
+		@Override
+		public void onEvent(String event, long sequence, boolean endOfBatch) {}
+	}
+	
+	private static class Business implements EventHandler<String> {
+		@Override
+		public void onEvent(String event, long sequence, boolean endOfBatch) {}
+	}
+	
+	private static class Formatting implements EventHandler<String> {
+		@Override
+		public void onEvent(String event, long sequence, boolean endOfBatch) {}
+	}
+	
+	private static class Enrichment implements WorkHandler<String> {
+		@Override
+		public void onEvent(String event) {}
+	}
+
+}
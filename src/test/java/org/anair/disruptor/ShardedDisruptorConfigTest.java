@@ -0,0 +1,189 @@
+package org.anair.disruptor;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.ObjectFactory;
+
+import com.lmax.disruptor.EventFactory;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslatorTwoArg;
+
+@SuppressWarnings({"rawtypes","unchecked"})
+public class ShardedDisruptorConfigTest {
+
+	private static final String THREAD_NAME = "sharded";
+	private static final int SHARD_COUNT = 4;
+
+	private ShardedDisruptorConfig<KeyedEvent> shardedDisruptorConfig;
+	private final Map<String, List<Integer>> valuesByKey = new ConcurrentHashMap<String, List<Integer>>();
+	private final Map<String, String> threadByKey = new ConcurrentHashMap<String, String>();
+
+	@Before
+	public void setup(){
+		shardedDisruptorConfig = new ShardedDisruptorConfig<KeyedEvent>();
+		shardedDisruptorConfig.setThreadName(THREAD_NAME);
+		shardedDisruptorConfig.setShardCount(SHARD_COUNT);
+		shardedDisruptorConfig.setShardFactory(new ObjectFactory<DefaultDisruptorConfig<KeyedEvent>>() {
+			@Override
+			public DefaultDisruptorConfig<KeyedEvent> getObject() {
+				return newShard(new RecordingEventHandler());
+			}
+		});
+	}
+
+	@After
+	public void teardown(){
+		shardedDisruptorConfig.halt();
+	}
+
+	private DefaultDisruptorConfig<KeyedEvent> newShard(EventHandler<KeyedEvent> eventHandler) {
+		DefaultDisruptorConfig<KeyedEvent> shard = new DefaultDisruptorConfig<KeyedEvent>();
+		shard.setRingBufferSize(64);
+		shard.setEventFactory(new KeyedEventFactory());
+		shard.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<KeyedEvent>(new EventHandler[]{eventHandler})});
+		return shard;
+	}
+
+	@Test
+	public void test_per_key_ordering() {
+		shardedDisruptorConfig.init();
+		assertEquals(SHARD_COUNT, shardedDisruptorConfig.getShards().size());
+		assertEquals(THREAD_NAME + "-shard-2", shardedDisruptorConfig.getShards().get(2).getThreadName());
+
+		for(int i=0;i<1000;i++){
+			String key = "account" + (i % 10);
+			shardedDisruptorConfig.publish(key, TRANSLATOR, key, i);
+		}
+		assertEquals(1000, shardedDisruptorConfig.getPublishedCount());
+		shardedDisruptorConfig.controlledShutdown();
+
+		assertEquals(10, valuesByKey.size());
+		for(Map.Entry<String, List<Integer>> entry : valuesByKey.entrySet()){
+			List<Integer> values = entry.getValue();
+			assertEquals(100, values.size());
+			for(int i=1;i<values.size();i++){
+				assertTrue(values.get(i - 1) < values.get(i));
+			}
+			int shard = shardedDisruptorConfig.shardOf(entry.getKey());
+			assertTrue(threadByKey.get(entry.getKey()).startsWith(THREAD_NAME + "-shard-" + shard + "-"));
+		}
+		assertTrue(shardedDisruptorConfig.getShards().isEmpty());
+	}
+
+	@Test
+	public void test_shardOf() {
+		int shard = shardedDisruptorConfig.shardOf("account1");
+		assertTrue(shard >= 0 && shard < SHARD_COUNT);
+		assertEquals(shard, shardedDisruptorConfig.shardOf(new String("account1")));
+		assertEquals(shardedDisruptorConfig.shardOf(Integer.MIN_VALUE), shardedDisruptorConfig.shardOf(Integer.MIN_VALUE));
+		assertTrue(shardedDisruptorConfig.shardOf(-7) >= 0);
+	}
+
+	@Test(expected=NullPointerException.class)
+	public void test_shardOf_null_key() {
+		shardedDisruptorConfig.shardOf(null);
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void test_publish_not_started() {
+		shardedDisruptorConfig.publish("account1", TRANSLATOR, "account1", 1);
+	}
+
+	@Test
+	public void test_aggregates() {
+		shardedDisruptorConfig.init();
+		assertEquals(1, shardedDisruptorConfig.getShardSkew(), 0);
+		assertEquals(SHARD_COUNT * 64, shardedDisruptorConfig.getTotalCapacity());
+
+		for(int i=0;i<10;i++){
+			assertTrue(shardedDisruptorConfig.tryPublish("account1", TRANSLATOR, "account1", i));
+		}
+		assertEquals(10, shardedDisruptorConfig.getPublishedCount());
+		assertEquals(SHARD_COUNT, shardedDisruptorConfig.getShardSkew(), 0);
+		assertEquals(0, shardedDisruptorConfig.getRejectedPublishCount());
+		assertTrue(shardedDisruptorConfig.getShardSummary().contains(THREAD_NAME + "-shard-" + shardedDisruptorConfig.shardOf("account1") + ": published 10"));
+	}
+
+	@Test
+	public void test_shared_event_handler() {
+		final RecordingEventHandler eventHandler = new RecordingEventHandler();
+		final List<DefaultDisruptorConfig<KeyedEvent>> shards = new ArrayList<DefaultDisruptorConfig<KeyedEvent>>();
+		shardedDisruptorConfig.setShardFactory(new ObjectFactory<DefaultDisruptorConfig<KeyedEvent>>() {
+			@Override
+			public DefaultDisruptorConfig<KeyedEvent> getObject() {
+				DefaultDisruptorConfig<KeyedEvent> shard = newShard(eventHandler);
+				shards.add(shard);
+				return shard;
+			}
+		});
+		try {
+			shardedDisruptorConfig.init();
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage().contains("shared"));
+		}
+		assertEquals(2, shards.size());
+		assertTrue(shardedDisruptorConfig.getShards().isEmpty());
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void test_shard_already_started() {
+		shardedDisruptorConfig.setShardFactory(new ObjectFactory<DefaultDisruptorConfig<KeyedEvent>>() {
+			@Override
+			public DefaultDisruptorConfig<KeyedEvent> getObject() {
+				DefaultDisruptorConfig<KeyedEvent> shard = newShard(new RecordingEventHandler());
+				shard.setThreadName("started");
+				shard.init();
+				return shard;
+			}
+		});
+		shardedDisruptorConfig.init();
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_shardCount_not_positive() {
+		shardedDisruptorConfig.setShardCount(0);
+		shardedDisruptorConfig.init();
+	}
+
+	private static final EventTranslatorTwoArg<KeyedEvent, String, Integer> TRANSLATOR = new EventTranslatorTwoArg<KeyedEvent, String, Integer>() {
+		@Override
+		public void translateTo(KeyedEvent event, long sequence, String key, Integer value) {
+			event.key = key;
+			event.value = value;
+		}
+	};
+
+	private class RecordingEventHandler implements EventHandler<KeyedEvent>{
+		@Override
+		public void onEvent(KeyedEvent event, long sequence, boolean endOfBatch) throws Exception {
+			List<Integer> values = valuesByKey.get(event.key);
+			if(values == null){
+				values = new ArrayList<Integer>();
+				valuesByKey.put(event.key, values);
+			}
+			values.add(event.value);
+			threadByKey.put(event.key, Thread.currentThread().getName());
+		}
+	}
+
+	private static class KeyedEvent {
+		private String key;
+		private int value;
+	}
+
+	private static class KeyedEventFactory implements EventFactory<KeyedEvent>{
+		@Override
+		public KeyedEvent newInstance() {
+			return new KeyedEvent();
+		}
+	}
+}
@@ -2,12 +2,19 @@ package org.anair.disruptor;
 
 import static org.junit.Assert.*;
 
+import java.util.concurrent.TimeUnit;
+
+import org.anair.disruptor.waitstrategy.AdaptiveWaitStrategy;
+import org.anair.disruptor.waitstrategy.TunableSleepingWaitStrategy;
 import org.junit.Test;
 
 import com.lmax.disruptor.BlockingWaitStrategy;
 import com.lmax.disruptor.BusySpinWaitStrategy;
 import com.lmax.disruptor.LiteBlockingWaitStrategy;
+import com.lmax.disruptor.LiteTimeoutBlockingWaitStrategy;
+import com.lmax.disruptor.PhasedBackoffWaitStrategy;
 import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.TimeoutBlockingWaitStrategy;
 import com.lmax.disruptor.YieldingWaitStrategy;
 
 public class WaitStrategyTypeTest {
@@ -19,6 +26,54 @@ public class WaitStrategyTypeTest {
 		assertTrue(WaitStrategyType.LITE_BLOCKING.instance() instanceof LiteBlockingWaitStrategy);
 		assertTrue(WaitStrategyType.SLEEPING_WAIT.instance() instanceof SleepingWaitStrategy);
 		assertTrue(WaitStrategyType.YIELDING.instance() instanceof YieldingWaitStrategy);
+		assertTrue(WaitStrategyType.PHASED_BACKOFF.instance() instanceof PhasedBackoffWaitStrategy);
+		assertTrue(WaitStrategyType.TIMEOUT_BLOCKING.instance() instanceof TimeoutBlockingWaitStrategy);
+		assertTrue(WaitStrategyType.LITE_TIMEOUT_BLOCKING.instance() instanceof LiteTimeoutBlockingWaitStrategy);
+		assertTrue(WaitStrategyType.ADAPTIVE.instance() instanceof AdaptiveWaitStrategy);
+	}
+	
+	@Test
+	public void test_tuned_SleepingWaitStrategy() {
+		WaitStrategyParameters parameters = new WaitStrategyParameters();
+		parameters.setSleepingRetries(50);
+		parameters.setSleepTimeNanos(100000);
+		
+		TunableSleepingWaitStrategy waitStrategy = (TunableSleepingWaitStrategy) WaitStrategyType.SLEEPING_WAIT.instance(parameters);
+		assertEquals(50, waitStrategy.getRetries());
+		assertEquals(100000, waitStrategy.getSleepTimeNanos());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_PhasedBackoff_invalid_fallback() {
+		WaitStrategyParameters parameters = new WaitStrategyParameters();
+		parameters.setPhasedBackoffFallback(WaitStrategyType.BUSY_SPIN);
+		WaitStrategyType.PHASED_BACKOFF.instance(parameters);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_TimeoutBlocking_invalid_timeout() {
+		WaitStrategyParameters parameters = new WaitStrategyParameters();
+		parameters.setWaitTimeoutMillis(0);
+		WaitStrategyType.TIMEOUT_BLOCKING.instance(parameters);
+	}
+	
+	@Test
+	public void test_idle_timeout() {
+		WaitStrategyParameters parameters = new WaitStrategyParameters();
+		parameters.setIdleTimeoutMillis(20);
+		
+		assertTrue(WaitStrategyType.BLOCKING.instance(parameters) instanceof TimeoutBlockingWaitStrategy);
+		assertTrue(WaitStrategyType.LITE_BLOCKING.instance(parameters) instanceof LiteTimeoutBlockingWaitStrategy);
+		assertTrue(WaitStrategyType.PHASED_BACKOFF.instance(parameters) instanceof PhasedBackoffWaitStrategy);
+		assertEquals(20, ((AdaptiveWaitStrategy) WaitStrategyType.ADAPTIVE.instance(parameters)).getTimeout(TimeUnit.MILLISECONDS));
+		assertEquals(0, ((AdaptiveWaitStrategy) WaitStrategyType.ADAPTIVE.instance()).getTimeout(TimeUnit.MILLISECONDS));
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_idle_timeout_busy_spin() {
+		WaitStrategyParameters parameters = new WaitStrategyParameters();
+		parameters.setIdleTimeoutMillis(20);
+		WaitStrategyType.BUSY_SPIN.instance(parameters);
 	}
 	
 }
@@ -0,0 +1,38 @@
+package org.anair.disruptor;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.lmax.disruptor.WorkHandler;
+
+public class WorkHandlerPoolTest {
+	
+	private static final WorkHandler<String> WORK_HANDLER = new EnrichmentWorkHandler();
+	
+	@Test
+	public void test_pool_size() {
+		WorkHandlerPool<String> workHandlerPool = new WorkHandlerPool<String>(WORK_HANDLER, 3);
+		
+		assertEquals(3, workHandlerPool.getPoolSize());
+		assertSame(WORK_HANDLER, workHandlerPool.getWorkHandlers()[2]);
+		assertEquals("EnrichmentWorkHandler", workHandlerPool.getName());
+		assertEquals("EnrichmentWorkHandler x3", workHandlerPool.toString());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_invalid_pool_size() {
+		new WorkHandlerPool<String>(WORK_HANDLER, 0);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_no_work_handlers() {
+		new WorkHandlerPool<String>(new EnrichmentWorkHandler[0]);
+	}
+	
+	private static class EnrichmentWorkHandler implements WorkHandler<String> {
+		@Override
+		public void onEvent(String event) throws Exception {}
+	}
+
+}
@@ -0,0 +1,218 @@
+package org.anair.disruptor.codec;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.anair.disruptor.DefaultDisruptorConfig;
+import org.anair.disruptor.EventHandlerChain;
+import org.anair.disruptor.journal.JournalReader;
+import org.anair.disruptor.journal.JournalingEventHandler;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.lmax.disruptor.EventFactory;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslator;
+
+@SuppressWarnings({"rawtypes","unchecked"})
+public class PojoEventCodecTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private PojoEventCodec<BillingEvent> eventCodec = new PojoEventCodec<BillingEvent>(BillingEvent.class);
+
+	@Test
+	public void test_round_trip() {
+		BillingEvent billingEvent = new BillingEvent();
+		billingEvent.id = 7;
+		billingEvent.accountId = 42L;
+		billingEvent.amount = 10.5;
+		billingEvent.rate = 0.25f;
+		billingEvent.quantity = 3;
+		billingEvent.priority = 2;
+		billingEvent.flags = 1;
+		billingEvent.side = 'B';
+		billingEvent.settled = true;
+		billingEvent.currency = "EUR";
+		billingEvent.status = Status.BILLED;
+		billingEvent.note.append("first bill");
+		billingEvent.session = "not encoded";
+
+		ByteBuffer buffer = ByteBuffer.allocateDirect(256);
+		eventCodec.encode(billingEvent, buffer);
+		buffer.flip();
+
+		BillingEvent decoded = new BillingEvent();
+		StringBuilder note = decoded.note;
+		eventCodec.decode(buffer, decoded);
+		assertFalse(buffer.hasRemaining());
+		assertEquals(7, decoded.id);
+		assertEquals(42L, decoded.accountId);
+		assertEquals(10.5, decoded.amount, 0);
+		assertEquals(0.25f, decoded.rate, 0);
+		assertEquals(3, decoded.quantity);
+		assertEquals(2, decoded.priority);
+		assertEquals(1, decoded.flags);
+		assertEquals('B', decoded.side);
+		assertTrue(decoded.settled);
+		assertEquals("EUR", decoded.currency);
+		assertEquals(Status.BILLED, decoded.status);
+		assertSame(note, decoded.note);
+		assertEquals("first bill", decoded.note.toString());
+		assertNull(decoded.session);
+	}
+
+	@Test
+	public void test_nulls() {
+		BillingEvent billingEvent = new BillingEvent();
+		billingEvent.note = null;
+		ByteBuffer buffer = ByteBuffer.allocate(256);
+		eventCodec.encode(billingEvent, buffer);
+		buffer.flip();
+
+		BillingEvent decoded = new BillingEvent();
+		decoded.currency = "USD";
+		decoded.status = Status.OPEN;
+		eventCodec.decode(buffer, decoded);
+		assertNull(decoded.currency);
+		assertNull(decoded.status);
+		assertNull(decoded.note);
+	}
+
+	@Test
+	public void test_super_class_fields_first_by_name() {
+		BillingEvent billingEvent = new BillingEvent();
+		billingEvent.id = 7;
+		billingEvent.accountId = 42L;
+		ByteBuffer buffer = ByteBuffer.allocate(256);
+		eventCodec.encode(billingEvent, buffer);
+
+		assertEquals(7, buffer.getInt(0));
+		assertEquals(42L, buffer.getLong(4));
+		assertEquals("PojoEventCodec of BillingEvent [12 fields]", eventCodec.toString());
+	}
+
+	@Test(expected=BufferOverflowException.class)
+	public void test_event_larger_than_buffer() {
+		eventCodec.encode(new BillingEvent(), ByteBuffer.allocate(8));
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_unsupported_field() {
+		new PojoEventCodec<UnsupportedEvent>(UnsupportedEvent.class);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_final_field() {
+		new PojoEventCodec<FinalEvent>(FinalEvent.class);
+	}
+
+	@Test
+	public void test_journal_shares_the_disruptor_eventCodec() throws Exception {
+		File journalDirectory = temporaryFolder.newFolder("journal");
+		JournalingEventHandler<BillingEvent> journalingEventHandler = new JournalingEventHandler<BillingEvent>();
+		journalingEventHandler.setJournalDirectory(journalDirectory);
+		journalingEventHandler.setJournalName("billing");
+
+		DefaultDisruptorConfig<BillingEvent> disruptorConfig = new DefaultDisruptorConfig<BillingEvent>();
+		disruptorConfig.setThreadName("codec");
+		disruptorConfig.setRingBufferSize(8);
+		disruptorConfig.setEventFactory(BILLING_EVENT_FACTORY);
+		disruptorConfig.setEventCodec(eventCodec);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<BillingEvent>(new EventHandler[]{journalingEventHandler})});
+		disruptorConfig.init();
+		assertSame(eventCodec, journalingEventHandler.getEventCodec());
+		assertTrue(disruptorConfig.getDisruptorConfiguration().contains("Event codec: PojoEventCodec of BillingEvent"));
+		try {
+			for(int i=0;i<3;i++){
+				disruptorConfig.publish(new EventTranslator<BillingEvent>() {
+					@Override
+					public void translateTo(BillingEvent event, long sequence) {
+						event.accountId = sequence;
+						event.currency = "EUR";
+					}
+				});
+			}
+			long deadline = System.currentTimeMillis() + 5000;
+			while(journalingEventHandler.getJournaledCount() < 3 && System.currentTimeMillis() < deadline){
+				Thread.sleep(5);
+			}
+		} finally {
+			disruptorConfig.controlledShutdown();
+		}
+
+		List<Long> accountIds = new ArrayList<Long>();
+		JournalReader<BillingEvent> journalReader = new JournalReader<BillingEvent>(journalDirectory, "billing", eventCodec);
+		BillingEvent event = new BillingEvent();
+		while(journalReader.read(event)){
+			accountIds.add(event.accountId);
+			assertEquals("EUR", event.currency);
+		}
+		assertEquals(3, accountIds.size());
+	}
+
+	@Test
+	public void test_own_eventCodec_is_kept() throws Exception {
+		EventCodec<BillingEvent> ownEventCodec = new PojoEventCodec<BillingEvent>(BillingEvent.class);
+		JournalingEventHandler<BillingEvent> journalingEventHandler = new JournalingEventHandler<BillingEvent>();
+		journalingEventHandler.setJournalDirectory(temporaryFolder.newFolder("journal"));
+		journalingEventHandler.setJournalName("billing");
+		journalingEventHandler.setEventCodec(ownEventCodec);
+
+		DefaultDisruptorConfig<BillingEvent> disruptorConfig = new DefaultDisruptorConfig<BillingEvent>();
+		disruptorConfig.setThreadName("codec");
+		disruptorConfig.setEventFactory(BILLING_EVENT_FACTORY);
+		disruptorConfig.setEventCodec(eventCodec);
+		disruptorConfig.setReplayJournal(journalingEventHandler);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<BillingEvent>(new EventHandler[]{journalingEventHandler})});
+		disruptorConfig.init();
+		disruptorConfig.controlledShutdown();
+		assertSame(ownEventCodec, journalingEventHandler.getEventCodec());
+	}
+
+	private enum Status {
+		OPEN, BILLED
+	}
+
+	private static class Event {
+		int id;
+	}
+
+	private static class BillingEvent extends Event {
+		private static final int VERSION = 1;
+		private long accountId;
+		private double amount;
+		private float rate;
+		private int quantity;
+		private short priority;
+		private byte flags;
+		private char side;
+		private boolean settled;
+		private String currency;
+		private Status status;
+		private StringBuilder note = new StringBuilder();
+		private transient String session;
+	}
+
+	private static class UnsupportedEvent {
+		private List<String> items;
+	}
+
+	private static class FinalEvent {
+		private final long id = 0;
+	}
+
+	private static final EventFactory<BillingEvent> BILLING_EVENT_FACTORY = new EventFactory<BillingEvent>() {
+		@Override
+		public BillingEvent newInstance() {
+			return new BillingEvent();
+		}
+	};
+}
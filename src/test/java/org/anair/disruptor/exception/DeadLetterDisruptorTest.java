@@ -0,0 +1,250 @@
+package org.anair.disruptor.exception;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.anair.disruptor.DefaultDisruptorConfig;
+import org.anair.disruptor.EventCopier;
+import org.anair.disruptor.EventHandlerChain;
+import org.anair.disruptor.handler.BatchingEventHandler;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lmax.disruptor.EventFactory;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslator;
+import com.lmax.disruptor.EventTranslatorOneArg;
+
+@SuppressWarnings({"rawtypes","unchecked"})
+public class DeadLetterDisruptorTest {
+
+	private DefaultDisruptorConfig<StringBuilder> disruptorConfig;
+	private DefaultDisruptorConfig<DeadLetterEvent<StringBuilder>> deadLetterDisruptor;
+	private DeadLetterRecordingEventHandler deadLetterRecordingEventHandler;
+	private List<String> handled;
+
+	@Before
+	public void setup(){
+		handled = Collections.synchronizedList(new ArrayList<String>());
+		deadLetterRecordingEventHandler = new DeadLetterRecordingEventHandler();
+		deadLetterDisruptor = new DefaultDisruptorConfig<DeadLetterEvent<StringBuilder>>();
+		deadLetterDisruptor.setThreadName("billingDeadLetter");
+		deadLetterDisruptor.setRingBufferSize(8);
+		deadLetterDisruptor.setEventFactory(new DeadLetterEventFactory<StringBuilder>(STRING_BUILDER_FACTORY));
+		deadLetterDisruptor.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<DeadLetterEvent<StringBuilder>>(new EventHandler[]{deadLetterRecordingEventHandler})});
+
+		disruptorConfig = new DefaultDisruptorConfig<StringBuilder>();
+		disruptorConfig.setThreadName("billing");
+		disruptorConfig.setRingBufferSize(16);
+		disruptorConfig.setEventFactory(STRING_BUILDER_FACTORY);
+		disruptorConfig.setDeadLetterDisruptor(deadLetterDisruptor);
+		disruptorConfig.setDeadLetterEventCopier(STRING_BUILDER_COPIER);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<StringBuilder>(new EventHandler[]{new PoisonEventHandler()}, new EventHandler[]{new EventHandler<StringBuilder>() {
+			@Override
+			public void onEvent(StringBuilder event, long sequence, boolean endOfBatch) throws Exception {
+				handled.add(event.toString());
+			}
+		}})});
+	}
+
+	@Test
+	public void test_failed_events_copied_to_dead_letter_disruptor() {
+		disruptorConfig.init();
+
+		for(String value : new String[]{"a", "poison b", "c", "poison d", "e"}){
+			disruptorConfig.publish(TRANSLATOR, value);
+		}
+		disruptorConfig.controlledShutdown();
+
+		assertEquals(5, handled.size());
+		assertEquals(2, disruptorConfig.getDeadLetterCount());
+		assertEquals(0, disruptorConfig.getDroppedDeadLetterCount());
+		assertEquals(2, disruptorConfig.getExceptionHandlers().get("PoisonEventHandler").getDeadLetterCount());
+		assertEquals(2, deadLetterRecordingEventHandler.deadLetters.size());
+		assertEquals("poison b at 1 in PoisonEventHandler: java.lang.IllegalArgumentException: poison b", deadLetterRecordingEventHandler.deadLetters.get(0));
+		assertEquals("poison d at 3 in PoisonEventHandler: java.lang.IllegalArgumentException: poison d", deadLetterRecordingEventHandler.deadLetters.get(1));
+	}
+
+	@Test
+	public void test_full_dead_letter_disruptor_drops() throws InterruptedException {
+		final CountDownLatch release = new CountDownLatch(1);
+		deadLetterDisruptor.setRingBufferSize(2);
+		deadLetterDisruptor.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<DeadLetterEvent<StringBuilder>>(new EventHandler[]{new EventHandler<DeadLetterEvent<StringBuilder>>() {
+			@Override
+			public void onEvent(DeadLetterEvent<StringBuilder> event, long sequence, boolean endOfBatch) throws Exception {
+				release.await();
+			}
+		}})});
+		disruptorConfig.init();
+		try {
+			for(int i=0;i<5;i++){
+				disruptorConfig.publish(TRANSLATOR, "poison " + i);
+			}
+			long deadline = System.currentTimeMillis() + 5000;
+			while(handled.size() < 5 && System.currentTimeMillis() < deadline){
+				Thread.sleep(5);
+			}
+			assertEquals(5, handled.size());
+			assertEquals(2, disruptorConfig.getDeadLetterCount());
+			assertEquals(3, disruptorConfig.getDroppedDeadLetterCount());
+			assertEquals(3, deadLetterDisruptor.getRejectedPublishCount());
+		} finally {
+			release.countDown();
+			disruptorConfig.controlledShutdown();
+		}
+	}
+
+	@Test
+	public void test_failed_warmup_events_are_not_dead_letters() {
+		disruptorConfig.setWarmupEvents(4);
+		disruptorConfig.setWarmupTranslator(new EventTranslator<StringBuilder>() {
+			@Override
+			public void translateTo(StringBuilder event, long sequence) {
+				event.setLength(0);
+				event.append("poison warm-up");
+			}
+		});
+		disruptorConfig.init();
+		disruptorConfig.publish(TRANSLATOR, "poison live");
+		disruptorConfig.controlledShutdown();
+
+		assertEquals(5, disruptorConfig.getFailureCount());
+		assertEquals(1, disruptorConfig.getDeadLetterCount());
+		assertEquals(Collections.singletonList("poison live at 4 in PoisonEventHandler: java.lang.IllegalArgumentException: poison live"), deadLetterRecordingEventHandler.deadLetters);
+	}
+
+	@Test
+	public void test_started_dead_letter_disruptor_is_not_shutdown() {
+		deadLetterDisruptor.init();
+		try {
+			disruptorConfig.init();
+			disruptorConfig.controlledShutdown();
+			deadLetterDisruptor.publish(new EventTranslator<DeadLetterEvent<StringBuilder>>() {
+				@Override
+				public void translateTo(DeadLetterEvent<StringBuilder> event, long sequence) {
+					event.getEvent().setLength(0);
+					event.getEvent().append("manual");
+				}
+			});
+		} finally {
+			deadLetterDisruptor.controlledShutdown();
+		}
+		assertEquals(1, deadLetterRecordingEventHandler.deadLetters.size());
+	}
+
+	@Test
+	public void test_failed_batch_events_are_all_dead_letters() throws Exception {
+		BatchingEventHandler<StringBuilder> batchingEventHandler = new BatchingEventHandler<StringBuilder>() {
+			@Override
+			protected void onBatch(List<StringBuilder> events) throws Exception {
+				throw new IllegalArgumentException("batch");
+			}
+		};
+		DisruptorExceptionHandler<StringBuilder> exHandler = new DisruptorExceptionHandler<StringBuilder>("billing", "batch", batchingEventHandler);
+		exHandler.setBatchingEventHandler(batchingEventHandler);
+		exHandler.setDeadLetterDisruptor(deadLetterDisruptor, STRING_BUILDER_COPIER);
+		deadLetterDisruptor.init();
+		try {
+			batchingEventHandler.onEvent(new StringBuilder("a"), 5, false);
+			batchingEventHandler.onEvent(new StringBuilder("b"), 6, false);
+			StringBuilder last = new StringBuilder("c");
+			try {
+				batchingEventHandler.onEvent(last, 7, true);
+				fail();
+			} catch (IllegalArgumentException e) {
+				exHandler.handleEventException(e, 7, last);
+			}
+		} finally {
+			deadLetterDisruptor.controlledShutdown();
+		}
+
+		assertEquals(3, exHandler.getDeadLetterCount());
+		assertEquals(0, batchingEventHandler.getBufferedCount());
+		assertEquals("a at 5 in batch: java.lang.IllegalArgumentException: batch", deadLetterRecordingEventHandler.deadLetters.get(0));
+		assertEquals("b at 6 in batch: java.lang.IllegalArgumentException: batch", deadLetterRecordingEventHandler.deadLetters.get(1));
+		assertEquals("c at 7 in batch: java.lang.IllegalArgumentException: batch", deadLetterRecordingEventHandler.deadLetters.get(2));
+	}
+
+	@Test
+	public void test_timeout_failure_is_not_a_dead_letter() {
+		DisruptorExceptionHandler<StringBuilder> exHandler = new DisruptorExceptionHandler<StringBuilder>("billing", "timeout", null);
+		exHandler.setDeadLetterDisruptor(deadLetterDisruptor, STRING_BUILDER_COPIER);
+		exHandler.handleEventException(new IllegalStateException("timeout"), 3, null);
+
+		assertEquals(1, exHandler.getSkippedCount());
+		assertEquals(0, exHandler.getDeadLetterCount());
+		assertEquals(0, exHandler.getDroppedDeadLetterCount());
+	}
+
+	@Test
+	public void test_failed_copy_drops_dead_letter() {
+		DisruptorExceptionHandler<StringBuilder> exHandler = new DisruptorExceptionHandler<StringBuilder>("billing", "copy", null);
+		exHandler.setDeadLetterDisruptor(deadLetterDisruptor, new EventCopier<StringBuilder>() {
+			@Override
+			public void copy(StringBuilder from, StringBuilder to) {
+				throw new IllegalStateException("copy");
+			}
+		});
+		deadLetterDisruptor.init();
+		try {
+			exHandler.handleEventException(new IllegalArgumentException("poison"), 3, new StringBuilder("poison"));
+		} finally {
+			deadLetterDisruptor.controlledShutdown();
+		}
+
+		assertEquals(0, exHandler.getDeadLetterCount());
+		assertEquals(1, exHandler.getDroppedDeadLetterCount());
+		assertEquals(0, deadLetterDisruptor.getRejectedPublishCount());
+	}
+
+	@Test(expected=NullPointerException.class)
+	public void test_no_deadLetterEventCopier() {
+		disruptorConfig.setDeadLetterEventCopier(null);
+		disruptorConfig.init();
+	}
+
+	private static class PoisonEventHandler implements EventHandler<StringBuilder> {
+		@Override
+		public void onEvent(StringBuilder event, long sequence, boolean endOfBatch) throws Exception {
+			if(event.indexOf("poison") == 0){
+				throw new IllegalArgumentException(event.toString());
+			}
+		}
+	}
+
+	private static class DeadLetterRecordingEventHandler implements EventHandler<DeadLetterEvent<StringBuilder>> {
+		private final List<String> deadLetters = Collections.synchronizedList(new ArrayList<String>());
+
+		@Override
+		public void onEvent(DeadLetterEvent<StringBuilder> event, long sequence, boolean endOfBatch) throws Exception {
+			deadLetters.add(event.getEvent() + " at " + event.getSequence() + " in " + event.getEventHandlerName() + ": " + event.getException());
+		}
+	}
+
+	private static final EventFactory<StringBuilder> STRING_BUILDER_FACTORY = new EventFactory<StringBuilder>() {
+		@Override
+		public StringBuilder newInstance() {
+			return new StringBuilder();
+		}
+	};
+
+	private static final EventCopier<StringBuilder> STRING_BUILDER_COPIER = new EventCopier<StringBuilder>() {
+		@Override
+		public void copy(StringBuilder from, StringBuilder to) {
+			to.setLength(0);
+			to.append(from);
+		}
+	};
+
+	private static final EventTranslatorOneArg<StringBuilder, String> TRANSLATOR = new EventTranslatorOneArg<StringBuilder, String>() {
+		@Override
+		public void translateTo(StringBuilder event, long sequence, String value) {
+			event.setLength(0);
+			event.append(value);
+		}
+	};
+}
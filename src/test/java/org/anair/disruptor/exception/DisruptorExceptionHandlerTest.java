@@ -1,15 +1,170 @@
 package org.anair.disruptor.exception;
 
+import static org.junit.Assert.*;
+import static org.easymock.EasyMock.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.anair.disruptor.DisruptorLifecycle;
+import org.anair.disruptor.handler.BatchingEventHandler;
 import org.junit.Test;
 
+import com.lmax.disruptor.EventHandler;
+
+@SuppressWarnings({"rawtypes","unchecked"})
 public class DisruptorExceptionHandlerTest {
 	
 	private DisruptorExceptionHandler exHandler;
 	
-	@Test(expected=RuntimeException.class)
-	public void test_handleEventException_throw_RuntimeException() {
+	@Test
+	public void test_handleEventException_skip() {
 		exHandler = new DisruptorExceptionHandler("threadName");
 		exHandler.handleEventException(new NullPointerException("disruptor error test"), 10, new String("disruptor error test"));
+		
+		assertEquals(ExceptionStrategy.SKIP, exHandler.getExceptionStrategy());
+		assertEquals(1, exHandler.getFailureCount());
+		assertEquals(1, exHandler.getSkippedCount());
+		assertEquals("Sequence 10: java.lang.NullPointerException: disruptor error test", exHandler.getLastFailure());
+	}
+	
+	@Test
+	public void test_handleEventException_retry_recovers() {
+		FailingEventHandler eventHandler = new FailingEventHandler(2);
+		exHandler = new DisruptorExceptionHandler("threadName", "FailingEventHandler", eventHandler);
+		exHandler.setExceptionStrategy(ExceptionStrategy.RETRY);
+		exHandler.setRetryBackoffMillis(0);
+		exHandler.handleEventException(new IllegalStateException("first"), 10, "event");
+		
+		assertEquals(3, eventHandler.calls.get());
+		assertEquals(1, exHandler.getFailureCount());
+		assertEquals(1, exHandler.getRecoveredCount());
+		assertEquals(0, exHandler.getSkippedCount());
+	}
+	
+	@Test
+	public void test_handleEventException_retries_exhausted() {
+		FailingEventHandler eventHandler = new FailingEventHandler(10);
+		exHandler = new DisruptorExceptionHandler("threadName", "FailingEventHandler", eventHandler);
+		exHandler.setExceptionStrategy(ExceptionStrategy.RETRY);
+		exHandler.setRetryAttempts(2);
+		exHandler.setRetryBackoffMillis(1);
+		exHandler.handleEventException(new IllegalStateException("first"), 10, "event");
+		
+		assertEquals(2, eventHandler.calls.get());
+		assertEquals(0, exHandler.getRecoveredCount());
+		assertEquals(1, exHandler.getSkippedCount());
+		assertEquals("Sequence 10: java.lang.IllegalStateException: failure 2", exHandler.getLastFailure());
+	}
+	
+	@Test
+	public void test_handleEventException_retry_without_event_handler() {
+		exHandler = new DisruptorExceptionHandler("threadName");
+		exHandler.setExceptionStrategy(ExceptionStrategy.RETRY);
+		exHandler.handleEventException(new IllegalStateException("work handler"), 10, "event");
+		
+		assertEquals(1, exHandler.getSkippedCount());
+	}
+	
+	@Test
+	public void test_handleEventException_retry_failed_batch() throws Exception {
+		FailingBatchingEventHandler eventHandler = new FailingBatchingEventHandler(1);
+		eventHandler.setMaxBatchSize(4);
+		exHandler = new DisruptorExceptionHandler("threadName", "FailingBatchingEventHandler", eventHandler);
+		exHandler.setBatchingEventHandler(eventHandler);
+		exHandler.setExceptionStrategy(ExceptionStrategy.RETRY);
+		exHandler.setRetryBackoffMillis(0);
+		
+		eventHandler.onEvent("a", 0, false);
+		eventHandler.onEvent("b", 1, false);
+		try {
+			eventHandler.onEvent("c", 2, true);
+			fail();
+		} catch (IllegalStateException e) {
+			exHandler.handleEventException(e, 2, "c");
+		}
+		
+		assertEquals(Arrays.asList(Arrays.asList("a", "b", "c")), eventHandler.batches);
+		assertEquals(0, eventHandler.getBufferedCount());
+		assertEquals(1, exHandler.getRecoveredCount());
+	}
+	
+	@Test
+	public void test_handleEventException_failed_batch_given_up() throws Exception {
+		FailingBatchingEventHandler eventHandler = new FailingBatchingEventHandler(10);
+		exHandler = new DisruptorExceptionHandler("threadName", "FailingBatchingEventHandler", eventHandler);
+		exHandler.setBatchingEventHandler(eventHandler);
+		exHandler.setExceptionStrategy(ExceptionStrategy.RETRY);
+		exHandler.setRetryAttempts(2);
+		exHandler.setRetryBackoffMillis(0);
+		
+		eventHandler.onEvent("a", 0, false);
+		try {
+			eventHandler.onEvent("b", 1, true);
+			fail();
+		} catch (IllegalStateException e) {
+			exHandler.handleEventException(e, 1, "b");
+		}
+		
+		assertEquals(3, eventHandler.calls);
+		assertTrue(eventHandler.getFailedBatch().isEmpty());
+		assertEquals(0, eventHandler.getBufferedCount());
+		assertEquals(1, exHandler.getSkippedCount());
+	}
+	
+	@Test
+	public void test_handleEventException_timeout_retries_failed_batch() throws Exception {
+		FailingBatchingEventHandler eventHandler = new FailingBatchingEventHandler(1);
+		exHandler = new DisruptorExceptionHandler("threadName", "FailingBatchingEventHandler", eventHandler);
+		exHandler.setBatchingEventHandler(eventHandler);
+		exHandler.setExceptionStrategy(ExceptionStrategy.RETRY);
+		exHandler.setRetryBackoffMillis(0);
+		
+		eventHandler.onEvent("a", 0, false);
+		try {
+			eventHandler.onTimeout(0);
+			fail();
+		} catch (IllegalStateException e) {
+			exHandler.handleEventException(e, 0, null);
+		}
+		
+		assertEquals(Arrays.asList(Arrays.asList("a")), eventHandler.batches);
+		assertEquals(1, exHandler.getRecoveredCount());
+	}
+	
+	@Test
+	public void test_handleEventException_timeout_not_retried() {
+		FailingEventHandler eventHandler = new FailingEventHandler(10);
+		exHandler = new DisruptorExceptionHandler("threadName", "FailingEventHandler", eventHandler);
+		exHandler.setExceptionStrategy(ExceptionStrategy.RETRY);
+		exHandler.setRetryBackoffMillis(0);
+		exHandler.handleEventException(new IllegalStateException("timeout"), 10, null);
+		
+		assertEquals(0, eventHandler.calls.get());
+		assertEquals(1, exHandler.getSkippedCount());
+	}
+	
+	@Test
+	public void test_handleEventException_halt() {
+		DisruptorLifecycle mockDisruptor = createMock(DisruptorLifecycle.class);
+		mockDisruptor.halt();
+		replay(mockDisruptor);
+		
+		exHandler = new DisruptorExceptionHandler("threadName");
+		exHandler.setExceptionStrategy(ExceptionStrategy.HALT);
+		exHandler.setDisruptor(mockDisruptor);
+		exHandler.handleEventException(new IllegalStateException("poison"), 10, "event");
+		
+		verify(mockDisruptor);
+		assertEquals(1, exHandler.getFailureCount());
+		assertEquals(0, exHandler.getSkippedCount());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_negative_retryAttempts() {
+		new DisruptorExceptionHandler("threadName").setRetryAttempts(-1);
 	}
 	
 	@Test
@@ -23,5 +178,40 @@ public class DisruptorExceptionHandlerTest {
 		exHandler = new DisruptorExceptionHandler("threadName");
 		exHandler.handleOnShutdownException(new NullPointerException("disruptor shutdown error"));
 	}
+	
+	private static class FailingEventHandler implements EventHandler<String> {
+		private final int failures;
+		private final AtomicInteger calls = new AtomicInteger();
+		
+		private FailingEventHandler(int failures) {
+			this.failures = failures;
+		}
+		
+		@Override
+		public void onEvent(String event, long sequence, boolean endOfBatch) throws Exception {
+			int call = calls.incrementAndGet();
+			if(call <= failures){
+				throw new IllegalStateException("failure " + call);
+			}
+		}
+	}
+	
+	private static class FailingBatchingEventHandler extends BatchingEventHandler<String> {
+		private final int failures;
+		private final List<List<String>> batches = new ArrayList<List<String>>();
+		private int calls;
+		
+		private FailingBatchingEventHandler(int failures) {
+			this.failures = failures;
+		}
+		
+		@Override
+		protected void onBatch(List<String> events) throws Exception {
+			if(++calls <= failures){
+				throw new IllegalStateException("failure " + calls);
+			}
+			batches.add(new ArrayList<String>(events));
+		}
+	}
 
 }
@@ -0,0 +1,321 @@
+package org.anair.disruptor.handler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.anair.disruptor.DefaultDisruptorConfig;
+import org.anair.disruptor.EventCopier;
+import org.anair.disruptor.EventHandlerChain;
+import org.anair.disruptor.exception.ExceptionStrategy;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lmax.disruptor.EventFactory;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.Sequence;
+
+@SuppressWarnings({"rawtypes","unchecked"})
+public class BatchingEventHandlerTest {
+
+	private RecordingBatchingEventHandler batchingEventHandler;
+
+	@Before
+	public void setup(){
+		batchingEventHandler = new RecordingBatchingEventHandler();
+	}
+
+	@Test
+	public void test_flush_on_endOfBatch() throws Exception {
+		batchingEventHandler.onEvent("a", 0, false);
+		batchingEventHandler.onEvent("b", 1, false);
+		assertEquals(2, batchingEventHandler.getBufferedCount());
+		assertTrue(batchingEventHandler.batches.isEmpty());
+
+		batchingEventHandler.onEvent("c", 2, true);
+		batchingEventHandler.onEvent("d", 3, true);
+		assertEquals(Arrays.asList(Arrays.asList("a", "b", "c"), Arrays.asList("d")), batchingEventHandler.batches);
+		assertEquals(0, batchingEventHandler.getBufferedCount());
+		assertEquals(3, batchingEventHandler.getBatchSequence());
+	}
+
+	@Test
+	public void test_flush_on_maxBatchSize() throws Exception {
+		Sequence sequenceCallback = new Sequence();
+		batchingEventHandler.setSequenceCallback(sequenceCallback);
+		batchingEventHandler.setMaxBatchSize(2);
+		for(int i=0;i<4;i++){
+			batchingEventHandler.onEvent("e" + i, i, false);
+		}
+		batchingEventHandler.onEvent("e4", 4, true);
+
+		assertEquals(Arrays.asList(Arrays.asList("e0", "e1"), Arrays.asList("e2", "e3"), Arrays.asList("e4")), batchingEventHandler.batches);
+		assertEquals(3, sequenceCallback.get());
+		assertEquals(2, batchingEventHandler.getMaxBatchSize());
+	}
+
+	@Test
+	public void test_onBatch_exception_keeps_failed_batch() throws Exception {
+		batchingEventHandler.failing = true;
+		batchingEventHandler.onEvent("a", 0, false);
+		try {
+			batchingEventHandler.onEvent("b", 1, true);
+			fail();
+		} catch (IllegalStateException e) {
+		}
+		assertEquals(Arrays.asList("a", "b"), batchingEventHandler.getFailedBatch());
+
+		batchingEventHandler.failing = false;
+		batchingEventHandler.retryFailedBatch();
+		assertTrue(batchingEventHandler.getFailedBatch().isEmpty());
+		assertEquals(0, batchingEventHandler.getBufferedCount());
+		assertEquals(Arrays.asList(Arrays.asList("a", "b")), batchingEventHandler.batches);
+	}
+
+	@Test
+	public void test_failed_batch_discarded_on_next_event() throws Exception {
+		batchingEventHandler.failing = true;
+		try {
+			batchingEventHandler.onEvent("a", 0, true);
+			fail();
+		} catch (IllegalStateException e) {
+		}
+		assertEquals(1, batchingEventHandler.getBufferedCount());
+
+		batchingEventHandler.failing = false;
+		batchingEventHandler.onEvent("b", 1, true);
+		assertEquals(Arrays.asList(Arrays.asList("b")), batchingEventHandler.batches);
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void test_retryFailedBatch_without_failed_batch() throws Exception {
+		batchingEventHandler.onEvent("a", 0, false);
+		batchingEventHandler.retryFailedBatch();
+	}
+
+	@Test(expected=UnsupportedOperationException.class)
+	public void test_batch_unmodifiable() throws Exception {
+		batchingEventHandler.modifying = true;
+		batchingEventHandler.onEvent("a", 0, true);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_maxBatchSize_not_positive() {
+		batchingEventHandler.setMaxBatchSize(0);
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void test_maxBatchSize_with_events_collected() throws Exception {
+		batchingEventHandler.onEvent("a", 0, false);
+		batchingEventHandler.setMaxBatchSize(10);
+	}
+
+	@Test
+	public void test_linger_copies_events() throws Exception {
+		CopyingBatchingEventHandler copyingEventHandler = new CopyingBatchingEventHandler();
+		copyingEventHandler.setLingerMillis(60000);
+		copyingEventHandler.onStart();
+		
+		StringBuilder slot = new StringBuilder("a");
+		copyingEventHandler.onEvent(slot, 0, true);
+		slot.setLength(0);
+		slot.append("b");
+		copyingEventHandler.onEvent(slot, 1, true);
+		assertEquals(2, copyingEventHandler.getBufferedCount());
+		assertTrue(copyingEventHandler.isLingering());
+		
+		copyingEventHandler.onTimeout(1);
+		assertEquals(Arrays.asList(Arrays.asList("a", "b")), copyingEventHandler.batches);
+		
+		copyingEventHandler.onEvent(slot, 2, true);
+		copyingEventHandler.onShutdown();
+		assertEquals(Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("b")), copyingEventHandler.batches);
+	}
+	
+	@Test(expected=IllegalStateException.class)
+	public void test_linger_without_eventFactory() {
+		batchingEventHandler.setLingerMillis(10);
+		batchingEventHandler.onStart();
+	}
+	
+	@Test(expected=IllegalStateException.class)
+	public void test_linger_without_eventCopier() {
+		batchingEventHandler.setLingerMillis(10);
+		batchingEventHandler.setEventFactory(new EventFactory<String>() {
+			@Override
+			public String newInstance() {
+				return "";
+			}
+		});
+		batchingEventHandler.onStart();
+	}
+	
+	@Test(expected=IllegalStateException.class)
+	public void test_init_validates_lingering() {
+		batchingEventHandler.setLingerMillis(10);
+		
+		DefaultDisruptorConfig<String> disruptorConfig = new DefaultDisruptorConfig<String>();
+		disruptorConfig.setThreadName("linger");
+		disruptorConfig.setRingBufferSize(16);
+		disruptorConfig.setEventFactory(new EventFactory<String>() {
+			@Override
+			public String newInstance() {
+				return "";
+			}
+		});
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<String>(new EventHandler[]{batchingEventHandler})});
+		disruptorConfig.init();
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void test_lingering_event_handler_not_in_last_stage() {
+		CopyingBatchingEventHandler copyingEventHandler = new CopyingBatchingEventHandler();
+		copyingEventHandler.setLingerMillis(60000);
+		
+		DefaultDisruptorConfig<StringBuilder> disruptorConfig = new DefaultDisruptorConfig<StringBuilder>();
+		disruptorConfig.setThreadName("linger");
+		disruptorConfig.setRingBufferSize(16);
+		disruptorConfig.setEventFactory(STRING_BUILDER_FACTORY);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<StringBuilder>(new EventHandler[]{copyingEventHandler}, 
+				new EventHandler[]{new EventHandler<StringBuilder>() {
+					@Override
+					public void onEvent(StringBuilder event, long sequence, boolean endOfBatch) {}
+				}})});
+		disruptorConfig.init();
+	}
+	
+	@Test
+	public void test_idle_timeout_flushes_lingering_events() throws Exception {
+		CopyingBatchingEventHandler copyingEventHandler = new CopyingBatchingEventHandler();
+		copyingEventHandler.setLingerMillis(60000);
+		
+		DefaultDisruptorConfig<StringBuilder> disruptorConfig = new DefaultDisruptorConfig<StringBuilder>();
+		disruptorConfig.setThreadName("linger");
+		disruptorConfig.setRingBufferSize(16);
+		disruptorConfig.setEventFactory(STRING_BUILDER_FACTORY);
+		disruptorConfig.setIdleTimeoutMillis(10);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<StringBuilder>(new EventHandler[]{copyingEventHandler})});
+		disruptorConfig.init();
+		try {
+			for(int i=0;i<3;i++){
+				disruptorConfig.publish(new EventTranslatorOneArg<StringBuilder, String>() {
+					@Override
+					public void translateTo(StringBuilder event, long sequence, String value) {
+						event.setLength(0);
+						event.append(value);
+					}
+				}, "e" + i);
+			}
+			
+			long deadline = System.currentTimeMillis() + 5000;
+			while(copyingEventHandler.flushedEvents().size() < 3 && System.currentTimeMillis() < deadline){
+				Thread.sleep(5);
+			}
+			assertEquals(Arrays.asList("e0", "e1", "e2"), copyingEventHandler.flushedEvents());
+		} finally {
+			disruptorConfig.controlledShutdown();
+		}
+	}
+	
+	@Test
+	public void test_retry_strategy_retries_failed_batch() throws Exception {
+		final CopyingBatchingEventHandler copyingEventHandler = new CopyingBatchingEventHandler();
+		copyingEventHandler.setMaxBatchSize(4);
+		copyingEventHandler.failures = 1;
+		
+		DefaultDisruptorConfig<StringBuilder> disruptorConfig = new DefaultDisruptorConfig<StringBuilder>();
+		disruptorConfig.setThreadName("batchRetry");
+		disruptorConfig.setRingBufferSize(16);
+		disruptorConfig.setEventFactory(STRING_BUILDER_FACTORY);
+		disruptorConfig.setExceptionStrategy(ExceptionStrategy.RETRY);
+		disruptorConfig.setRetryBackoffMillis(0);
+		disruptorConfig.setLatencyHistogramEnabled(true);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<StringBuilder>(new EventHandler[]{copyingEventHandler})});
+		disruptorConfig.init();
+		try {
+			disruptorConfig.publishEvents(new EventTranslatorOneArg<StringBuilder, String>() {
+				@Override
+				public void translateTo(StringBuilder event, long sequence, String value) {
+					event.setLength(0);
+					event.append(value);
+				}
+			}, new String[]{"e0", "e1", "e2"});
+			
+			long deadline = System.currentTimeMillis() + 5000;
+			while(copyingEventHandler.flushedEvents().size() < 3 && System.currentTimeMillis() < deadline){
+				Thread.sleep(5);
+			}
+			assertEquals(Arrays.asList("e0", "e1", "e2"), copyingEventHandler.flushedEvents());
+			assertEquals(1, disruptorConfig.getExceptionHandlers().values().iterator().next().getRecoveredCount());
+		} finally {
+			disruptorConfig.controlledShutdown();
+		}
+	}
+	
+	private static final EventFactory<StringBuilder> STRING_BUILDER_FACTORY = new EventFactory<StringBuilder>() {
+		@Override
+		public StringBuilder newInstance() {
+			return new StringBuilder();
+		}
+	};
+	
+	private static class CopyingBatchingEventHandler extends BatchingEventHandler<StringBuilder> {
+		private final List<List<String>> batches = new ArrayList<List<String>>();
+		private int failures;
+		
+		private CopyingBatchingEventHandler() {
+			setEventFactory(STRING_BUILDER_FACTORY);
+			setEventCopier(new EventCopier<StringBuilder>() {
+				@Override
+				public void copy(StringBuilder from, StringBuilder to) {
+					to.setLength(0);
+					to.append(from);
+				}
+			});
+		}
+		
+		@Override
+		protected void onBatch(List<StringBuilder> events) throws Exception {
+			if(failures-- > 0){
+				throw new IllegalStateException("failure");
+			}
+			List<String> batch = new ArrayList<String>();
+			for(StringBuilder event : events){
+				batch.add(event.toString());
+			}
+			synchronized (batches) {
+				batches.add(batch);
+			}
+		}
+		
+		private List<String> flushedEvents() {
+			List<String> flushedEvents = new ArrayList<String>();
+			synchronized (batches) {
+				for(List<String> batch : batches){
+					flushedEvents.addAll(batch);
+				}
+			}
+			return flushedEvents;
+		}
+	}
+
+	private static class RecordingBatchingEventHandler extends BatchingEventHandler<String> {
+		private final List<List<String>> batches = new ArrayList<List<String>>();
+		private boolean failing;
+		private boolean modifying;
+
+		@Override
+		protected void onBatch(List<String> events) throws Exception {
+			if(failing){
+				throw new IllegalStateException();
+			}
+			if(modifying){
+				events.add("z");
+			}
+			batches.add(new ArrayList<String>(events));
+		}
+	}
+}
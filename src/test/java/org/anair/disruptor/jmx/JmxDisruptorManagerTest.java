@@ -2,6 +2,7 @@ package org.anair.disruptor.jmx;
 
 import static org.easymock.EasyMock.*;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -13,9 +14,16 @@ import javax.management.ObjectInstance;
 import javax.management.ObjectName;
 
 import org.anair.disruptor.DefaultDisruptorConfig;
+import org.anair.disruptor.DisruptorPipeline;
+import org.anair.disruptor.EventHandlerChain;
+import org.anair.disruptor.ShardedDisruptorConfig;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+import com.lmax.disruptor.EventFactory;
+import com.lmax.disruptor.EventHandler;
 
 @SuppressWarnings("rawtypes")
 public class JmxDisruptorManagerTest {
@@ -37,14 +45,18 @@ public class JmxDisruptorManagerTest {
 
 	@Test
 	public void test_registerDisruptorMBeans_no_disruptorBeans_found() {
-		expect(mockApplicationContext.getBeansOfType(DefaultDisruptorConfig.class)).andReturn(new HashMap<String, DefaultDisruptorConfig>());
+		expect(mockApplicationContext.getBeansOfType(DefaultDisruptorConfig.class, false, true)).andReturn(new HashMap<String, DefaultDisruptorConfig>());
+		expect(mockApplicationContext.getBeansOfType(ShardedDisruptorConfig.class, false, true)).andReturn(new HashMap<String, ShardedDisruptorConfig>());
+		expect(mockApplicationContext.getBeansOfType(DisruptorPipeline.class, false, true)).andReturn(new HashMap<String, DisruptorPipeline>());
 		replay(mockApplicationContext);
 		manager.setApplicationContext(mockApplicationContext);
 		
 		verify(mockApplicationContext);
 		reset(mockApplicationContext);
 		
-		expect(mockApplicationContext.getBeansOfType(DefaultDisruptorConfig.class)).andReturn(null);
+		expect(mockApplicationContext.getBeansOfType(DefaultDisruptorConfig.class, false, true)).andReturn(null);
+		expect(mockApplicationContext.getBeansOfType(ShardedDisruptorConfig.class, false, true)).andReturn(null);
+		expect(mockApplicationContext.getBeansOfType(DisruptorPipeline.class, false, true)).andReturn(null);
 		replay(mockApplicationContext);
 		manager.setApplicationContext(mockApplicationContext);
 		
@@ -55,7 +67,9 @@ public class JmxDisruptorManagerTest {
 	public void test_registerDisruptorMBeans_exception() throws InstanceAlreadyExistsException, MBeanRegistrationException, NotCompliantMBeanException {
 		Map<String, DefaultDisruptorConfig> disruptorBeanMap = new HashMap<String, DefaultDisruptorConfig>();
 		disruptorBeanMap.put("bean1", new DefaultDisruptorConfig());
-		expect(mockApplicationContext.getBeansOfType(DefaultDisruptorConfig.class)).andReturn(disruptorBeanMap);
+		expect(mockApplicationContext.getBeansOfType(DefaultDisruptorConfig.class, false, true)).andReturn(disruptorBeanMap);
+		expect(mockApplicationContext.getBeansOfType(ShardedDisruptorConfig.class, false, true)).andReturn(null);
+		expect(mockApplicationContext.getBeansOfType(DisruptorPipeline.class, false, true)).andReturn(null);
 		
 		expect(mockMBeanServer.registerMBean(isA(JmxDisruptor.class), isA(ObjectName.class)))
 			.andThrow(new MBeanRegistrationException(new Exception()));
@@ -71,7 +85,9 @@ public class JmxDisruptorManagerTest {
 		Map<String, DefaultDisruptorConfig> disruptorBeanMap = new HashMap<String, DefaultDisruptorConfig>();
 		disruptorBeanMap.put("bean1", new DefaultDisruptorConfig());
 		disruptorBeanMap.put("bean2", new DefaultDisruptorConfig());
-		expect(mockApplicationContext.getBeansOfType(DefaultDisruptorConfig.class)).andReturn(disruptorBeanMap);
+		expect(mockApplicationContext.getBeansOfType(DefaultDisruptorConfig.class, false, true)).andReturn(disruptorBeanMap);
+		expect(mockApplicationContext.getBeansOfType(ShardedDisruptorConfig.class, false, true)).andReturn(null);
+		expect(mockApplicationContext.getBeansOfType(DisruptorPipeline.class, false, true)).andReturn(null);
 		
 		expect(mockMBeanServer.registerMBean(isA(JmxDisruptor.class), isA(ObjectName.class)))
 			.andStubReturn(mockObjectInstance);
@@ -84,4 +100,107 @@ public class JmxDisruptorManagerTest {
 		verify(mockApplicationContext, mockMBeanServer);
 	}
 
+	@Test
+	public void test_registerShardedDisruptorMBeans() throws InstanceAlreadyExistsException, MBeanRegistrationException, NotCompliantMBeanException {
+		Map<String, ShardedDisruptorConfig> shardedDisruptorBeanMap = new HashMap<String, ShardedDisruptorConfig>();
+		shardedDisruptorBeanMap.put("sharded", new ShardedDisruptorConfig());
+		expect(mockApplicationContext.getBeansOfType(DefaultDisruptorConfig.class, false, true)).andReturn(null);
+		expect(mockApplicationContext.getBeansOfType(ShardedDisruptorConfig.class, false, true)).andReturn(shardedDisruptorBeanMap);
+		expect(mockApplicationContext.getBeansOfType(DisruptorPipeline.class, false, true)).andReturn(null);
+		
+		expect(mockMBeanServer.registerMBean(isA(JmxShardedDisruptor.class), isA(ObjectName.class)))
+			.andReturn(mockObjectInstance);
+		
+		replay(mockApplicationContext, mockMBeanServer);
+		manager.setApplicationContext(mockApplicationContext);
+		
+		verify(mockApplicationContext, mockMBeanServer);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void test_registerDisruptorPipelineMBeans() throws Exception {
+		DefaultDisruptorConfig ingestDisruptor = new DefaultDisruptorConfig();
+		DefaultDisruptorConfig innerDisruptor = new DefaultDisruptorConfig();
+		Map<String, DefaultDisruptorConfig> disruptorBeanMap = new HashMap<String, DefaultDisruptorConfig>();
+		disruptorBeanMap.put("ingest", ingestDisruptor);
+		DisruptorPipeline disruptorPipeline = new DisruptorPipeline();
+		disruptorPipeline.setDisruptors(Arrays.asList(ingestDisruptor, innerDisruptor));
+		Map<String, DisruptorPipeline> disruptorPipelineBeanMap = new HashMap<String, DisruptorPipeline>();
+		disruptorPipelineBeanMap.put("pipeline", disruptorPipeline);
+		expect(mockApplicationContext.getBeansOfType(DefaultDisruptorConfig.class, false, true)).andReturn(disruptorBeanMap);
+		expect(mockApplicationContext.getBeansOfType(ShardedDisruptorConfig.class, false, true)).andReturn(null);
+		expect(mockApplicationContext.getBeansOfType(DisruptorPipeline.class, false, true)).andReturn(disruptorPipelineBeanMap);
+		
+		expect(mockMBeanServer.registerMBean(isA(JmxDisruptor.class), eq(new ObjectName("disruptor-spring:type=disruptor,name=ingest"))))
+			.andReturn(mockObjectInstance);
+		expect(mockMBeanServer.registerMBean(isA(JmxDisruptorPipeline.class), isA(ObjectName.class)))
+			.andReturn(mockObjectInstance);
+		expect(mockMBeanServer.registerMBean(isA(JmxDisruptor.class), eq(new ObjectName("disruptor-spring:type=disruptor,name=pipeline-hop-1"))))
+			.andReturn(mockObjectInstance);
+		
+		replay(mockApplicationContext, mockMBeanServer);
+		manager.setApplicationContext(mockApplicationContext);
+		
+		verify(mockApplicationContext, mockMBeanServer);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void test_registerDeadLetterDisruptorMBean() throws Exception {
+		DefaultDisruptorConfig billingDisruptor = new DefaultDisruptorConfig();
+		billingDisruptor.setDeadLetterDisruptor(new DefaultDisruptorConfig());
+		Map<String, DefaultDisruptorConfig> disruptorBeanMap = new HashMap<String, DefaultDisruptorConfig>();
+		disruptorBeanMap.put("billing", billingDisruptor);
+		expect(mockApplicationContext.getBeansOfType(DefaultDisruptorConfig.class, false, true)).andReturn(disruptorBeanMap);
+		expect(mockApplicationContext.getBeansOfType(ShardedDisruptorConfig.class, false, true)).andReturn(null);
+		expect(mockApplicationContext.getBeansOfType(DisruptorPipeline.class, false, true)).andReturn(null);
+		
+		expect(mockMBeanServer.registerMBean(isA(JmxDisruptor.class), eq(new ObjectName("disruptor-spring:type=disruptor,name=billing"))))
+			.andReturn(mockObjectInstance);
+		expect(mockMBeanServer.registerMBean(isA(JmxDisruptor.class), eq(new ObjectName("disruptor-spring:type=disruptor,name=billing-dead-letter"))))
+			.andReturn(mockObjectInstance);
+		
+		replay(mockApplicationContext, mockMBeanServer);
+		manager.setApplicationContext(mockApplicationContext);
+		
+		verify(mockApplicationContext, mockMBeanServer);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void test_registerEventHandlerMBeans_on_refresh() throws Exception {
+		DefaultDisruptorConfig disruptorConfig = new DefaultDisruptorConfig();
+		disruptorConfig.setThreadName("billing");
+		disruptorConfig.setEventFactory(new EventFactory<Object>() {
+			@Override
+			public Object newInstance() {
+				return new Object();
+			}
+		});
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<Object>(new EventHandler[]{new EventHandler<Object>() {
+			@Override
+			public void onEvent(Object event, long sequence, boolean endOfBatch) throws Exception {
+			}
+		}})});
+		Map<String, DefaultDisruptorConfig> disruptorBeanMap = new HashMap<String, DefaultDisruptorConfig>();
+		disruptorBeanMap.put("bean1", disruptorConfig);
+		expect(mockApplicationContext.getBeansOfType(DefaultDisruptorConfig.class, false, true)).andReturn(disruptorBeanMap);
+		expect(mockApplicationContext.getBeansOfType(ShardedDisruptorConfig.class, false, true)).andReturn(null);
+		expect(mockApplicationContext.getBeansOfType(DisruptorPipeline.class, false, true)).andReturn(null);
+		expect(mockMBeanServer.registerMBean(isA(JmxDisruptor.class), isA(ObjectName.class))).andReturn(mockObjectInstance);
+		expect(mockMBeanServer.isRegistered(isA(ObjectName.class))).andReturn(false);
+		expect(mockMBeanServer.registerMBean(isA(JmxEventHandler.class), isA(ObjectName.class))).andReturn(mockObjectInstance);
+		replay(mockApplicationContext, mockMBeanServer);
+		
+		manager.setApplicationContext(mockApplicationContext);
+		disruptorConfig.init();
+		try {
+			manager.onApplicationEvent(new ContextRefreshedEvent(mockApplicationContext));
+		} finally {
+			disruptorConfig.halt();
+		}
+		verify(mockApplicationContext, mockMBeanServer);
+	}
+
 }
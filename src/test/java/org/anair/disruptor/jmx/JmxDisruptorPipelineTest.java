@@ -0,0 +1,149 @@
+package org.anair.disruptor.jmx;
+
+import static org.junit.Assert.*;
+import static org.easymock.EasyMock.*;
+
+import java.util.Arrays;
+
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+
+import org.anair.disruptor.DefaultDisruptorConfig;
+import org.anair.disruptor.DisruptorPipeline;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("rawtypes")
+public class JmxDisruptorPipelineTest {
+
+	private JmxDisruptorPipeline jmxDisruptorPipeline;
+	private DisruptorPipeline mockDisruptorPipeline;
+	private MBeanInfo mockMBeanInfo;
+	private MBeanAttributeInfo mockMBeanAttribute;
+	private MBeanOperationInfo mockMBeanOperation;
+	private MBeanParameterInfo mockMBeanParameterInfo;
+
+	@Before
+	public void setUp() throws Exception {
+		mockDisruptorPipeline = createMock(DisruptorPipeline.class);
+		mockMBeanInfo = createMock(MBeanInfo.class);
+		mockMBeanAttribute = createMock(MBeanAttributeInfo.class);
+		mockMBeanOperation = createMock(MBeanOperationInfo.class);
+		mockMBeanParameterInfo = createMock(MBeanParameterInfo.class);
+
+		jmxDisruptorPipeline = new JmxDisruptorPipeline(mockDisruptorPipeline, "pipelineBean");
+	}
+
+	@Test
+	public void test_getObjectName_valid() {
+		assertEquals("disruptor-spring:name=pipelineBean,type=disruptorPipeline" , jmxDisruptorPipeline.getObjectName().getCanonicalName());
+	}
+
+	@Test
+	public void test_getMBeanDescription() {
+		replay(mockMBeanInfo);
+		assertTrue(jmxDisruptorPipeline.getDescription(mockMBeanInfo).contains("pipelineBean"));
+		verify(mockMBeanInfo);
+	}
+
+	@Test
+	public void test_getMBeanAttributeDescription() {
+		assertAttributeDescription("ThreadName", "Name of the pipeline.");
+		assertAttributeDescription("HopCount", "Number of ring buffers in the pipeline.");
+		assertAttributeDescription("PublishedCount", "Events published to the first ring buffer.");
+		assertAttributeDescription("CompletedCount", "Events processed by the last event handlers of the last ring buffer.");
+		assertAttributeDescription("TotalLag", "Events published to the pipeline and not yet processed by the last ring buffer.");
+		assertAttributeDescription("RejectedPublishCount", "Events dropped, rejected or timed out because the first ring buffer was full.");
+		assertAttributeDescription("PublishRate1s", "Events published per second to the pipeline over the last second.");
+		assertAttributeDescription("PublishRate10s", "Events published per second to the pipeline over the last 10 seconds.");
+		assertAttributeDescription("PublishRate60s", "Events published per second to the pipeline over the last 60 seconds.");
+		assertAttributeDescription("HopLag", "Print lag and bottleneck event handler of every ring buffer, in pipeline order.");
+		assertAttributeDescription("dummy", null);
+	}
+
+	private void assertAttributeDescription(String attributeName, String description) {
+		expect(mockMBeanAttribute.getName()).andReturn(attributeName).anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals(description, jmxDisruptorPipeline.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+	}
+
+	@Test
+	public void test_getMBeanOperationDescription() {
+		assertOperationDescription("controlledShutdown", "Shutdown all ring buffers in pipeline order after all their events are processed and handed off.");
+		assertOperationDescription("halt", "Halt all ring buffers. Do not wait for ring buffer events to be processed.");
+		assertOperationDescription("awaitAndShutdown", "Wait for events of every ring buffer to finish for a few seconds and then shutdown, in pipeline order.");
+		assertOperationDescription("resetLatencyHistograms", "Clear the latency histograms of all event handlers of all ring buffers.");
+		assertOperationDescription("dummy", null);
+	}
+
+	private void assertOperationDescription(String operationName, String description) {
+		expect(mockMBeanOperation.getName()).andReturn(operationName).anyTimes();
+		replay(mockMBeanOperation);
+		assertEquals(description, jmxDisruptorPipeline.getDescription(mockMBeanOperation));
+		verify(mockMBeanOperation);
+		reset(mockMBeanOperation);
+	}
+
+	@Test
+	public void test_getMBeanOperationParameterDescription() {
+		expect(mockMBeanOperation.getName()).andReturn("awaitAndShutdown").anyTimes();
+		replay(mockMBeanOperation);
+		assertEquals("Time in seconds", jmxDisruptorPipeline.getDescription(mockMBeanOperation, mockMBeanParameterInfo, 0));
+		assertNull(jmxDisruptorPipeline.getDescription(mockMBeanOperation, mockMBeanParameterInfo, 1));
+		verify(mockMBeanOperation);
+		reset(mockMBeanOperation);
+
+		expect(mockMBeanOperation.getName()).andReturn("dummy").anyTimes();
+		replay(mockMBeanOperation);
+		assertNull(jmxDisruptorPipeline.getDescription(mockMBeanOperation, mockMBeanParameterInfo, 0));
+		verify(mockMBeanOperation);
+	}
+
+	@Test
+	public void test_lifecycle(){
+		mockDisruptorPipeline.controlledShutdown();
+		mockDisruptorPipeline.halt();
+		mockDisruptorPipeline.awaitAndShutdown(1);
+		mockDisruptorPipeline.resetLatencyHistograms();
+		replay(mockDisruptorPipeline);
+
+		jmxDisruptorPipeline.controlledShutdown();
+		jmxDisruptorPipeline.halt();
+		jmxDisruptorPipeline.awaitAndShutdown(1);
+		jmxDisruptorPipeline.resetLatencyHistograms();
+		verify(mockDisruptorPipeline);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void test_aggregates(){
+		expect(mockDisruptorPipeline.getThreadName()).andReturn("billing");
+		expect(mockDisruptorPipeline.getDisruptors()).andReturn(Arrays.asList(new DefaultDisruptorConfig(), new DefaultDisruptorConfig()));
+		expect(mockDisruptorPipeline.getPublishedCount()).andReturn(100L);
+		expect(mockDisruptorPipeline.getCompletedCount()).andReturn(90L);
+		expect(mockDisruptorPipeline.getTotalLag()).andReturn(10L);
+		expect(mockDisruptorPipeline.getRejectedPublishCount()).andReturn(2L);
+		expect(mockDisruptorPipeline.getPublishRate(1)).andReturn(10.0);
+		expect(mockDisruptorPipeline.getPublishRate(10)).andReturn(20.0);
+		expect(mockDisruptorPipeline.getPublishRate(60)).andReturn(30.0);
+		expect(mockDisruptorPipeline.getHopLag()).andReturn("{}");
+		replay(mockDisruptorPipeline);
+
+		assertEquals("billing", jmxDisruptorPipeline.getThreadName());
+		assertEquals(2, jmxDisruptorPipeline.getHopCount());
+		assertEquals(100, jmxDisruptorPipeline.getPublishedCount());
+		assertEquals(90, jmxDisruptorPipeline.getCompletedCount());
+		assertEquals(10, jmxDisruptorPipeline.getTotalLag());
+		assertEquals(2, jmxDisruptorPipeline.getRejectedPublishCount());
+		assertEquals(10, jmxDisruptorPipeline.getPublishRate1s(), 0);
+		assertEquals(20, jmxDisruptorPipeline.getPublishRate10s(), 0);
+		assertEquals(30, jmxDisruptorPipeline.getPublishRate60s(), 0);
+		assertEquals("{}", jmxDisruptorPipeline.getHopLag());
+		verify(mockDisruptorPipeline);
+	}
+
+}
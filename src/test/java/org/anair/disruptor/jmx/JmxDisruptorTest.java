@@ -9,8 +9,11 @@ import javax.management.MBeanOperationInfo;
 import javax.management.MBeanParameterInfo;
 import javax.management.NotCompliantMBeanException;
 
+import org.anair.disruptor.BackpressurePolicy;
 import org.anair.disruptor.DefaultDisruptorConfig;
 import org.anair.disruptor.WaitStrategyType;
+import org.anair.disruptor.metrics.OccupancyHistogram;
+import org.anair.disruptor.waitstrategy.AdaptiveWaitStrategy;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -106,6 +109,108 @@ public class JmxDisruptorTest {
 		verify(mockMBeanAttribute);
 		reset(mockMBeanAttribute);
 		
+		expect(mockMBeanAttribute.getName()).andReturn("BackpressurePolicy").anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals("What a publisher does when the ring buffer is full. Can be one of BLOCK, BLOCK_WITH_TIMEOUT, DROP_NEWEST, REJECT, CALLER_RUNS.", jmxDisruptor.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+		
+		expect(mockMBeanAttribute.getName()).andReturn("RejectedPublishCount").anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals("Events dropped or rejected because the ring buffer was full.", jmxDisruptor.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+		
+		expect(mockMBeanAttribute.getName()).andReturn("TimedOutPublishCount").anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals("Events dropped after waiting for a free ring buffer slot.", jmxDisruptor.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+		
+		expect(mockMBeanAttribute.getName()).andReturn("FailureCount").anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals("Events a event or work handler threw a exception for.", jmxDisruptor.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+		
+		expect(mockMBeanAttribute.getName()).andReturn("DroppedDeadLetterCount").anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals("Failed events not copied because the dead-letter disruptor was full.", jmxDisruptor.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+		
+		expect(mockMBeanAttribute.getName()).andReturn("CallerRunsPublishCount").anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals("Events processed on the publisher thread because the ring buffer was full.", jmxDisruptor.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+		
+		expect(mockMBeanAttribute.getName()).andReturn("LatencyHistogramEnabled").anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals("Event handler latency histograms are recorded.", jmxDisruptor.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+		
+		expect(mockMBeanAttribute.getName()).andReturn("GatingSequence").anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals("Lowest sequence of the last event handlers. Producers can not wrap the ring buffer past it.", jmxDisruptor.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+		
+		expect(mockMBeanAttribute.getName()).andReturn("BottleneckEventHandler").anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals("Event handler with the largest backlog of events released to it. This stage is holding back producers.", jmxDisruptor.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+		
+		expect(mockMBeanAttribute.getName()).andReturn("EventHandlerLag").anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals("Print sequence, lag behind the ring buffer cursor and backlog of every event handler.", jmxDisruptor.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+		
+		expect(mockMBeanAttribute.getName()).andReturn("ThroughputMeterEnabled").anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals("Publish and consume rates are sampled every second.", jmxDisruptor.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+		
+		expect(mockMBeanAttribute.getName()).andReturn("PublishRate10s").anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals("Events published per second over the last 10 seconds.", jmxDisruptor.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+		
+		expect(mockMBeanAttribute.getName()).andReturn("WaitMode").anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals("Current mode of the ADAPTIVE wait strategy: SPIN, YIELD, SLEEP or BLOCK.", jmxDisruptor.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+		
+		expect(mockMBeanAttribute.getName()).andReturn("ThreadPlacement").anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals("CPU every event processor thread is running on.", jmxDisruptor.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+		
+		expect(mockMBeanAttribute.getName()).andReturn("OccupancyHighWatermark").anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals("Most events waiting in the ring buffer for the last event handlers since the last reset.", jmxDisruptor.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+		
+		expect(mockMBeanAttribute.getName()).andReturn("OccupancyHistogram").anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals("Print the share of occupancy samples per power of 2 bucket.", jmxDisruptor.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+		
+		expect(mockMBeanAttribute.getName()).andReturn("LastSnapshot").anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals("Id, sequence and journal position of the last complete snapshot.", jmxDisruptor.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+		
 		expect(mockMBeanAttribute.getName()).andReturn("dummy").anyTimes();
 		replay(mockMBeanAttribute);
 		assertNull(jmxDisruptor.getDescription(mockMBeanAttribute));
@@ -144,6 +249,30 @@ public class JmxDisruptorTest {
 		verify(mockMBeanOperation);
 		reset(mockMBeanOperation);
 		
+		expect(mockMBeanOperation.getName()).andReturn("resetLatencyHistograms").anyTimes();
+		replay(mockMBeanOperation);
+		assertEquals("Clear the latency histograms of all event handlers.", jmxDisruptor.getDescription(mockMBeanOperation));
+		verify(mockMBeanOperation);
+		reset(mockMBeanOperation);
+		
+		expect(mockMBeanOperation.getName()).andReturn("switchWaitMode").anyTimes();
+		replay(mockMBeanOperation);
+		assertEquals("Switch the ADAPTIVE wait strategy. Turns automatic wait mode off.", jmxDisruptor.getDescription(mockMBeanOperation));
+		verify(mockMBeanOperation);
+		reset(mockMBeanOperation);
+		
+		expect(mockMBeanOperation.getName()).andReturn("recommendRingBufferSize").anyTimes();
+		replay(mockMBeanOperation);
+		assertEquals("Ring buffer size for the sampled bursts: twice the occupancy high watermark, rounded up to a power of 2.", jmxDisruptor.getDescription(mockMBeanOperation));
+		verify(mockMBeanOperation);
+		reset(mockMBeanOperation);
+		
+		expect(mockMBeanOperation.getName()).andReturn("takeSnapshot").anyTimes();
+		replay(mockMBeanOperation);
+		assertEquals("Snapshot the snapshot aware event handlers with the next journaled event, then delete older snapshots and journal segments.", jmxDisruptor.getDescription(mockMBeanOperation));
+		verify(mockMBeanOperation);
+		reset(mockMBeanOperation);
+		
 		expect(mockMBeanOperation.getName()).andReturn("dummy").anyTimes();
 		replay(mockMBeanOperation);
 		assertNull(jmxDisruptor.getDescription(mockMBeanOperation));
@@ -173,6 +302,13 @@ public class JmxDisruptorTest {
 		verify(mockMBeanOperation);
 		reset(mockMBeanOperation);
 		
+		expect(mockMBeanOperation.getName()).andReturn("switchWaitMode").anyTimes();
+		replay(mockMBeanOperation);
+		assertEquals("SPIN, YIELD, SLEEP or BLOCK", jmxDisruptor.getDescription(mockMBeanOperation, mockMBeanParameterInfo, 0));
+		assertNull(jmxDisruptor.getDescription(mockMBeanOperation, mockMBeanParameterInfo, 1));
+		verify(mockMBeanOperation);
+		reset(mockMBeanOperation);
+		
 		expect(mockMBeanOperation.getName()).andReturn("dummy").anyTimes();
 		replay(mockMBeanOperation);
 		assertNull(jmxDisruptor.getDescription(mockMBeanOperation, mockMBeanParameterInfo, 0));
@@ -217,6 +353,17 @@ public class JmxDisruptorTest {
 		verify(mockDisruptorConfig);
 	}
 	
+	@Test 
+	public void test_resetLatencyHistograms(){
+		mockDisruptorConfig.resetLatencyHistograms();
+		expect(mockDisruptorConfig.isLatencyHistogramEnabled()).andReturn(true);
+		replay(mockDisruptorConfig);
+		
+		jmxDisruptor.resetLatencyHistograms();
+		assertTrue(jmxDisruptor.isLatencyHistogramEnabled());
+		verify(mockDisruptorConfig);
+	}
+	
 	@Test 
 	public void test_getEventProcessorGraph(){
 		String consumerDependency = "{A->B}";
@@ -287,6 +434,120 @@ public class JmxDisruptorTest {
 		verify(mockDisruptorConfig);
 	}
 	
+	@Test 
+	public void test_getBackpressurePolicy(){
+		expect(mockDisruptorConfig.getBackpressurePolicy()).andReturn(BackpressurePolicy.DROP_NEWEST);
+		replay(mockDisruptorConfig);
+		
+		assertEquals("DROP_NEWEST", jmxDisruptor.getBackpressurePolicy());
+		verify(mockDisruptorConfig);
+	}
+	
+	@Test 
+	public void test_getPublishCounters(){
+		expect(mockDisruptorConfig.getRejectedPublishCount()).andReturn(1L);
+		expect(mockDisruptorConfig.getTimedOutPublishCount()).andReturn(2L);
+		expect(mockDisruptorConfig.getCallerRunsPublishCount()).andReturn(3L);
+		expect(mockDisruptorConfig.getFailureCount()).andReturn(4L);
+		expect(mockDisruptorConfig.getDeadLetterCount()).andReturn(3L);
+		expect(mockDisruptorConfig.getDroppedDeadLetterCount()).andReturn(1L);
+		replay(mockDisruptorConfig);
+		
+		assertEquals(1, jmxDisruptor.getRejectedPublishCount());
+		assertEquals(2, jmxDisruptor.getTimedOutPublishCount());
+		assertEquals(3, jmxDisruptor.getCallerRunsPublishCount());
+		assertEquals(4, jmxDisruptor.getFailureCount());
+		assertEquals(3, jmxDisruptor.getDeadLetterCount());
+		assertEquals(1, jmxDisruptor.getDroppedDeadLetterCount());
+		verify(mockDisruptorConfig);
+	}
+	
+	@Test 
+	public void test_eventHandlerLag(){
+		expect(mockDisruptorConfig.getGatingSequence()).andReturn(4L);
+		expect(mockDisruptorConfig.getBottleneckEventHandler()).andReturn("ConsumerA");
+		expect(mockDisruptorConfig.getEventHandlerLag()).andReturn("{ConsumerA: sequence 4, lag 1, backlog 1}");
+		replay(mockDisruptorConfig);
+		
+		assertEquals(4, jmxDisruptor.getGatingSequence());
+		assertEquals("ConsumerA", jmxDisruptor.getBottleneckEventHandler());
+		assertEquals("{ConsumerA: sequence 4, lag 1, backlog 1}", jmxDisruptor.getEventHandlerLag());
+		verify(mockDisruptorConfig);
+	}
+	
+	@Test 
+	public void test_publishRates(){
+		expect(mockDisruptorConfig.isThroughputMeterEnabled()).andReturn(true);
+		expect(mockDisruptorConfig.getPublishRate(1)).andReturn(100.0);
+		expect(mockDisruptorConfig.getPublishRate(10)).andReturn(50.0);
+		expect(mockDisruptorConfig.getPublishRate(60)).andReturn(10.0);
+		replay(mockDisruptorConfig);
+		
+		assertTrue(jmxDisruptor.isThroughputMeterEnabled());
+		assertEquals(100.0, jmxDisruptor.getPublishRate1s(), 0);
+		assertEquals(50.0, jmxDisruptor.getPublishRate10s(), 0);
+		assertEquals(10.0, jmxDisruptor.getPublishRate60s(), 0);
+		verify(mockDisruptorConfig);
+	}
+	
+	@Test 
+	public void test_threadPlacement(){
+		expect(mockDisruptorConfig.getCpuAffinity()).andReturn("2-3");
+		expect(mockDisruptorConfig.getThreadPlacement()).andReturn("{billing-1 ConsumerA: cpu 2}");
+		replay(mockDisruptorConfig);
+		
+		assertEquals("2-3", jmxDisruptor.getCpuAffinity());
+		assertEquals("{billing-1 ConsumerA: cpu 2}", jmxDisruptor.getThreadPlacement());
+		verify(mockDisruptorConfig);
+	}
+	
+	@Test 
+	public void test_waitMode(){
+		expect(mockDisruptorConfig.getWaitMode()).andReturn(AdaptiveWaitStrategy.Mode.BLOCK);
+		mockDisruptorConfig.switchWaitMode(AdaptiveWaitStrategy.Mode.SPIN);
+		expect(mockDisruptorConfig.isAutoWaitMode()).andReturn(true);
+		mockDisruptorConfig.setAutoWaitMode(false);
+		replay(mockDisruptorConfig);
+		
+		assertEquals("BLOCK", jmxDisruptor.getWaitMode());
+		jmxDisruptor.switchWaitMode("SPIN");
+		assertTrue(jmxDisruptor.isAutoWaitMode());
+		jmxDisruptor.setAutoWaitMode(false);
+		verify(mockDisruptorConfig);
+	}
+	
+	@Test 
+	public void test_occupancy(){
+		OccupancyHistogram occupancyHistogram = new OccupancyHistogram();
+		occupancyHistogram.record(3);
+		expect(mockDisruptorConfig.isOccupancyMonitorEnabled()).andReturn(true);
+		expect(mockDisruptorConfig.getOccupancyHistogram()).andReturn(occupancyHistogram).times(3);
+		expect(mockDisruptorConfig.recommendRingBufferSize()).andReturn(64);
+		mockDisruptorConfig.resetOccupancyHistogram();
+		replay(mockDisruptorConfig);
+		
+		assertTrue(jmxDisruptor.isOccupancyMonitorEnabled());
+		assertEquals(3, jmxDisruptor.getOccupancyHighWatermark());
+		assertEquals(3, jmxDisruptor.getOccupancyP99());
+		assertEquals("{2-3: 100.0%}", jmxDisruptor.getOccupancyHistogram());
+		assertEquals(64, jmxDisruptor.recommendRingBufferSize());
+		jmxDisruptor.resetOccupancyHistogram();
+		verify(mockDisruptorConfig);
+	}
+	
+	@Test
+	public void test_snapshot(){
+		mockDisruptorConfig.takeSnapshot();
+		expect(mockDisruptorConfig.isSnapshotInProgress()).andReturn(true);
+		expect(mockDisruptorConfig.getLastSnapshot()).andReturn("Snapshot 1");
+		replay(mockDisruptorConfig);
+		
+		jmxDisruptor.takeSnapshot();
+		assertTrue(jmxDisruptor.isSnapshotInProgress());
+		assertEquals("Snapshot 1", jmxDisruptor.getLastSnapshot());
+		verify(mockDisruptorConfig);
+	}
+	
 	@Test 
 	public void test_getDisruptorConfiguration(){
 		String str = "config";
@@ -0,0 +1,164 @@
+package org.anair.disruptor.jmx;
+
+import static org.junit.Assert.*;
+import static org.easymock.EasyMock.*;
+
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+
+import java.util.Collections;
+
+import org.anair.disruptor.DefaultDisruptorConfig;
+import org.anair.disruptor.exception.DisruptorExceptionHandler;
+import org.anair.disruptor.metrics.TimedEventHandler;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lmax.disruptor.EventHandler;
+
+@SuppressWarnings("rawtypes")
+public class JmxEventHandlerTest {
+
+	private JmxEventHandler jmxEventHandler;
+	private DefaultDisruptorConfig mockDisruptorConfig;
+	private TimedEventHandler<String> timedEventHandler;
+	private MBeanAttributeInfo mockMBeanAttribute;
+	private MBeanOperationInfo mockMBeanOperation;
+	
+	@Before
+	public void setUp() throws Exception {
+		mockMBeanAttribute = createMock(MBeanAttributeInfo.class);
+		mockMBeanOperation = createMock(MBeanOperationInfo.class);
+		timedEventHandler = new TimedEventHandler<String>(new SampleEventHandler(), "SampleEventHandler");
+		mockDisruptorConfig = createMock(DefaultDisruptorConfig.class);
+		jmxEventHandler = new JmxEventHandler(mockDisruptorConfig, "disruptorBean", "SampleEventHandler");
+	}
+
+	@Test
+	public void test_getObjectName_valid() {
+		assertEquals("disruptor-spring:handler=SampleEventHandler,name=disruptorBean,type=disruptor", jmxEventHandler.getObjectName().getCanonicalName());
+	}
+	
+	@Test
+	public void test_getMBeanDescription() {
+		assertTrue(jmxEventHandler.getDescription(createMock(MBeanInfo.class)).contains("SampleEventHandler"));
+	}
+	
+	@Test
+	public void test_getMBeanAttributeDescription() {
+		expect(mockMBeanAttribute.getName()).andReturn("P999Nanos").anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals("99.9th percentile of the time spent handling a event in nanoseconds.", jmxEventHandler.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+		
+		expect(mockMBeanAttribute.getName()).andReturn("dummy").anyTimes();
+		replay(mockMBeanAttribute);
+		assertNull(jmxEventHandler.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+		
+		expect(mockMBeanAttribute.getName()).andReturn("SkippedCount").anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals("Failed events skipped after the exception was logged.", jmxEventHandler.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+	}
+	
+	@Test
+	public void test_getMBeanOperationDescription() {
+		expect(mockMBeanOperation.getName()).andReturn("resetLatencyHistogram").anyTimes();
+		replay(mockMBeanOperation);
+		assertEquals("Clear the latency histogram of this event handler.", jmxEventHandler.getDescription(mockMBeanOperation));
+		verify(mockMBeanOperation);
+	}
+	
+	@Test
+	public void test_progress_attributes() {
+		expect(mockDisruptorConfig.getEventHandlerSequence("SampleEventHandler")).andReturn(7L);
+		expect(mockDisruptorConfig.getEventHandlerLag("SampleEventHandler")).andReturn(3L);
+		expect(mockDisruptorConfig.getEventHandlerBacklog("SampleEventHandler")).andReturn(2L);
+		replay(mockDisruptorConfig);
+		
+		assertEquals("SampleEventHandler", jmxEventHandler.getEventHandler());
+		assertEquals(7, jmxEventHandler.getSequence());
+		assertEquals(3, jmxEventHandler.getLag());
+		assertEquals(2, jmxEventHandler.getBacklog());
+		verify(mockDisruptorConfig);
+	}
+	
+	@Test
+	public void test_consume_rates() {
+		expect(mockDisruptorConfig.getConsumeRate("SampleEventHandler", 1)).andReturn(100.0);
+		expect(mockDisruptorConfig.getConsumeRate("SampleEventHandler", 10)).andReturn(50.0);
+		expect(mockDisruptorConfig.getConsumeRate("SampleEventHandler", 60)).andReturn(10.0);
+		replay(mockDisruptorConfig);
+		
+		assertEquals(100.0, jmxEventHandler.getConsumeRate1s(), 0);
+		assertEquals(50.0, jmxEventHandler.getConsumeRate10s(), 0);
+		assertEquals(10.0, jmxEventHandler.getConsumeRate60s(), 0);
+		verify(mockDisruptorConfig);
+	}
+	
+	@Test
+	public void test_failure_attributes() {
+		DisruptorExceptionHandler<String> exceptionHandler = new DisruptorExceptionHandler<String>("disruptorBean");
+		exceptionHandler.handleEventException(new IllegalStateException("poison"), 4, "event");
+		expect(mockDisruptorConfig.getExceptionHandlers()).andReturn(Collections.singletonMap("SampleEventHandler", exceptionHandler)).anyTimes();
+		replay(mockDisruptorConfig);
+		
+		assertEquals("SKIP", jmxEventHandler.getExceptionStrategy());
+		assertEquals(1, jmxEventHandler.getFailureCount());
+		assertEquals(0, jmxEventHandler.getRecoveredCount());
+		assertEquals(1, jmxEventHandler.getSkippedCount());
+		assertEquals(0, jmxEventHandler.getDeadLetterCount());
+		assertEquals("Sequence 4: java.lang.IllegalStateException: poison", jmxEventHandler.getLastFailure());
+	}
+	
+	@Test
+	public void test_failure_attributes_before_init() {
+		expect(mockDisruptorConfig.getExceptionHandlers()).andReturn(Collections.emptyMap()).anyTimes();
+		replay(mockDisruptorConfig);
+		
+		assertNull(jmxEventHandler.getExceptionStrategy());
+		assertEquals(0, jmxEventHandler.getFailureCount());
+		assertNull(jmxEventHandler.getLastFailure());
+	}
+	
+	@Test
+	public void test_latency_attributes_disabled() {
+		expect(mockDisruptorConfig.getTimedEventHandlers()).andReturn(Collections.emptyMap()).anyTimes();
+		replay(mockDisruptorConfig);
+		
+		assertFalse(jmxEventHandler.isLatencyHistogramEnabled());
+		assertEquals(0, jmxEventHandler.getCount());
+		assertEquals(0, jmxEventHandler.getP99Nanos());
+		jmxEventHandler.resetLatencyHistogram();
+	}
+	
+	@Test
+	public void test_latency_attributes_and_reset() throws Exception {
+		expect(mockDisruptorConfig.getTimedEventHandlers()).andReturn(Collections.singletonMap("SampleEventHandler", timedEventHandler)).anyTimes();
+		replay(mockDisruptorConfig);
+		timedEventHandler.getLatencyHistogram().record(10);
+		timedEventHandler.getLatencyHistogram().record(20);
+		
+		assertTrue(jmxEventHandler.isLatencyHistogramEnabled());
+		assertEquals(2, jmxEventHandler.getCount());
+		assertEquals(15, jmxEventHandler.getMeanNanos());
+		assertEquals(10, jmxEventHandler.getP50Nanos());
+		assertEquals(20, jmxEventHandler.getP99Nanos());
+		assertEquals(20, jmxEventHandler.getP999Nanos());
+		assertEquals(20, jmxEventHandler.getMaxNanos());
+		
+		jmxEventHandler.resetLatencyHistogram();
+		assertEquals(0, jmxEventHandler.getCount());
+	}
+	
+	private static class SampleEventHandler implements EventHandler<String> {
+		@Override
+		public void onEvent(String event, long sequence, boolean endOfBatch) throws Exception {
+		}
+	}
+
+}
@@ -0,0 +1,148 @@
+package org.anair.disruptor.jmx;
+
+import static org.junit.Assert.*;
+import static org.easymock.EasyMock.*;
+
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+
+import org.anair.disruptor.ShardedDisruptorConfig;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("rawtypes")
+public class JmxShardedDisruptorTest {
+
+	private JmxShardedDisruptor jmxShardedDisruptor;
+	private ShardedDisruptorConfig mockShardedDisruptorConfig;
+	private MBeanInfo mockMBeanInfo;
+	private MBeanAttributeInfo mockMBeanAttribute;
+	private MBeanOperationInfo mockMBeanOperation;
+	private MBeanParameterInfo mockMBeanParameterInfo;
+
+	@Before
+	public void setUp() throws Exception {
+		mockShardedDisruptorConfig = createMock(ShardedDisruptorConfig.class);
+		mockMBeanInfo = createMock(MBeanInfo.class);
+		mockMBeanAttribute = createMock(MBeanAttributeInfo.class);
+		mockMBeanOperation = createMock(MBeanOperationInfo.class);
+		mockMBeanParameterInfo = createMock(MBeanParameterInfo.class);
+
+		jmxShardedDisruptor = new JmxShardedDisruptor(mockShardedDisruptorConfig, "shardedBean");
+	}
+
+	@Test
+	public void test_getObjectName_valid() {
+		assertEquals("disruptor-spring:name=shardedBean,type=shardedDisruptor" , jmxShardedDisruptor.getObjectName().getCanonicalName());
+	}
+
+	@Test
+	public void test_getMBeanDescription() {
+		replay(mockMBeanInfo);
+		assertTrue(jmxShardedDisruptor.getDescription(mockMBeanInfo).contains("shardedBean"));
+		verify(mockMBeanInfo);
+	}
+
+	@Test
+	public void test_getMBeanAttributeDescription() {
+		assertAttributeDescription("ThreadName", "Thread name prefix of the shards.");
+		assertAttributeDescription("ShardCount", "Number of disruptor shards.");
+		assertAttributeDescription("TotalCapacity", "Ring buffer capacity of all shards.");
+		assertAttributeDescription("RemainingCapacity", "Remaining slots in the ring buffers of all shards.");
+		assertAttributeDescription("PublishedCount", "Events published to all shards.");
+		assertAttributeDescription("RejectedPublishCount", "Events dropped, rejected or timed out because the ring buffer of a shard was full.");
+		assertAttributeDescription("ShardSkew", "Events published to the busiest shard divided by the average per shard. 1 when keys are spread evenly.");
+		assertAttributeDescription("PublishRate1s", "Events published per second to all shards over the last second.");
+		assertAttributeDescription("PublishRate10s", "Events published per second to all shards over the last 10 seconds.");
+		assertAttributeDescription("PublishRate60s", "Events published per second to all shards over the last 60 seconds.");
+		assertAttributeDescription("ShardSummary", "Print published events, remaining capacity and bottleneck event handler of every shard.");
+		assertAttributeDescription("dummy", null);
+	}
+
+	private void assertAttributeDescription(String attributeName, String description) {
+		expect(mockMBeanAttribute.getName()).andReturn(attributeName).anyTimes();
+		replay(mockMBeanAttribute);
+		assertEquals(description, jmxShardedDisruptor.getDescription(mockMBeanAttribute));
+		verify(mockMBeanAttribute);
+		reset(mockMBeanAttribute);
+	}
+
+	@Test
+	public void test_getMBeanOperationDescription() {
+		assertOperationDescription("controlledShutdown", "Shutdown all shards in a controlled manner after all ring buffer events are processed.");
+		assertOperationDescription("halt", "Halt all shards. Do not wait for ring buffer events to be processed.");
+		assertOperationDescription("awaitAndShutdown", "Wait for events of every shard to finish for a few seconds and then shutdown.");
+		assertOperationDescription("resetLatencyHistograms", "Clear the latency histograms of all event handlers of all shards.");
+		assertOperationDescription("dummy", null);
+	}
+
+	private void assertOperationDescription(String operationName, String description) {
+		expect(mockMBeanOperation.getName()).andReturn(operationName).anyTimes();
+		replay(mockMBeanOperation);
+		assertEquals(description, jmxShardedDisruptor.getDescription(mockMBeanOperation));
+		verify(mockMBeanOperation);
+		reset(mockMBeanOperation);
+	}
+
+	@Test
+	public void test_getMBeanOperationParameterDescription() {
+		expect(mockMBeanOperation.getName()).andReturn("awaitAndShutdown").anyTimes();
+		replay(mockMBeanOperation);
+		assertEquals("Time in seconds", jmxShardedDisruptor.getDescription(mockMBeanOperation, mockMBeanParameterInfo, 0));
+		assertNull(jmxShardedDisruptor.getDescription(mockMBeanOperation, mockMBeanParameterInfo, 1));
+		verify(mockMBeanOperation);
+		reset(mockMBeanOperation);
+
+		expect(mockMBeanOperation.getName()).andReturn("dummy").anyTimes();
+		replay(mockMBeanOperation);
+		assertNull(jmxShardedDisruptor.getDescription(mockMBeanOperation, mockMBeanParameterInfo, 0));
+		verify(mockMBeanOperation);
+	}
+
+	@Test
+	public void test_lifecycle(){
+		mockShardedDisruptorConfig.controlledShutdown();
+		mockShardedDisruptorConfig.halt();
+		mockShardedDisruptorConfig.awaitAndShutdown(1);
+		mockShardedDisruptorConfig.resetLatencyHistograms();
+		replay(mockShardedDisruptorConfig);
+
+		jmxShardedDisruptor.controlledShutdown();
+		jmxShardedDisruptor.halt();
+		jmxShardedDisruptor.awaitAndShutdown(1);
+		jmxShardedDisruptor.resetLatencyHistograms();
+		verify(mockShardedDisruptorConfig);
+	}
+
+	@Test
+	public void test_aggregates(){
+		expect(mockShardedDisruptorConfig.getThreadName()).andReturn("billing");
+		expect(mockShardedDisruptorConfig.getShardCount()).andReturn(4);
+		expect(mockShardedDisruptorConfig.getTotalCapacity()).andReturn(4096L);
+		expect(mockShardedDisruptorConfig.getRemainingCapacity()).andReturn(4000L);
+		expect(mockShardedDisruptorConfig.getPublishedCount()).andReturn(100L);
+		expect(mockShardedDisruptorConfig.getRejectedPublishCount()).andReturn(2L);
+		expect(mockShardedDisruptorConfig.getShardSkew()).andReturn(1.5);
+		expect(mockShardedDisruptorConfig.getPublishRate(1)).andReturn(10.0);
+		expect(mockShardedDisruptorConfig.getPublishRate(10)).andReturn(20.0);
+		expect(mockShardedDisruptorConfig.getPublishRate(60)).andReturn(30.0);
+		expect(mockShardedDisruptorConfig.getShardSummary()).andReturn("{}");
+		replay(mockShardedDisruptorConfig);
+
+		assertEquals("billing", jmxShardedDisruptor.getThreadName());
+		assertEquals(4, jmxShardedDisruptor.getShardCount());
+		assertEquals(4096, jmxShardedDisruptor.getTotalCapacity());
+		assertEquals(4000, jmxShardedDisruptor.getRemainingCapacity());
+		assertEquals(100, jmxShardedDisruptor.getPublishedCount());
+		assertEquals(2, jmxShardedDisruptor.getRejectedPublishCount());
+		assertEquals(1.5, jmxShardedDisruptor.getShardSkew(), 0);
+		assertEquals(10, jmxShardedDisruptor.getPublishRate1s(), 0);
+		assertEquals(20, jmxShardedDisruptor.getPublishRate10s(), 0);
+		assertEquals(30, jmxShardedDisruptor.getPublishRate60s(), 0);
+		assertEquals("{}", jmxShardedDisruptor.getShardSummary());
+		verify(mockShardedDisruptorConfig);
+	}
+
+}
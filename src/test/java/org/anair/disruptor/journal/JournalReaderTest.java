@@ -0,0 +1,254 @@
+package org.anair.disruptor.journal;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.anair.disruptor.DefaultDisruptorConfig;
+import org.anair.disruptor.EventHandlerChain;
+import org.anair.disruptor.codec.EventCodec;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.lmax.disruptor.EventFactory;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslator;
+import com.lmax.disruptor.EventTranslatorOneArg;
+
+@SuppressWarnings({"rawtypes","unchecked"})
+public class JournalReaderTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File journalDirectory;
+
+	@Before
+	public void setup() throws IOException {
+		journalDirectory = temporaryFolder.newFolder("journal");
+	}
+
+	@Test
+	public void test_read_all_segments() throws Exception {
+		journal(24, "event0", "event1", "event2", "event3", "event4");
+
+		JournalReader<StringBuilder> journalReader = new JournalReader<StringBuilder>(journalDirectory, "billing", STRING_BUILDER_CODEC);
+		assertEquals(5, journalReader.count());
+		assertEquals(Arrays.asList("event0", "event1", "event2", "event3", "event4"), readAll(journalReader));
+	}
+
+	@Test
+	public void test_read_segments_are_unmapped() throws Exception {
+		File maps = new File("/proc/self/maps");
+		Assume.assumeTrue(maps.canRead() && JournalSegment.canUnmap());
+		journal(24, "event0", "event1", "event2", "event3", "event4");
+
+		JournalReader<StringBuilder> journalReader = new JournalReader<StringBuilder>(journalDirectory, "billing", STRING_BUILDER_CODEC);
+		assertEquals(5, journalReader.count());
+		assertEquals(0, mappedSegmentCount(maps));
+		assertTrue(journalReader.read(new StringBuilder()));
+		assertEquals(1, mappedSegmentCount(maps));
+		journalReader.close();
+		assertEquals(0, mappedSegmentCount(maps));
+
+		readAll(new JournalReader<StringBuilder>(journalDirectory, "billing", STRING_BUILDER_CODEC));
+		assertEquals(0, mappedSegmentCount(maps));
+	}
+
+	@Test
+	public void test_read_empty_journal() {
+		JournalReader<StringBuilder> journalReader = new JournalReader<StringBuilder>(new File(journalDirectory, "missing"), "billing", STRING_BUILDER_CODEC);
+		assertEquals(0, journalReader.count());
+		assertFalse(journalReader.read(new StringBuilder()));
+	}
+
+	@Test
+	public void test_decode_stops_at_record_end() throws Exception {
+		journal(4096, "a", "bb");
+
+		JournalReader<StringBuilder> journalReader = new JournalReader<StringBuilder>(journalDirectory, "billing", new EventCodec<StringBuilder>() {
+			@Override
+			public void encode(StringBuilder event, ByteBuffer buffer) {
+			}
+
+			@Override
+			public void decode(ByteBuffer buffer, StringBuilder event) {
+				event.setLength(0);
+				event.append(buffer.remaining());
+			}
+		});
+		assertEquals(Arrays.asList("1", "2"), readAll(journalReader));
+	}
+
+	@Test
+	public void test_replay_on_init() throws Exception {
+		journal(4096, "a", "b", "c");
+
+		JournalingEventHandler<StringBuilder> journalingEventHandler = newJournalingEventHandler(4096);
+		ReplayRecordingEventHandler recordingEventHandler = new ReplayRecordingEventHandler();
+		DefaultDisruptorConfig<StringBuilder> disruptorConfig = new DefaultDisruptorConfig<StringBuilder>();
+		disruptorConfig.setThreadName("replay");
+		disruptorConfig.setRingBufferSize(4);
+		disruptorConfig.setReplayBatchSize(2);
+		disruptorConfig.setEventFactory(STRING_BUILDER_FACTORY);
+		disruptorConfig.setReplayJournal(journalingEventHandler);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<StringBuilder>(new EventHandler[]{journalingEventHandler}, new EventHandler[]{recordingEventHandler})});
+		disruptorConfig.init();
+		try {
+			assertEquals(2, disruptorConfig.getLastReplayedSequence());
+			disruptorConfig.publish(new EventTranslatorOneArg<StringBuilder, String>() {
+				@Override
+				public void translateTo(StringBuilder event, long sequence, String value) {
+					event.setLength(0);
+					event.append(value);
+				}
+			}, "d");
+			recordingEventHandler.await(4);
+		} finally {
+			disruptorConfig.controlledShutdown();
+		}
+
+		assertEquals(Arrays.asList("replayed a", "replayed b", "replayed c", "live d"), recordingEventHandler.events);
+		assertEquals(1, journalingEventHandler.getJournaledCount());
+		assertEquals(Arrays.asList("a", "b", "c", "d"), readAll(new JournalReader<StringBuilder>(journalingEventHandler)));
+	}
+
+	@Test
+	public void test_warmup_before_replay() throws Exception {
+		journal(4096, "a", "b");
+
+		JournalingEventHandler<StringBuilder> journalingEventHandler = newJournalingEventHandler(4096);
+		ReplayRecordingEventHandler recordingEventHandler = new ReplayRecordingEventHandler();
+		DefaultDisruptorConfig<StringBuilder> disruptorConfig = new DefaultDisruptorConfig<StringBuilder>();
+		disruptorConfig.setThreadName("replay");
+		disruptorConfig.setRingBufferSize(4);
+		disruptorConfig.setEventFactory(STRING_BUILDER_FACTORY);
+		disruptorConfig.setReplayJournal(journalingEventHandler);
+		disruptorConfig.setWarmupEvents(3);
+		disruptorConfig.setWarmupTranslator(new EventTranslator<StringBuilder>() {
+			@Override
+			public void translateTo(StringBuilder event, long sequence) {
+				event.setLength(0);
+				event.append("w");
+			}
+		});
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<StringBuilder>(new EventHandler[]{journalingEventHandler}, new EventHandler[]{recordingEventHandler})});
+		disruptorConfig.init();
+		disruptorConfig.controlledShutdown();
+
+		assertEquals(2, disruptorConfig.getLastWarmupSequence());
+		assertEquals(4, disruptorConfig.getLastReplayedSequence());
+		assertEquals(Arrays.asList("replayed w", "replayed w", "replayed w", "replayed a", "replayed b"), recordingEventHandler.events);
+		assertEquals(0, journalingEventHandler.getJournaledCount());
+		assertEquals(Arrays.asList("a", "b"), readAll(new JournalReader<StringBuilder>(journalingEventHandler)));
+	}
+
+	@Test
+	public void test_without_replay_journal() {
+		ReplayRecordingEventHandler recordingEventHandler = new ReplayRecordingEventHandler();
+		DefaultDisruptorConfig<StringBuilder> disruptorConfig = new DefaultDisruptorConfig<StringBuilder>();
+		disruptorConfig.setThreadName("replay");
+		disruptorConfig.setEventFactory(STRING_BUILDER_FACTORY);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<StringBuilder>(new EventHandler[]{recordingEventHandler})});
+		disruptorConfig.init();
+		disruptorConfig.controlledShutdown();
+
+		assertEquals(-1, disruptorConfig.getLastReplayedSequence());
+		assertEquals(-1, recordingEventHandler.lastReplayedSequence);
+	}
+
+	private void journal(int segmentSize, String... events) throws Exception {
+		JournalingEventHandler<StringBuilder> journalingEventHandler = newJournalingEventHandler(segmentSize);
+		journalingEventHandler.onStart();
+		for(int i=0;i<events.length;i++){
+			journalingEventHandler.onEvent(new StringBuilder(events[i]), i, i == events.length - 1);
+		}
+		journalingEventHandler.onShutdown();
+	}
+
+	private JournalingEventHandler<StringBuilder> newJournalingEventHandler(int segmentSize) {
+		JournalingEventHandler<StringBuilder> journalingEventHandler = new JournalingEventHandler<StringBuilder>();
+		journalingEventHandler.setJournalDirectory(journalDirectory);
+		journalingEventHandler.setJournalName("billing");
+		journalingEventHandler.setEventCodec(STRING_BUILDER_CODEC);
+		journalingEventHandler.setSegmentSize(segmentSize);
+		return journalingEventHandler;
+	}
+
+	private List<String> readAll(JournalReader<StringBuilder> journalReader) {
+		List<String> events = new ArrayList<String>();
+		StringBuilder event = new StringBuilder();
+		while(journalReader.read(event)){
+			events.add(event.toString());
+		}
+		return events;
+	}
+
+	private static class ReplayRecordingEventHandler implements EventHandler<StringBuilder>, ReplayAware {
+		private final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+		private long lastReplayedSequence = Long.MIN_VALUE;
+
+		/**
+		 * Event processor threads start after init returns, wait for them before shutdown.
+		 */
+		private void await(int count) throws InterruptedException {
+			long deadline = System.currentTimeMillis() + 5000;
+			while(events.size() < count && System.currentTimeMillis() < deadline){
+				Thread.sleep(5);
+			}
+		}
+
+		@Override
+		public void onEvent(StringBuilder event, long sequence, boolean endOfBatch) throws Exception {
+			events.add((sequence <= lastReplayedSequence ? "replayed " : "live ") + event);
+		}
+
+		@Override
+		public void setLastReplayedSequence(long lastReplayedSequence) {
+			this.lastReplayedSequence = lastReplayedSequence;
+		}
+	}
+
+	private static final EventFactory<StringBuilder> STRING_BUILDER_FACTORY = new EventFactory<StringBuilder>() {
+		@Override
+		public StringBuilder newInstance() {
+			return new StringBuilder();
+		}
+	};
+
+	private static final EventCodec<StringBuilder> STRING_BUILDER_CODEC = new EventCodec<StringBuilder>() {
+		@Override
+		public void encode(StringBuilder event, ByteBuffer buffer) {
+			buffer.put(event.toString().getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public void decode(ByteBuffer buffer, StringBuilder event) {
+			byte[] bytes = new byte[buffer.remaining()];
+			buffer.get(bytes);
+			event.setLength(0);
+			event.append(new String(bytes, StandardCharsets.UTF_8));
+		}
+	};
+
+	private int mappedSegmentCount(File maps) throws IOException {
+		int count = 0;
+		for(String line : Files.readAllLines(maps.toPath(), StandardCharsets.UTF_8)){
+			if(line.contains(journalDirectory.getPath())){
+				count++;
+			}
+		}
+		return count;
+	}
+}
@@ -0,0 +1,226 @@
+package org.anair.disruptor.journal;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.anair.disruptor.codec.EventCodec;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JournalingEventHandlerTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private JournalingEventHandler<String> journalingEventHandler;
+	private File journalDirectory;
+
+	@Before
+	public void setup() throws IOException {
+		journalDirectory = temporaryFolder.newFolder("journal");
+		journalingEventHandler = newJournalingEventHandler();
+	}
+
+	@Test
+	public void test_append() throws Exception {
+		journalingEventHandler.onStart();
+		journalingEventHandler.onEvent("a", 0, false);
+		journalingEventHandler.onEvent("bb", 1, true);
+		journalingEventHandler.onShutdown();
+
+		assertEquals(2, journalingEventHandler.getJournaledCount());
+		assertEquals(Arrays.asList(0L), JournalSegment.segmentIndexes(journalDirectory, "billing"));
+		assertEquals(Arrays.asList("a", "bb"), readJournal());
+	}
+
+	@Test
+	public void test_roll_segments() throws Exception {
+		journalingEventHandler.setSegmentSize(24);
+		journalingEventHandler.onStart();
+		for(int i=0;i<5;i++){
+			journalingEventHandler.onEvent("event" + i, i, i == 4);
+		}
+		journalingEventHandler.onShutdown();
+
+		assertEquals(Arrays.asList(0L, 1L, 2L), JournalSegment.segmentIndexes(journalDirectory, "billing"));
+		assertEquals(Arrays.asList("event0", "event1", "event2", "event3", "event4"), readJournal());
+	}
+
+	@Test
+	public void test_roll_and_shutdown_unmap_segments() throws Exception {
+		File maps = new File("/proc/self/maps");
+		Assume.assumeTrue(maps.canRead() && JournalSegment.canUnmap());
+		journalingEventHandler.setSegmentSize(24);
+		journalingEventHandler.onStart();
+		for(int i=0;i<5;i++){
+			journalingEventHandler.onEvent("event" + i, i, i == 4);
+		}
+		assertEquals(Arrays.asList("billing-0000000002.journal"), mappedSegments(maps));
+		
+		journalingEventHandler.onShutdown();
+		assertTrue(mappedSegments(maps).isEmpty());
+	}
+
+	@Test
+	public void test_restart_opens_new_segment() throws Exception {
+		journalingEventHandler.onStart();
+		journalingEventHandler.onEvent("a", 0, true);
+		journalingEventHandler.onShutdown();
+
+		journalingEventHandler = newJournalingEventHandler();
+		journalingEventHandler.onStart();
+		journalingEventHandler.onEvent("b", 0, true);
+		journalingEventHandler.onShutdown();
+
+		assertEquals(Arrays.asList(0L, 1L), JournalSegment.segmentIndexes(journalDirectory, "billing"));
+		assertEquals(Arrays.asList("a", "b"), readJournal());
+	}
+
+	@Test
+	public void test_reopen_segment_finds_end_of_records() throws Exception {
+		journalingEventHandler.onStart();
+		journalingEventHandler.onEvent("a", 0, false);
+		journalingEventHandler.onEvent("bb", 1, true);
+		journalingEventHandler.onShutdown();
+
+		JournalSegment segment = JournalSegment.open(journalDirectory, "billing", 0, 1024);
+		assertEquals(4 + 1 + 4 + 2, segment.getPosition());
+		assertEquals(4096, segment.getSize());
+	}
+
+	@Test
+	public void test_failed_encode_is_not_journaled() throws Exception {
+		journalingEventHandler.onStart();
+		journalingEventHandler.onEvent("a", 0, false);
+		try {
+			journalingEventHandler.onEvent(FAILING_EVENT, 1, false);
+			fail();
+		} catch (IllegalStateException e) {
+		}
+		journalingEventHandler.onEvent("c", 2, true);
+		journalingEventHandler.onShutdown();
+
+		assertEquals(Arrays.asList("a", "c"), readJournal());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_event_larger_than_segment() throws Exception {
+		journalingEventHandler.setSegmentSize(8);
+		journalingEventHandler.onStart();
+		journalingEventHandler.onEvent("too large", 0, true);
+	}
+
+	@Test
+	public void test_fsync_every_batch() throws Exception {
+		journalingEventHandler.onStart();
+		journalingEventHandler.onEvent("a", 0, false);
+		assertEquals(0, journalingEventHandler.getFsyncCount());
+		journalingEventHandler.onEvent("b", 1, true);
+		journalingEventHandler.onEvent("c", 2, true);
+		assertEquals(2, journalingEventHandler.getFsyncCount());
+		journalingEventHandler.onShutdown();
+		assertEquals(2, journalingEventHandler.getFsyncCount());
+	}
+
+	@Test
+	public void test_fsync_interval() throws Exception {
+		journalingEventHandler.setFsyncPolicy(FsyncPolicy.INTERVAL);
+		journalingEventHandler.setFsyncIntervalMillis(60000);
+		journalingEventHandler.onStart();
+		journalingEventHandler.onEvent("a", 0, true);
+		assertEquals(0, journalingEventHandler.getFsyncCount());
+
+		journalingEventHandler.onTimeout(0);
+		assertEquals(1, journalingEventHandler.getFsyncCount());
+
+		journalingEventHandler.setFsyncIntervalMillis(0);
+		journalingEventHandler.onEvent("b", 1, true);
+		assertEquals(2, journalingEventHandler.getFsyncCount());
+	}
+
+	@Test
+	public void test_fsync_never() throws Exception {
+		journalingEventHandler.setFsyncPolicy(FsyncPolicy.NEVER);
+		journalingEventHandler.onStart();
+		journalingEventHandler.onEvent("a", 0, true);
+		journalingEventHandler.onTimeout(0);
+		journalingEventHandler.onShutdown();
+		assertEquals(0, journalingEventHandler.getFsyncCount());
+		assertEquals(Arrays.asList("a"), readJournal());
+	}
+
+	@Test(expected=NullPointerException.class)
+	public void test_onStart_without_eventCodec() {
+		journalingEventHandler.setEventCodec(null);
+		journalingEventHandler.onStart();
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void test_onEvent_before_onStart() throws Exception {
+		journalingEventHandler.onEvent("a", 0, true);
+	}
+
+	private JournalingEventHandler<String> newJournalingEventHandler() {
+		JournalingEventHandler<String> journalingEventHandler = new JournalingEventHandler<String>();
+		journalingEventHandler.setJournalDirectory(journalDirectory);
+		journalingEventHandler.setJournalName("billing");
+		journalingEventHandler.setEventCodec(STRING_CODEC);
+		journalingEventHandler.setSegmentSize(4096);
+		return journalingEventHandler;
+	}
+
+	private List<String> mappedSegments(File maps) throws IOException {
+		List<String> mappedSegments = new ArrayList<String>();
+		for(String line : Files.readAllLines(maps.toPath(), StandardCharsets.UTF_8)){
+			if(line.contains(journalDirectory.getPath())){
+				mappedSegments.add(line.substring(line.lastIndexOf('/') + 1));
+			}
+		}
+		return mappedSegments;
+	}
+
+	private List<String> readJournal() throws IOException {
+		List<String> events = new ArrayList<String>();
+		for(long index : JournalSegment.segmentIndexes(journalDirectory, "billing")){
+			ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(JournalSegment.segmentFile(journalDirectory, "billing", index).toPath()));
+			while(buffer.remaining() > 4){
+				int length = buffer.getInt();
+				if(length == 0){
+					break;
+				}
+				byte[] bytes = new byte[length - 4];
+				buffer.get(bytes);
+				events.add(new String(bytes, StandardCharsets.UTF_8));
+			}
+		}
+		return events;
+	}
+
+	private static final String FAILING_EVENT = "failing";
+
+	private static final EventCodec<String> STRING_CODEC = new EventCodec<String>() {
+		@Override
+		public void encode(String event, ByteBuffer buffer) {
+			buffer.put(event.getBytes(StandardCharsets.UTF_8));
+			if(FAILING_EVENT.equals(event)){
+				throw new IllegalStateException();
+			}
+		}
+
+		@Override
+		public void decode(ByteBuffer buffer, String event) {
+			throw new UnsupportedOperationException();
+		}
+	};
+}
@@ -0,0 +1,263 @@
+package org.anair.disruptor.journal;
+
+import static org.junit.Assert.*;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+import org.anair.disruptor.DefaultDisruptorConfig;
+import org.anair.disruptor.EventHandlerChain;
+import org.anair.disruptor.codec.EventCodec;
+import org.anair.disruptor.exception.ExceptionStrategy;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.lmax.disruptor.EventFactory;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslatorOneArg;
+
+@SuppressWarnings({"rawtypes","unchecked"})
+public class SnapshotterTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File journalDirectory;
+	private File snapshotDirectory;
+
+	@Before
+	public void setup() throws IOException {
+		journalDirectory = temporaryFolder.newFolder("journal");
+		snapshotDirectory = temporaryFolder.newFolder("snapshot");
+	}
+
+	@Test
+	public void test_snapshot_and_recover() throws Exception {
+		CountingEventHandler countingEventHandler = new CountingEventHandler();
+		DefaultDisruptorConfig<StringBuilder> disruptorConfig = newDisruptorConfig(countingEventHandler);
+		disruptorConfig.init();
+		try {
+			publish(disruptorConfig, 10);
+			countingEventHandler.await(10);
+			disruptorConfig.takeSnapshot();
+			assertTrue(disruptorConfig.isSnapshotInProgress());
+			publish(disruptorConfig, 1);
+			awaitSnapshot(disruptorConfig);
+			assertEquals("Snapshot 0 at sequence 9, journal segment 1 offset 30", disruptorConfig.getLastSnapshot());
+			assertEquals(Arrays.asList(1L, 2L), JournalSegment.segmentIndexes(journalDirectory, "billing"));
+
+			publish(disruptorConfig, 3);
+			countingEventHandler.await(14);
+		} finally {
+			disruptorConfig.controlledShutdown();
+		}
+		assertEquals(14, countingEventHandler.count);
+
+		CountingEventHandler recoveredEventHandler = new CountingEventHandler();
+		DefaultDisruptorConfig<StringBuilder> recoveredDisruptorConfig = newDisruptorConfig(recoveredEventHandler);
+		recoveredDisruptorConfig.init();
+		recoveredEventHandler.await(14);
+		recoveredDisruptorConfig.controlledShutdown();
+
+		assertEquals(3, recoveredDisruptorConfig.getLastReplayedSequence());
+		assertEquals(14, recoveredEventHandler.count);
+		assertEquals("Snapshot 0 at sequence 9, journal segment 1 offset 30", recoveredDisruptorConfig.getLastSnapshot());
+	}
+
+	@Test
+	public void test_failed_snapshot_keeps_journal() throws Exception {
+		CountingEventHandler countingEventHandler = new CountingEventHandler();
+		countingEventHandler.failing = true;
+		DefaultDisruptorConfig<StringBuilder> disruptorConfig = newDisruptorConfig(countingEventHandler);
+		disruptorConfig.init();
+		try {
+			publish(disruptorConfig, 10);
+			countingEventHandler.await(10);
+			disruptorConfig.takeSnapshot();
+			publish(disruptorConfig, 1);
+			awaitSnapshot(disruptorConfig);
+			assertNull(disruptorConfig.getLastSnapshot());
+			assertEquals(Arrays.asList(0L, 1L, 2L), JournalSegment.segmentIndexes(journalDirectory, "billing"));
+		} finally {
+			disruptorConfig.controlledShutdown();
+		}
+		assertFalse(new File(new SnapshotStore(snapshotDirectory, "billing").directory(0), SnapshotStore.MANIFEST).exists());
+	}
+
+	@Test
+	public void test_retried_event_handler_writes_once() throws Exception {
+		CountingEventHandler retriedEventHandler = new CountingEventHandler();
+		CountingEventHandler slowEventHandler = new CountingEventHandler();
+		slowEventHandler.writeLatch = new CountDownLatch(1);
+		JournalingEventHandler<StringBuilder> journalingEventHandler = newJournalingEventHandler();
+		DefaultDisruptorConfig<StringBuilder> disruptorConfig = newDisruptorConfig(journalingEventHandler);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<StringBuilder>(new EventHandler[]{journalingEventHandler}, 
+				new EventHandler[]{retriedEventHandler, slowEventHandler})});
+		disruptorConfig.setExceptionStrategy(ExceptionStrategy.RETRY);
+		disruptorConfig.setRetryBackoffMillis(0);
+		disruptorConfig.init();
+		try {
+			publish(disruptorConfig, 10);
+			retriedEventHandler.await(10);
+			disruptorConfig.takeSnapshot();
+			retriedEventHandler.failNextEvent = true;
+			publish(disruptorConfig, 1);
+			retriedEventHandler.await(11);
+			Thread.sleep(50);
+			assertTrue(disruptorConfig.isSnapshotInProgress());
+
+			slowEventHandler.writeLatch.countDown();
+			awaitSnapshot(disruptorConfig);
+			assertEquals("Snapshot 0 at sequence 9, journal segment 1 offset 30", disruptorConfig.getLastSnapshot());
+		} finally {
+			slowEventHandler.writeLatch.countDown();
+			disruptorConfig.controlledShutdown();
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_snapshot_aware_must_depend_on_journal() {
+		CountingEventHandler countingEventHandler = new CountingEventHandler();
+		JournalingEventHandler<StringBuilder> journalingEventHandler = newJournalingEventHandler();
+		DefaultDisruptorConfig<StringBuilder> disruptorConfig = newDisruptorConfig(journalingEventHandler);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<StringBuilder>(new EventHandler[]{journalingEventHandler, countingEventHandler})});
+		disruptorConfig.init();
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void test_takeSnapshot_without_snapshotDirectory() {
+		new DefaultDisruptorConfig<StringBuilder>().takeSnapshot();
+	}
+
+	@Test(expected=NullPointerException.class)
+	public void test_snapshotDirectory_without_replayJournal() {
+		DefaultDisruptorConfig<StringBuilder> disruptorConfig = newDisruptorConfig(new CountingEventHandler());
+		disruptorConfig.setReplayJournal(null);
+		disruptorConfig.init();
+	}
+
+	private DefaultDisruptorConfig<StringBuilder> newDisruptorConfig(CountingEventHandler countingEventHandler) {
+		JournalingEventHandler<StringBuilder> journalingEventHandler = newJournalingEventHandler();
+		DefaultDisruptorConfig<StringBuilder> disruptorConfig = newDisruptorConfig(journalingEventHandler);
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<StringBuilder>(new EventHandler[]{journalingEventHandler}, new EventHandler[]{countingEventHandler})});
+		return disruptorConfig;
+	}
+
+	private DefaultDisruptorConfig<StringBuilder> newDisruptorConfig(JournalingEventHandler<StringBuilder> journalingEventHandler) {
+		DefaultDisruptorConfig<StringBuilder> disruptorConfig = new DefaultDisruptorConfig<StringBuilder>();
+		disruptorConfig.setThreadName("snapshot");
+		disruptorConfig.setRingBufferSize(16);
+		disruptorConfig.setEventFactory(STRING_BUILDER_FACTORY);
+		disruptorConfig.setReplayJournal(journalingEventHandler);
+		disruptorConfig.setSnapshotDirectory(snapshotDirectory);
+		return disruptorConfig;
+	}
+
+	private JournalingEventHandler<StringBuilder> newJournalingEventHandler() {
+		JournalingEventHandler<StringBuilder> journalingEventHandler = new JournalingEventHandler<StringBuilder>();
+		journalingEventHandler.setJournalDirectory(journalDirectory);
+		journalingEventHandler.setJournalName("billing");
+		journalingEventHandler.setEventCodec(STRING_BUILDER_CODEC);
+		journalingEventHandler.setSegmentSize(32);
+		return journalingEventHandler;
+	}
+
+	private void publish(DefaultDisruptorConfig<StringBuilder> disruptorConfig, int events) {
+		for(int i=0;i<events;i++){
+			disruptorConfig.publish(new EventTranslatorOneArg<StringBuilder, String>() {
+				@Override
+				public void translateTo(StringBuilder event, long sequence, String value) {
+					event.setLength(0);
+					event.append(value);
+				}
+			}, "e" + i);
+		}
+	}
+
+	private void awaitSnapshot(DefaultDisruptorConfig<StringBuilder> disruptorConfig) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while(disruptorConfig.isSnapshotInProgress() && System.currentTimeMillis() < deadline){
+			Thread.sleep(5);
+		}
+		assertFalse(disruptorConfig.isSnapshotInProgress());
+	}
+
+	private static class CountingEventHandler implements EventHandler<StringBuilder>, SnapshotAware {
+		private volatile long count;
+		private boolean failing;
+		private volatile boolean failNextEvent;
+		private CountDownLatch writeLatch;
+
+		/**
+		 * Event processor threads start after init returns and publish does not wait for them.
+		 */
+		private void await(long events) throws InterruptedException {
+			long deadline = System.currentTimeMillis() + 5000;
+			while(count < events && System.currentTimeMillis() < deadline){
+				Thread.sleep(5);
+			}
+			assertEquals(events, count);
+		}
+
+		@Override
+		public void onEvent(StringBuilder event, long sequence, boolean endOfBatch) throws Exception {
+			if(failNextEvent){
+				failNextEvent = false;
+				throw new IllegalStateException("retry " + event);
+			}
+			count++;
+		}
+
+		@Override
+		public void writeSnapshot(OutputStream out) throws IOException {
+			if(failing){
+				throw new IOException("disk full");
+			}
+			if(writeLatch != null){
+				try {
+					writeLatch.await();
+				} catch (InterruptedException e) {
+					throw new IOException(e);
+				}
+			}
+			new DataOutputStream(out).writeLong(count);
+		}
+
+		@Override
+		public void readSnapshot(InputStream in) throws IOException {
+			count = new DataInputStream(in).readLong();
+		}
+	}
+
+	private static final EventFactory<StringBuilder> STRING_BUILDER_FACTORY = new EventFactory<StringBuilder>() {
+		@Override
+		public StringBuilder newInstance() {
+			return new StringBuilder();
+		}
+	};
+
+	private static final EventCodec<StringBuilder> STRING_BUILDER_CODEC = new EventCodec<StringBuilder>() {
+		@Override
+		public void encode(StringBuilder event, ByteBuffer buffer) {
+			buffer.put(event.toString().getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public void decode(ByteBuffer buffer, StringBuilder event) {
+			byte[] bytes = new byte[buffer.remaining()];
+			buffer.get(bytes);
+			event.setLength(0);
+			event.append(new String(bytes, StandardCharsets.UTF_8));
+		}
+	};
+}
@@ -0,0 +1,64 @@
+package org.anair.disruptor.metrics;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+	
+	private LatencyHistogram histogram;
+	
+	@Before
+	public void setUp() {
+		histogram = new LatencyHistogram();
+	}
+	
+	@Test
+	public void test_empty() {
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMean());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.getValueAtPercentile(99));
+	}
+	
+	@Test
+	public void test_bucket_covers_value() {
+		long[] values = {0, 1, 31, 32, 33, 63, 64, 1000, 123456789L, Long.MAX_VALUE};
+		for(long value : values){
+			int index = LatencyHistogram.bucketIndex(value);
+			assertTrue(value + "", LatencyHistogram.highestValueInBucket(index) >= value);
+			if(index > 0){
+				assertTrue(value + "", LatencyHistogram.highestValueInBucket(index - 1) < value);
+			}
+		}
+	}
+	
+	@Test
+	public void test_percentiles() {
+		for(long i=1;i<=1000;i++){
+			histogram.record(i * 1000);
+		}
+		
+		assertEquals(1000, histogram.getCount());
+		assertEquals(500500, histogram.getMean());
+		assertEquals(1000000, histogram.getMax());
+		assertWithinPrecision(500000, histogram.getValueAtPercentile(50));
+		assertWithinPrecision(990000, histogram.getValueAtPercentile(99));
+		assertWithinPrecision(999000, histogram.getValueAtPercentile(99.9));
+		assertEquals(1000000, histogram.getValueAtPercentile(100));
+	}
+	
+	@Test
+	public void test_negative_value_recorded_as_zero() {
+		histogram.record(-5);
+		assertEquals(1, histogram.getCount());
+		assertEquals(0, histogram.getValueAtPercentile(50));
+	}
+	
+	private void assertWithinPrecision(long expected, long actual) {
+		assertTrue(actual + " < " + expected, actual >= expected);
+		assertTrue(actual + " > " + expected, actual <= expected + expected / 32);
+	}
+
+}
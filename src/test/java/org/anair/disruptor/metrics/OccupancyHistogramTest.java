@@ -0,0 +1,53 @@
+package org.anair.disruptor.metrics;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class OccupancyHistogramTest {
+	
+	private OccupancyHistogram histogram;
+	
+	@Before
+	public void setUp() {
+		histogram = new OccupancyHistogram();
+	}
+	
+	@Test
+	public void test_empty() {
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getHighWatermark());
+		assertEquals(0, histogram.getValueAtPercentile(99));
+		assertEquals("{}", histogram.printBuckets());
+	}
+	
+	@Test
+	public void test_bucket_covers_value() {
+		long[] values = {0, 1, 2, 3, 4, 7, 8, 1023, 1024, Long.MAX_VALUE};
+		for(long value : values){
+			int index = OccupancyHistogram.bucketIndex(value);
+			assertTrue(value + "", OccupancyHistogram.highestValueInBucket(index) >= value);
+			if(index > 0){
+				assertTrue(value + "", OccupancyHistogram.highestValueInBucket(index - 1) < value);
+			}
+		}
+	}
+	
+	@Test
+	public void test_high_watermark_and_percentiles() {
+		for(int i=0;i<98;i++){
+			histogram.record(0);
+		}
+		histogram.record(5);
+		histogram.record(900);
+		histogram.record(-1);
+		
+		assertEquals(101, histogram.getCount());
+		assertEquals(900, histogram.getHighWatermark());
+		assertEquals(0, histogram.getValueAtPercentile(50));
+		assertEquals(7, histogram.getValueAtPercentile(98.5));
+		assertEquals(900, histogram.getValueAtPercentile(100));
+		assertEquals("{0: 98.0% | 4-7: 1.0% | 512-1023: 1.0%}", histogram.printBuckets());
+	}
+}
@@ -0,0 +1,46 @@
+package org.anair.disruptor.metrics;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class ThroughputMeterTest {
+	
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+	
+	@Test
+	public void test_no_samples() {
+		ThroughputMeter meter = new ThroughputMeter();
+		assertEquals(0, meter.getRate(1), 0);
+		
+		meter.sample(10, SECOND);
+		assertEquals(0, meter.getRate(1), 0);
+	}
+	
+	@Test
+	public void test_windows() {
+		ThroughputMeter meter = new ThroughputMeter();
+		//100 events per second for 60 seconds, then 1000 in the last second
+		for(int i=0;i<=60;i++){
+			meter.sample(i * 100, i * SECOND);
+		}
+		meter.sample(7000, 61 * SECOND);
+		
+		assertEquals(1000, meter.getRate(1), 0.001);
+		assertEquals(190, meter.getRate(10), 0.001);
+		assertEquals(115, meter.getRate(60), 0.001);
+	}
+	
+	@Test
+	public void test_window_longer_than_samples() {
+		ThroughputMeter meter = new ThroughputMeter();
+		meter.sample(-1, 0);
+		meter.sample(49, SECOND);
+		meter.sample(99, 2 * SECOND);
+		
+		assertEquals(50, meter.getRate(60), 0.001);
+	}
+
+}
@@ -0,0 +1,59 @@
+package org.anair.disruptor.metrics;
+
+import static org.easymock.EasyMock.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.LifecycleAware;
+import com.lmax.disruptor.TimeoutHandler;
+
+@SuppressWarnings("unchecked")
+public class TimedEventHandlerTest {
+	
+	@Test
+	public void test_onEvent_records_latency() throws Exception {
+		EventHandler<String> mockEventHandler = createStrictMock(EventHandler.class);
+		mockEventHandler.onEvent("event", 1, true);
+		mockEventHandler.onEvent("event", 2, true);
+		expectLastCall().andThrow(new IllegalStateException());
+		replay(mockEventHandler);
+		
+		TimedEventHandler<String> timedEventHandler = new TimedEventHandler<String>(mockEventHandler, "handler");
+		timedEventHandler.onEvent("event", 1, true);
+		try {
+			timedEventHandler.onEvent("event", 2, true);
+			fail();
+		} catch (IllegalStateException e) {
+		}
+		
+		verify(mockEventHandler);
+		assertEquals(2, timedEventHandler.getLatencyHistogram().getCount());
+		assertEquals("handler", timedEventHandler.getName());
+		assertSame(mockEventHandler, timedEventHandler.getEventHandler());
+		
+		timedEventHandler.resetLatencyHistogram();
+		assertEquals(0, timedEventHandler.getLatencyHistogram().getCount());
+	}
+	
+	@Test
+	public void test_callbacks_delegated() throws Exception {
+		LifecycleTimeoutEventHandler mockEventHandler = createStrictMock(LifecycleTimeoutEventHandler.class);
+		mockEventHandler.onStart();
+		mockEventHandler.onTimeout(5);
+		mockEventHandler.onShutdown();
+		replay(mockEventHandler);
+		
+		TimedEventHandler<String> timedEventHandler = new TimedEventHandler<String>(mockEventHandler, "handler");
+		timedEventHandler.onStart();
+		timedEventHandler.onTimeout(5);
+		timedEventHandler.onShutdown();
+		timedEventHandler.setSequenceCallback(null);
+		verify(mockEventHandler);
+	}
+	
+	private interface LifecycleTimeoutEventHandler extends EventHandler<String>, LifecycleAware, TimeoutHandler {
+	}
+
+}
@@ -0,0 +1,220 @@
+package org.anair.disruptor.offheap;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.anair.disruptor.BackpressurePolicy;
+import org.anair.disruptor.DefaultDisruptorConfig;
+import org.anair.disruptor.EventHandlerChain;
+import org.anair.disruptor.codec.EventCodec;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.lmax.disruptor.EventFactory;
+import com.lmax.disruptor.EventHandler;
+
+@SuppressWarnings({"rawtypes","unchecked"})
+public class OffHeapEventFactoryTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void test_flyweights_over_slots() {
+		OffHeapEventFactory<BillingFlyweight> eventFactory = new OffHeapEventFactory<BillingFlyweight>(16);
+		eventFactory.setFlyweightClass(BillingFlyweight.class);
+		eventFactory.allocate(4);
+		assertEquals(64, eventFactory.getAllocatedBytes());
+
+		List<BillingFlyweight> flyweights = new ArrayList<BillingFlyweight>();
+		for(int i=0;i<4;i++){
+			BillingFlyweight flyweight = eventFactory.newInstance();
+			flyweight.setAccountId(i);
+			flyweight.setAmount(i * 1.5);
+			flyweights.add(flyweight);
+		}
+		for(int i=0;i<4;i++){
+			assertEquals(i, flyweights.get(i).getAccountId());
+			assertEquals(i * 1.5, flyweights.get(i).getAmount(), 0);
+		}
+
+		flyweights.get(1).clear();
+		assertEquals(0, flyweights.get(1).getAccountId());
+		assertEquals(2, flyweights.get(2).getAccountId());
+	}
+
+	@Test(expected=IndexOutOfBoundsException.class)
+	public void test_field_outside_slot() {
+		OffHeapEventFactory<Flyweight> eventFactory = new OffHeapEventFactory<Flyweight>(16);
+		eventFactory.allocate(2);
+		eventFactory.newInstance().putLong(12, 1L);
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void test_all_slots_taken() {
+		OffHeapEventFactory<Flyweight> eventFactory = new OffHeapEventFactory<Flyweight>(16);
+		eventFactory.allocate(1);
+		eventFactory.newInstance();
+		eventFactory.newInstance();
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void test_not_allocated() {
+		new OffHeapEventFactory<Flyweight>(16).newInstance();
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void test_allocated_once() {
+		OffHeapEventFactory<Flyweight> eventFactory = new OffHeapEventFactory<Flyweight>(16);
+		eventFactory.allocate(2);
+		eventFactory.allocate(2);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_slots_over_2GB() {
+		new OffHeapEventFactory<Flyweight>(4096).allocate(1 << 20);
+	}
+
+	@Test
+	public void test_mapped_file() throws Exception {
+		File mappedFile = new File(temporaryFolder.getRoot(), "billing.slots");
+		OffHeapEventFactory<BillingFlyweight> eventFactory = new OffHeapEventFactory<BillingFlyweight>(16);
+		eventFactory.setFlyweightClass(BillingFlyweight.class);
+		eventFactory.setMappedFile(mappedFile);
+		eventFactory.allocate(2);
+		eventFactory.newInstance();
+		eventFactory.newInstance().setAccountId(42);
+
+		assertEquals(32, mappedFile.length());
+		try(RandomAccessFile file = new RandomAccessFile(mappedFile, "r")) {
+			file.seek(16);
+			assertEquals(42, file.readLong());
+		}
+	}
+
+	@Test
+	public void test_pretouch_keeps_slot_content() {
+		OffHeapEventFactory<BillingFlyweight> eventFactory = new OffHeapEventFactory<BillingFlyweight>(4096);
+		eventFactory.setFlyweightClass(BillingFlyweight.class);
+		eventFactory.allocate(2);
+		eventFactory.newInstance().setAccountId(42);
+		BillingFlyweight flyweight = eventFactory.newInstance();
+		flyweight.setAccountId(43);
+		eventFactory.pretouch();
+
+		assertEquals(43, flyweight.getAccountId());
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void test_pretouch_not_allocated() {
+		new OffHeapEventFactory<Flyweight>(16).pretouch();
+	}
+
+	@Test(expected=BufferOverflowException.class)
+	public void test_event_larger_than_slot() {
+		OffHeapEventFactory<Flyweight> eventFactory = new OffHeapEventFactory<Flyweight>(8);
+		eventFactory.allocate(1);
+		new CodecEventTranslator<StringBuilder>(STRING_BUILDER_CODEC).translateTo(eventFactory.newInstance(), 0, new StringBuilder("too large"));
+	}
+
+	@Test
+	public void test_codec_through_disruptor() throws Exception {
+		RecordingEventHandler recordingEventHandler = new RecordingEventHandler();
+		DefaultDisruptorConfig<Flyweight> disruptorConfig = new DefaultDisruptorConfig<Flyweight>();
+		disruptorConfig.setThreadName("offheap");
+		disruptorConfig.setRingBufferSize(8);
+		disruptorConfig.setEventFactory(new OffHeapEventFactory<Flyweight>(32));
+		disruptorConfig.setEventHandlerChain(new EventHandlerChain[]{new EventHandlerChain<Flyweight>(new EventHandler[]{
+				new CodecEventHandler<StringBuilder>(STRING_BUILDER_CODEC, STRING_BUILDER_FACTORY, recordingEventHandler)})});
+		disruptorConfig.init();
+		assertTrue(disruptorConfig.getDisruptorConfiguration().contains("Off-heap events: 32 byte direct slots"));
+
+		List<String> expected = new ArrayList<String>();
+		CodecEventTranslator<StringBuilder> eventTranslator = new CodecEventTranslator<StringBuilder>(STRING_BUILDER_CODEC);
+		try {
+			for(int i=0;i<20;i++){
+				disruptorConfig.publish(eventTranslator, new StringBuilder("billing event " + i));
+				expected.add("billing event " + i);
+			}
+			recordingEventHandler.await(20);
+		} finally {
+			disruptorConfig.controlledShutdown();
+		}
+		assertEquals(expected, recordingEventHandler.events);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_caller_runs_needs_heap_events() {
+		DefaultDisruptorConfig<Flyweight> disruptorConfig = new DefaultDisruptorConfig<Flyweight>();
+		disruptorConfig.setThreadName("offheap");
+		disruptorConfig.setEventFactory(new OffHeapEventFactory<Flyweight>(32));
+		disruptorConfig.setBackpressurePolicy(BackpressurePolicy.CALLER_RUNS);
+		disruptorConfig.setCallerRunsEventHandler(new RecordingEventHandler());
+		disruptorConfig.init();
+	}
+
+	public static class BillingFlyweight extends Flyweight {
+		public long getAccountId() {
+			return getLong(0);
+		}
+
+		public void setAccountId(long accountId) {
+			putLong(0, accountId);
+		}
+
+		public double getAmount() {
+			return getDouble(8);
+		}
+
+		public void setAmount(double amount) {
+			putDouble(8, amount);
+		}
+	}
+
+	private static class RecordingEventHandler implements EventHandler {
+		private final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+
+		@Override
+		public void onEvent(Object event, long sequence, boolean endOfBatch) throws Exception {
+			events.add(event.toString());
+		}
+
+		private void await(int count) throws InterruptedException {
+			long deadline = System.currentTimeMillis() + 5000;
+			while(events.size() < count && System.currentTimeMillis() < deadline){
+				Thread.sleep(5);
+			}
+		}
+	}
+
+	private static final EventFactory<StringBuilder> STRING_BUILDER_FACTORY = new EventFactory<StringBuilder>() {
+		@Override
+		public StringBuilder newInstance() {
+			return new StringBuilder();
+		}
+	};
+
+	private static final EventCodec<StringBuilder> STRING_BUILDER_CODEC = new EventCodec<StringBuilder>() {
+		@Override
+		public void encode(StringBuilder event, ByteBuffer buffer) {
+			buffer.put(event.toString().getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public void decode(ByteBuffer buffer, StringBuilder event) {
+			byte[] bytes = new byte[buffer.remaining()];
+			buffer.get(bytes);
+			event.setLength(0);
+			event.append(new String(bytes, StandardCharsets.UTF_8));
+		}
+	};
+}
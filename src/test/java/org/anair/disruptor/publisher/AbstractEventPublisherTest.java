@@ -0,0 +1,58 @@
+package org.anair.disruptor.publisher;
+
+import static org.easymock.EasyMock.*;
+import static org.junit.Assert.*;
+
+import org.anair.disruptor.DisruptorConfig;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("unchecked")
+public class AbstractEventPublisherTest {
+
+	private AbstractEventPublisher<StringBuilder> publisher;
+	private DisruptorConfig<StringBuilder> mockDisruptorConfig;
+	
+	@Before
+	public void setUp() {
+		mockDisruptorConfig = createStrictMock(DisruptorConfig.class);
+		publisher = new AbstractEventPublisher<StringBuilder>() {
+			@Override
+			public void translateTo(StringBuilder event, long sequence, StringBuilder data) {
+				event.setLength(0);
+				event.append(data);
+			}
+		};
+		publisher.setDisruptorConfig(mockDisruptorConfig);
+		assertSame(mockDisruptorConfig, publisher.getDisruptorConfig());
+	}
+	
+	@Test
+	public void test_publish_uses_publisher_as_translator() {
+		StringBuilder data = new StringBuilder("event");
+		mockDisruptorConfig.publish(publisher, data);
+		replay(mockDisruptorConfig);
+		
+		publisher.publish(data);
+		verify(mockDisruptorConfig);
+	}
+	
+	@Test
+	public void test_publish_batch() {
+		StringBuilder[] data = new StringBuilder[]{new StringBuilder("1"), new StringBuilder("2"), new StringBuilder("3")};
+		mockDisruptorConfig.publishEvents(publisher, data);
+		mockDisruptorConfig.publishEvents(publisher, 1, 2, data);
+		replay(mockDisruptorConfig);
+		
+		publisher.publish(data);
+		publisher.publish(data, 1, 2);
+		verify(mockDisruptorConfig);
+	}
+	
+	@Test
+	public void test_translateTo() {
+		StringBuilder event = new StringBuilder("old");
+		publisher.translateTo(event, 0, new StringBuilder("new"));
+		assertEquals("new", event.toString());
+	}
+}
@@ -0,0 +1,121 @@
+package org.anair.disruptor.waitstrategy;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.anair.disruptor.waitstrategy.AdaptiveWaitStrategy.Mode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lmax.disruptor.AlertException;
+import com.lmax.disruptor.EventFactory;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+public class AdaptiveWaitStrategyTest {
+	
+	private AdaptiveWaitStrategy waitStrategy;
+	private RingBuffer<long[]> ringBuffer;
+	private SequenceBarrier barrier;
+	private ExecutorService executor;
+	
+	@Before
+	public void setup() {
+		waitStrategy = new AdaptiveWaitStrategy(Mode.BLOCK, 1000);
+		ringBuffer = RingBuffer.createSingleProducer(new EventFactory<long[]>() {
+			@Override
+			public long[] newInstance() {
+				return new long[1];
+			}
+		}, 4, waitStrategy);
+		barrier = ringBuffer.newBarrier();
+		executor = Executors.newSingleThreadExecutor(DaemonThreadFactory.INSTANCE);
+	}
+	
+	@After
+	public void teardown() {
+		executor.shutdownNow();
+	}
+	
+	@Test
+	public void test_all_modes() throws Exception {
+		for(Mode mode : Mode.values()){
+			waitStrategy.switchMode(mode);
+			Future<Long> waiter = waitFor(ringBuffer.getCursor() + 1);
+			Thread.sleep(10);
+			assertFalse(mode.name(), waiter.isDone());
+			
+			ringBuffer.publish(ringBuffer.next());
+			assertEquals(ringBuffer.getCursor(), waiter.get(5, TimeUnit.SECONDS).longValue());
+		}
+	}
+	
+	@Test
+	public void test_switch_wakes_up_blocked_processor() throws Exception {
+		Future<Long> waiter = waitFor(0);
+		Thread.sleep(10);
+		
+		assertEquals(Mode.BLOCK, waitStrategy.switchMode(Mode.SPIN));
+		assertEquals(Mode.SPIN, waitStrategy.getMode());
+		Thread.sleep(10);
+		assertFalse(waiter.isDone());
+		
+		ringBuffer.publish(ringBuffer.next());
+		assertEquals(0, waiter.get(5, TimeUnit.SECONDS).longValue());
+	}
+	
+	@Test
+	public void test_alert_wakes_up_blocked_processor() throws Exception {
+		Future<Long> waiter = waitFor(0);
+		Thread.sleep(10);
+		
+		barrier.alert();
+		try {
+			waiter.get(5, TimeUnit.SECONDS);
+			fail();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof AlertException);
+		}
+	}
+	
+	@Test
+	public void test_timeout_all_modes() throws Exception {
+		waitStrategy = new AdaptiveWaitStrategy(Mode.BLOCK, 1000, TimeUnit.MILLISECONDS.toNanos(20));
+		ringBuffer = RingBuffer.createSingleProducer(new EventFactory<long[]>() {
+			@Override
+			public long[] newInstance() {
+				return new long[1];
+			}
+		}, 4, waitStrategy);
+		barrier = ringBuffer.newBarrier();
+		
+		for(Mode mode : Mode.values()){
+			waitStrategy.switchMode(mode);
+			try {
+				waitFor(0).get(5, TimeUnit.SECONDS);
+				fail(mode.name());
+			} catch (ExecutionException e) {
+				assertTrue(mode.name(), e.getCause() instanceof TimeoutException);
+			}
+		}
+	}
+	
+	private Future<Long> waitFor(final long sequence) {
+		return executor.submit(new Callable<Long>() {
+			@Override
+			public Long call() throws Exception {
+				return barrier.waitFor(sequence);
+			}
+		});
+	}
+
+}
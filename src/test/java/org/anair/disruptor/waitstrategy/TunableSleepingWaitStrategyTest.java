@@ -0,0 +1,57 @@
+package org.anair.disruptor.waitstrategy;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.lmax.disruptor.AlertException;
+import com.lmax.disruptor.EventFactory;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+public class TunableSleepingWaitStrategyTest {
+	
+	@Test
+	public void test_waitFor_published_sequence() throws Exception {
+		TunableSleepingWaitStrategy waitStrategy = new TunableSleepingWaitStrategy(0, 1000);
+		final RingBuffer<long[]> ringBuffer = RingBuffer.createSingleProducer(new EventFactory<long[]>() {
+			@Override
+			public long[] newInstance() {
+				return new long[1];
+			}
+		}, 4, waitStrategy);
+		SequenceBarrier barrier = ringBuffer.newBarrier();
+		
+		Thread publisher = DaemonThreadFactory.INSTANCE.newThread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(10);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				ringBuffer.publish(ringBuffer.next());
+			}
+		});
+		publisher.start();
+		
+		assertEquals(0, barrier.waitFor(0));
+	}
+	
+	@Test(expected=AlertException.class)
+	public void test_waitFor_alert() throws Exception {
+		TunableSleepingWaitStrategy waitStrategy = new TunableSleepingWaitStrategy(200, 1000);
+		SequenceBarrier barrier = RingBuffer.createSingleProducer(new EventFactory<long[]>() {
+			@Override
+			public long[] newInstance() {
+				return new long[1];
+			}
+		}, 4, waitStrategy).newBarrier();
+		barrier.alert();
+		
+		waitStrategy.waitFor(0, new Sequence(), new Sequence(), barrier);
+	}
+
+}